@@ -0,0 +1,135 @@
+package com.podStream.PodStream.Benchmarks;
+
+import com.podStream.PodStream.Services.Recommendation.RatingsLoader;
+import org.apache.spark.ml.recommendation.ALS;
+import org.apache.spark.ml.recommendation.ALSModel;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entrenamiento ALS de extremo a extremo (carga de valoraciones + {@code fit}) sobre un conjunto sintético.
+ * <ul>
+ *     <li>{@code inHeap}: lee todas las filas a una lista en el heap y crea el DataFrame desde ella, como hacía
+ *     {@code findAll()}; es una cota inferior del coste anterior, que además cargaba entidades y asociaciones.</li>
+ *     <li>{@code partitionedJdbc}: {@link RatingsLoader}, la fuente JDBC particionada de Spark.</li>
+ * </ul>
+ * <p>La base de datos es H2 en memoria, generada con {@code SYSTEM_RANGE}. Además del tiempo de cada
+ * entrenamiento se publica {@code peakHeapMb}: la suma de los picos de los pools de heap durante la iteración.
+ * Ejecutar con {@code ./gradlew jmh -Pjmh.includes=AlsTrainingBenchmark}; con 10M valoraciones necesita unos
+ * 12 GB de heap (la tabla H2 vive en el mismo proceso).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+@State(Scope.Benchmark)
+public class AlsTrainingBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:als-bench;DB_CLOSE_DELAY=-1";
+    private static final int USERS = 200_000;
+    private static final int PRODUCTS = 20_000;
+
+    @Param({"1000000", "10000000"})
+    private int ratings;
+
+    @Param({"inHeap", "partitionedJdbc"})
+    private String loader;
+
+    private JdbcTemplate jdbcTemplate;
+    private SparkSession spark;
+    private RatingsLoader ratingsLoader;
+
+    /**
+     * Pico de heap de la iteración, publicado por JMH junto al tiempo.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public double peakHeapMb;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS product_ratings");
+        jdbcTemplate.execute("CREATE TABLE product_ratings (id BIGINT PRIMARY KEY, client_id BIGINT NOT NULL, " +
+                "product_id BIGINT NOT NULL, rating INT NOT NULL, active BOOLEAN NOT NULL)");
+        // Usuarios uniformes y productos sesgados hacia los primeros IDs, como un catálogo real.
+        jdbcTemplate.execute("INSERT INTO product_ratings " +
+                "SELECT X, 1 + MOD(X * 7919, " + USERS + "), 1 + CAST(FLOOR(POWER(RAND(), 2) * " + PRODUCTS + ") AS INT), " +
+                "1 + MOD(X * 31, 5), MOD(X, 20) <> 0 FROM SYSTEM_RANGE(1, " + ratings + ")");
+
+        spark = SparkSession.builder()
+                .appName("AlsTrainingBenchmark")
+                .master("local[*]")
+                .config("spark.sql.shuffle.partitions", "10")
+                .config("spark.ui.enabled", "false")
+                .getOrCreate();
+        ratingsLoader = new RatingsLoader(jdbcTemplate, URL, "sa", "", 8, 10_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        spark.stop();
+        jdbcTemplate.execute("DROP TABLE product_ratings");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeaks() {
+        System.gc();
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @Benchmark
+    public ALSModel train(HeapCounters counters) {
+        Dataset<Row> data = loader.equals("inHeap") ? loadInHeap() : ratingsLoader.load(spark).orElseThrow();
+        data.cache();
+        try {
+            return new ALS()
+                    .setMaxIter(5)
+                    .setRegParam(0.01)
+                    .setUserCol("userId")
+                    .setItemCol("productId")
+                    .setRatingCol("rating")
+                    .fit(data);
+        } finally {
+            data.unpersist();
+            counters.peakHeapMb = heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() / (1024.0 * 1024.0);
+        }
+    }
+
+    private Dataset<Row> loadInHeap() {
+        List<Row> rows = new ArrayList<>();
+        jdbcTemplate.query("SELECT client_id, product_id, rating, active FROM product_ratings", rs -> {
+            if (rs.getBoolean(4)) {
+                rows.add(RowFactory.create((int) rs.getLong(1), (int) rs.getLong(2), rs.getInt(3)));
+            }
+        });
+        StructType schema = new StructType()
+                .add("userId", DataTypes.IntegerType, false)
+                .add("productId", DataTypes.IntegerType, false)
+                .add("rating", DataTypes.IntegerType, false);
+        return spark.createDataFrame(rows, schema);
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+}
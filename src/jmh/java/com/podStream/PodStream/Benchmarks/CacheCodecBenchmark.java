@@ -0,0 +1,163 @@
+package com.podStream.PodStream.Benchmarks;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.podStream.PodStream.DTOS.DetailsDTO;
+import com.podStream.PodStream.DTOS.OrderStatusHistoryDTO;
+import com.podStream.PodStream.DTOS.PurchaseOrderDTO;
+import com.podStream.PodStream.Models.OrderStatus;
+import com.podStream.PodStream.Models.PaymentMethod;
+import com.podStream.PodStream.Services.Cache.CacheValueSerializer;
+import com.podStream.PodStream.Services.Cache.PurchaseOrderSnapshot;
+import com.podStream.PodStream.Services.Cache.SmileCacheCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el formato anterior de la caché (JSON con el nombre de clase de cada objeto) con los snapshots en
+ * Smile, con y sin LZ4, para una orden de compra con {@code details} líneas.
+ * <p>Los tamaños en bytes de cada formato salen como contadores secundarios de {@code payloadSizes}. Ejecutar
+ * con {@code ./gradlew jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheCodecBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int details;
+
+    private PurchaseOrderDTO order;
+    private PurchaseOrderSnapshot snapshot;
+    private GenericJackson2JsonRedisSerializer json;
+    private RedisSerializer<Object> smile;
+    private RedisSerializer<Object> smileLz4;
+    private byte[] jsonBytes;
+    private byte[] smileBytes;
+    private byte[] smileLz4Bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        order = sampleOrder(details);
+        snapshot = PurchaseOrderSnapshot.from(order);
+        json = new GenericJackson2JsonRedisSerializer();
+        json.configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+        smile = new CacheValueSerializer(new SmileCacheCodec(), json, Integer.MAX_VALUE);
+        smileLz4 = new CacheValueSerializer(new SmileCacheCodec(), json, 0);
+        jsonBytes = json.serialize(order);
+        smileBytes = smile.serialize(snapshot);
+        smileLz4Bytes = smileLz4.serialize(snapshot);
+    }
+
+    /**
+     * Tamaño en bytes de cada formato. JMH pone a cero los contadores {@code EVENTS} al empezar cada iteración
+     * y los suma entre iteraciones, así que se fijan en {@link #payloadSizes}, que se mide una sola vez.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PayloadSizes {
+        public long jsonBytes;
+        public long smileBytes;
+        public long smileLz4Bytes;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void payloadSizes(PayloadSizes sizes) {
+        sizes.jsonBytes = json.serialize(order).length;
+        sizes.smileBytes = smile.serialize(snapshot).length;
+        sizes.smileLz4Bytes = smileLz4.serialize(snapshot).length;
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.serialize(order);
+    }
+
+    @Benchmark
+    public byte[] encodeSmile() {
+        return smile.serialize(snapshot);
+    }
+
+    @Benchmark
+    public byte[] encodeSmileLz4() {
+        return smileLz4.serialize(snapshot);
+    }
+
+    @Benchmark
+    public void decodeJson(Blackhole blackhole) {
+        blackhole.consume(json.deserialize(jsonBytes));
+    }
+
+    @Benchmark
+    public void decodeSmile(Blackhole blackhole) {
+        blackhole.consume(((PurchaseOrderSnapshot) smile.deserialize(smileBytes)).toDTO());
+    }
+
+    @Benchmark
+    public void decodeSmileLz4(Blackhole blackhole) {
+        blackhole.consume(((PurchaseOrderSnapshot) smileLz4.deserialize(smileLz4Bytes)).toDTO());
+    }
+
+    private static PurchaseOrderDTO sampleOrder(int lines) {
+        LocalDateTime now = LocalDateTime.of(2025, 7, 9, 12, 0);
+        Set<DetailsDTO> items = new HashSet<>();
+        for (long i = 1; i <= lines; i++) {
+            DetailsDTO detail = new DetailsDTO();
+            detail.setId(i);
+            detail.setProductId(1000 + i);
+            detail.setProductName("Micrófono de condensador " + i);
+            detail.setDescription("Micrófono USB cardioide con brazo articulado y filtro antipop");
+            detail.setQuantity((int) (i % 3) + 1);
+            detail.setPrice(49.99 + i);
+            detail.setPurchaseOrderId(42L);
+            detail.setCreatedDate(now);
+            detail.setActive(true);
+            items.add(detail);
+        }
+        List<OrderStatusHistoryDTO> history = new ArrayList<>();
+        OrderStatus previous = null;
+        for (OrderStatus status : List.of(OrderStatus.PENDING_PAYMENT, OrderStatus.PAYMENT_CONFIRMED)) {
+            OrderStatusHistoryDTO entry = new OrderStatusHistoryDTO();
+            entry.setId((long) history.size() + 1);
+            entry.setPurchaseOrderId(42L);
+            entry.setOldStatus(previous);
+            entry.setNewStatus(status);
+            entry.setChangedBy("system");
+            entry.setChangeDate(now);
+            entry.setActive(true);
+            history.add(entry);
+            previous = status;
+        }
+
+        PurchaseOrderDTO dto = new PurchaseOrderDTO();
+        dto.setId(42L);
+        dto.setTicket("7f3c2a9e-1b4d-4c8e-9a6f-2d5e8b1c0f37");
+        dto.setAmount(items.stream().mapToDouble(d -> d.getPrice() * d.getQuantity()).sum());
+        dto.setCreatedAt(now);
+        dto.setUpdatedAt(now);
+        dto.setPaymentMethod(PaymentMethod.values()[0]);
+        dto.setAddressId(7L);
+        dto.setClientId(3L);
+        dto.setCustomerRut("12.345.678-9");
+        dto.setStatus(OrderStatus.PAYMENT_CONFIRMED);
+        dto.setDetails(items);
+        dto.setStatusHistory(history);
+        dto.setSupportTickets(new HashSet<>());
+        dto.setActive(true);
+        return dto;
+    }
+}
@@ -0,0 +1,185 @@
+package com.podStream.PodStream.Benchmarks;
+
+import com.podStream.PodStream.DTOS.ProductDTO;
+import com.podStream.PodStream.Models.ProductDocument;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara la construcción de resultados de búsqueda antes y después de enriquecer {@link ProductDocument}.
+ * <ul>
+ *     <li>{@code perHitLookup}: una consulta a MySQL por hit (comportamiento anterior).</li>
+ *     <li>{@code fromDocuments}: DTO construido solo desde el documento.</li>
+ *     <li>{@code fromDocumentsVerified}: documento más una única consulta {@code IN} de verificación.</li>
+ * </ul>
+ * <p>La base de datos es H2 en memoria; {@code roundTripMicros} simula la latencia de red de cada consulta
+ * a MySQL, que es lo que domina el coste real del N+1. Ejecutar con {@code ./gradlew jmh} y leer el p0.99
+ * del modo {@code SampleTime}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchHydrationBenchmark {
+
+    private static final int CATALOG_SIZE = 5_000;
+    private static final String SELECT_COLUMNS =
+            "SELECT id, name, description, price, stock, sales_count, discount, image, average_rating, active FROM products";
+
+    @Param({"10", "100", "1000"})
+    private int hits;
+
+    @Param({"0", "250"})
+    private long roundTripMicros;
+
+    private Connection connection;
+    private PreparedStatement byId;
+    private List<ProductDocument> documents;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-bench;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS products");
+            statement.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(255), description VARCHAR(1000), " +
+                    "price DOUBLE, stock INT, sales_count INT, discount DOUBLE, image VARCHAR(255), average_rating DOUBLE, active BOOLEAN)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE)")) {
+            for (long id = 1; id <= CATALOG_SIZE; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "Product " + id);
+                insert.setString(3, "Description of product " + id);
+                insert.setDouble(4, 10 + id % 90);
+                insert.setInt(5, (int) (id % 50));
+                insert.setInt(6, (int) (id % 500));
+                insert.setDouble(7, 0.1);
+                insert.setString(8, "https://cdn.podstream.com/products/" + id + ".jpg");
+                insert.setDouble(9, 4.2);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        byId = connection.prepareStatement(SELECT_COLUMNS + " WHERE id = ?");
+
+        Random random = new Random(42);
+        documents = new ArrayList<>(hits);
+        for (int i = 0; i < hits; i++) {
+            long id = 1 + random.nextInt(CATALOG_SIZE);
+            ProductDocument document = new ProductDocument();
+            document.setId(id);
+            document.setName("Product " + id);
+            document.setDescription("Description of product " + id);
+            document.setPrice(10.0 + id % 90);
+            document.setStock((int) (id % 50));
+            document.setInStock(id % 50 > 0);
+            document.setSalesCount((int) (id % 500));
+            document.setCategoryId(1L);
+            document.setCategoryName("Audio");
+            document.setDiscount(0.1);
+            document.setImage("https://cdn.podstream.com/products/" + id + ".jpg");
+            document.setAverageRating(4.2);
+            document.setActive(true);
+            documents.add(document);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        byId.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void perHitLookup(Blackhole blackhole) throws SQLException {
+        List<ProductDTO> results = new ArrayList<>(documents.size());
+        for (ProductDocument document : documents) {
+            simulateRoundTrip();
+            byId.setLong(1, document.getId());
+            try (ResultSet rs = byId.executeQuery()) {
+                if (rs.next() && rs.getBoolean("active")) {
+                    results.add(toDto(rs));
+                }
+            }
+        }
+        blackhole.consume(results);
+    }
+
+    @Benchmark
+    public void fromDocuments(Blackhole blackhole) {
+        blackhole.consume(documents.stream()
+                .filter(ProductDocument::isActive)
+                .map(ProductDTO::new)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public void fromDocumentsVerified(Blackhole blackhole) throws SQLException {
+        simulateRoundTrip();
+        String placeholders = documents.stream().map(document -> "?").collect(Collectors.joining(","));
+        Map<Long, Integer> stockById = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_COLUMNS + " WHERE id IN (" + placeholders + ")")) {
+            for (int i = 0; i < documents.size(); i++) {
+                statement.setLong(i + 1, documents.get(i).getId());
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    if (rs.getBoolean("active")) {
+                        stockById.put(rs.getLong("id"), rs.getInt("stock"));
+                    }
+                }
+            }
+        }
+        List<ProductDTO> results = new ArrayList<>(documents.size());
+        for (ProductDocument document : documents) {
+            Integer stock = stockById.get(document.getId());
+            if (stock != null) {
+                ProductDTO dto = new ProductDTO(document);
+                dto.setStock(stock);
+                dto.setInStock(stock > 0);
+                results.add(dto);
+            }
+        }
+        blackhole.consume(results);
+    }
+
+    private ProductDTO toDto(ResultSet rs) throws SQLException {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setName(rs.getString("name"));
+        dto.setDescription(rs.getString("description"));
+        dto.setPrice(rs.getDouble("price"));
+        dto.setStock(rs.getInt("stock"));
+        dto.setSalesCount(rs.getInt("sales_count"));
+        dto.setDiscount(rs.getDouble("discount"));
+        dto.setImage(rs.getString("image"));
+        dto.setAverageRating(rs.getDouble("average_rating"));
+        dto.setActive(true);
+        return dto;
+    }
+
+    private void simulateRoundTrip() {
+        if (roundTripMicros == 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
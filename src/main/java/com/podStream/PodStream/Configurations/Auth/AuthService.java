@@ -9,6 +9,7 @@ import com.podStream.PodStream.Models.User.Role;
 import com.podStream.PodStream.Models.User.Person;
 import com.podStream.PodStream.Repositories.Jpa.PersonRepository;
 import com.podStream.PodStream.Services.CartService;
+import com.podStream.PodStream.Services.ClientService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +40,8 @@ public class AuthService {
     private AuthenticationManager authenticationManager;
     @Autowired
     private CartService cartService;
+    @Autowired
+    private ClientService clientService;
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     /**
@@ -114,6 +117,8 @@ public class AuthService {
                 .build();
 
         personRepository.save(person);
+        // Una consulta previa por este email pudo dejar una lápida en caché; se borra tras el commit.
+        clientService.evictEmail(person.getEmail());
 
         return AuthResponse.builder()
                 .token(jwtService.getToken(person))
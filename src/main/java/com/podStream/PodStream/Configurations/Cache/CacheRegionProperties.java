@@ -0,0 +1,54 @@
+package com.podStream.PodStream.Configurations.Cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ajustes por región de caché ({@code podstream.cache.regions.<región>.*}). Lo que no se configure
+ * conserva el valor por defecto que declara cada servicio, por ejemplo:
+ * <pre>
+ * podstream.cache.regions.product.ttl=30m
+ * podstream.cache.regions.product.l1-enabled=true
+ * podstream.cache.regions.category.negative-ttl=0s
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "podstream.cache")
+public class CacheRegionProperties {
+
+    private Map<String, Region> regions = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        /** Prefijo de las claves en Redis. */
+        private String prefix;
+
+        /** TTL de los valores en Redis. */
+        private Duration ttl;
+
+        /** TTL de las marcas de ausencia; {@code 0} desactiva el caché negativo. */
+        private Duration negativeTtl;
+
+        /** Tasa de falsos positivos del filtro de Bloom de claves; {@code 0} lo desactiva. */
+        private Double bloomFalsePositiveRate;
+
+        /** Activa la caché en memoria (L1) del nodo delante de Redis. */
+        private Boolean l1Enabled;
+
+        /** Número máximo de entradas en L1. */
+        private Long l1MaxEntries;
+
+        /** Tiempo máximo que un valor vive en L1 si se pierde su invalidación. */
+        private Duration l1Ttl;
+    }
+}
@@ -0,0 +1,83 @@
+package com.podStream.PodStream.Configurations.Cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+/**
+ * Caché de segundo nivel de Hibernate sobre JCache con Caffeine para las entidades de referencia
+ * ({@code CategoryProduct}, {@code Promotion}) y las consultas marcadas como cacheables. {@code Product} queda
+ * fuera: su stock cambia por JDBC y la caché es local a cada nodo. Las escrituras de las entidades cacheadas
+ * expulsan tras el commit su región y sus consultas en los demás nodos ({@code HibernateCacheInvalidator}).
+ * <p>Cada región se crea aquí con su tamaño máximo y su TTL ({@link HibernateCacheProperties}) y Hibernate está
+ * configurado para fallar si una entidad pide una región no declarada, así que ninguna caché crece sin límite
+ * por descuido. La región de marcas de actualización de tablas no expira ni expulsa: si perdiera una marca, la
+ * caché de consultas devolvería resultados obsoletos.
+ * <p>Las estadísticas de Hibernate ({@code hibernate.generate_statistics}) se publican en Micrometer como
+ * {@code hibernate_second_level_cache_requests_total} y {@code hibernate_cache_query_requests_total}.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String CATEGORY_REGION = "category";
+    public static final String PROMOTION_REGION = "promotion";
+    public static final String PROMOTION_QUERY_REGION = "promotion-query";
+
+    /**
+     * Regiones por defecto: tamaño máximo y TTL.
+     */
+    private static final Map<String, HibernateCacheProperties.Region> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put(CATEGORY_REGION, region(500, Duration.ofHours(1)));
+        DEFAULTS.put(PROMOTION_REGION, region(1_000, Duration.ofMinutes(10)));
+        DEFAULTS.put(PROMOTION_QUERY_REGION, region(1_000, Duration.ofMinutes(10)));
+        DEFAULTS.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(1_000, Duration.ofMinutes(10)));
+    }
+
+    @Bean
+    public CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("podstream-hibernate"), getClass().getClassLoader(), new Properties());
+        DEFAULTS.forEach((name, defaults) -> {
+            HibernateCacheProperties.Region overrides = properties.getRegions()
+                    .getOrDefault(name, new HibernateCacheProperties.Region());
+            long maxEntries = overrides.getMaxEntries() != null ? overrides.getMaxEntries() : defaults.getMaxEntries();
+            Duration ttl = overrides.getTtl() != null ? overrides.getTtl() : defaults.getTtl();
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static HibernateCacheProperties.Region region(long maxEntries, Duration ttl) {
+        HibernateCacheProperties.Region region = new HibernateCacheProperties.Region();
+        region.setMaxEntries(maxEntries);
+        region.setTtl(ttl);
+        return region;
+    }
+}
@@ -0,0 +1,39 @@
+package com.podStream.PodStream.Configurations.Cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ajustes de las regiones de la caché de segundo nivel de Hibernate
+ * ({@code podstream.hibernate-cache.regions.<región>.*}). Lo que no se configure conserva el valor por defecto
+ * de {@link HibernateCacheConfig}, por ejemplo:
+ * <pre>
+ * podstream.hibernate-cache.regions.promotion.max-entries=5000
+ * podstream.hibernate-cache.regions.category.ttl=2h
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "podstream.hibernate-cache")
+public class HibernateCacheProperties {
+
+    private Map<String, Region> regions = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        /** Número máximo de entradas; al superarlo Caffeine expulsa las menos usadas (W-TinyLFU). */
+        private Long maxEntries;
+
+        /** Tiempo máximo desde la escritura de una entrada. */
+        private Duration ttl;
+    }
+}
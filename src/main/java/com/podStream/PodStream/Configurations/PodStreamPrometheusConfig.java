@@ -1,11 +1,19 @@
 package com.podStream.PodStream.Configurations;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 
 
 /**
@@ -32,51 +40,43 @@ public class PodStreamPrometheusConfig {
     private Counter orderDeletedCounter;
     private Counter orderFetchedCounter;
     private Counter orderErrorsCounter;
-    private Counter orderCacheHitCounter;
     private Counter emailSentCounter;
     private Counter emailErrorsCounter;
     private Counter categoryCreatedCounter;
     private Counter categoryUpdatedCounter;
     private Counter categoryDeletedCounter;
     private Counter categoryFetchedCounter;
-    private Counter categoryCacheHitCounter;
     private Counter categoryErrorsCounter;
     private Counter interactionCreatedCounter;
     private Counter interactionUpdatedCounter;
     private Counter interactionDeletedCounter;
     private Counter interactionFetchedCounter;
-    private Counter interactionCacheHitCounter;
     private Counter interactionErrorsCounter;
     private Counter commentCreatedCounter;
     private Counter commentUpdatedCounter;
     private Counter commentDeletedCounter;
     private Counter commentFetchedCounter;
-    private Counter commentCacheHitCounter;
     private Counter commentErrorsCounter;
     private Counter detailsCreatedCounter;
     private Counter detailsUpdatedCounter;
     private Counter detailsDeletedCounter;
     private Counter detailsFetchedCounter;
-    private Counter detailsCacheHitCounter;
     private Counter detailsErrorsCounter;
     private Counter monitoringTicketCreatedCounter;
     private Counter monitoringTicketUpdatedCounter;
     private Counter monitoringTicketDeletedCounter;
     private Counter monitoringTicketFetchedCounter;
-    private Counter monitoringTicketCacheHitCounter;
     private Counter monitoringTicketErrorsCounter;
     private Counter jiraIssuesCreatedCounter;
     private Counter jiraIssuesUpdatedCounter;
     private Counter orderStatusHistoryCreatedCounter;
     private Counter orderStatusHistoryDeletedCounter;
     private Counter orderStatusHistoryFetchedCounter;
-    private Counter orderStatusHistoryCacheHitCounter;
     private Counter orderStatusHistoryErrorsCounter;
     private Counter productCreatedCounter;
     private Counter productUpdatedCounter;
     private Counter productDeletedCounter;
     private Counter productFetchedCounter;
-    private Counter productCacheHitCounter;
     private Counter productErrorsCounter;
     private Counter productLowStockCounter;
     private Counter productSyncSuccessCounter;
@@ -88,7 +88,6 @@ public class PodStreamPrometheusConfig {
     private Counter ratingUpdatedCounter;
     private Counter ratingDeletedCounter;
     private Counter ratingFetchedCounter;
-    private Counter ratingCacheHitCounter;
     private Counter ratingErrorsCounter;
     private Counter recommendationErrorsCounter;
     private Counter recommendationSuccessCounter;
@@ -97,22 +96,44 @@ public class PodStreamPrometheusConfig {
     private Counter promotionUpdatedCounter;
     private Counter promotionDeletedCounter;
     private Counter promotionFetchedCounter;
-    private Counter promotionCacheHitCounter;
     private Counter promotionErrorsCounter;
     private Counter promotionAppliedCounter;
     private Counter supportTicketCreatedCounter;
     private Counter supportTicketUpdatedCounter;
     private Counter supportTicketFetchedCounter;
-    private Counter supportTicketCacheHitCounter;
     private Counter supportTicketDeletedCounter;
     private Counter supportTicketErrorsCounter;
     private Counter supportTicketJiraCreatedCounter;
     private Counter supportTicketJiraUpdatedCounter;
     private Counter ticketHistoryCreatedCounter;
     private Counter ticketHistoryFetchedCounter;
-    private Counter ticketHistoryCacheHitCounter;
     private Counter ticketHistoryDeletedCounter;
     private Counter ticketHistoryErrorsCounter;
+    private Counter inventoryReservedCounter;
+    private Counter inventoryRejectedCounter;
+    private Counter inventoryReleasedCounter;
+    private Counter inventoryReservationHeldCounter;
+    private Counter inventoryReservationExpiredCounter;
+    private Counter inventoryReservationConvertedCounter;
+    private Counter searchOutboxRelayedCounter;
+    private Counter searchOutboxFailedCounter;
+    private Counter searchOutboxCoalescedCounter;
+    private final AtomicLong searchOutboxBacklog = new AtomicLong();
+    private final AtomicLong searchOutboxLagSeconds = new AtomicLong();
+    private Counter reindexJobsCompletedCounter;
+    private Counter reindexJobsFailedCounter;
+    private Counter reindexDocumentsCounter;
+    private final AtomicLong reindexProgressPercent = new AtomicLong();
+    private final Map<String, AtomicLong> searchCacheSizes = new ConcurrentHashMap<>();
+    private final AtomicLong suggestIndexSize = new AtomicLong();
+    private Timer suggestLatencyTimer;
+    private Counter exportCompletedCounter;
+    private Counter exportErrorsCounter;
+    private Counter exportRowsCounter;
+    private Counter cacheWriterEntriesCounter;
+    private Counter cacheWriterDroppedCounter;
+    private Counter cacheWriterErrorsCounter;
+    private Timer cacheWriterFlushTimer;
 
     @PostConstruct
     public void initMetrics() {
@@ -161,9 +182,6 @@ public class PodStreamPrometheusConfig {
         orderErrorsCounter = Counter.builder("podstream_orders_errors_total")
                 .description("Total number of purchase order operation errors")
                 .register(meterRegistry);
-        orderCacheHitCounter = Counter.builder("podstream_orders_cache_hit_total")
-                .description("Total number of order cache hits")
-                .register(meterRegistry);
         emailSentCounter = Counter.builder("podstream_emails_sent_total")
                 .description("Total number of emails sent")
                 .register(meterRegistry);
@@ -182,9 +200,6 @@ public class PodStreamPrometheusConfig {
         categoryFetchedCounter = Counter.builder("podstream_categories_fetched_total")
                 .description("Total number of categories fetched")
                 .register(meterRegistry);
-        categoryCacheHitCounter = Counter.builder("podstream_categories_cache_hit_total")
-                .description("Total number of category cache hits")
-                .register(meterRegistry);
         categoryErrorsCounter = Counter.builder("podstream_categories_errors_total")
                 .description("Total number of category operation errors")
                 .register(meterRegistry);
@@ -200,9 +215,6 @@ public class PodStreamPrometheusConfig {
         interactionFetchedCounter = Counter.builder("podstream_interactions_fetched_total")
                 .description("Total number of client interactions fetched")
                 .register(meterRegistry);
-        interactionCacheHitCounter = Counter.builder("podstream_interactions_cache_hit_total")
-                .description("Total number of client interaction cache hits")
-                .register(meterRegistry);
         interactionErrorsCounter = Counter.builder("podstream_interactions_errors_total")
                 .description("Total number of client interaction operation errors")
                 .register(meterRegistry);
@@ -218,9 +230,6 @@ public class PodStreamPrometheusConfig {
         commentFetchedCounter = Counter.builder("podstream_comments_fetched_total")
                 .description("Total number of comments fetched")
                 .register(meterRegistry);
-        commentCacheHitCounter = Counter.builder("podstream_comments_cache_hit_total")
-                .description("Total number of comment cache hits")
-                .register(meterRegistry);
         commentErrorsCounter = Counter.builder("podstream_comments_errors_total")
                 .description("Total number of comment operation errors")
                 .register(meterRegistry);
@@ -236,9 +245,6 @@ public class PodStreamPrometheusConfig {
         detailsFetchedCounter = Counter.builder("podstream_details_fetched_total")
                 .description("Total number of order details fetched")
                 .register(meterRegistry);
-        detailsCacheHitCounter = Counter.builder("podstream_details_cache_hit_total")
-                .description("Total number of order details cache hits")
-                .register(meterRegistry);
         detailsErrorsCounter = Counter.builder("podstream_details_errors_total")
                 .description("Total number of order details operation errors")
                 .register(meterRegistry);
@@ -254,9 +260,6 @@ public class PodStreamPrometheusConfig {
         monitoringTicketFetchedCounter = Counter.builder("podstream_monitoring_tickets_fetched_total")
                 .description("Total number of monitoring tickets fetched")
                 .register(meterRegistry);
-        monitoringTicketCacheHitCounter = Counter.builder("podstream_monitoring_tickets_cache_hit_total")
-                .description("Total number of monitoring ticket cache hits")
-                .register(meterRegistry);
         monitoringTicketErrorsCounter = Counter.builder("podstream_monitoring_tickets_errors_total")
                 .description("Total number of monitoring ticket operation errors")
                 .register(meterRegistry);
@@ -275,9 +278,6 @@ public class PodStreamPrometheusConfig {
         orderStatusHistoryFetchedCounter = Counter.builder("podstream_order_status_history_fetched_total")
                 .description("Total number of order status history entries fetched")
                 .register(meterRegistry);
-        orderStatusHistoryCacheHitCounter = Counter.builder("podstream_order_status_history_cache_hit_total")
-                .description("Total number of order status history cache hits")
-                .register(meterRegistry);
         orderStatusHistoryErrorsCounter = Counter.builder("podstream_order_status_history_errors_total")
                 .description("Total number of order status history operation errors")
                 .register(meterRegistry);
@@ -293,9 +293,6 @@ public class PodStreamPrometheusConfig {
         productFetchedCounter = Counter.builder("podstream_products_fetched_total")
                 .description("Total number of products fetched")
                 .register(meterRegistry);
-        productCacheHitCounter = Counter.builder("podstream_products_cache_hit_total")
-                .description("Total number of product cache hits")
-                .register(meterRegistry);
         productErrorsCounter = Counter.builder("podstream_products_errors_total")
                 .description("Total number of product errors")
                 .register(meterRegistry);
@@ -329,9 +326,6 @@ public class PodStreamPrometheusConfig {
         ratingFetchedCounter = Counter.builder("podstream_ratings_fetched_total")
                 .description("Total number of ratings fetched")
                 .register(meterRegistry);
-        ratingCacheHitCounter = Counter.builder("podstream_ratings_cache_hit_total")
-                .description("Total number of rating cache hits")
-                .register(meterRegistry);
         ratingErrorsCounter = Counter.builder("podstream_ratings_errors_total")
                 .description("Total number of rating errors")
                 .register(meterRegistry);
@@ -356,9 +350,6 @@ public class PodStreamPrometheusConfig {
         promotionFetchedCounter = Counter.builder("podstream_promotions_fetched_total")
                 .description("Total number of promotions fetched")
                 .register(meterRegistry);
-        promotionCacheHitCounter = Counter.builder("podstream_promotions_cache_hit_total")
-                .description("Total number of promotion cache hits")
-                .register(meterRegistry);
         promotionErrorsCounter = Counter.builder("podstream_promotions_errors_total")
                 .description("Total number of promotion errors")
                 .register(meterRegistry);
@@ -374,9 +365,6 @@ public class PodStreamPrometheusConfig {
         supportTicketFetchedCounter = Counter.builder("podstream_support_tickets_fetched_total")
                 .description("Total number of support tickets fetched")
                 .register(meterRegistry);
-        supportTicketCacheHitCounter = Counter.builder("podstream_support_tickets_cache_hit_total")
-                .description("Total number of support ticket cache hits")
-                .register(meterRegistry);
         supportTicketDeletedCounter = Counter.builder("podstream_support_tickets_deleted_total")
                 .description("Total number of support tickets deleted")
                 .register(meterRegistry);
@@ -395,15 +383,86 @@ public class PodStreamPrometheusConfig {
         ticketHistoryFetchedCounter = Counter.builder("podstream_ticket_history_fetched_total")
                 .description("Total number of ticket history entries fetched")
                 .register(meterRegistry);
-        ticketHistoryCacheHitCounter = Counter.builder("podstream_ticket_history_cache_hit_total")
-                .description("Total number of ticket history cache hits")
-                .register(meterRegistry);
         ticketHistoryDeletedCounter = Counter.builder("podstream_ticket_history_deleted_total")
                 .description("Total number of ticket history entries deleted")
                 .register(meterRegistry);
         ticketHistoryErrorsCounter = Counter.builder("podstream_ticket_history_errors_total")
                 .description("Total number of ticket history errors")
                 .register(meterRegistry);
+        inventoryReservedCounter = Counter.builder("podstream_inventory_reserved_total")
+                .description("Total number of successful conditional stock reservations")
+                .register(meterRegistry);
+        inventoryRejectedCounter = Counter.builder("podstream_inventory_rejected_total")
+                .description("Total number of stock reservations rejected for insufficient stock")
+                .register(meterRegistry);
+        inventoryReleasedCounter = Counter.builder("podstream_inventory_released_total")
+                .description("Total number of stock releases")
+                .register(meterRegistry);
+        inventoryReservationHeldCounter = Counter.builder("podstream_inventory_reservation_held_total")
+                .description("Total number of cart reservation holds created or adjusted")
+                .register(meterRegistry);
+        inventoryReservationExpiredCounter = Counter.builder("podstream_inventory_reservation_expired_total")
+                .description("Total number of expired cart reservations released by the sweeper")
+                .register(meterRegistry);
+        inventoryReservationConvertedCounter = Counter.builder("podstream_inventory_reservation_converted_total")
+                .description("Total number of cart reservations converted into orders")
+                .register(meterRegistry);
+        searchOutboxRelayedCounter = Counter.builder("podstream_search_outbox_relayed_total")
+                .description("Total number of outbox events written to Elasticsearch")
+                .register(meterRegistry);
+        searchOutboxFailedCounter = Counter.builder("podstream_search_outbox_failed_total")
+                .description("Total number of outbox events that failed and were rescheduled")
+                .register(meterRegistry);
+        searchOutboxCoalescedCounter = Counter.builder("podstream_search_outbox_coalesced_total")
+                .description("Total number of outbox events superseded by a newer event for the same document")
+                .register(meterRegistry);
+        Gauge.builder("podstream_search_outbox_backlog", searchOutboxBacklog, AtomicLong::get)
+                .description("Number of outbox events pending to be written to Elasticsearch")
+                .register(meterRegistry);
+        Gauge.builder("podstream_search_outbox_lag_seconds", searchOutboxLagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest pending outbox event")
+                .register(meterRegistry);
+        reindexJobsCompletedCounter = Counter.builder("podstream_reindex_jobs_completed_total")
+                .description("Total number of reindex jobs completed with an alias swap")
+                .register(meterRegistry);
+        reindexJobsFailedCounter = Counter.builder("podstream_reindex_jobs_failed_total")
+                .description("Total number of reindex jobs that failed")
+                .register(meterRegistry);
+        reindexDocumentsCounter = Counter.builder("podstream_reindex_documents_total")
+                .description("Total number of documents written by reindex jobs")
+                .register(meterRegistry);
+        Gauge.builder("podstream_reindex_progress_percent", reindexProgressPercent, AtomicLong::get)
+                .description("Progress of the most recently updated reindex job")
+                .register(meterRegistry);
+        suggestLatencyTimer = Timer.builder("podstream_search_suggest_latency")
+                .description("Latency of typeahead suggestions served from the in-memory index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("podstream_search_suggest_entries", suggestIndexSize, AtomicLong::get)
+                .description("Number of products and categories in the typeahead index")
+                .register(meterRegistry);
+        exportCompletedCounter = Counter.builder("podstream_export_completed_total")
+                .description("Total number of bulk exports streamed to completion")
+                .register(meterRegistry);
+        exportErrorsCounter = Counter.builder("podstream_export_errors_total")
+                .description("Total number of bulk exports that failed")
+                .register(meterRegistry);
+        exportRowsCounter = Counter.builder("podstream_export_rows_total")
+                .description("Total number of rows written by bulk exports")
+                .register(meterRegistry);
+        cacheWriterEntriesCounter = Counter.builder("podstream_cache_writer_entries_total")
+                .description("Total number of cache entries written to Redis through pipelines")
+                .register(meterRegistry);
+        cacheWriterDroppedCounter = Counter.builder("podstream_cache_writer_dropped_total")
+                .description("Total number of cache writes dropped because the writer queue was full")
+                .register(meterRegistry);
+        cacheWriterErrorsCounter = Counter.builder("podstream_cache_writer_errors_total")
+                .description("Total number of pipelined cache flushes that failed")
+                .register(meterRegistry);
+        cacheWriterFlushTimer = Timer.builder("podstream_cache_writer_flush_latency")
+                .description("Latency of one pipelined cache flush")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 
     public void incrementAnswerCreated() { answerCreatedCounter.increment(); }
@@ -421,51 +480,43 @@ public class PodStreamPrometheusConfig {
     public void incrementOrderDeleted() { orderDeletedCounter.increment(); }
     public void incrementOrderFetched() { orderFetchedCounter.increment(); }
     public void incrementOrderErrors() { orderErrorsCounter.increment(); }
-    public void incrementOrderCacheHit() { orderCacheHitCounter.increment(); }
     public void incrementEmailSent() { emailSentCounter.increment(); }
     public void incrementEmailErrors() { emailErrorsCounter.increment(); }
     public void incrementCategoryCreated() { categoryCreatedCounter.increment(); }
     public void incrementCategoryUpdated() { categoryUpdatedCounter.increment(); }
     public void incrementCategoryDeleted() { categoryDeletedCounter.increment(); }
     public void incrementCategoryFetched() { categoryFetchedCounter.increment(); }
-    public void incrementCategoryCacheHit() { categoryCacheHitCounter.increment(); }
     public void incrementCategoryErrors() { categoryErrorsCounter.increment(); }
     public void incrementInteractionCreated() { interactionCreatedCounter.increment(); }
     public void incrementInteractionUpdated() { interactionUpdatedCounter.increment(); }
     public void incrementInteractionDeleted() { interactionDeletedCounter.increment(); }
     public void incrementInteractionFetched() { interactionFetchedCounter.increment(); }
-    public void incrementInteractionCacheHit() { interactionCacheHitCounter.increment(); }
     public void incrementInteractionErrors() { interactionErrorsCounter.increment(); }
     public void incrementCommentCreated() { commentCreatedCounter.increment(); }
     public void incrementCommentUpdated() { commentUpdatedCounter.increment(); }
     public void incrementCommentDeleted() { commentDeletedCounter.increment(); }
     public void incrementCommentFetched() { commentFetchedCounter.increment(); }
-    public void incrementCommentCacheHit() { commentCacheHitCounter.increment(); }
     public void incrementCommentErrors() { commentErrorsCounter.increment(); }
     public void incrementDetailsCreated() { detailsCreatedCounter.increment(); }
     public void incrementDetailsUpdated() { detailsUpdatedCounter.increment(); }
     public void incrementDetailsDeleted() { detailsDeletedCounter.increment(); }
     public void incrementDetailsFetched() { detailsFetchedCounter.increment(); }
-    public void incrementDetailsCacheHit() { detailsCacheHitCounter.increment(); }
     public void incrementDetailsErrors() { detailsErrorsCounter.increment(); }
     public void incrementMonitoringTicketCreated() { monitoringTicketCreatedCounter.increment(); }
     public void incrementMonitoringTicketUpdated() { monitoringTicketUpdatedCounter.increment(); }
     public void incrementMonitoringTicketDeleted() { monitoringTicketDeletedCounter.increment(); }
     public void incrementMonitoringTicketFetched() { monitoringTicketFetchedCounter.increment(); }
-    public void incrementMonitoringTicketCacheHit() { monitoringTicketCacheHitCounter.increment(); }
     public void incrementMonitoringTicketErrors() { monitoringTicketErrorsCounter.increment(); }
     public void incrementJiraIssuesCreated() { jiraIssuesCreatedCounter.increment(); }
     public void incrementJiraIssuesUpdated() { jiraIssuesUpdatedCounter.increment(); }
     public void incrementOrderStatusHistoryCreated() { orderStatusHistoryCreatedCounter.increment(); }
     public void incrementOrderStatusHistoryDeleted() { orderStatusHistoryDeletedCounter.increment(); }
     public void incrementOrderStatusHistoryFetched() { orderStatusHistoryFetchedCounter.increment(); }
-    public void incrementOrderStatusHistoryCacheHit() { orderStatusHistoryCacheHitCounter.increment(); }
     public void incrementOrderStatusHistoryErrors() { orderStatusHistoryErrorsCounter.increment(); }
     public void incrementProductCreated() { productCreatedCounter.increment(); }
     public void incrementProductUpdated() { productUpdatedCounter.increment(); }
     public void incrementProductDeleted() { productDeletedCounter.increment(); }
     public void incrementProductFetched() { productFetchedCounter.increment(); }
-    public void incrementProductCacheHit() { productCacheHitCounter.increment(); }
     public void incrementProductErrors() { productErrorsCounter.increment(); }
     public void incrementProductLowStock() { productLowStockCounter.increment(); }
     public void incrementProductSyncSuccess() { productSyncSuccessCounter.increment(); }
@@ -478,7 +529,6 @@ public class PodStreamPrometheusConfig {
 
     public void incrementRatingDeleted() { ratingDeletedCounter.increment(); }
     public void incrementRatingFetched() { ratingFetchedCounter.increment(); }
-    public void incrementRatingCacheHit() { ratingCacheHitCounter.increment(); }
     public void incrementRatingErrors() { ratingErrorsCounter.increment(); }
 
     public void incrementRecommendationErrors() {
@@ -497,19 +547,167 @@ public class PodStreamPrometheusConfig {
     public void incrementPromotionUpdated() { promotionUpdatedCounter.increment(); }
     public void incrementPromotionDeleted() { promotionDeletedCounter.increment(); }
     public void incrementPromotionFetched() { promotionFetchedCounter.increment(); }
-    public void incrementPromotionCacheHit() { promotionCacheHitCounter.increment(); }
     public void incrementPromotionErrors() { promotionErrorsCounter.increment(); }
     public void incrementSupportTicketCreated() { supportTicketCreatedCounter.increment(); }
     public void incrementSupportTicketUpdated() { supportTicketUpdatedCounter.increment(); }
     public void incrementSupportTicketFetched() { supportTicketFetchedCounter.increment(); }
-    public void incrementSupportTicketCacheHit() { supportTicketCacheHitCounter.increment(); }
     public void incrementSupportTicketDeleted() { supportTicketDeletedCounter.increment(); }
     public void incrementSupportTicketErrors() { supportTicketErrorsCounter.increment(); }
     public void incrementSupportTicketJiraCreated() { supportTicketJiraCreatedCounter.increment(); }
     public void incrementSupportTicketJiraUpdated() { supportTicketJiraUpdatedCounter.increment(); }
     public void incrementTicketHistoryCreated() { ticketHistoryCreatedCounter.increment(); }
     public void incrementTicketHistoryFetched() { ticketHistoryFetchedCounter.increment(); }
-    public void incrementTicketHistoryCacheHit() { ticketHistoryCacheHitCounter.increment(); }
     public void incrementTicketHistoryDeleted() { ticketHistoryDeletedCounter.increment(); }
     public void incrementTicketHistoryErrors() { ticketHistoryErrorsCounter.increment(); }
-}
\ No newline at end of file
+    public void incrementInventoryReserved() { inventoryReservedCounter.increment(); }
+    public void incrementInventoryRejected() { inventoryRejectedCounter.increment(); }
+    public void incrementInventoryReleased() { inventoryReleasedCounter.increment(); }
+    public void incrementInventoryReservationHeld() { inventoryReservationHeldCounter.increment(); }
+    public void incrementInventoryReservationExpired() { inventoryReservationExpiredCounter.increment(); }
+    public void incrementInventoryReservationConverted() { inventoryReservationConvertedCounter.increment(); }
+    public void incrementSearchOutboxRelayed() { searchOutboxRelayedCounter.increment(); }
+    public void incrementSearchOutboxFailed() { searchOutboxFailedCounter.increment(); }
+    public void incrementSearchOutboxCoalesced() { searchOutboxCoalescedCounter.increment(); }
+    public void setSearchOutboxBacklog(long backlog) { searchOutboxBacklog.set(backlog); }
+    public void setSearchOutboxLagSeconds(long lagSeconds) { searchOutboxLagSeconds.set(lagSeconds); }
+    public void incrementReindexJobsCompleted() { reindexJobsCompletedCounter.increment(); }
+    public void incrementReindexJobsFailed() { reindexJobsFailedCounter.increment(); }
+    public void incrementReindexDocuments(long count) { reindexDocumentsCounter.increment(count); }
+    public void setReindexProgressPercent(long percent) { reindexProgressPercent.set(percent); }
+    public void recordSuggestLatency(long nanos) { suggestLatencyTimer.record(nanos, TimeUnit.NANOSECONDS); }
+    public void setSuggestIndexSize(long size) { suggestIndexSize.set(size); }
+    public void incrementExportCompleted() { exportCompletedCounter.increment(); }
+    public void incrementExportErrors() { exportErrorsCounter.increment(); }
+    public void incrementExportRows(long count) { exportRowsCounter.increment(count); }
+    public void incrementCacheWriterDropped(long count) { cacheWriterDroppedCounter.increment(count); }
+    public void incrementCacheWriterErrors() { cacheWriterErrorsCounter.increment(); }
+
+    public void recordCacheWriterFlush(int entries, long nanos) {
+        cacheWriterEntriesCounter.increment(entries);
+        cacheWriterFlushTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void registerCacheWriterQueueDepth(Supplier<Number> depth) {
+        Gauge.builder("podstream_cache_writer_queue_depth", depth)
+                .description("Number of cache writes waiting for the asynchronous pipeline")
+                .register(meterRegistry);
+    }
+
+    public void recordSearchCacheLookup(String namespace, boolean hit) {
+        meterRegistry.counter("podstream_search_cache_requests_total", "namespace", namespace, "result", hit ? "hit" : "miss").increment();
+    }
+
+    public void incrementSearchCacheRejected(String namespace) {
+        meterRegistry.counter("podstream_search_cache_rejected_total", "namespace", namespace).increment();
+    }
+
+    public void setSearchCacheSize(String namespace, long size) {
+        searchCacheSizes.computeIfAbsent(namespace, ns -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("podstream_search_cache_entries", value, AtomicLong::get)
+                    .description("Number of live search cache entries in the current catalog generation")
+                    .tag("namespace", ns)
+                    .register(meterRegistry);
+            return value;
+        }).set(size);
+    }
+
+    public void recordCacheRequest(String region, String tier, String result) {
+        meterRegistry.counter("podstream_cache_requests_total", "region", region, "tier", tier, "result", result).increment();
+    }
+
+    public void recordCacheNegativeAbsorbed(String region, String by) {
+        meterRegistry.counter("podstream_cache_negative_absorbed_total", "region", region, "by", by).increment();
+    }
+
+    public void incrementCacheL1Invalidation(String region) {
+        meterRegistry.counter("podstream_cache_l1_invalidations_total", "region", region).increment();
+    }
+
+    public void registerCacheL1Size(String region, Supplier<Number> size) {
+        Gauge.builder("podstream_cache_l1_entries", size)
+                .description("Number of entries a region holds in process (L1 or pinned hot keys)")
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+
+    public void registerCacheHotKeys(Supplier<Number> count) {
+        Gauge.builder("podstream_cache_hot_keys", count)
+                .description("Number of cache keys currently considered hot and pinned in memory")
+                .register(meterRegistry);
+    }
+
+    public void recordCacheLoad(String region, String result) {
+        meterRegistry.counter("podstream_cache_load_total", "region", region, "result", result).increment();
+    }
+
+    public void recordCacheLoaderLatency(String region, long nanos) {
+        Timer.builder("podstream_cache_loader_latency")
+                .description("Time spent loading cache misses from the source")
+                .tag("region", region)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCacheTransactionWrites(String result, int writes) {
+        meterRegistry.counter("podstream_cache_tx_writes_total", "result", result).increment(writes);
+    }
+
+    public void recordRecommendationServed(String source) {
+        meterRegistry.counter("podstream_recommendations_served_total", "source", source).increment();
+    }
+
+    public void recordRecommendationTopNPublished(int users) {
+        meterRegistry.counter("podstream_recommendations_topn_published_users_total").increment(users);
+    }
+
+    public void recordRecommendationMaterialization(long nanos) {
+        Timer.builder("podstream_recommendations_topn_materialize_duration")
+                .description("Time spent precomputing and storing top-N recommendations after training")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void registerRecommendationFactorVersion(Supplier<Number> version) {
+        Gauge.builder("podstream_recommendations_factor_version", version)
+                .description("Version of the ALS factor file currently mapped for online scoring")
+                .register(meterRegistry);
+    }
+
+    public void recordRecommendationScoring(long nanos) {
+        Timer.builder("podstream_recommendations_scoring_latency")
+                .description("Time spent scoring candidate products against the mapped ALS factors")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRecommendationModel(String result) {
+        meterRegistry.counter("podstream_recommendations_model_total", "result", result).increment();
+    }
+
+    public void registerRecommendationModelRmse(Supplier<Number> rmse) {
+        Gauge.builder("podstream_recommendations_model_rmse", rmse)
+                .description("Test RMSE of the active ALS model")
+                .register(meterRegistry);
+    }
+
+    public void recordRecommendationFoldIn(String result, long nanos) {
+        Timer.builder("podstream_recommendations_fold_in_duration")
+                .description("Time spent recomputing a user's ALS factors and top-N after an interaction")
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCacheWarmup(String task, String result) {
+        meterRegistry.counter("podstream_cache_warmup_total", "task", task, "result", result).increment();
+    }
+
+    public void recordCacheWarmupDuration(String task, long nanos) {
+        Timer.builder("podstream_cache_warmup_duration")
+                .description("Time spent preloading caches before the application reports ready")
+                .tag("task", task)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
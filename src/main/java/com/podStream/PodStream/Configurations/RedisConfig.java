@@ -1,9 +1,14 @@
 package com.podStream.PodStream.Configurations;
 
+import com.podStream.PodStream.Services.Cache.CacheCodec;
+import com.podStream.PodStream.Services.Cache.CacheValueSerializer;
+import com.podStream.PodStream.Services.Cache.SmileCacheCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -11,17 +16,31 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public CacheCodec cacheCodec() {
+        return new SmileCacheCodec();
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory, CacheCodec cacheCodec,
+                                                       @Value("${podstream.cache.codec.compression-threshold-bytes:512}") int compressionThreshold) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         // Serializador para claves (String)
         template.setKeySerializer(new StringRedisSerializer());
-        // Serializador para valores (objetos complejos como Cart)
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Snapshots de caché en binario (Smile + LZ4); el resto de valores (como Cart) en JSON
+        template.setValueSerializer(new CacheValueSerializer(cacheCodec, new GenericJackson2JsonRedisSerializer(), compressionThreshold));
         // Serializadores para hash keys y values (por si se usan estructuras hash)
         template.setHashKeySerializer(new StringRedisSerializer());
         template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
         template.afterPropertiesSet();
         return template;
     }
-}
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        // Contenedor pub/sub compartido (invalidación de cachés L1 entre nodos)
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.podStream.PodStream.Controllers;
 
 import com.podStream.PodStream.DTOS.AnswerDTO;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Services.AnswerService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -34,9 +36,11 @@ public class AnswerController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<AnswerDTO>>> getAllAnswers() {
+    public ResponseEntity<ApiResponse<CursorPageDTO<AnswerDTO>>> getAllAnswers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         logger.info("Fetching all answers");
-        return ResponseEntity.ok(ApiResponse.success("Answers retrieved", answerService.findAll()));
+        return ResponseEntity.ok(ApiResponse.success("Answers retrieved", answerService.findAll(CursorPageRequest.of(cursor, size))));
     }
 
     @GetMapping("/comment/{commentId}")
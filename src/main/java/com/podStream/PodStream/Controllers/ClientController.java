@@ -1,9 +1,11 @@
 package com.podStream.PodStream.Controllers;
 
 import com.podStream.PodStream.DTOS.ChangePasswordDTO;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.NewClientDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Services.ClientService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -14,8 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/client")
 @Tag(name = "Client Management", description = "APIs for managing clients in the PodStream e-commerce platform")
@@ -34,9 +34,11 @@ public class ClientController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<NewClientDTO>>> getAllClients() {
+    public ResponseEntity<ApiResponse<CursorPageDTO<NewClientDTO>>> getAllClients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         logger.info("Fetching all clients");
-        return ResponseEntity.ok(ApiResponse.success("Clients retrieved", clientService.findAll()));
+        return ResponseEntity.ok(ApiResponse.success("Clients retrieved", clientService.findAll(CursorPageRequest.of(cursor, size))));
     }
 
     @GetMapping("/{id}")
@@ -2,8 +2,10 @@ package com.podStream.PodStream.Controllers;
 
 import com.podStream.PodStream.DTOS.ClientInteractionDTO;
 import com.podStream.PodStream.DTOS.ClientInteractionRequest;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Services.ClientInteractionService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -16,7 +18,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * Controlador REST para gestionar interacciones de clientes con productos en PodStream.
@@ -81,11 +82,13 @@ public class ClientInteractionController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<ApiResponse<List<ClientInteractionDTO>>> getInteractionsByClient(
+    public ResponseEntity<ApiResponse<CursorPageDTO<ClientInteractionDTO>>> getInteractionsByClient(
             @PathVariable @Positive(message = "Client ID must be positive") Long clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching interactions for client: {}", clientId);
-        List<ClientInteractionDTO> interactions = clientInteractionService.getInteractionsByClient(clientId, authentication);
+        CursorPageDTO<ClientInteractionDTO> interactions = clientInteractionService.getInteractionsByClient(clientId, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Interactions retrieved", interactions));
     }
 
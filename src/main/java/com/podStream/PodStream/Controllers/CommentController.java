@@ -2,8 +2,10 @@ package com.podStream.PodStream.Controllers;
 
 import com.podStream.PodStream.DTOS.CommentDTO;
 import com.podStream.PodStream.DTOS.CommentRequestDTO;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Services.CommentService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -16,7 +18,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * Controlador REST para gestionar comentarios de clientes sobre productos en PodStream.
@@ -79,11 +80,13 @@ public class CommentController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<CommentDTO>>> getCommentsByProduct(
+    public ResponseEntity<ApiResponse<CursorPageDTO<CommentDTO>>> getCommentsByProduct(
             @PathVariable @Positive(message = "Product ID must be positive") Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching comments for product: {}", productId);
-        List<CommentDTO> comments = commentService.getCommentsByProduct(productId, authentication);
+        CursorPageDTO<CommentDTO> comments = commentService.getCommentsByProduct(productId, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Comments retrieved", comments));
     }
 
@@ -97,11 +100,13 @@ public class CommentController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENT') and authentication.principal.id == #clientId)")
-    public ResponseEntity<ApiResponse<List<CommentDTO>>> getCommentsByClient(
+    public ResponseEntity<ApiResponse<CursorPageDTO<CommentDTO>>> getCommentsByClient(
             @PathVariable @Positive(message = "Client ID must be positive") Long clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching comments for client: {}", clientId);
-        List<CommentDTO> comments = commentService.getCommentsByClient(clientId, authentication);
+        CursorPageDTO<CommentDTO> comments = commentService.getCommentsByClient(clientId, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Comments retrieved", comments));
     }
 
@@ -1,9 +1,11 @@
 package com.podStream.PodStream.Controllers;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.DetailsDTO;
 import com.podStream.PodStream.DTOS.DetailsRequestDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Services.DetailsService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -100,11 +102,13 @@ public class DetailsController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('ADMIN') or hasRole('CLIENT')")
-    public ResponseEntity<ApiResponse<List<DetailsDTO>>> getDetailsByProduct(
+    public ResponseEntity<ApiResponse<CursorPageDTO<DetailsDTO>>> getDetailsByProduct(
             @PathVariable @Positive(message = "Product ID must be positive") Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching details for product: {}", productId);
-        List<DetailsDTO> details = detailsService.getDetailsByProduct(productId, authentication);
+        CursorPageDTO<DetailsDTO> details = detailsService.getDetailsByProduct(productId, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Details retrieved", details));
     }
 
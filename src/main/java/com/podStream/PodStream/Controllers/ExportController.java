@@ -0,0 +1,78 @@
+package com.podStream.PodStream.Controllers;
+
+import com.podStream.PodStream.Models.ApiResponse;
+import com.podStream.PodStream.Models.ExportFormat;
+import com.podStream.PodStream.Services.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controlador REST de administración para exportar tablas completas en streaming (NDJSON o CSV).
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+@Tag(name = "Bulk Export", description = "Admin APIs to stream full datasets as NDJSON or CSV")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List export datasets", description = "Lists the datasets that can be exported. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Set<String>>> getDatasets() {
+        return ResponseEntity.ok(ApiResponse.success("Export datasets retrieved", exportService.getDatasets()));
+    }
+
+    @GetMapping("/{dataset}")
+    @Operation(summary = "Stream a dataset", description = "Streams every row of the dataset with constant memory. The response is gzip-compressed when the client accepts it or gzip=true. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) Boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (!exportService.getDatasets().contains(dataset)) {
+            throw new IllegalArgumentException("Unknown export dataset: " + dataset);
+        }
+        boolean compress = gzip != null ? gzip : acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        logger.info("Exporting dataset {} as {} (gzip: {})", dataset, format, compress);
+
+        StreamingResponseBody body = out -> {
+            if (compress) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                exportService.export(dataset, format, gzipOut);
+                gzipOut.finish();
+            } else {
+                exportService.export(dataset, format, out);
+            }
+            out.flush();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + dataset + "." + format.getExtension() + "\"");
+        if (compress) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -1,10 +1,12 @@
 package com.podStream.PodStream.Controllers;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.MonitoringTicketDTO;
 import com.podStream.PodStream.DTOS.MonitoringTicketRequestDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Models.TicketStatus;
 import com.podStream.PodStream.Services.MonitoringTicketService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,7 +19,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * Controlador REST para gestionar tickets de monitoreo en PodStream.
@@ -80,11 +81,13 @@ public class MonitoringTicketController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'DEVELOPER')")
-    public ResponseEntity<ApiResponse<List<MonitoringTicketDTO>>> getTicketsBySource(
+    public ResponseEntity<ApiResponse<CursorPageDTO<MonitoringTicketDTO>>> getTicketsBySource(
             @PathVariable String source,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching monitoring tickets for source: {}", source);
-        List<MonitoringTicketDTO> tickets = ticketService.getTicketsBySource(source, authentication);
+        CursorPageDTO<MonitoringTicketDTO> tickets = ticketService.getTicketsBySource(source, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Tickets retrieved", tickets));
     }
 
@@ -97,11 +100,13 @@ public class MonitoringTicketController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'DEVELOPER')")
-    public ResponseEntity<ApiResponse<List<MonitoringTicketDTO>>> getTicketsBySeverity(
+    public ResponseEntity<ApiResponse<CursorPageDTO<MonitoringTicketDTO>>> getTicketsBySeverity(
             @PathVariable String severity,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching monitoring tickets for severity: {}", severity);
-        List<MonitoringTicketDTO> tickets = ticketService.getTicketsBySeverity(severity, authentication);
+        CursorPageDTO<MonitoringTicketDTO> tickets = ticketService.getTicketsBySeverity(severity, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Tickets retrieved", tickets));
     }
 
@@ -114,11 +119,13 @@ public class MonitoringTicketController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'DEVELOPER')")
-    public ResponseEntity<ApiResponse<List<MonitoringTicketDTO>>> getTicketsByStatus(
+    public ResponseEntity<ApiResponse<CursorPageDTO<MonitoringTicketDTO>>> getTicketsByStatus(
             @PathVariable TicketStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching monitoring tickets for status: {}", status);
-        List<MonitoringTicketDTO> tickets = ticketService.getTicketsByStatus(status, authentication);
+        CursorPageDTO<MonitoringTicketDTO> tickets = ticketService.getTicketsByStatus(status, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Tickets retrieved", tickets));
     }
 
@@ -131,10 +138,12 @@ public class MonitoringTicketController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'DEVELOPER')")
-    public ResponseEntity<ApiResponse<List<MonitoringTicketDTO>>> getAllTickets(
+    public ResponseEntity<ApiResponse<CursorPageDTO<MonitoringTicketDTO>>> getAllTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching all monitoring tickets");
-        List<MonitoringTicketDTO> tickets = ticketService.getAllTickets(authentication);
+        CursorPageDTO<MonitoringTicketDTO> tickets = ticketService.getAllTickets(CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Tickets retrieved", tickets));
     }
 
@@ -1,9 +1,11 @@
 package com.podStream.PodStream.Controllers;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.OrderStatusHistoryDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Models.OrderStatus;
 import com.podStream.PodStream.Services.OrderStatusHistoryService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Positive;
@@ -15,7 +17,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * Controlador REST para gestionar el historial de cambios de estado de órdenes en PodStream.
@@ -81,11 +82,13 @@ public class OrderStatusHistoryController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'DEVELOPER')")
-    public ResponseEntity<ApiResponse<List<OrderStatusHistoryDTO>>> getHistoriesByPurchaseOrder(
+    public ResponseEntity<ApiResponse<CursorPageDTO<OrderStatusHistoryDTO>>> getHistoriesByPurchaseOrder(
             @PathVariable @Positive(message = "Purchase order ID must be positive") Long purchaseOrderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching order status histories for purchase order: {}", purchaseOrderId);
-        List<OrderStatusHistoryDTO> histories = historyService.getHistoriesByPurchaseOrder(purchaseOrderId, authentication);
+        CursorPageDTO<OrderStatusHistoryDTO> histories = historyService.getHistoriesByPurchaseOrder(purchaseOrderId, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("History entries retrieved", histories));
     }
 
@@ -98,11 +101,13 @@ public class OrderStatusHistoryController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'DEVELOPER')")
-    public ResponseEntity<ApiResponse<List<OrderStatusHistoryDTO>>> getHistoriesByNewStatus(
+    public ResponseEntity<ApiResponse<CursorPageDTO<OrderStatusHistoryDTO>>> getHistoriesByNewStatus(
             @PathVariable OrderStatus newStatus,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching order status histories for new status: {}", newStatus);
-        List<OrderStatusHistoryDTO> histories = historyService.getHistoriesByNewStatus(newStatus, authentication);
+        CursorPageDTO<OrderStatusHistoryDTO> histories = historyService.getHistoriesByNewStatus(newStatus, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("History entries retrieved", histories));
     }
 
@@ -115,11 +120,13 @@ public class OrderStatusHistoryController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'DEVELOPER')")
-    public ResponseEntity<ApiResponse<List<OrderStatusHistoryDTO>>> getHistoriesByChangedBy(
+    public ResponseEntity<ApiResponse<CursorPageDTO<OrderStatusHistoryDTO>>> getHistoriesByChangedBy(
             @PathVariable String changedBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching order status histories for changedBy: {}", changedBy);
-        List<OrderStatusHistoryDTO> histories = historyService.getHistoriesByChangedBy(changedBy, authentication);
+        CursorPageDTO<OrderStatusHistoryDTO> histories = historyService.getHistoriesByChangedBy(changedBy, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("History entries retrieved", histories));
     }
 
@@ -132,10 +139,12 @@ public class OrderStatusHistoryController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'DEVELOPER')")
-    public ResponseEntity<ApiResponse<List<OrderStatusHistoryDTO>>> getAllHistories(
+    public ResponseEntity<ApiResponse<CursorPageDTO<OrderStatusHistoryDTO>>> getAllHistories(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching all order status histories");
-        List<OrderStatusHistoryDTO> histories = historyService.getAllHistories(authentication);
+        CursorPageDTO<OrderStatusHistoryDTO> histories = historyService.getAllHistories(CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("History entries retrieved", histories));
     }
 
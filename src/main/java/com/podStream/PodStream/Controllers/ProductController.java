@@ -1,7 +1,9 @@
 package com.podStream.PodStream.Controllers;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.ProductDTO;
 import com.podStream.PodStream.Models.ApiResponse;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import com.podStream.PodStream.Services.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -57,37 +59,45 @@ public class ProductController {
 
     @GetMapping
     @Operation(summary = "Get all products", description = "Retrieves all active products.")
-    public ResponseEntity<ApiResponse<List<ProductDTO>>> getAllProducts() {
+    public ResponseEntity<ApiResponse<CursorPageDTO<ProductDTO>>> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         logger.info("Fetching all products");
-        List<ProductDTO> products = productService.getAllProducts();
+        CursorPageDTO<ProductDTO> products = productService.getAllProducts(CursorPageRequest.of(cursor, size));
         return ResponseEntity.ok(ApiResponse.success("Products retrieved", products));
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search products by name", description = "Searches products by name.")
-    public ResponseEntity<ApiResponse<List<ProductDTO>>> getProductsByName(
-            @RequestParam String name) {
+    public ResponseEntity<ApiResponse<CursorPageDTO<ProductDTO>>> getProductsByName(
+            @RequestParam String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         logger.info("Searching products by name: {}", name);
-        List<ProductDTO> products = productService.getProductsByName(name);
+        CursorPageDTO<ProductDTO> products = productService.getProductsByName(name, CursorPageRequest.of(cursor, size));
         return ResponseEntity.ok(ApiResponse.success("Products retrieved", products));
     }
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category", description = "Retrieves products by category ID.")
-    public ResponseEntity<ApiResponse<List<ProductDTO>>> getProductsByCategory(
-            @PathVariable @Positive(message = "Category ID must be positive") Long categoryId) {
+    public ResponseEntity<ApiResponse<CursorPageDTO<ProductDTO>>> getProductsByCategory(
+            @PathVariable @Positive(message = "Category ID must be positive") Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         logger.info("Fetching products by category: {}", categoryId);
-        List<ProductDTO> products = productService.getProductsByCategory(categoryId);
+        CursorPageDTO<ProductDTO> products = productService.getProductsByCategory(categoryId, CursorPageRequest.of(cursor, size));
         return ResponseEntity.ok(ApiResponse.success("Products retrieved", products));
     }
 
     @GetMapping("/price")
     @Operation(summary = "Get products by price range", description = "Retrieves products within a price range.")
-    public ResponseEntity<ApiResponse<List<ProductDTO>>> getProductsByPriceRange(
+    public ResponseEntity<ApiResponse<CursorPageDTO<ProductDTO>>> getProductsByPriceRange(
             @RequestParam @PositiveOrZero(message = "Min price must be non-negative") double minPrice,
-            @RequestParam @PositiveOrZero(message = "Max price must be non-negative") double maxPrice) {
+            @RequestParam @PositiveOrZero(message = "Max price must be non-negative") double maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         logger.info("Fetching products by price range: {}-{}", minPrice, maxPrice);
-        List<ProductDTO> products = productService.getProductsByPriceRange(minPrice, maxPrice);
+        CursorPageDTO<ProductDTO> products = productService.getProductsByPriceRange(minPrice, maxPrice, CursorPageRequest.of(cursor, size));
         return ResponseEntity.ok(ApiResponse.success("Products retrieved", products));
     }
 
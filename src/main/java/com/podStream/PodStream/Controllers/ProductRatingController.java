@@ -1,9 +1,11 @@
 package com.podStream.PodStream.Controllers;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.ProductRatingDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Repositories.Jpa.ClientRepository;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import com.podStream.PodStream.Services.ProductRatingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,7 +20,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * Controlador REST para gestionar calificaciones de productos en PodStream.
@@ -67,18 +68,22 @@ public class ProductRatingController {
     @GetMapping("/product/{productId}")
     @Operation(summary = "Get ratings by product", description = "Retrieves all active ratings for a product.")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<ApiResponse<List<ProductRatingDTO>>> getRatingsByProduct(
-            @PathVariable @Positive(message = "Product ID must be positive") Long productId) {
+    public ResponseEntity<ApiResponse<CursorPageDTO<ProductRatingDTO>>> getRatingsByProduct(
+            @PathVariable @Positive(message = "Product ID must be positive") Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         logger.info("Fetching ratings for product id: {}", productId);
-        List<ProductRatingDTO> ratings = productRatingService.getRatingsByProduct(productId);
+        CursorPageDTO<ProductRatingDTO> ratings = productRatingService.getRatingsByProduct(productId, CursorPageRequest.of(cursor, size));
         return ResponseEntity.ok(ApiResponse.success("Ratings retrieved", ratings));
     }
 
     @GetMapping("/client/{clientId}")
     @Operation(summary = "Get ratings by client", description = "Retrieves all active ratings for a client. Accessible to USER.")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ApiResponse<List<ProductRatingDTO>>> getRatingsByClient(
+    public ResponseEntity<ApiResponse<CursorPageDTO<ProductRatingDTO>>> getRatingsByClient(
             @PathVariable @Positive(message = "Client ID must be positive") Long clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching ratings for client id: {}", clientId);
         // Validar que el cliente autenticado es el dueño
@@ -87,7 +92,7 @@ public class ProductRatingController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Only the client can access their ratings"));
         }
-        List<ProductRatingDTO> ratings = productRatingService.getRatingsByClient(clientId);
+        CursorPageDTO<ProductRatingDTO> ratings = productRatingService.getRatingsByClient(clientId, CursorPageRequest.of(cursor, size));
         return ResponseEntity.ok(ApiResponse.success("Ratings retrieved", ratings));
     }
 
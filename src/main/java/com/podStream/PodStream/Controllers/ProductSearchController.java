@@ -1,10 +1,17 @@
 package com.podStream.PodStream.Controllers;
 
 import com.podStream.PodStream.DTOS.ProductDTO;
+import com.podStream.PodStream.DTOS.ProductSearchRequestDTO;
+import com.podStream.PodStream.DTOS.ProductSearchResponseDTO;
+import com.podStream.PodStream.DTOS.SuggestionDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Services.Implement.ProductSearchServiceImplement;
+import com.podStream.PodStream.Services.SuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -27,9 +34,12 @@ public class ProductSearchController {
     private static final Logger logger = LoggerFactory.getLogger(ProductSearchController.class);
 
     private final ProductSearchServiceImplement productSearchServiceImplement;
+    private final SuggestionService suggestionService;
 
-    public ProductSearchController(ProductSearchServiceImplement productSearchServiceImplement) {
+    public ProductSearchController(ProductSearchServiceImplement productSearchServiceImplement,
+                                   SuggestionService suggestionService) {
         this.productSearchServiceImplement = productSearchServiceImplement;
+        this.suggestionService = suggestionService;
     }
 
     @GetMapping("/products")
@@ -53,4 +63,23 @@ public class ProductSearchController {
         List<ProductDTO> results = productSearchServiceImplement.filterProducts(categoryId, minPrice, maxPrice);
         return ResponseEntity.ok(ApiResponse.success("Products retrieved", results));
     }
+
+    @GetMapping("/catalog")
+    @Operation(summary = "Faceted product search", description = "Returns a page of active products with category, color, price, rating and stock facets. Use nextCursor to fetch the following page.")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<ApiResponse<ProductSearchResponseDTO>> searchCatalog(@Valid @ModelAttribute ProductSearchRequestDTO request) {
+        logger.info("Faceted search with query: {}, sort: {}", request.getQuery(), request.getSort());
+        ProductSearchResponseDTO results = productSearchServiceImplement.searchCatalog(request);
+        return ResponseEntity.ok(ApiResponse.success("Products retrieved", results));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Typeahead suggestions", description = "Suggests active product and category names starting with the given prefix, ranked by sales.")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<ApiResponse<List<SuggestionDTO>>> suggest(
+            @RequestParam(name = "q") String prefix,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "Limit must be at least 1") @Max(value = 10, message = "Limit cannot exceed 10") int limit) {
+        List<SuggestionDTO> suggestions = suggestionService.suggest(prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved", suggestions));
+    }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.podStream.PodStream.Controllers;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.PurchaseOrderDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Models.OrderStatus;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import com.podStream.PodStream.Services.PurchaseOrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,7 +19,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * Controlador REST para gestionar órdenes de compra en PodStream.
@@ -144,10 +145,12 @@ public class PurchaseOrderController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<ApiResponse<List<PurchaseOrderDTO>>> getOrdersByClient(
+    public ResponseEntity<ApiResponse<CursorPageDTO<PurchaseOrderDTO>>> getOrdersByClient(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching orders for client");
-        List<PurchaseOrderDTO> orders = purchaseOrderService.getOrdersByClient(authentication);
+        CursorPageDTO<PurchaseOrderDTO> orders = purchaseOrderService.getOrdersByClient(CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Orders retrieved", orders));
     }
 
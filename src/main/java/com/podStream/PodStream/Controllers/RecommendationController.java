@@ -47,6 +47,31 @@ public class RecommendationController {
         return ResponseEntity.ok(ApiResponse.success("Recommendations retrieved", recommendations));
     }
 
+    @GetMapping("/users/{userId}/filtered")
+    @Operation(summary = "Get personalized recommendations among filtered products", description = "Scores the products matching the filters against the user's ALS factors.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Recommendations retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No products match the filters"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid user ID or parameters"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ApiResponse<List<RecommendationResponseDTO>>> getFilteredRecommendationsForUser(
+            @PathVariable @Positive(message = "User ID must be positive") Long userId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "true") boolean inStockOnly,
+            @RequestParam(defaultValue = "10") int howMany) {
+        logger.info("Requesting filtered recommendations for user ID: {} with {} items", userId, howMany);
+        List<RecommendationResponseDTO> recommendations = recommendationService.getRecommendationsForUser(
+                userId, categoryId, minPrice, maxPrice, inStockOnly, howMany);
+        if (recommendations.isEmpty()) {
+            logger.debug("No filtered recommendations found for user ID: {}", userId);
+            return new ResponseEntity<>(ApiResponse.error("No recommendations found for user " + userId), HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(ApiResponse.success("Recommendations retrieved", recommendations));
+    }
+
     @GetMapping("/products/{productId}/content-based")
     @Operation(summary = "Get content-based product recommendations", description = "Retrieves recommendations based on the similarity of product attributes.")
     @io.swagger.v3.oas.annotations.responses.ApiResponses({
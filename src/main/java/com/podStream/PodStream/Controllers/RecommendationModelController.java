@@ -0,0 +1,49 @@
+package com.podStream.PodStream.Controllers;
+
+import com.podStream.PodStream.DTOS.RecommendationModelDTO;
+import com.podStream.PodStream.Models.ApiResponse;
+import com.podStream.PodStream.Services.RecommendationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST de administración para consultar y activar las versiones guardadas del modelo de
+ * recomendaciones.
+ */
+@RestController
+@RequestMapping("/api/admin/recommendations/models")
+@Tag(name = "Recommendation Models", description = "Admin APIs to inspect and roll back ALS recommendation models")
+public class RecommendationModelController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationModelController.class);
+
+    private final RecommendationService recommendationService;
+
+    public RecommendationModelController(RecommendationService recommendationService) {
+        this.recommendationService = recommendationService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List recommendation models", description = "Lists the saved ALS model versions with their training metadata. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<RecommendationModelDTO>>> getModels() {
+        return ResponseEntity.ok(ApiResponse.success("Recommendation models retrieved", recommendationService.getModels()));
+    }
+
+    @PostMapping("/{version}/activate")
+    @Operation(summary = "Activate a recommendation model", description = "Rolls back to a saved ALS model version and republishes its recommendations. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RecommendationModelDTO>> activateModel(
+            @PathVariable @Positive(message = "Version must be positive") long version) {
+        logger.info("Activating recommendation model version: {}", version);
+        return ResponseEntity.ok(ApiResponse.success("Recommendation model activated", recommendationService.activateModel(version)));
+    }
+}
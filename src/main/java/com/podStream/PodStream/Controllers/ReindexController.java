@@ -0,0 +1,77 @@
+package com.podStream.PodStream.Controllers;
+
+import com.podStream.PodStream.DTOS.ReindexJobDTO;
+import com.podStream.PodStream.Models.ApiResponse;
+import com.podStream.PodStream.Services.ReindexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST de administración para reconstruir los índices de Elasticsearch en PodStream.
+ */
+@RestController
+@RequestMapping("/api/admin/reindex")
+@Tag(name = "Search Reindex", description = "Admin APIs to rebuild Elasticsearch indexes from MySQL")
+public class ReindexController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReindexController.class);
+
+    private final ReindexService reindexService;
+
+    public ReindexController(ReindexService reindexService) {
+        this.reindexService = reindexService;
+    }
+
+    @GetMapping("/targets")
+    @Operation(summary = "List reindex targets", description = "Lists the aliases that can be rebuilt. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<String>>> getTargets() {
+        return ResponseEntity.ok(ApiResponse.success("Reindex targets retrieved", reindexService.getTargets()));
+    }
+
+    @PostMapping("/{alias}")
+    @Operation(summary = "Start a reindex job", description = "Rebuilds an alias into a new versioned index and swaps the alias when done. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReindexJobDTO>> startReindex(
+            @PathVariable String alias,
+            @RequestParam(defaultValue = "4") int partitions) {
+        logger.info("Starting reindex for alias: {}", alias);
+        ReindexJobDTO job = reindexService.startReindex(alias, partitions);
+        return new ResponseEntity<>(ApiResponse.success("Reindex job started", job), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get reindex job status", description = "Retrieves the progress of a reindex job. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReindexJobDTO>> getJob(
+            @PathVariable @Positive(message = "Job ID must be positive") Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Reindex job retrieved", reindexService.getJob(id)));
+    }
+
+    @PostMapping("/jobs/{id}/resume")
+    @Operation(summary = "Resume a reindex job", description = "Resumes a failed or cancelled job from its last checkpoint. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReindexJobDTO>> resumeReindex(
+            @PathVariable @Positive(message = "Job ID must be positive") Long id) {
+        logger.info("Resuming reindex job: {}", id);
+        return new ResponseEntity<>(ApiResponse.success("Reindex job resumed", reindexService.resumeReindex(id)), HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/jobs/{id}/cancel")
+    @Operation(summary = "Cancel a reindex job", description = "Stops a running job; the alias keeps pointing to the current index. Accessible to ADMIN.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReindexJobDTO>> cancelReindex(
+            @PathVariable @Positive(message = "Job ID must be positive") Long id) {
+        logger.info("Cancelling reindex job: {}", id);
+        return ResponseEntity.ok(ApiResponse.success("Reindex job cancelled", reindexService.cancelReindex(id)));
+    }
+}
@@ -1,8 +1,10 @@
 package com.podStream.PodStream.Controllers;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.SupportTicketDTO;
 import com.podStream.PodStream.Models.ApiResponse;
 import com.podStream.PodStream.Models.OrderStatus;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import com.podStream.PodStream.Services.SupportTicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,7 +19,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * Controlador REST para gestionar tickets de soporte en PodStream.
@@ -125,10 +126,12 @@ public class SupportTicketController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<ApiResponse<List<SupportTicketDTO>>> getSupportTicketsByClient(
+    public ResponseEntity<ApiResponse<CursorPageDTO<SupportTicketDTO>>> getSupportTicketsByClient(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching support tickets for client");
-        List<SupportTicketDTO> tickets = supportTicketService.getSupportTicketsByClient(authentication);
+        CursorPageDTO<SupportTicketDTO> tickets = supportTicketService.getSupportTicketsByClient(CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Support tickets retrieved", tickets));
     }
 
@@ -142,11 +145,13 @@ public class SupportTicketController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<SupportTicketDTO>>> getSupportTicketsByPurchaseOrder(
+    public ResponseEntity<ApiResponse<CursorPageDTO<SupportTicketDTO>>> getSupportTicketsByPurchaseOrder(
             @PathVariable @Positive(message = "Purchase order ID must be positive") Long purchaseOrderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             Authentication authentication) {
         logger.info("Fetching support tickets for purchase order: {}", purchaseOrderId);
-        List<SupportTicketDTO> tickets = supportTicketService.getSupportTicketsByPurchaseOrder(purchaseOrderId, authentication);
+        CursorPageDTO<SupportTicketDTO> tickets = supportTicketService.getSupportTicketsByPurchaseOrder(purchaseOrderId, CursorPageRequest.of(cursor, size), authentication);
         return ResponseEntity.ok(ApiResponse.success("Support tickets retrieved", tickets));
     }
 
@@ -0,0 +1,26 @@
+package com.podStream.PodStream.DTOS;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO para una página de resultados paginada por cursor.
+ * <p>{@code nextCursor} se envía tal cual en la siguiente petición; es {@code null} en la última página.
+ */
+@Data
+public class CursorPageDTO<T> {
+
+    private List<T> items = new ArrayList<>();
+    private String nextCursor;
+    private boolean hasMore;
+
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+}
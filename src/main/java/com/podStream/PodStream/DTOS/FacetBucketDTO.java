@@ -0,0 +1,18 @@
+package com.podStream.PodStream.DTOS;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para un valor de faceta y el número de productos que lo cumplen.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucketDTO {
+
+    private String key;
+    private String label;
+    private long count;
+}
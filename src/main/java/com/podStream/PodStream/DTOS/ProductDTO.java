@@ -2,6 +2,7 @@ package com.podStream.PodStream.DTOS;
 
 import com.podStream.PodStream.Models.ColorProduct;
 import com.podStream.PodStream.Models.Product;
+import com.podStream.PodStream.Models.ProductDocument;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 
@@ -34,6 +35,10 @@ public class ProductDTO {
 
     private Long categoryId;
 
+    private String categoryName;
+
+    private boolean inStock;
+
     private ColorProduct color;
 
     @Min(value = 0, message = "El descuento no puede ser negativo")
@@ -65,6 +70,7 @@ public class ProductDTO {
         this.stock = product.getStock();
         this.salesCount = product.getSalesCount();
         this.categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        this.inStock = product.getStock() > 0;
         this.color = product.getColor();
         this.discount = product.getDiscount();
         this.image = product.getImage();
@@ -74,4 +80,27 @@ public class ProductDTO {
         this.createdAt = product.getCreatedAt();
         this.updatedAt = product.getUpdatedAt();
     }
+
+    /**
+     * Construye el DTO directamente desde el documento de Elasticsearch, sin consultar MySQL.
+     */
+    public ProductDTO(ProductDocument document) {
+        this.id = document.getId();
+        this.name = document.getName();
+        this.description = document.getDescription();
+        this.price = document.getPrice() != null ? document.getPrice() : 0.0;
+        this.stock = document.getStock() != null ? document.getStock() : 0;
+        this.inStock = document.isInStock();
+        this.salesCount = document.getSalesCount() != null ? document.getSalesCount() : 0;
+        this.categoryId = document.getCategoryId();
+        this.categoryName = document.getCategoryName();
+        this.color = document.getColor() != null ? ColorProduct.valueOf(document.getColor()) : null;
+        this.discount = document.getDiscount() != null ? document.getDiscount() : 0.0;
+        this.image = document.getImage();
+        this.averageRating = document.getAverageRating() != null ? document.getAverageRating() : 0.0;
+        this.imageCollection = document.getImageCollection() != null ? document.getImageCollection() : new ArrayList<>();
+        this.active = document.isActive();
+        this.createdAt = document.getCreatedAt();
+        this.updatedAt = document.getUpdatedAt();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.podStream.PodStream.DTOS;
+
+import com.podStream.PodStream.Models.ColorProduct;
+import com.podStream.PodStream.Models.ProductSearchSort;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * DTO con los filtros, la ordenación y el cursor de una búsqueda facetada de productos.
+ * <p>El {@code cursor} es el valor {@code nextCursor} de la página anterior y solo es válido con
+ * los mismos filtros y la misma ordenación.
+ */
+@Data
+public class ProductSearchRequestDTO {
+
+    private String query;
+
+    @Positive(message = "Category ID must be positive")
+    private Long categoryId;
+
+    private ColorProduct color;
+
+    @PositiveOrZero(message = "Min price must be non-negative")
+    private Double minPrice;
+
+    @PositiveOrZero(message = "Max price must be non-negative")
+    private Double maxPrice;
+
+    @Min(value = 0, message = "Min rating must be between 0 and 5")
+    @Max(value = 5, message = "Min rating must be between 0 and 5")
+    private Double minRating;
+
+    private Boolean inStock;
+
+    private ProductSearchSort sort = ProductSearchSort.RELEVANCE;
+
+    @Min(value = 1, message = "Size must be at least 1")
+    @Max(value = 100, message = "Size cannot exceed 100")
+    private int size = 20;
+
+    private String cursor;
+}
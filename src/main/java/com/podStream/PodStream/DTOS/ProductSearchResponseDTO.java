@@ -0,0 +1,22 @@
+package com.podStream.PodStream.DTOS;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO con una página de resultados de búsqueda y los conteos de facetas del mismo conjunto.
+ * <p>{@code nextCursor} es {@code null} cuando no quedan más páginas.
+ */
+@Data
+public class ProductSearchResponseDTO {
+
+    private List<ProductDTO> products = new ArrayList<>();
+    private long totalHits;
+    private boolean totalHitsExact;
+    private String nextCursor;
+    private Map<String, List<FacetBucketDTO>> facets = new LinkedHashMap<>();
+}
@@ -0,0 +1,37 @@
+package com.podStream.PodStream.DTOS;
+
+import com.podStream.PodStream.Services.Recommendation.ModelMetadata;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * DTO para representar una versión guardada del modelo de recomendaciones ALS.
+ */
+@Data
+public class RecommendationModelDTO {
+
+    private long version;
+    private Instant trainedAt;
+    private Double rmse;
+    private long trainingRows;
+    private long testRows;
+    private long userCount;
+    private long itemCount;
+    private int rank;
+    private boolean active;
+
+    public RecommendationModelDTO() {}
+
+    public RecommendationModelDTO(ModelMetadata metadata, boolean active) {
+        this.version = metadata.version();
+        this.trainedAt = metadata.trainedAt();
+        this.rmse = Double.isNaN(metadata.rmse()) ? null : metadata.rmse();
+        this.trainingRows = metadata.trainingRows();
+        this.testRows = metadata.testRows();
+        this.userCount = metadata.userCount();
+        this.itemCount = metadata.itemCount();
+        this.rank = metadata.rank();
+        this.active = active;
+    }
+}
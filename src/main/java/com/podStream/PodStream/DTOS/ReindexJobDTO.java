@@ -0,0 +1,48 @@
+package com.podStream.PodStream.DTOS;
+
+import com.podStream.PodStream.Models.ReindexJob;
+import com.podStream.PodStream.Models.ReindexPartition;
+import com.podStream.PodStream.Models.ReindexStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para representar el estado y el avance de un trabajo de reindexación.
+ */
+@Data
+public class ReindexJobDTO {
+
+    private Long id;
+    private String aliasName;
+    private String indexName;
+    private ReindexStatus status;
+    private int partitions;
+    private int completedPartitions;
+    private long totalDocuments;
+    private long documentsIndexed;
+    private double progressPercent;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public ReindexJobDTO() {}
+
+    public ReindexJobDTO(ReindexJob job, List<ReindexPartition> partitions) {
+        this.id = job.getId();
+        this.aliasName = job.getAliasName();
+        this.indexName = job.getIndexName();
+        this.status = job.getStatus();
+        this.partitions = job.getPartitions();
+        this.completedPartitions = (int) partitions.stream().filter(ReindexPartition::isCompleted).count();
+        this.totalDocuments = job.getTotalDocuments();
+        this.documentsIndexed = partitions.stream().mapToLong(ReindexPartition::getDocumentsIndexed).sum();
+        this.progressPercent = totalDocuments == 0 ? 100.0 : Math.min(100.0, documentsIndexed * 100.0 / totalDocuments);
+        this.error = job.getError();
+        this.createdAt = job.getCreatedAt();
+        this.updatedAt = job.getUpdatedAt();
+        this.completedAt = job.getCompletedAt();
+    }
+}
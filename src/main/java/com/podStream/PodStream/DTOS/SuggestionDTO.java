@@ -0,0 +1,19 @@
+package com.podStream.PodStream.DTOS;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO para una sugerencia de autocompletado (producto o categoría).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+
+    private String type;
+    private Long id;
+    private String text;
+    private long salesCount;
+}
@@ -3,6 +3,8 @@ package com.podStream.PodStream.Models;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,9 +15,13 @@ import java.util.Set;
 
 /**
  * Entidad que representa una categoría de productos en la tienda PodStream.
+ * <p>Se guarda en la caché de segundo nivel (región {@code category}), que se expulsa en todos los nodos tras
+ * cada escritura; la colección de productos no.
  */
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Data
 @EntityListeners(AuditingEntityListener.class)
 public class CategoryProduct {
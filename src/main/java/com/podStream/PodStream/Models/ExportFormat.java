@@ -0,0 +1,33 @@
+package com.podStream.PodStream.Models;
+
+/**
+ * Formatos disponibles para las exportaciones masivas en streaming.
+ */
+public enum ExportFormat {
+
+    /**
+     * Un objeto JSON por línea.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Valores separados por comas con fila de cabecera (RFC 4180).
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,54 @@
+package com.podStream.PodStream.Models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una reserva temporal de stock hecha por un carrito en PodStream.
+ * <p>El stock ya está descontado de {@link Product} mientras la reserva existe; si vence sin
+ * convertirse en orden, el barrido programado la elimina y devuelve las unidades al producto.
+ */
+@Entity
+@Table(name = "inventory_reservations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reservation_owner_product", columnNames = {"owner_key", "product_id"}),
+        indexes = @Index(name = "idx_reservation_expires_at", columnList = "expires_at"))
+@Data
+@EntityListeners(AuditingEntityListener.class)
+public class InventoryReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "El dueño de la reserva es obligatorio")
+    @Column(name = "owner_key", nullable = false, length = 100)
+    private String ownerKey;
+
+    @NotNull(message = "El producto es obligatorio")
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Positive(message = "La cantidad debe ser positiva")
+    @Column(nullable = false)
+    private Integer quantity = 0;
+
+    @NotNull(message = "La fecha de expiración es obligatoria")
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -3,6 +3,7 @@ package com.podStream.PodStream.Models;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -22,12 +23,17 @@ import java.util.Set;
  * Gestiona relaciones con comentarios, detalles de órdenes, interacciones de
  * clientes, calificaciones, y elementos del carrito.
  *
+ * No se guarda en la caché de segundo nivel: el stock cambia por JDBC ({@code InventoryServiceImplement}) y una
+ * copia en caché de otro nodo lo devolvería obsoleto. Con {@code @DynamicUpdate} guardar la entidad solo escribe
+ * las columnas modificadas, así que no pisa el stock que cambió desde que se cargó.
+ *
  * @author Iván Andrés Castillo Iligaray
  * @version 1.2
  * @since 2025-07-09
  */
 @Entity
 @Table(name = "products")
+@DynamicUpdate
 @Data
 @EntityListeners(AuditingEntityListener.class)
 public class Product {
@@ -1,14 +1,21 @@
 package com.podStream.PodStream.Models;
 
 import lombok.Data;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 
 import jakarta.persistence.Id;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Documento Elasticsearch para representar un producto en búsquedas rápidas.
+ * <p>Contiene todo lo que necesita {@code ProductDTO}, de modo que los resultados de búsqueda se
+ * construyen sin volver a MySQL por cada hit.
  */
 @Data
 @Document(indexName = "products")
@@ -29,9 +36,18 @@ public class ProductDocument {
     @Field(type = FieldType.Integer)
     private Integer stock;
 
+    @Field(type = FieldType.Boolean)
+    private boolean inStock;
+
+    @Field(type = FieldType.Integer)
+    private Integer salesCount;
+
     @Field(type = FieldType.Long)
     private Long categoryId;
 
+    @Field(type = FieldType.Keyword)
+    private String categoryName;
+
     @Field(type = FieldType.Keyword)
     private String color;
 
@@ -41,9 +57,21 @@ public class ProductDocument {
     @Field(type = FieldType.Double)
     private Double averageRating;
 
+    @Field(type = FieldType.Keyword, index = false)
+    private String image;
+
+    @Field(type = FieldType.Keyword, index = false)
+    private List<String> imageCollection = new ArrayList<>();
+
     @Field(type = FieldType.Boolean)
     private boolean active;
 
+    @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second_millis)
+    private LocalDateTime createdAt;
+
+    @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second_millis)
+    private LocalDateTime updatedAt;
+
     public ProductDocument() {}
 
     public ProductDocument(Product product) {
@@ -52,10 +80,17 @@ public class ProductDocument {
         this.description = product.getDescription();
         this.price = product.getPrice();
         this.stock = product.getStock();
+        this.inStock = product.getStock() > 0;
+        this.salesCount = product.getSalesCount();
         this.categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        this.categoryName = product.getCategory() != null ? product.getCategory().getName() : null;
         this.color = product.getColor() != null ? product.getColor().name() : null;
         this.discount = product.getDiscount();
         this.averageRating = product.getAverageRating();
+        this.image = product.getImage();
+        this.imageCollection = product.getImageCollection() != null ? new ArrayList<>(product.getImageCollection()) : new ArrayList<>();
         this.active = product.isActive();
+        this.createdAt = product.getCreatedAt();
+        this.updatedAt = product.getUpdatedAt();
     }
 }
\ No newline at end of file
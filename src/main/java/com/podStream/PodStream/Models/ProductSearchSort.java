@@ -0,0 +1,32 @@
+package com.podStream.PodStream.Models;
+
+/**
+ * Criterios de ordenación disponibles en la búsqueda facetada de productos.
+ */
+public enum ProductSearchSort {
+
+    /**
+     * Por relevancia del texto buscado.
+     */
+    RELEVANCE,
+
+    /**
+     * Por precio ascendente.
+     */
+    PRICE_ASC,
+
+    /**
+     * Por precio descendente.
+     */
+    PRICE_DESC,
+
+    /**
+     * Por puntuación promedio, de mayor a menor.
+     */
+    RATING_DESC,
+
+    /**
+     * Por número de ventas, de mayor a menor.
+     */
+    SALES_DESC
+}
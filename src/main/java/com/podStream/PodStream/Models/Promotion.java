@@ -3,6 +3,8 @@ package com.podStream.PodStream.Models;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -12,6 +14,8 @@ import java.time.LocalDateTime;
 /**
  * Entidad que representa una promoción en PodStream.
  * <p>Almacena el código de la promoción, el porcentaje de descuento, la fecha de validez y el estado activo, junto con auditoría de creación y actualización.
+ * <p>Se guarda en la caché de segundo nivel (región {@code promotion}), que se expulsa en todos los nodos tras
+ * cada escritura.
  *
  * @author Iván Andrés Castillo Iligaray
  * @version 1.0.0
@@ -22,6 +26,8 @@ import java.time.LocalDateTime;
         @Index(name = "idx_promotion_code", columnList = "code"),
         @Index(name = "idx_promotion_active", columnList = "active")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "promotion")
 @Data
 @EntityListeners(AuditingEntityListener.class)
 public class Promotion {
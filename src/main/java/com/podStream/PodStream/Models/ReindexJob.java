@@ -0,0 +1,60 @@
+package com.podStream.PodStream.Models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un trabajo de reindexación de un alias de Elasticsearch desde MySQL.
+ * <p>Los documentos se escriben en un índice versionado nuevo y el alias se cambia de forma atómica
+ * al terminar; el avance por rango de IDs queda en {@link ReindexPartition} para poder reanudarlo.
+ */
+@Entity
+@Table(name = "reindex_jobs", indexes = @Index(name = "idx_reindex_job_status", columnList = "status"))
+@Data
+@EntityListeners(AuditingEntityListener.class)
+public class ReindexJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "El alias es obligatorio")
+    @Column(name = "alias_name", nullable = false, length = 100)
+    private String aliasName;
+
+    @NotBlank(message = "El índice de destino es obligatorio")
+    @Column(name = "index_name", nullable = false, length = 150)
+    private String indexName;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReindexStatus status;
+
+    @Column(nullable = false)
+    private int partitions;
+
+    @Column(name = "total_documents", nullable = false)
+    private long totalDocuments;
+
+    @Column(length = 1000)
+    private String error;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
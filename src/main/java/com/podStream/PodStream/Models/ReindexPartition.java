@@ -0,0 +1,42 @@
+package com.podStream.PodStream.Models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Entidad que representa un rango de IDs de un trabajo de reindexación y su último punto de control.
+ * <p>{@code lastId} solo avanza después de que el lote correspondiente fue aceptado por Elasticsearch.
+ */
+@Entity
+@Table(name = "reindex_partitions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reindex_partition", columnNames = {"job_id", "partition_number"}))
+@Data
+public class ReindexPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "partition_number", nullable = false)
+    private int partitionNumber;
+
+    @Column(name = "range_start", nullable = false)
+    private long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private long rangeEnd;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "documents_indexed", nullable = false)
+    private long documentsIndexed;
+
+    @Column(nullable = false)
+    private boolean completed;
+}
@@ -0,0 +1,11 @@
+package com.podStream.PodStream.Models;
+
+/**
+ * Estado de un trabajo de reindexación de Elasticsearch.
+ */
+public enum ReindexStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
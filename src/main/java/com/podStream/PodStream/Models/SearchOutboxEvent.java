@@ -0,0 +1,63 @@
+package com.podStream.PodStream.Models;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un cambio pendiente de replicar en Elasticsearch (patrón outbox).
+ * <p>Se inserta en la misma transacción que la escritura en MySQL y un relé en segundo plano lo
+ * envía con la API {@code _bulk}, de modo que la latencia de Elasticsearch queda fuera de la petición.
+ */
+@Entity
+@Table(name = "search_outbox", indexes = {
+        @Index(name = "idx_search_outbox_next_attempt", columnList = "next_attempt_at, id"),
+        @Index(name = "idx_search_outbox_document", columnList = "document_key, id")
+})
+@Data
+public class SearchOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "El índice es obligatorio")
+    @Column(name = "index_name", nullable = false, length = 100)
+    private String indexName;
+
+    @NotBlank(message = "El ID del documento es obligatorio")
+    @Column(name = "document_id", nullable = false, length = 100)
+    private String documentId;
+
+    /** Índice y documento concatenados; agrupa los eventos de un mismo documento para coalescerlos. */
+    @NotBlank
+    @Column(name = "document_key", nullable = false, length = 201)
+    private String documentKey;
+
+    /** {@code VARCHAR} y no el {@code ENUM} de MySQL, para añadir operaciones sin alterar la tabla. */
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10, columnDefinition = "VARCHAR(10)")
+    private SearchOutboxOperation operation;
+
+    @Lob
+    @Column(columnDefinition = "LONGTEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
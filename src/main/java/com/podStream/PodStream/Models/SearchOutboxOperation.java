@@ -0,0 +1,11 @@
+package com.podStream.PodStream.Models;
+
+/**
+ * Operación pendiente de aplicar en Elasticsearch para un evento del outbox.
+ */
+public enum SearchOutboxOperation {
+    INDEX,
+    DELETE,
+    /** Cambio de stock de un producto: se indexa el documento completo, leído de MySQL al enviar. */
+    STOCK
+}
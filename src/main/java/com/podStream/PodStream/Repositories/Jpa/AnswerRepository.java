@@ -1,6 +1,7 @@
 package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.Answers;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +12,8 @@ public interface AnswerRepository extends JpaRepository<Answers, Long> {
 
     List<Answers> findByCommentId(Long commentId);
 
+    List<Answers> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
     boolean existsByIdAndClientId(Long id, Long clientId);
 
 }
\ No newline at end of file
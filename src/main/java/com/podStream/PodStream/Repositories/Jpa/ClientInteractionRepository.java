@@ -2,6 +2,7 @@ package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.ClientInteraction;
 import com.podStream.PodStream.Models.InteractionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,6 +11,7 @@ import java.util.List;
 @Repository
 public interface ClientInteractionRepository extends JpaRepository<ClientInteraction, Long> {
     List<ClientInteraction> findByClientIdAndActiveTrue(Long clientId);
+    List<ClientInteraction> findByClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long clientId, Long id, Pageable pageable);
     List<ClientInteraction> findByProductIdAndActiveTrue(Long productId);
     List<ClientInteraction> findByInteractionTypeAndActiveTrue(InteractionType interactionType);
 }
@@ -1,9 +1,11 @@
 package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.User.Client;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +14,6 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     Optional<Client> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+    List<Client> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +10,7 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByClientIdAndActiveTrue(Long clientId);
+    List<Comment> findByClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long clientId, Long id, Pageable pageable);
     List<Comment> findByProductIdAndActiveTrue(Long productId);
+    List<Comment> findByProductIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long productId, Long id, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.Details;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +10,6 @@ import java.util.List;
 @Repository
 public interface DetailsRepository extends JpaRepository<Details, Long> {
     List<Details> findByPurchaseOrderIdAndActiveTrue(Long purchaseOrderId);
-    List<Details> findByProductIdAndActiveTrue(Long productId);
+    List<Details> findByProductIdAndPurchaseOrderClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(
+            Long productId, Long clientId, Long id, Pageable pageable);
 }
@@ -0,0 +1,69 @@
+package com.podStream.PodStream.Repositories.Jpa;
+
+import com.podStream.PodStream.Models.InventoryReservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para las reservas temporales de stock de los carritos en PodStream.
+ * <p>Las consultas con bloqueo ordenan por producto para que las filas se bloqueen siempre
+ * en el mismo orden que el {@code UPDATE} de stock.
+ */
+@Repository
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, Long> {
+
+    /**
+     * Bloquea las reservas de un dueño para los productos indicados.
+     *
+     * @param ownerKey   El dueño de la reserva ({@code client:ID} o {@code session:ID}).
+     * @param productIds Los IDs de los productos.
+     * @return Lista de reservas bloqueadas, ordenadas por producto.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<InventoryReservation> findByOwnerKeyAndProductIdInOrderByProductId(String ownerKey, Collection<Long> productIds);
+
+    /**
+     * Bloquea todas las reservas de un dueño.
+     *
+     * @param ownerKey El dueño de la reserva.
+     * @return Lista de reservas bloqueadas, ordenadas por producto.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<InventoryReservation> findByOwnerKeyOrderByProductId(String ownerKey);
+
+    /**
+     * Bloquea un lote de reservas vencidas, saltando las que otra transacción ya tiene bloqueadas
+     * ({@code SKIP LOCKED}), para que varias instancias puedan barrer en paralelo.
+     *
+     * @param now      Instante de corte.
+     * @param pageable Tamaño del lote.
+     * @return Lote de reservas vencidas.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM InventoryReservation r WHERE r.expiresAt < :now ORDER BY r.productId")
+    List<InventoryReservation> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Extiende la expiración de todas las reservas de un dueño.
+     *
+     * @param ownerKey  El dueño de la reserva.
+     * @param expiresAt Nueva fecha de expiración.
+     * @return Número de reservas extendidas.
+     */
+    @Modifying
+    @Query("UPDATE InventoryReservation r SET r.expiresAt = :expiresAt WHERE r.ownerKey = :ownerKey")
+    int extendByOwnerKey(@Param("ownerKey") String ownerKey, @Param("expiresAt") LocalDateTime expiresAt);
+}
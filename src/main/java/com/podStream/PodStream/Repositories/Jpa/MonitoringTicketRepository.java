@@ -2,6 +2,7 @@ package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.MonitoringTicket;
 import com.podStream.PodStream.Models.TicketStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,7 +14,11 @@ import java.util.List;
 @Repository
 public interface MonitoringTicketRepository extends JpaRepository<MonitoringTicket, Long> {
     List<MonitoringTicket> findBySourceAndActiveTrue(String source);
+    List<MonitoringTicket> findBySourceAndActiveTrueAndIdLessThanOrderByIdDesc(String source, Long id, Pageable pageable);
     List<MonitoringTicket> findBySeverityAndActiveTrue(String severity);
+    List<MonitoringTicket> findBySeverityAndActiveTrueAndIdLessThanOrderByIdDesc(String severity, Long id, Pageable pageable);
     List<MonitoringTicket> findByTicketStatusAndActiveTrue(TicketStatus status);
+    List<MonitoringTicket> findByTicketStatusAndActiveTrueAndIdLessThanOrderByIdDesc(TicketStatus status, Long id, Pageable pageable);
     List<MonitoringTicket> findByActiveTrue();
+    List<MonitoringTicket> findByActiveTrueAndIdLessThanOrderByIdDesc(Long id, Pageable pageable);
 }
@@ -2,6 +2,7 @@ package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.OrderStatus;
 import com.podStream.PodStream.Models.OrderStatusHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,7 +14,11 @@ import java.util.List;
 @Repository
 public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long> {
     List<OrderStatusHistory> findByPurchaseOrderIdAndActiveTrue(Long purchaseOrderId);
+    List<OrderStatusHistory> findByPurchaseOrderIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long purchaseOrderId, Long id, Pageable pageable);
     List<OrderStatusHistory> findByNewStatusAndActiveTrue(OrderStatus newStatus);
+    List<OrderStatusHistory> findByNewStatusAndActiveTrueAndIdLessThanOrderByIdDesc(OrderStatus newStatus, Long id, Pageable pageable);
     List<OrderStatusHistory> findByChangedByAndActiveTrue(String changedBy);
+    List<OrderStatusHistory> findByChangedByAndActiveTrueAndIdLessThanOrderByIdDesc(String changedBy, Long id, Pageable pageable);
     List<OrderStatusHistory> findByActiveTrue();
+    List<OrderStatusHistory> findByActiveTrueAndIdLessThanOrderByIdDesc(Long id, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.ProductRating;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -26,6 +27,11 @@ public interface ProductRatingRepository extends JpaRepository<ProductRating, Lo
      */
     List<ProductRating> findByProductIdAndActiveTrue(Long productId);
 
+    /**
+     * Variante paginada por cursor: filas con ID menor que {@code id}, de la más reciente a la más antigua.
+     */
+    List<ProductRating> findByProductIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long productId, Long id, Pageable pageable);
+
     /**
      * Encuentra todas las calificaciones activas para un cliente dado.
      *
@@ -34,6 +40,11 @@ public interface ProductRatingRepository extends JpaRepository<ProductRating, Lo
      */
     List<ProductRating> findByClientIdAndActiveTrue(Long clientId);
 
+    /**
+     * Variante paginada por cursor: filas con ID menor que {@code id}, de la más reciente a la más antigua.
+     */
+    List<ProductRating> findByClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long clientId, Long id, Pageable pageable);
+
     /**
      * Encuentra una calificación activa por cliente y producto.
      *
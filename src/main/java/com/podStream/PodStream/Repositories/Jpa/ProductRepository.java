@@ -2,9 +2,13 @@ package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.Product;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,13 +18,47 @@ import java.util.List;
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByActiveTrue();
+    List<Product> findByActiveTrueAndIdLessThanOrderByIdDesc(Long id, Pageable pageable);
     List<Product> findByNameContainingIgnoreCaseAndActiveTrue(String name);
+    List<Product> findByNameContainingIgnoreCaseAndActiveTrueAndIdLessThanOrderByIdDesc(String name, Long id, Pageable pageable);
     List<Product> findByCategoryIdAndActiveTrue(Long categoryId);
+    List<Product> findByCategoryIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long categoryId, Long id, Pageable pageable);
     List<Product> findByPriceBetweenAndActiveTrue(double minPrice, double maxPrice);
+    List<Product> findByPriceBetweenAndActiveTrueAndIdLessThanOrderByIdDesc(double minPrice, double maxPrice, Long id, Pageable pageable);
 
+    // Con la categoría cargada: se usa también desde los refrescos de caché en segundo plano, sin sesión abierta.
+    @EntityGraph(attributePaths = "category")
     List<Product> findByOrderBySalesCountDesc(Pageable pageable);
+    List<Product> findByActiveTrueOrderBySalesCountDesc(Pageable pageable);
+
+    // Con categoría e imágenes: el relé del outbox construye con ellos el documento de búsqueda completo.
+    @EntityGraph(attributePaths = {"category", "imageCollection"})
+    List<Product> findByIdIn(Collection<Long> ids);
     boolean existsByCategoryIdAndActiveTrue(Long categoryId);
 
     boolean existsByCategoryId(Long id);
+
+    /**
+     * Filas {@code [id, name, categoryId, salesCount]} de los productos activos, sin cargar entidades,
+     * para construir el índice de autocompletado.
+     */
+    @Query("SELECT p.id, p.name, c.id, p.salesCount FROM Product p LEFT JOIN p.category c WHERE p.active = true")
+    List<Object[]> findActiveSuggestionRows();
+
+    /**
+     * IDs de los productos activos que cumplen los filtros, de más a menos vendidos, para puntuarlos con ALS.
+     *
+     * @param categoryId Categoría, o {@code null} para cualquiera.
+     * @param minStock   Stock mínimo; {@code 1} para excluir los agotados.
+     */
+    @Query("SELECT p.id FROM Product p WHERE p.active = true"
+            + " AND (:categoryId IS NULL OR p.category.id = :categoryId)"
+            + " AND p.price >= :minPrice AND p.price <= :maxPrice AND p.stock >= :minStock"
+            + " ORDER BY p.salesCount DESC")
+    List<Long> findRecommendationCandidateIds(@Param("categoryId") Long categoryId,
+                                              @Param("minPrice") double minPrice,
+                                              @Param("maxPrice") double maxPrice,
+                                              @Param("minStock") int minStock,
+                                              Pageable pageable);
 }
 
@@ -1,7 +1,12 @@
 package com.podStream.PodStream.Repositories.Jpa;
 
+import com.podStream.PodStream.Configurations.Cache.HibernateCacheConfig;
 import com.podStream.PodStream.Models.Promotion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -19,11 +24,16 @@ import java.util.Optional;
 public interface PromotionRepository extends JpaRepository<Promotion, Long> {
 
     /**
-     * Encuentra una promoción activa por su código.
+     * Encuentra una promoción activa por su código. El resultado va a la caché de consultas de Hibernate; las
+     * escrituras de {@code PromotionServiceImplement} expulsan la región en todos los nodos.
      *
      * @param code El código de la promoción.
      * @return Optional con la promoción, si existe.
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = HibernateCacheConfig.PROMOTION_QUERY_REGION)
+    })
     Optional<Promotion> findByCodeAndActiveTrue(String code);
 
     /**
@@ -33,6 +43,14 @@ public interface PromotionRepository extends JpaRepository<Promotion, Long> {
      */
     List<Promotion> findByActiveTrue();
 
+    /**
+     * Códigos de todas las promociones activas, sin cargar las entidades.
+     *
+     * @return Lista de códigos.
+     */
+    @Query("SELECT p.code FROM Promotion p WHERE p.active = true")
+    List<String> findActiveCodes();
+
     /**
      * Encuentra promociones activas válidas hasta una fecha dada.
      *
@@ -2,6 +2,7 @@ package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.OrderStatus;
 import com.podStream.PodStream.Models.PurchaseOrder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -27,6 +28,11 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
      */
     List<PurchaseOrder> findByClientIdAndActiveTrue(Long clientId);
 
+    /**
+     * Variante paginada por cursor: filas con ID menor que {@code id}, de la más reciente a la más antigua.
+     */
+    List<PurchaseOrder> findByClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long clientId, Long id, Pageable pageable);
+
     /**
      * Encuentra una orden activa por su ticket.
      *
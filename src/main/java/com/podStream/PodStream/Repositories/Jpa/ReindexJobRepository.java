@@ -0,0 +1,71 @@
+package com.podStream.PodStream.Repositories.Jpa;
+
+import com.podStream.PodStream.Models.ReindexJob;
+import com.podStream.PodStream.Models.ReindexStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para los trabajos de reindexación de Elasticsearch.
+ */
+@Repository
+public interface ReindexJobRepository extends JpaRepository<ReindexJob, Long> {
+
+    List<ReindexJob> findByStatus(ReindexStatus status);
+
+    boolean existsByAliasNameAndStatus(String aliasName, ReindexStatus status);
+
+    /**
+     * Estado persistido del trabajo, sin cargar la entidad. Es la referencia para todos los nodos: una
+     * cancelación puede llegar a un nodo distinto del que ejecuta el trabajo.
+     */
+    @Query("SELECT j.status FROM ReindexJob j WHERE j.id = :id")
+    Optional<ReindexStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Detiene el trabajo solo si sigue en curso, para no pisar un trabajo que otro nodo acaba de terminar.
+     *
+     * @param id     El ID del trabajo.
+     * @param status Estado final ({@code CANCELLED} o {@code FAILED}).
+     * @return Filas actualizadas; 0 si el trabajo ya no estaba en curso.
+     */
+    @Modifying
+    @Query("UPDATE ReindexJob j SET j.status = :status " +
+            "WHERE j.id = :id AND j.status = com.podStream.PodStream.Models.ReindexStatus.RUNNING")
+    int stopIfRunning(@Param("id") Long id, @Param("status") ReindexStatus status);
+
+    /**
+     * Marca el trabajo como completado solo si sigue en curso: un trabajo cancelado nunca pasa a completado.
+     *
+     * @param id  El ID del trabajo.
+     * @param now Instante de finalización.
+     * @return Filas actualizadas; 0 si el trabajo se canceló o falló antes.
+     */
+    @Modifying
+    @Query("UPDATE ReindexJob j SET j.status = com.podStream.PodStream.Models.ReindexStatus.COMPLETED, " +
+            "j.completedAt = :now WHERE j.id = :id AND j.status = com.podStream.PodStream.Models.ReindexStatus.RUNNING")
+    int completeIfRunning(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Trabajos en un estado sin actividad desde la fecha indicada.
+     */
+    List<ReindexJob> findByStatusAndUpdatedAtBefore(ReindexStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Marca que el nodo que ejecuta el trabajo sigue avanzando.
+     *
+     * @param id  El ID del trabajo.
+     * @param now Instante del latido.
+     * @return Filas actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE ReindexJob j SET j.updatedAt = :now WHERE j.id = :id")
+    int heartbeat(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
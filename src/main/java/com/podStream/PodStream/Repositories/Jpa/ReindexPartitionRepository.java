@@ -0,0 +1,34 @@
+package com.podStream.PodStream.Repositories.Jpa;
+
+import com.podStream.PodStream.Models.ReindexPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio para los puntos de control por rango de los trabajos de reindexación.
+ */
+@Repository
+public interface ReindexPartitionRepository extends JpaRepository<ReindexPartition, Long> {
+
+    List<ReindexPartition> findByJobIdOrderByPartitionNumber(Long jobId);
+
+    /**
+     * Registra el avance de una partición tras un lote aceptado por Elasticsearch.
+     *
+     * @param id        El ID de la partición.
+     * @param lastId    Último ID de entidad escrito.
+     * @param documents Documentos escritos en el lote.
+     * @param completed Si la partición terminó su rango.
+     * @return Filas actualizadas.
+     */
+    @Modifying
+    @Query("UPDATE ReindexPartition p SET p.lastId = :lastId, p.documentsIndexed = p.documentsIndexed + :documents, " +
+            "p.completed = :completed WHERE p.id = :id")
+    int checkpoint(@Param("id") Long id, @Param("lastId") long lastId, @Param("documents") long documents,
+                   @Param("completed") boolean completed);
+}
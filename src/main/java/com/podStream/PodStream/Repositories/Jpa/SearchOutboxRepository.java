@@ -0,0 +1,43 @@
+package com.podStream.PodStream.Repositories.Jpa;
+
+import com.podStream.PodStream.Models.SearchOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para los eventos del outbox de Elasticsearch en PodStream.
+ */
+@Repository
+public interface SearchOutboxRepository extends JpaRepository<SearchOutboxEvent, Long> {
+
+    /**
+     * Bloquea un lote de eventos listos para enviarse, en orden de inserción, saltando los que
+     * otra instancia del relé ya tiene bloqueados ({@code SKIP LOCKED}).
+     *
+     * @param now      Instante de corte para los reintentos.
+     * @param pageable Tamaño del lote.
+     * @return Lote de eventos pendientes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM SearchOutboxEvent e WHERE e.nextAttemptAt <= :now ORDER BY e.id")
+    List<SearchOutboxEvent> findReadyForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Obtiene el evento pendiente más antiguo, usado para medir el retraso del relé.
+     *
+     * @return Optional con el evento más antiguo.
+     */
+    Optional<SearchOutboxEvent> findFirstByOrderByIdAsc();
+}
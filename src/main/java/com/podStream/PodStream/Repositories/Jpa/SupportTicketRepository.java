@@ -2,6 +2,7 @@ package com.podStream.PodStream.Repositories.Jpa;
 
 import com.podStream.PodStream.Models.OrderStatus;
 import com.podStream.PodStream.Models.SupportTicket;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -26,6 +27,11 @@ public interface SupportTicketRepository extends JpaRepository<SupportTicket, Lo
      */
     List<SupportTicket> findByCreatedByIdAndActiveTrue(Long clientId);
 
+    /**
+     * Variante paginada por cursor: filas con ID menor que {@code id}, de la más reciente a la más antigua.
+     */
+    List<SupportTicket> findByCreatedByIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long clientId, Long id, Pageable pageable);
+
     /**
      * Encuentra tickets de soporte activos por ID de orden de compra.
      *
@@ -34,6 +40,11 @@ public interface SupportTicketRepository extends JpaRepository<SupportTicket, Lo
      */
     List<SupportTicket> findByPurchaseOrderIdAndActiveTrue(Long purchaseOrderId);
 
+    /**
+     * Variante paginada por cursor: filas con ID menor que {@code id}, de la más reciente a la más antigua.
+     */
+    List<SupportTicket> findByPurchaseOrderIdAndActiveTrueAndIdLessThanOrderByIdDesc(Long purchaseOrderId, Long id, Pageable pageable);
+
     /**
      * Encuentra tickets de soporte activos por estado.
      *
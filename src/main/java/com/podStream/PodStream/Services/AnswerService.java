@@ -2,6 +2,8 @@ package com.podStream.PodStream.Services;
 
 
 import com.podStream.PodStream.DTOS.AnswerDTO;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import jakarta.validation.Valid;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
@@ -9,7 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 public interface AnswerService {
-    List<AnswerDTO> findAll();
+    CursorPageDTO<AnswerDTO> findAll(CursorPageRequest page);
     List<AnswerDTO> findByCommentId(Long commentId);
     AnswerDTO findById(Long id);
     AnswerDTO createNewAnswer(@Valid AnswerDTO answerDTO, Authentication authentication);
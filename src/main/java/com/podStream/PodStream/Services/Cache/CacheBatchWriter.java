@@ -0,0 +1,200 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritor de caché por lotes: agrupa los {@code SET ... PX} (y los {@code DEL}) de un listado y los envía en
+ * un único pipeline de Redis, en lugar de un round trip por elemento.
+ * <p>{@link Batch#flushAsync()} deja las escrituras en una cola acotada que vacía un hilo propio, de modo
+ * que la respuesta no espera a Redis. Los valores se serializan al añadirlos al lote, en el hilo del llamador:
+ * las entidades con relaciones perezosas solo se pueden recorrer mientras sigue abierta su sesión de Hibernate, y
+ * un valor que no se puede serializar se descarta sin afectar al resto del lote. Si la cola está llena las escrituras se descartan (la caché es
+ * best-effort) y se cuentan en {@code podstream_cache_writer_dropped_total}.
+ * <p>{@link Batch#set} escribe con {@code NX}: los valores de calentamiento y de listados se leyeron antes de
+ * escribirse, y no deben pisar el que haya dejado entretanto una escritura tras el commit. Solo
+ * {@link Batch#setSerialized}, que usa {@link TransactionalCacheWriter} tras el commit, sobrescribe.
+ */
+@Component
+public class CacheBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheBatchWriter.class);
+
+    /**
+     * Escritura pendiente con el valor ya serializado; sin valor es un borrado. Sin {@code overwrite} solo se
+     * escribe si la clave no existe.
+     */
+    private record Write(String key, byte[] value, long ttlMillis, boolean overwrite) {}
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final BlockingQueue<Write> queue;
+    private final int batchSize;
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public CacheBatchWriter(RedisTemplate<String, Object> redisTemplate,
+                            PodStreamPrometheusConfig podStreamPrometheusConfig,
+                            @Value("${podstream.cache.writer.queue-capacity:10000}") int queueCapacity,
+                            @Value("${podstream.cache.writer.batch-size:500}") int batchSize) {
+        this.redisTemplate = redisTemplate;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        podStreamPrometheusConfig.registerCacheWriterQueueDepth(queue::size);
+        flusher = new Thread(this::drain, "cache-batch-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Escrituras acumuladas por un llamador. No es thread-safe; se crea una por operación.
+     */
+    public final class Batch {
+
+        private final List<Write> writes = new ArrayList<>();
+
+        private Batch() {}
+
+        /**
+         * Escribe el valor solo si la clave no existe ({@code SET ... NX}). El valor se serializa ahora; si falla,
+         * la escritura se descarta.
+         */
+        @SuppressWarnings("unchecked")
+        public Batch set(String key, Object value, long ttl, TimeUnit unit) {
+            byte[] bytes;
+            try {
+                bytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+            } catch (RuntimeException e) {
+                logger.warn("Skipping cache write of {}, value could not be serialized: {}", key, e.getMessage());
+                podStreamPrometheusConfig.incrementCacheWriterErrors();
+                return this;
+            }
+            writes.add(new Write(key, bytes, unit.toMillis(ttl), false));
+            return this;
+        }
+
+        /**
+         * Escribe el valor ya serializado, sobrescribiendo el que haya.
+         */
+        public Batch setSerialized(String key, byte[] value, long ttl, TimeUnit unit) {
+            writes.add(new Write(key, value, unit.toMillis(ttl), true));
+            return this;
+        }
+
+        public Batch delete(String key) {
+            writes.add(new Write(key, null, 0, true));
+            return this;
+        }
+
+        public int size() {
+            return writes.size();
+        }
+
+        /**
+         * Envía las escrituras ahora, en pipelines de hasta {@code batch-size} comandos.
+         */
+        public void flush() {
+            for (int from = 0; from < writes.size(); from += batchSize) {
+                write(writes.subList(from, Math.min(from + batchSize, writes.size())));
+            }
+            writes.clear();
+        }
+
+        /**
+         * Encola las escrituras para el hilo escritor sin bloquear al llamador.
+         */
+        public void flushAsync() {
+            int dropped = 0;
+            for (Write write : writes) {
+                if (!queue.offer(write)) {
+                    dropped++;
+                }
+            }
+            if (dropped > 0) {
+                logger.warn("Cache writer queue full, dropped {} of {} writes", dropped, writes.size());
+                podStreamPrometheusConfig.incrementCacheWriterDropped(dropped);
+            }
+            writes.clear();
+        }
+    }
+
+    private void drain() {
+        List<Write> pending = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                pending.add(first);
+                queue.drainTo(pending, batchSize - 1);
+                write(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(List<Write> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        long start = System.nanoTime();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Write write : writes) {
+                    if (write.value() == null) {
+                        connection.keyCommands().del(keySerializer.serialize(write.key()));
+                        continue;
+                    }
+                    connection.stringCommands().set(keySerializer.serialize(write.key()), write.value(),
+                            Expiration.milliseconds(write.ttlMillis()),
+                            write.overwrite()
+                                    ? RedisStringCommands.SetOption.upsert()
+                                    : RedisStringCommands.SetOption.ifAbsent());
+                }
+                return null;
+            });
+            podStreamPrometheusConfig.recordCacheWriterFlush(writes.size(), System.nanoTime() - start);
+        } catch (Exception e) {
+            logger.error("Error flushing {} cache writes: {}", writes.size(), e.getMessage());
+            podStreamPrometheusConfig.incrementCacheWriterErrors();
+        }
+    }
+}
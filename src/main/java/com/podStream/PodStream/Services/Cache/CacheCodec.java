@@ -0,0 +1,12 @@
+package com.podStream.PodStream.Services.Cache;
+
+/**
+ * Formato binario de los {@link CacheSnapshot} en Redis. La cabecera y la compresión las añade
+ * {@link CacheValueSerializer}; el códec solo produce y lee el cuerpo.
+ */
+public interface CacheCodec {
+
+    byte[] encode(CacheSnapshot snapshot);
+
+    CacheSnapshot decode(byte[] bytes, int offset, int length);
+}
@@ -0,0 +1,249 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Región de caché tipada: claves {@code <prefijo><id>} en Redis con un TTL propio, L1 opcional en memoria y
+ * caché negativo opcional. Se crean con {@link CacheRegionManager#region(String, Class)} y se ajustan en
+ * producción con {@code podstream.cache.regions.<nombre>.*} sin tocar el código.
+ * <p>Los fallos de L1 pasan por {@link SingleFlightLoader}, así que una clave que expira llega una sola vez
+ * al origen. Todas las regiones emiten las mismas métricas, etiquetadas con {@code region}: aciertos y fallos
+ * por nivel, latencia de carga y entradas en L1.
+ * <p>Las regiones con filtro de Bloom ({@link CacheRegionManager.Builder#bloomFilter(double)}) rechazan sin
+ * tocar Redis ni la base de datos las claves que nunca se escribieron; el servicio lo reconstruye con
+ * {@link #rebuildKeyFilter(Supplier)} y, hasta la primera reconstrucción, no se filtra nada.
+ * <p>Las regiones sin L1 fijan en memoria, con un TTL corto, las claves que {@link HotKeyTracker} marca como
+ * calientes, de modo que una clave muy pedida (un lanzamiento) no sobrecarga Redis.
+ * <p>Las escrituras pasan por {@link TransactionalCacheWriter}: dentro de una transacción se aplican tras el
+ * commit (o se descartan si se deshace) y, una vez en Redis, invalidan L1 y las claves fijadas en todos los
+ * nodos. Los valores de L1 se comparten entre hilos y no deben modificarse.
+ *
+ * @param <K> Tipo del ID.
+ * @param <V> Tipo del valor guardado.
+ */
+public class CacheRegion<K, V> {
+
+    static final String TIER_L1 = "l1";
+    static final String TIER_L2 = "l2";
+    static final String TIER_PINNED = "pinned";
+
+    private final String name;
+    private final String prefix;
+    private final Class<V> type;
+    private final Predicate<? super V> usable;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final double bloomFalsePositiveRate;
+    private final Cache<String, V> local;
+    private final Cache<String, V> pinned;
+    private final HotKeyTracker hotKeyTracker;
+    private final TransactionalCacheWriter cacheWriter;
+    private final SingleFlightLoader loader;
+    private final CacheRegionManager manager;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final Object rebuildLock = new Object();
+    private volatile BloomFilter keyFilter;
+    private Set<String> writtenDuringRebuild;
+
+    CacheRegion(String name, String prefix, Class<V> type, Predicate<? super V> usable, Duration ttl,
+                Duration negativeTtl, double bloomFalsePositiveRate, Cache<String, V> local,
+                Cache<String, V> pinned, HotKeyTracker hotKeyTracker, TransactionalCacheWriter cacheWriter,
+                SingleFlightLoader loader, CacheRegionManager manager,
+                PodStreamPrometheusConfig podStreamPrometheusConfig) {
+        this.name = name;
+        this.prefix = prefix;
+        this.type = type;
+        this.usable = usable;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.local = local;
+        this.pinned = pinned;
+        this.hotKeyTracker = hotKeyTracker;
+        this.cacheWriter = cacheWriter;
+        this.loader = loader;
+        this.manager = manager;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Busca en L1 (o entre las claves fijadas), después en Redis y por último en el origen, rellenando los niveles superiores.
+     *
+     * @param id     El ID del valor.
+     * @param source Carga el valor desde la base de datos; {@code null} si no existe.
+     * @return El valor, o vacío si no existe (o si hay una marca de ausencia vigente).
+     */
+    public Optional<V> get(K id, Function<? super K, ? extends V> source) {
+        String key = String.valueOf(id);
+        BloomFilter filter = keyFilter;
+        if (filter != null && !filter.mightContain(key)) {
+            podStreamPrometheusConfig.recordCacheNegativeAbsorbed(name, "bloom");
+            return Optional.empty();
+        }
+        boolean hot = hotKeyTracker.record(name, key);
+        if (local != null) {
+            V value = local.getIfPresent(key);
+            podStreamPrometheusConfig.recordCacheRequest(name, TIER_L1, value != null ? "hit" : "miss");
+            if (value != null) {
+                return Optional.of(value);
+            }
+        } else if (pinned != null) {
+            V value = pinned.getIfPresent(key);
+            if (value != null) {
+                podStreamPrometheusConfig.recordCacheRequest(name, TIER_PINNED, "hit");
+                return Optional.of(value);
+            }
+        }
+
+        SingleFlightLoader.Lookup<Object> remote = loader.lookup(name, prefix + key, Object.class, this::isUsable,
+                this::ttlMillis, () -> {
+                    V loaded = source.apply(id);
+                    return loaded != null || negativeTtl.isZero() ? loaded : CacheTombstone.INSTANCE;
+                });
+        Object value = remote.value();
+        if (value instanceof CacheTombstone) {
+            podStreamPrometheusConfig.recordCacheRequest(name, TIER_L2, remote.hit() ? "negative_hit" : "miss");
+            if (remote.hit()) {
+                podStreamPrometheusConfig.recordCacheNegativeAbsorbed(name, "tombstone");
+            }
+            return Optional.empty();
+        }
+        podStreamPrometheusConfig.recordCacheRequest(name, TIER_L2, remote.hit() ? "hit" : "miss");
+        if (value == null) {
+            return Optional.empty();
+        }
+        V result = type.cast(value);
+        if (local != null) {
+            local.put(key, result);
+        } else if (hot && pinned != null) {
+            pinned.put(key, result);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Escribe el valor en Redis, tras el commit si hay transacción, e invalida L1 en todos los nodos.
+     */
+    public void put(K id, V value) {
+        String key = String.valueOf(id);
+        addToKeyFilter(key);
+        cacheWriter.set(prefix + key, value, ttl, () -> propagateWrite(key));
+    }
+
+    /**
+     * Añade la escritura a un lote de {@link CacheBatchWriter}. Pensado para las rutas de listado que
+     * calientan la caché con valores recién leídos, por lo que no invalida L1 ni sobrescribe un valor ya escrito.
+     */
+    public void put(CacheBatchWriter.Batch batch, K id, V value) {
+        addToKeyFilter(String.valueOf(id));
+        batch.set(prefix + id, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borra el valor de Redis, tras el commit si hay transacción, e invalida L1 en todos los nodos.
+     */
+    public void evict(K id) {
+        String key = String.valueOf(id);
+        cacheWriter.delete(prefix + key, () -> propagateWrite(key));
+    }
+
+    /**
+     * Sustituye el filtro de Bloom por uno con exactamente las claves del origen, por ejemplo tras borrar
+     * valores (un filtro de Bloom no admite bajas). Las claves escritas mientras se consulta el origen se
+     * guardan aparte y se añaden antes del cambio, así que no se pierden. No hace nada si la región no tiene
+     * filtro.
+     *
+     * @param source Devuelve todas las claves válidas en el origen.
+     */
+    public void rebuildKeyFilter(Supplier<? extends Collection<? extends K>> source) {
+        if (bloomFalsePositiveRate <= 0) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            Set<String> written = ConcurrentHashMap.newKeySet();
+            synchronized (this) {
+                writtenDuringRebuild = written;
+            }
+            try {
+                Collection<? extends K> ids = source.get();
+                BloomFilter next = new BloomFilter(Math.max(1024, 2L * ids.size()), bloomFalsePositiveRate);
+                ids.forEach(id -> next.add(String.valueOf(id)));
+                synchronized (this) {
+                    written.forEach(next::add);
+                    keyFilter = next;
+                }
+            } finally {
+                synchronized (this) {
+                    writtenDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    long localSize() {
+        return (local != null ? local.estimatedSize() : 0) + (pinned != null ? pinned.estimatedSize() : 0);
+    }
+
+    /**
+     * Aplica una escritura hecha en otro nodo. Los mensajes no distinguen altas de bajas: la clave se añade
+     * al filtro en ambos casos, lo que como mucho deja un falso positivo hasta la siguiente reconstrucción.
+     */
+    void onRemoteWrite(String key) {
+        addToKeyFilter(key);
+        invalidateInProcess(key);
+    }
+
+    private void addToKeyFilter(String key) {
+        if (bloomFalsePositiveRate <= 0) {
+            return;
+        }
+        synchronized (this) {
+            if (keyFilter != null) {
+                keyFilter.add(key);
+            }
+            if (writtenDuringRebuild != null) {
+                writtenDuringRebuild.add(key);
+            }
+        }
+    }
+
+    private boolean isUsable(Object value) {
+        return value instanceof CacheTombstone || type.isInstance(value) && usable.test(type.cast(value));
+    }
+
+    private long ttlMillis(Object value) {
+        return value instanceof CacheTombstone ? negativeTtl.toMillis() : ttl.toMillis();
+    }
+
+    private void invalidateInProcess(String key) {
+        if (local != null) {
+            local.invalidate(key);
+        }
+        if (pinned != null) {
+            pinned.invalidate(key);
+        }
+    }
+
+    private void propagateWrite(String key) {
+        if (local == null && pinned == null && bloomFalsePositiveRate <= 0) {
+            return;
+        }
+        invalidateInProcess(key);
+        manager.publishInvalidation(name, key);
+    }
+}
@@ -0,0 +1,223 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.podStream.PodStream.Configurations.Cache.CacheRegionProperties;
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Crea las {@link CacheRegion} del nodo, aplicando encima de los valores por defecto de cada servicio los de
+ * {@link CacheRegionProperties}, y mantiene coherentes sus L1 entre nodos mediante el canal pub/sub
+ * {@value #CHANNEL} de Redis. Las regiones sin L1 reciben una caché pequeña para las claves calientes
+ * ({@code podstream.cache.hotkeys.pin-ttl-ms}, {@code pin-max-entries}).
+ * <p>Mensaje: {@code <nodo>|<región>|<clave>}; también lleva las claves nuevas a los filtros de Bloom de los
+ * demás nodos. Cada nodo ignora sus propios mensajes, porque ya invalidó
+ * su L1 al publicar. Si se pierde un mensaje, {@code l1-ttl} limita cuánto puede vivir un valor obsoleto en L1.
+ * <p>El mismo canal lleva mensajes para otras cachés locales que no son regiones, como la de segundo nivel de
+ * Hibernate ({@link HibernateCacheInvalidator}).
+ */
+@Component
+public class CacheRegionManager implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRegionManager.class);
+    static final String CHANNEL = "podstream:near-cache:invalidate";
+
+    private final TransactionalCacheWriter transactionalCacheWriter;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final SingleFlightLoader singleFlightLoader;
+    private final CacheRegionProperties cacheRegionProperties;
+    private final HotKeyTracker hotKeyTracker;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final Duration pinTtl;
+    private final long pinMaxEntries;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, CacheRegion<?, ?>> regions = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<String>> remoteListeners = new ConcurrentHashMap<>();
+
+    public CacheRegionManager(TransactionalCacheWriter transactionalCacheWriter,
+                              StringRedisTemplate stringRedisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              SingleFlightLoader singleFlightLoader,
+                              CacheRegionProperties cacheRegionProperties,
+                              HotKeyTracker hotKeyTracker,
+                              PodStreamPrometheusConfig podStreamPrometheusConfig,
+                              @Value("${podstream.cache.hotkeys.pin-ttl-ms:5000}") long pinTtlMs,
+                              @Value("${podstream.cache.hotkeys.pin-max-entries:1000}") long pinMaxEntries) {
+        this.transactionalCacheWriter = transactionalCacheWriter;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.singleFlightLoader = singleFlightLoader;
+        this.cacheRegionProperties = cacheRegionProperties;
+        this.hotKeyTracker = hotKeyTracker;
+        this.pinTtl = Duration.ofMillis(pinTtlMs);
+        this.pinMaxEntries = pinMaxEntries;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Empieza a declarar una región. Los valores del builder son los valores por defecto; los de
+     * {@code podstream.cache.regions.<name>.*} tienen prioridad.
+     *
+     * @param name Nombre de la región, usado en métricas, propiedades y mensajes de invalidación.
+     * @param type Tipo de los valores; los de otro tipo en Redis (por ejemplo, de un formato anterior) se
+     *             recargan desde el origen.
+     */
+    public <K, V> Builder<K, V> region(String name, Class<V> type) {
+        return new Builder<>(name, type);
+    }
+
+    /**
+     * Recibe los mensajes de otros nodos dirigidos a {@code name}, que no es el nombre de ninguna región.
+     */
+    void addRemoteListener(String name, Consumer<String> listener) {
+        if (remoteListeners.putIfAbsent(name, listener) != null) {
+            throw new IllegalStateException("Cache listener already registered: " + name);
+        }
+    }
+
+    void publishInvalidation(String regionName, String key) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId + "|" + regionName + "|" + key);
+        } catch (Exception e) {
+            logger.error("Error publishing invalidation for {}:{}: {}", regionName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        CacheRegion<?, ?> region = regions.get(parts[1]);
+        if (region != null) {
+            region.onRemoteWrite(parts[2]);
+            podStreamPrometheusConfig.incrementCacheL1Invalidation(parts[1]);
+            return;
+        }
+        Consumer<String> listener = remoteListeners.get(parts[1]);
+        if (listener != null) {
+            listener.accept(parts[2]);
+            podStreamPrometheusConfig.incrementCacheL1Invalidation(parts[1]);
+        }
+    }
+
+    public final class Builder<K, V> {
+
+        private final String name;
+        private final Class<V> type;
+        private String prefix;
+        private Predicate<? super V> usable = value -> true;
+        private Duration ttl = Duration.ofHours(1);
+        private Duration negativeTtl = Duration.ofMinutes(1);
+        private double bloomFalsePositiveRate;
+        private boolean l1Enabled;
+        private long l1MaxEntries = 10_000;
+        private Duration l1Ttl = Duration.ofMinutes(5);
+
+        private Builder(String name, Class<V> type) {
+            this.name = name;
+            this.type = type;
+            this.prefix = name + ":";
+        }
+
+        public Builder<K, V> prefix(String prefix) {
+            this.prefix = prefix;
+            return this;
+        }
+
+        /**
+         * Descarta valores de Redis que ya no sirven (por ejemplo, entidades desactivadas).
+         */
+        public Builder<K, V> usable(Predicate<? super V> usable) {
+            this.usable = usable;
+            return this;
+        }
+
+        public Builder<K, V> ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public Builder<K, V> negativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+            return this;
+        }
+
+        /**
+         * Pone un filtro de Bloom de las claves existentes delante de la región, para rechazar claves
+         * inventadas sin dejar una marca de ausencia por cada una. Requiere llamar a
+         * {@link CacheRegion#rebuildKeyFilter(java.util.function.Supplier)}.
+         */
+        public Builder<K, V> bloomFilter(double falsePositiveRate) {
+            this.bloomFalsePositiveRate = falsePositiveRate;
+            return this;
+        }
+
+        public Builder<K, V> l1(long maxEntries, Duration ttl) {
+            this.l1Enabled = true;
+            this.l1MaxEntries = maxEntries;
+            this.l1Ttl = ttl;
+            return this;
+        }
+
+        public CacheRegion<K, V> build() {
+            CacheRegionProperties.Region overrides = cacheRegionProperties.getRegions()
+                    .getOrDefault(name, new CacheRegionProperties.Region());
+            String regionPrefix = Objects.requireNonNullElse(overrides.getPrefix(), prefix);
+            Duration regionTtl = Objects.requireNonNullElse(overrides.getTtl(), ttl);
+            Duration regionNegativeTtl = Objects.requireNonNullElse(overrides.getNegativeTtl(), negativeTtl);
+            double regionBloomFpp = Objects.requireNonNullElse(overrides.getBloomFalsePositiveRate(),
+                    bloomFalsePositiveRate);
+            Cache<String, V> local = null;
+            if (Objects.requireNonNullElse(overrides.getL1Enabled(), l1Enabled)) {
+                local = Caffeine.newBuilder()
+                        .maximumSize(Objects.requireNonNullElse(overrides.getL1MaxEntries(), l1MaxEntries))
+                        .expireAfterWrite(Objects.requireNonNullElse(overrides.getL1Ttl(), l1Ttl))
+                        .build();
+            }
+            Cache<String, V> pinned = null;
+            if (local == null && hotKeyTracker.isEnabled()) {
+                pinned = Caffeine.newBuilder()
+                        .maximumSize(pinMaxEntries)
+                        .expireAfterWrite(pinTtl)
+                        .build();
+            }
+            CacheRegion<K, V> region = new CacheRegion<>(name, regionPrefix, type, usable, regionTtl,
+                    regionNegativeTtl, regionBloomFpp, local, pinned, hotKeyTracker, transactionalCacheWriter,
+                    singleFlightLoader, CacheRegionManager.this, podStreamPrometheusConfig);
+            if (regions.putIfAbsent(name, region) != null) {
+                throw new IllegalStateException("Cache region already registered: " + name);
+            }
+            podStreamPrometheusConfig.registerCacheL1Size(name, region::localSize);
+            logger.info("Cache region {}: prefix={}, ttl={}, negativeTtl={}, l1={}, bloom={}", name, regionPrefix,
+                    regionTtl, regionNegativeTtl, local != null, regionBloomFpp > 0);
+            return region;
+        }
+    }
+}
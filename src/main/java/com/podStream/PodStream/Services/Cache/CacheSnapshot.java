@@ -0,0 +1,20 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Copia inmutable y plana de una entidad para guardarla en Redis, sin colecciones perezosas ni referencias
+ * a otras entidades.
+ * <p>El tipo viaja como un nombre corto ({@code @t}) en lugar del nombre completo de la clase. Al añadir
+ * campos, los nodos con la versión anterior los ignoran; al quitarlos, los valores antiguos los pierden.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@t")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ProductSnapshot.class, name = "product"),
+        @JsonSubTypes.Type(value = PurchaseOrderSnapshot.class, name = "order"),
+        @JsonSubTypes.Type(value = MonitoringTicketSnapshot.class, name = "monitoring-ticket"),
+        @JsonSubTypes.Type(value = CacheTombstone.class, name = "tombstone")
+})
+public interface CacheSnapshot {
+}
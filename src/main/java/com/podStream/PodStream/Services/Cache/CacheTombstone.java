@@ -0,0 +1,10 @@
+package com.podStream.PodStream.Services.Cache;
+
+/**
+ * Marca de ausencia: la clave se consultó en el origen y no existía. Se guarda con el TTL negativo de la
+ * región para que las búsquedas repetidas de IDs inexistentes no lleguen a la base de datos.
+ */
+public record CacheTombstone() implements CacheSnapshot {
+
+    public static final CacheTombstone INSTANCE = new CacheTombstone();
+}
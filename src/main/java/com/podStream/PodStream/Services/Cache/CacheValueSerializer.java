@@ -0,0 +1,85 @@
+package com.podStream.PodStream.Services.Cache;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Serializador de valores de Redis: los {@link CacheSnapshot} se escriben con el {@link CacheCodec} y el
+ * resto de valores con el serializador JSON de siempre.
+ * <p>Formato binario: {@code 0xC5}, un byte de flags y el cuerpo. Si el cuerpo supera
+ * {@code compressionThreshold} bytes se comprime con LZ4 y tras los flags va su longitud original (4 bytes).
+ * Un valor JSON nunca empieza por {@code 0xC5}, así que las entradas escritas antes del cambio se siguen
+ * leyendo hasta que expiran.
+ */
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC5;
+    private static final byte FLAG_LZ4 = 1;
+    private static final int HEADER = 2;
+    private static final int LZ4_HEADER = HEADER + Integer.BYTES;
+
+    private final CacheCodec codec;
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    public CacheValueSerializer(CacheCodec codec, RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.codec = codec;
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!(value instanceof CacheSnapshot snapshot)) {
+            return fallback.serialize(value);
+        }
+        byte[] body = codec.encode(snapshot);
+        if (body.length >= compressionThreshold) {
+            int maxLength = compressor.maxCompressedLength(body.length);
+            byte[] out = new byte[LZ4_HEADER + maxLength];
+            int compressed = compressor.compress(body, 0, body.length, out, LZ4_HEADER, maxLength);
+            if (compressed < body.length) {
+                out[0] = MAGIC;
+                out[1] = FLAG_LZ4;
+                ByteBuffer.wrap(out, HEADER, Integer.BYTES).putInt(body.length);
+                return Arrays.copyOf(out, LZ4_HEADER + compressed);
+            }
+        }
+        byte[] out = new byte[HEADER + body.length];
+        out[0] = MAGIC;
+        System.arraycopy(body, 0, out, HEADER, body.length);
+        return out;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER) {
+            throw new SerializationException("Truncated cache value");
+        }
+        if ((bytes[1] & FLAG_LZ4) == 0) {
+            return codec.decode(bytes, HEADER, bytes.length - HEADER);
+        }
+        byte[] body;
+        try {
+            body = new byte[ByteBuffer.wrap(bytes, HEADER, Integer.BYTES).getInt()];
+            decompressor.decompress(bytes, LZ4_HEADER, body, 0, body.length);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not decompress cache value", e);
+        }
+        return codec.decode(body, 0, body.length);
+    }
+}
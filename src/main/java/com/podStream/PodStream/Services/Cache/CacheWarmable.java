@@ -0,0 +1,19 @@
+package com.podStream.PodStream.Services.Cache;
+
+/**
+ * Servicio que sabe precargar su parte de la caché. {@link CacheWarmer} ejecuta todos los beans que lo
+ * implementan antes de que la aplicación se declare lista.
+ */
+public interface CacheWarmable {
+
+    /**
+     * Nombre corto del calentamiento, usado en logs y en la etiqueta {@code task} de las métricas.
+     */
+    String warmUpName();
+
+    /**
+     * Precarga la caché. Se ejecuta en un hilo propio y, si agota el presupuesto de tiempo, termina en segundo
+     * plano con la aplicación ya lista, así que no debe dejar nada a medias que rompa las lecturas.
+     */
+    void warmUp();
+}
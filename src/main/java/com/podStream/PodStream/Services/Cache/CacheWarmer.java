@@ -0,0 +1,107 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calentamiento de cachés tras arrancar: ejecuta cada {@link CacheWarmable} con concurrencia acotada
+ * ({@code podstream.cache.warmup.parallelism}) y un presupuesto total ({@code podstream.cache.warmup.timeout-ms}).
+ * <p>Spring Boot no pasa el estado de readiness a {@code ACCEPTING_TRAFFIC} hasta que terminan los
+ * {@link ApplicationRunner}, así que {@code /actuator/health/readiness} sigue en {@code OUT_OF_SERVICE} mientras
+ * dura el calentamiento y el balanceador no envía tráfico a una instancia fría. Al agotarse el presupuesto la
+ * aplicación se declara lista igualmente: las tareas que no han empezado se cancelan y las que están en curso
+ * terminan en segundo plano.
+ */
+@Component
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final List<CacheWarmable> warmables;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final boolean enabled;
+    private final int parallelism;
+    private final long timeoutMs;
+
+    public CacheWarmer(List<CacheWarmable> warmables,
+                       PodStreamPrometheusConfig podStreamPrometheusConfig,
+                       @Value("${podstream.cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${podstream.cache.warmup.parallelism:4}") int parallelism,
+                       @Value("${podstream.cache.warmup.timeout-ms:120000}") long timeoutMs) {
+        this.warmables = warmables;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.enabled = enabled;
+        this.parallelism = parallelism;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || warmables.isEmpty()) {
+            return;
+        }
+        logger.info("Warming caches: {} tasks, parallelism {}, budget {} ms", warmables.size(), parallelism, timeoutMs);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, warmables.size()), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Map<CacheWarmable, Future<?>> tasks = new LinkedHashMap<>();
+        for (CacheWarmable warmable : warmables) {
+            tasks.put(warmable, executor.submit(() -> timed(warmable)));
+        }
+        try {
+            tasks.forEach((warmable, task) -> await(warmable, task, deadline));
+        } finally {
+            executor.shutdown();
+        }
+        long nanos = System.nanoTime() - start;
+        podStreamPrometheusConfig.recordCacheWarmupDuration("total", nanos);
+        logger.info("Cache warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private void timed(CacheWarmable warmable) {
+        long start = System.nanoTime();
+        warmable.warmUp();
+        long nanos = System.nanoTime() - start;
+        podStreamPrometheusConfig.recordCacheWarmupDuration(warmable.warmUpName(), nanos);
+        podStreamPrometheusConfig.recordCacheWarmup(warmable.warmUpName(), "success");
+        logger.info("Cache warm-up task {} finished in {} ms", warmable.warmUpName(), TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private void await(CacheWarmable warmable, Future<?> task, long deadline) {
+        try {
+            task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Cancela si aún no ha empezado; si está en curso la deja terminar sin bloquear el arranque.
+            task.cancel(false);
+            podStreamPrometheusConfig.recordCacheWarmup(warmable.warmUpName(), "timeout");
+            logger.warn("Cache warm-up task {} did not finish within the budget", warmable.warmUpName());
+        } catch (ExecutionException e) {
+            podStreamPrometheusConfig.recordCacheWarmup(warmable.warmUpName(), "error");
+            logger.error("Cache warm-up task {} failed: {}", warmable.warmUpName(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel(false);
+        }
+    }
+}
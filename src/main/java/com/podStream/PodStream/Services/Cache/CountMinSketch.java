@@ -0,0 +1,81 @@
+package com.podStream.PodStream.Services.Cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sketch count-min de frecuencias de claves con memoria fija: {@value #DEPTH} filas de {@code width}
+ * contadores. La estimación nunca es menor que la frecuencia real y solo la supera por colisiones.
+ * <p>Como en TinyLFU, cada {@code resetAfter} incrementos todos los contadores se dividen a la mitad, así que
+ * las estimaciones reflejan la popularidad reciente y una clave que deja de pedirse se enfría sola.
+ */
+public final class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    private final AtomicIntegerArray counters;
+    private final int width;
+    private final int mask;
+    private final long resetAfter;
+    private final AtomicLong additions = new AtomicLong();
+
+    /**
+     * @param width      Contadores por fila; se redondea a la siguiente potencia de dos.
+     * @param resetAfter Incrementos entre dos envejecimientos.
+     */
+    public CountMinSketch(int width, long resetAfter) {
+        this.width = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.mask = this.width - 1;
+        this.resetAfter = Math.max(1, resetAfter);
+        this.counters = new AtomicIntegerArray(DEPTH * this.width);
+    }
+
+    /**
+     * Suma una aparición de la clave.
+     *
+     * @return La frecuencia estimada tras el incremento.
+     */
+    public long increment(String key) {
+        long hash = KeyHash.of(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = row * width + ((h1 + row * h2) & mask);
+            int current;
+            do {
+                current = counters.get(index);
+            } while (current < Integer.MAX_VALUE && !counters.compareAndSet(index, current, current + 1));
+            estimate = Math.min(estimate, current == Integer.MAX_VALUE ? current : current + 1);
+        }
+        if (additions.incrementAndGet() >= resetAfter) {
+            age();
+        }
+        return estimate;
+    }
+
+    public long estimate(String key) {
+        long hash = KeyHash.of(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + ((h1 + row * h2) & mask)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Divide todos los contadores a la mitad. Los incrementos concurrentes pueden perderse o sobrevivir a la
+     * división; para un sketch aproximado da igual.
+     */
+    private synchronized void age() {
+        if (additions.get() < resetAfter) {
+            return;
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+        additions.set(additions.get() / 2);
+    }
+}
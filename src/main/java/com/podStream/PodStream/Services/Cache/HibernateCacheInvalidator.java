@@ -0,0 +1,66 @@
+package com.podStream.PodStream.Services.Cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expulsa entidades y consultas de la caché de segundo nivel de Hibernate en los demás nodos.
+ * <p>La caché es Caffeine local: al escribir, Hibernate solo actualiza la copia y las marcas de tabla del nodo que
+ * escribe. Tras el commit se publica la expulsión por el canal de {@link CacheRegionManager} y cada nodo descarta
+ * la región de la entidad y sus regiones de consultas. Si se pierde un mensaje, el TTL de la región limita cuánto
+ * puede vivir la copia obsoleta.
+ */
+@Component
+public class HibernateCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(HibernateCacheInvalidator.class);
+    private static final String NAME = "hibernate";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheRegionManager cacheRegionManager;
+
+    public HibernateCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheRegionManager cacheRegionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheRegionManager = cacheRegionManager;
+        cacheRegionManager.addRemoteListener(NAME, this::evictLocally);
+    }
+
+    /**
+     * Expulsa en los demás nodos, tras el commit de la transacción en curso, las entidades de {@code entityClass}
+     * y las consultas de {@code queryRegions}. Si la transacción se deshace no se publica nada.
+     *
+     * @param entityClass  Entidad cacheada que se ha escrito.
+     * @param queryRegions Regiones de consultas que pueden devolver esa entidad.
+     */
+    public void evictAfterCommit(Class<?> entityClass, String... queryRegions) {
+        String message = String.join(",", entityClass.getName(), String.join(",", queryRegions));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheRegionManager.publishInvalidation(NAME, message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheRegionManager.publishInvalidation(NAME, message);
+            }
+        });
+    }
+
+    private void evictLocally(String message) {
+        List<String> names = new ArrayList<>(List.of(message.split(",")));
+        String entityName = names.remove(0);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(entityName);
+        names.stream().filter(region -> !region.isEmpty()).forEach(cache::evictQueryRegion);
+        logger.debug("Evicted {} and query regions {} from the second-level cache", entityName, names);
+    }
+}
@@ -0,0 +1,110 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detecta las claves calientes de la caché. Cada acceso suma en un {@link CountMinSketch}; las claves que
+ * superan {@code min-count} entran en una lista de candidatas y cada {@code refresh-ms} se recalcula el
+ * top-K, que publica el endpoint de actuator {@code hotkeys}.
+ * <p>Una clave es caliente si su estimación alcanza la de la K-ésima del top (o {@code min-count} mientras
+ * haya menos de K). Las regiones de caché fijan esas claves en memoria con un TTL corto para que un pico sobre
+ * una sola clave no llegue entero a Redis.
+ */
+@Component
+public class HotKeyTracker {
+
+    /**
+     * Clave caliente con su frecuencia estimada en la ventana reciente del sketch.
+     */
+    public record HotKey(String namespace, String key, long estimate) {}
+
+    private final CountMinSketch sketch;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final boolean enabled;
+    private final int topK;
+    private final long minCount;
+    private final int maxCandidates;
+    private final Map<String, HotKey> candidates = new ConcurrentHashMap<>();
+    private volatile List<HotKey> hottest = List.of();
+    private volatile long hotThreshold;
+
+    public HotKeyTracker(PodStreamPrometheusConfig podStreamPrometheusConfig,
+                         @Value("${podstream.cache.hotkeys.enabled:true}") boolean enabled,
+                         @Value("${podstream.cache.hotkeys.top-k:20}") int topK,
+                         @Value("${podstream.cache.hotkeys.min-count:50}") long minCount,
+                         @Value("${podstream.cache.hotkeys.sketch-width:16384}") int sketchWidth) {
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.minCount = minCount;
+        this.maxCandidates = topK * 10;
+        this.hotThreshold = minCount;
+        this.sketch = new CountMinSketch(sketchWidth, 10L * sketchWidth);
+        podStreamPrometheusConfig.registerCacheHotKeys(() -> hottest.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra un acceso a la clave.
+     *
+     * @param namespace Región o espacio de nombres de la clave.
+     * @return {@code true} si la clave es caliente.
+     */
+    public boolean record(String namespace, String key) {
+        if (!enabled) {
+            return false;
+        }
+        String id = namespace + ':' + key;
+        long estimate = sketch.increment(id);
+        if (estimate >= minCount && (estimate >= hotThreshold || candidates.size() < maxCandidates)) {
+            candidates.put(id, new HotKey(namespace, key, estimate));
+        }
+        return estimate >= hotThreshold;
+    }
+
+    /**
+     * Las claves más calientes, de mayor a menor frecuencia.
+     */
+    public List<HotKey> hottest() {
+        return hottest;
+    }
+
+    /**
+     * Vuelve a estimar las candidatas (el sketch envejece), descarta las que se han enfriado y recalcula el
+     * top-K y el umbral de clave caliente.
+     */
+    @Scheduled(fixedDelayString = "${podstream.cache.hotkeys.refresh-ms:1000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        List<HotKey> ranked = candidates.entrySet().stream()
+                .map(entry -> new HotKey(entry.getValue().namespace(), entry.getValue().key(),
+                        sketch.estimate(entry.getKey())))
+                .sorted(Comparator.comparingLong(HotKey::estimate).reversed())
+                .toList();
+        for (int i = 0; i < ranked.size(); i++) {
+            HotKey hotKey = ranked.get(i);
+            String id = hotKey.namespace() + ':' + hotKey.key();
+            if (i >= maxCandidates || hotKey.estimate() < minCount) {
+                candidates.remove(id);
+            } else {
+                candidates.replace(id, hotKey);
+            }
+        }
+        List<HotKey> top = ranked.stream().filter(hotKey -> hotKey.estimate() >= minCount).limit(topK).toList();
+        hottest = top;
+        hotThreshold = top.size() < topK ? minCount : Math.max(minCount, top.get(top.size() - 1).estimate());
+    }
+}
@@ -0,0 +1,26 @@
+package com.podStream.PodStream.Services.Cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/hotkeys}: top-K de claves de caché más pedidas según {@link HotKeyTracker}.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    public HotKeysEndpoint(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @ReadOperation
+    public List<HotKeyTracker.HotKey> hotKeys() {
+        return hotKeyTracker.hottest();
+    }
+}
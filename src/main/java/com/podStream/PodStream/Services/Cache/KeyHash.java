@@ -0,0 +1,26 @@
+package com.podStream.PodStream.Services.Cache;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hash de 64 bits de claves de caché para las estructuras probabilísticas: FNV-1a sobre la clave en UTF-8
+ * y un mezclado final (fmix64 de MurmurHash3) para que también los bits bajos estén bien repartidos.
+ */
+final class KeyHash {
+
+    private KeyHash() {}
+
+    static long of(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
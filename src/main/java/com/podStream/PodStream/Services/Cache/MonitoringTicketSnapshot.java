@@ -0,0 +1,60 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.podStream.PodStream.DTOS.MonitoringTicketDTO;
+import com.podStream.PodStream.DTOS.TicketHistoryDTO;
+import com.podStream.PodStream.Models.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ticket de monitoreo tal como se guarda en Redis, con su historial ya convertido a DTOs.
+ */
+public record MonitoringTicketSnapshot(
+        Long id,
+        String title,
+        String description,
+        TicketStatus ticketStatus,
+        String source,
+        String errorCode,
+        String severity,
+        String jiraIssueId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        boolean active,
+        List<TicketHistoryDTO> history) implements CacheSnapshot {
+
+    public static MonitoringTicketSnapshot from(MonitoringTicketDTO ticket) {
+        return new MonitoringTicketSnapshot(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getTicketStatus(),
+                ticket.getSource(),
+                ticket.getErrorCode(),
+                ticket.getSeverity(),
+                ticket.getJiraIssueId(),
+                ticket.getCreatedAt(),
+                ticket.getUpdatedAt(),
+                ticket.isActive(),
+                ticket.getHistory() != null ? List.copyOf(ticket.getHistory()) : List.of());
+    }
+
+    public MonitoringTicketDTO toDTO() {
+        MonitoringTicketDTO dto = new MonitoringTicketDTO();
+        dto.setId(id);
+        dto.setTitle(title);
+        dto.setDescription(description);
+        dto.setTicketStatus(ticketStatus);
+        dto.setSource(source);
+        dto.setErrorCode(errorCode);
+        dto.setSeverity(severity);
+        dto.setJiraIssueId(jiraIssueId);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        dto.setActive(active);
+        dto.setHistory(new ArrayList<>(history));
+        return dto;
+    }
+}
@@ -0,0 +1,71 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.podStream.PodStream.DTOS.ProductDTO;
+import com.podStream.PodStream.Models.ColorProduct;
+import com.podStream.PodStream.Models.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Producto tal como se guarda en Redis: los campos de {@link ProductDTO}, sin comentarios, valoraciones
+ * ni detalles de órdenes.
+ */
+public record ProductSnapshot(
+        Long id,
+        String name,
+        String description,
+        double price,
+        int stock,
+        int salesCount,
+        Long categoryId,
+        ColorProduct color,
+        double discount,
+        String image,
+        double averageRating,
+        List<String> imageCollection,
+        boolean active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) implements CacheSnapshot {
+
+    public static ProductSnapshot from(Product product) {
+        return new ProductSnapshot(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getStock(),
+                product.getSalesCount(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getColor(),
+                product.getDiscount(),
+                product.getImage(),
+                product.getAverageRating(),
+                product.getImageCollection() != null ? List.copyOf(product.getImageCollection()) : List.of(),
+                product.isActive(),
+                product.getCreatedAt(),
+                product.getUpdatedAt());
+    }
+
+    public ProductDTO toDTO() {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setPrice(price);
+        dto.setStock(stock);
+        dto.setSalesCount(salesCount);
+        dto.setCategoryId(categoryId);
+        dto.setInStock(stock > 0);
+        dto.setColor(color);
+        dto.setDiscount(discount);
+        dto.setImage(image);
+        dto.setAverageRating(averageRating);
+        dto.setImageCollection(imageCollection != null ? new ArrayList<>(imageCollection) : new ArrayList<>());
+        dto.setActive(active);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        return dto;
+    }
+}
@@ -0,0 +1,71 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.podStream.PodStream.DTOS.DetailsDTO;
+import com.podStream.PodStream.DTOS.OrderStatusHistoryDTO;
+import com.podStream.PodStream.DTOS.PurchaseOrderDTO;
+import com.podStream.PodStream.DTOS.SupportTicketDTO;
+import com.podStream.PodStream.Models.OrderStatus;
+import com.podStream.PodStream.Models.PaymentMethod;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Orden de compra tal como se guarda en Redis: la orden ya aplanada a {@link PurchaseOrderDTO}, con el
+ * cliente y la dirección como IDs.
+ */
+public record PurchaseOrderSnapshot(
+        Long id,
+        String ticket,
+        double amount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        PaymentMethod paymentMethod,
+        Long addressId,
+        Long clientId,
+        String customerRut,
+        OrderStatus status,
+        List<DetailsDTO> details,
+        List<OrderStatusHistoryDTO> statusHistory,
+        List<SupportTicketDTO> supportTickets,
+        boolean active) implements CacheSnapshot {
+
+    public static PurchaseOrderSnapshot from(PurchaseOrderDTO order) {
+        return new PurchaseOrderSnapshot(
+                order.getId(),
+                order.getTicket(),
+                order.getAmount(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                order.getPaymentMethod(),
+                order.getAddressId(),
+                order.getClientId(),
+                order.getCustomerRut(),
+                order.getStatus(),
+                order.getDetails() != null ? List.copyOf(order.getDetails()) : List.of(),
+                order.getStatusHistory() != null ? List.copyOf(order.getStatusHistory()) : List.of(),
+                order.getSupportTickets() != null ? List.copyOf(order.getSupportTickets()) : List.of(),
+                order.isActive());
+    }
+
+    public PurchaseOrderDTO toDTO() {
+        PurchaseOrderDTO dto = new PurchaseOrderDTO();
+        dto.setId(id);
+        dto.setTicket(ticket);
+        dto.setAmount(amount);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
+        dto.setPaymentMethod(paymentMethod);
+        dto.setAddressId(addressId);
+        dto.setClientId(clientId);
+        dto.setCustomerRut(customerRut);
+        dto.setStatus(status);
+        dto.setDetails(new HashSet<>(details));
+        dto.setStatusHistory(new ArrayList<>(statusHistory));
+        dto.setSupportTickets(new HashSet<>(supportTickets));
+        dto.setActive(active);
+        return dto;
+    }
+}
@@ -0,0 +1,325 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Carga de entradas de caché en Redis protegida contra estampidas.
+ * <ul>
+ *     <li>Single-flight por nodo: los fallos concurrentes de una misma clave esperan a una única carga.</li>
+ *     <li>Lock en Redis entre nodos ({@code SET NX PX}): el nodo que no lo obtiene espera a que aparezca el
+ *     valor durante {@code lock-wait-ms} y, si no aparece, carga por su cuenta.</li>
+ *     <li>Refresco anticipado probabilístico (XFetch): en un acierto se recarga en segundo plano con
+ *     probabilidad creciente a medida que se acerca la expiración, en función de lo que tarda la carga en la
+ *     región. Las claves calientes se renuevan antes de expirar y nunca fallan todas a la vez.</li>
+ * </ul>
+ * <p>Los refrescos corren en hilos {@code cache-refresh-*}, sin la sesión de Hibernate de la petición: la carga se
+ * ejecuta en una transacción de solo lectura para que el loader pueda recorrer relaciones perezosas igual que en
+ * la petición.
+ * <p>La lectura hace {@code GET} y {@code PTTL} en un solo pipeline, así que no añade round trips.
+ */
+@Component
+public class SingleFlightLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlightLoader.class);
+    private static final String LOCK_PREFIX = "lock:";
+    private static final long LOCK_POLL_MS = 25;
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    /** Resultado de un refresco en segundo plano que no se hizo porque otro nodo tenía el lock. */
+    private static final Object SKIPPED = new Object();
+
+    /**
+     * Resultado de una búsqueda: el valor y si vino de la caché.
+     */
+    public record Lookup<T>(T value, boolean hit) {}
+
+    /**
+     * Valor leído de Redis con los milisegundos que le quedan de vida ({@code -1} si no expira).
+     */
+    public record Cached(Object value, long ttlMillis) {}
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final TransactionTemplate backgroundTransaction;
+    private final double earlyRefreshBeta;
+    private final boolean distributedLock;
+    private final long lockTtlMs;
+    private final long lockWaitMs;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Double> loadMillisByRegion = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refresher;
+
+    public SingleFlightLoader(RedisTemplate<String, Object> redisTemplate,
+                              StringRedisTemplate stringRedisTemplate,
+                              PodStreamPrometheusConfig podStreamPrometheusConfig,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${podstream.cache.loader.early-refresh-beta:1.0}") double earlyRefreshBeta,
+                              @Value("${podstream.cache.loader.distributed-lock:true}") boolean distributedLock,
+                              @Value("${podstream.cache.loader.lock-ttl-ms:5000}") long lockTtlMs,
+                              @Value("${podstream.cache.loader.lock-wait-ms:2000}") long lockWaitMs,
+                              @Value("${podstream.cache.loader.refresh-threads:2}") int refreshThreads) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.backgroundTransaction = new TransactionTemplate(transactionManager);
+        this.backgroundTransaction.setReadOnly(true);
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.distributedLock = distributedLock;
+        this.lockTtlMs = lockTtlMs;
+        this.lockWaitMs = lockWaitMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(256), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        this.refresher.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    public <T> T get(String region, String key, Class<T> type, long ttl, TimeUnit unit, Supplier<? extends T> loader) {
+        return lookup(region, key, type, value -> true, ttl, unit, loader).value();
+    }
+
+    /**
+     * Devuelve el valor de Redis o lo carga una sola vez por clave.
+     *
+     * @param region Nombre lógico de la caché, para métricas y para estimar el coste de carga.
+     * @param key    Clave completa en Redis.
+     * @param type   Tipo esperado; un valor de otro tipo (por ejemplo, de un formato anterior) cuenta como fallo.
+     * @param usable Descarta valores en caché que ya no sirven (por ejemplo, entidades desactivadas).
+     * @param ttl    TTL con el que se guarda el valor cargado.
+     * @param unit   Unidad del TTL.
+     * @param loader Carga desde el origen; sus excepciones llegan a todos los que esperaban la clave.
+     *               Si devuelve {@code null} no se guarda nada.
+     * @return El valor y si fue un acierto de caché.
+     */
+    public <T> Lookup<T> lookup(String region, String key, Class<T> type, Predicate<? super T> usable,
+                                long ttl, TimeUnit unit, Supplier<? extends T> loader) {
+        long millis = unit.toMillis(ttl);
+        return lookup(region, key, type, usable, value -> millis, loader);
+    }
+
+    /**
+     * Como {@link #lookup(String, String, Class, Predicate, long, TimeUnit, Supplier)}, con un TTL que depende
+     * del valor cargado (por ejemplo, más corto para las marcas de ausencia).
+     */
+    public <T> Lookup<T> lookup(String region, String key, Class<T> type, Predicate<? super T> usable,
+                                ToLongFunction<? super T> ttlMillisOf, Supplier<? extends T> loader) {
+        ToLongFunction<Object> ttlMillis = value -> ttlMillisOf.applyAsLong(type.cast(value));
+        Predicate<Object> valid = value -> type.isInstance(value) && usable.test(type.cast(value));
+        Cached cached = readSafely(key);
+        if (cached != null && valid.test(cached.value())) {
+            podStreamPrometheusConfig.recordCacheLoad(region, "hit");
+            if (shouldRefreshEarly(region, cached.ttlMillis())) {
+                refreshInBackground(region, key, ttlMillis, valid, loader);
+            }
+            return new Lookup<>(type.cast(cached.value()), true);
+        }
+        Object loaded = loadOnce(region, key, ttlMillis, valid, loader, false);
+        return new Lookup<>(type.cast(loaded), false);
+    }
+
+    private boolean shouldRefreshEarly(String region, long remainingMillis) {
+        Double delta = loadMillisByRegion.get(region);
+        if (delta == null || remainingMillis <= 0 || earlyRefreshBeta <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return -delta * earlyRefreshBeta * Math.log(random) >= remainingMillis;
+    }
+
+    private void refreshInBackground(String region, String key, ToLongFunction<Object> ttlMillis,
+                                     Predicate<Object> valid, Supplier<?> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        podStreamPrometheusConfig.recordCacheLoad(region, "early_refresh");
+        // Solo la consulta va en la transacción; el lock y la escritura en Redis no retienen la conexión
+        Supplier<Object> transactionalLoader = () -> backgroundTransaction.execute(status -> loader.get());
+        refresher.execute(() -> {
+            try {
+                loadOnce(region, key, ttlMillis, valid, transactionalLoader, true);
+            } catch (RuntimeException e) {
+                logger.warn("Early refresh of {} failed: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    private Object loadOnce(String region, String key, ToLongFunction<Object> ttlMillis, Predicate<Object> valid,
+                            Supplier<?> loader, boolean background) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            Object value = join(existing);
+            if (value == SKIPPED) {
+                return loadOnce(region, key, ttlMillis, valid, loader, background);
+            }
+            podStreamPrometheusConfig.recordCacheLoad(region, "coalesced");
+            return value;
+        }
+        try {
+            Object value = loadAcrossNodes(region, key, ttlMillis, valid, loader, background);
+            created.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private Object loadAcrossNodes(String region, String key, ToLongFunction<Object> ttlMillis,
+                                   Predicate<Object> valid, Supplier<?> loader, boolean background) {
+        if (!distributedLock) {
+            return loadAndStore(region, key, ttlMillis, loader);
+        }
+        String lockKey = LOCK_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+        if (tryLock(lockKey, token, lockTtlMs)) {
+            try {
+                // Otro nodo pudo cargar la clave entre la lectura y el lock
+                Cached cached = background ? null : readSafely(key);
+                if (cached != null && valid.test(cached.value())) {
+                    return cached.value();
+                }
+                return loadAndStore(region, key, ttlMillis, loader);
+            } finally {
+                unlock(lockKey, token);
+            }
+        }
+        if (background) {
+            // Otro nodo ya está refrescando la clave
+            return SKIPPED;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lockWaitMs);
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Cached cached = readSafely(key);
+            if (cached != null && valid.test(cached.value())) {
+                podStreamPrometheusConfig.recordCacheLoad(region, "lock_wait_hit");
+                return cached.value();
+            }
+        }
+        logger.warn("Timed out waiting for another node to load {}, loading locally", key);
+        return loadAndStore(region, key, ttlMillis, loader);
+    }
+
+    private Object loadAndStore(String region, String key, ToLongFunction<Object> ttlMillis, Supplier<?> loader) {
+        podStreamPrometheusConfig.recordCacheLoad(region, "miss");
+        long start = System.nanoTime();
+        Object value = loader.get();
+        long nanos = System.nanoTime() - start;
+        podStreamPrometheusConfig.recordCacheLoaderLatency(region, nanos);
+        loadMillisByRegion.merge(region, nanos / 1_000_000.0, (previous, current) -> 0.8 * previous + 0.2 * current);
+        if (value != null) {
+            try {
+                write(key, value, ttlMillis.applyAsLong(value));
+            } catch (Exception e) {
+                logger.warn("Error writing {} to Redis: {}", key, e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    private Cached readSafely(String key) {
+        try {
+            return read(key);
+        } catch (Exception e) {
+            logger.warn("Error reading {} from Redis, loading from source: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lee el valor y su TTL restante en un único pipeline.
+     */
+    @SuppressWarnings("unchecked")
+    protected Cached read(String key) {
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        byte[] rawKey = keySerializer.serialize(key);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(rawKey);
+            connection.keyCommands().pTtl(rawKey);
+            return null;
+        });
+        Object value = results.get(0);
+        long ttlMillis = results.get(1) instanceof Long ttl ? ttl : -1;
+        return value != null ? new Cached(value, ttlMillis) : null;
+    }
+
+    protected void write(String key, Object value, long ttlMillis) {
+        redisTemplate.opsForValue().set(key, value, ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    protected boolean tryLock(String lockKey, String token, long ttlMillis) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(ttlMillis)));
+        } catch (Exception e) {
+            // Sin Redis no hay coordinación entre nodos; el single-flight local sigue limitando la carga
+            logger.warn("Error acquiring {}: {}", lockKey, e.getMessage());
+            return true;
+        }
+    }
+
+    protected void unlock(String lockKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+        } catch (Exception e) {
+            logger.warn("Error releasing {}: {}", lockKey, e.getMessage());
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Códec Smile (JSON binario de Jackson): mismos mapeos que JSON, pero con números y fechas en binario y
+ * los nombres de propiedad repetidos sustituidos por referencias.
+ */
+public class SmileCacheCodec implements CacheCodec {
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public SmileCacheCodec() {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory())
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.writer = mapper.writerFor(CacheSnapshot.class);
+        this.reader = mapper.readerFor(CacheSnapshot.class);
+    }
+
+    @Override
+    public byte[] encode(CacheSnapshot snapshot) {
+        try {
+            return writer.writeValueAsBytes(snapshot);
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode " + snapshot.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public CacheSnapshot decode(byte[] bytes, int offset, int length) {
+        try {
+            return reader.readValue(bytes, offset, length);
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode cache snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.podStream.PodStream.Services.Cache;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escrituras de caché ligadas a la transacción del llamador. Dentro de una transacción los {@code SET} y
+ * {@code DEL} se acumulan por clave (la última operación gana) y se envían en un único pipeline de
+ * {@link CacheBatchWriter} tras el commit; si la transacción se deshace se descartan, así que Redis nunca
+ * contiene estados que MySQL no llegó a confirmar. Fuera de una transacción se aplican de inmediato.
+ * <p>Los valores se serializan al registrar la escritura, no tras el commit, para que las relaciones perezosas
+ * de las entidades sigan pudiendo cargarse y para que modificaciones posteriores del objeto no se cuelen.
+ * <p>Cada operación puede llevar una acción que se ejecuta después de escribir en Redis, por ejemplo invalidar
+ * las cachés en memoria de los nodos.
+ */
+@Component
+public class TransactionalCacheWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalCacheWriter.class);
+
+    /**
+     * Operación pendiente sobre una clave; sin valor es un borrado.
+     */
+    private record Pending(byte[] value, long ttlMillis, Runnable afterWrite) {}
+
+    private final CacheBatchWriter cacheBatchWriter;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+
+    public TransactionalCacheWriter(CacheBatchWriter cacheBatchWriter,
+                                    RedisTemplate<String, Object> redisTemplate,
+                                    PodStreamPrometheusConfig podStreamPrometheusConfig) {
+        this.cacheBatchWriter = cacheBatchWriter;
+        this.redisTemplate = redisTemplate;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void set(String key, Object value, Duration ttl, Runnable afterWrite) {
+        byte[] bytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+        enqueue(key, new Pending(bytes, ttl.toMillis(), afterWrite));
+    }
+
+    public void set(String key, Object value, Duration ttl) {
+        set(key, value, ttl, null);
+    }
+
+    public void delete(String key, Runnable afterWrite) {
+        enqueue(key, new Pending(null, 0, afterWrite));
+    }
+
+    public void delete(String key) {
+        delete(key, null);
+    }
+
+    private void enqueue(String key, Pending pending) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flush(Map.of(key, pending));
+            return;
+        }
+        TransactionBuffer buffer = (TransactionBuffer) TransactionSynchronizationManager.getResource(this);
+        if (buffer != null && buffer.flushed) {
+            // Escritura desde otra acción posterior al commit: la transacción ya está confirmada.
+            flush(Map.of(key, pending));
+            return;
+        }
+        if (buffer == null) {
+            buffer = new TransactionBuffer();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        if (buffer.pending.put(key, pending) != null) {
+            podStreamPrometheusConfig.recordCacheTransactionWrites("coalesced", 1);
+        }
+    }
+
+    private void flush(Map<String, Pending> pending) {
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        pending.forEach((key, write) -> {
+            if (write.value() == null) {
+                batch.delete(key);
+            } else {
+                batch.setSerialized(key, write.value(), write.ttlMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+        batch.flush();
+        podStreamPrometheusConfig.recordCacheTransactionWrites("flushed", pending.size());
+        pending.values().forEach(write -> {
+            if (write.afterWrite() == null) {
+                return;
+            }
+            try {
+                write.afterWrite().run();
+            } catch (Exception e) {
+                logger.error("Error running post-write cache action: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Operaciones de una transacción. Se desvincula al suspenderse la transacción (por ejemplo con
+     * {@code REQUIRES_NEW}), de modo que la transacción interna tiene su propio buffer.
+     */
+    private final class TransactionBuffer implements TransactionSynchronization {
+
+        private final Map<String, Pending> pending = new LinkedHashMap<>();
+        private boolean flushed;
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TransactionalCacheWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TransactionalCacheWriter.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            flushed = true;
+            TransactionalCacheWriter.this.flush(pending);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionalCacheWriter.this);
+            if (status != STATUS_COMMITTED && !pending.isEmpty()) {
+                podStreamPrometheusConfig.recordCacheTransactionWrites("discarded", pending.size());
+                logger.debug("Discarded {} cache writes from a rolled back transaction", pending.size());
+            }
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.NewClientDTO;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import jakarta.validation.Valid;
 
-import java.util.List;
-
 public interface ClientService {
 
-    List<NewClientDTO> findAll();
+    CursorPageDTO<NewClientDTO> findAll(CursorPageRequest page);
 
     NewClientDTO findById(Long id);
 
@@ -24,4 +24,10 @@ public interface ClientService {
     void deleteById(Long id);
 
     NewClientDTO reactivateClient(Long id);
+
+    /**
+     * Borra la entrada de caché del email (incluida una lápida de "no existe"), tras el commit si hay
+     * transacción. Para altas de personas que no pasan por este servicio, como el registro.
+     */
+    void evictEmail(String email);
 }
\ No newline at end of file
@@ -2,15 +2,16 @@ package com.podStream.PodStream.Services;
 
 import com.podStream.PodStream.DTOS.CommentDTO;
 import com.podStream.PodStream.DTOS.CommentRequestDTO;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import org.springframework.security.core.Authentication;
 
-import java.util.List;
 
 public interface CommentService {
     CommentDTO createComment(CommentRequestDTO request, Authentication authentication);
     CommentDTO getComment(Long id, Authentication authentication);
-    List<CommentDTO> getCommentsByProduct(Long productId, Authentication authentication);
-    List<CommentDTO> getCommentsByClient(Long clientId, Authentication authentication);
+    CursorPageDTO<CommentDTO> getCommentsByProduct(Long productId, CursorPageRequest page, Authentication authentication);
+    CursorPageDTO<CommentDTO> getCommentsByClient(Long clientId, CursorPageRequest page, Authentication authentication);
     CommentDTO updateComment(Long id, CommentRequestDTO request, Authentication authentication);
     void deleteComment(Long id, Authentication authentication);
 }
@@ -1,7 +1,9 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.DetailsDTO;
 import com.podStream.PodStream.DTOS.DetailsRequestDTO;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import org.springframework.security.core.Authentication;
 
 import java.util.List;
@@ -10,7 +12,7 @@ public interface DetailsService {
     DetailsDTO createDetails(DetailsRequestDTO request, Authentication authentication);
     DetailsDTO getDetails(Long id, Authentication authentication);
     List<DetailsDTO> getDetailsByPurchaseOrder(Long purchaseOrderId, Authentication authentication);
-    List<DetailsDTO> getDetailsByProduct(Long productId, Authentication authentication);
+    CursorPageDTO<DetailsDTO> getDetailsByProduct(Long productId, CursorPageRequest page, Authentication authentication);
     DetailsDTO updateDetails(Long id, DetailsRequestDTO request, Authentication authentication);
     void deleteDetails(Long id, Authentication authentication);
 }
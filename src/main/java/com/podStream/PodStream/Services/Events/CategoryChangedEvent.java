@@ -0,0 +1,33 @@
+package com.podStream.PodStream.Services.Events;
+
+import com.podStream.PodStream.Models.CategoryProduct;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Evento de Spring publicado cuando se crea, renombra o desactiva una categoría.
+ */
+public class CategoryChangedEvent extends ApplicationEvent {
+
+    private final Long categoryId;
+    private final String name;
+    private final boolean active;
+
+    public CategoryChangedEvent(Object source, CategoryProduct category) {
+        super(source);
+        this.categoryId = category.getId();
+        this.name = category.getName();
+        this.active = category.isActive();
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+}
@@ -0,0 +1,47 @@
+package com.podStream.PodStream.Services.Events;
+
+import com.podStream.PodStream.Models.Product;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Evento de Spring publicado cuando se crea, modifica o desactiva un producto.
+ * <p>Lleva una copia de los campos que usan los índices en memoria, para que los listeners no dependan
+ * de la sesión JPA del llamador.
+ */
+public class ProductChangedEvent extends ApplicationEvent {
+
+    private final Long productId;
+    private final String name;
+    private final Long categoryId;
+    private final int salesCount;
+    private final boolean active;
+
+    public ProductChangedEvent(Object source, Product product) {
+        super(source);
+        this.productId = product.getId();
+        this.name = product.getName();
+        this.categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        this.salesCount = product.getSalesCount();
+        this.active = product.isActive();
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public int getSalesCount() {
+        return salesCount;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+}
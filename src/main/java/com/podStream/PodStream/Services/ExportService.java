@@ -0,0 +1,33 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Models.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * Interfaz para exportar tablas completas en streaming, con memoria constante sea cual sea su tamaño.
+ */
+public interface ExportService {
+
+    /**
+     * Obtiene los nombres de los conjuntos de datos exportables.
+     *
+     * @return Los conjuntos de datos ({@code products}, {@code orders}...).
+     */
+    Set<String> getDatasets();
+
+    /**
+     * Escribe un conjunto de datos completo en el flujo indicado, fila a fila.
+     * <p>El flujo no se cierra; el llamador es responsable de cerrarlo (y de terminar la compresión, si la hay).
+     *
+     * @param dataset El conjunto de datos.
+     * @param format  El formato de salida.
+     * @param out     El flujo de destino.
+     * @return El número de filas escritas.
+     * @throws IOException              Si falla la escritura.
+     * @throws IllegalArgumentException Si el conjunto de datos no existe.
+     */
+    long export(String dataset, ExportFormat format, OutputStream out) throws IOException;
+}
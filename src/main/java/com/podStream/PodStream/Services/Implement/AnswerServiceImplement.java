@@ -2,14 +2,20 @@ package com.podStream.PodStream.Services.Implement;
 
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
 import com.podStream.PodStream.DTOS.AnswerDTO;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.Models.Answers;
 import com.podStream.PodStream.Models.Comment;
 import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Repositories.Jpa.AnswerRepository;
-import com.podStream.PodStream.Repositories.Elastic.ElasticAnswerRepository;
 import com.podStream.PodStream.Repositories.Jpa.ClientRepository;
 import com.podStream.PodStream.Repositories.Jpa.CommentRepository;
 import com.podStream.PodStream.Services.AnswerService;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.Cache.TransactionalCacheWriter;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import com.podStream.PodStream.Services.SearchOutboxService;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +25,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -32,7 +39,7 @@ public class AnswerServiceImplement implements AnswerService {
     private AnswerRepository answerRepository;
 
     @Autowired
-    private ElasticAnswerRepository elasticAnswerRepository;
+    private SearchOutboxService searchOutboxService;
 
     @Autowired
     private ClientRepository clientRepository;
@@ -43,17 +50,31 @@ public class AnswerServiceImplement implements AnswerService {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private CacheRegionManager cacheRegionManager;
+
+    @Autowired
+    private TransactionalCacheWriter transactionalCacheWriter;
+
     @Autowired
     private PodStreamPrometheusConfig podStreamPrometheusConfig;
 
+    private CacheRegion<Long, AnswerDTO> answerCache;
+
+    @PostConstruct
+    public void initCache() {
+        answerCache = cacheRegionManager.<Long, AnswerDTO>region("answer", AnswerDTO.class)
+                .prefix(CACHE_PREFIX)
+                .ttl(Duration.ofHours(1))
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<AnswerDTO> findAll() {
+    public CursorPageDTO<AnswerDTO> findAll(CursorPageRequest page) {
         logger.info("Fetching all answers");
-        return answerRepository.findAll()
-                .stream()
-                .map(AnswerDTO::new)
-                .toList();
+        List<Answers> answers = answerRepository.findByIdLessThanOrderByIdDesc(page.afterId(), page.pageable());
+        return page.toPage(answers, Answers::getId, AnswerDTO::new);
     }
 
     @Override
@@ -79,17 +100,8 @@ public class AnswerServiceImplement implements AnswerService {
     @Transactional(readOnly = true)
     public AnswerDTO findById(Long id) {
         logger.info("Fetching answer with id: {}", id);
-        String cacheKey = CACHE_PREFIX + id;
-        AnswerDTO cachedAnswer = (AnswerDTO) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedAnswer != null) {
-            logger.info("Returning cached answer with id: {}", id);
-            return cachedAnswer;
-        }
-        AnswerDTO answer = answerRepository.findById(id)
-                .map(AnswerDTO::new)
+        return answerCache.get(id, key -> answerRepository.findById(key).map(AnswerDTO::new).orElse(null))
                 .orElseThrow(() -> new EntityNotFoundException("Answer not found with id: " + id));
-        redisTemplate.opsForValue().set(cacheKey, answer, 1, TimeUnit.HOURS);
-        return answer;
     }
 
     @Override
@@ -110,10 +122,10 @@ public class AnswerServiceImplement implements AnswerService {
         answer.setComment(comment);
         answer.setUserName(client.getUsername());
         Answers savedAnswer = answerRepository.save(answer);
-        elasticAnswerRepository.save(savedAnswer);
+        searchOutboxService.enqueueIndex(savedAnswer);
         AnswerDTO savedAnswerDTO = new AnswerDTO(savedAnswer);
-        redisTemplate.opsForValue().set(CACHE_PREFIX + savedAnswer.getId(), savedAnswerDTO, 1, TimeUnit.HOURS);
-        redisTemplate.delete(CACHE_PREFIX + "comment:" + answerDTO.getCommentId());
+        answerCache.put(savedAnswer.getId(), savedAnswerDTO);
+        transactionalCacheWriter.delete(CACHE_PREFIX + "comment:" + answerDTO.getCommentId());
         podStreamPrometheusConfig.incrementAnswerCreated();
         return savedAnswerDTO;
     }
@@ -138,10 +150,10 @@ public class AnswerServiceImplement implements AnswerService {
         answer.setBody(answerDTO.getBody());
         answer.setComment(comment);
         Answers savedAnswer = answerRepository.save(answer);
-        elasticAnswerRepository.save(savedAnswer);
+        searchOutboxService.enqueueIndex(savedAnswer);
         AnswerDTO savedAnswerDTO = new AnswerDTO(savedAnswer);
-        redisTemplate.opsForValue().set(CACHE_PREFIX + id, savedAnswerDTO, 1, TimeUnit.HOURS);
-        redisTemplate.delete(CACHE_PREFIX + "comment:" + answerDTO.getCommentId());
+        answerCache.put(id, savedAnswerDTO);
+        transactionalCacheWriter.delete(CACHE_PREFIX + "comment:" + answerDTO.getCommentId());
         podStreamPrometheusConfig.incrementAnswerUpdated();
         return savedAnswerDTO;
     }
@@ -159,9 +171,9 @@ public class AnswerServiceImplement implements AnswerService {
                 .orElseThrow(() -> new EntityNotFoundException("Answer not found with id: " + id));
         answer.setActive(false);
         answerRepository.save(answer);
-        elasticAnswerRepository.save(answer);
-        redisTemplate.delete(CACHE_PREFIX + id);
-        redisTemplate.delete(CACHE_PREFIX + "comment:" + answer.getComment().getId());
+        searchOutboxService.enqueueIndex(answer);
+        answerCache.evict(id);
+        transactionalCacheWriter.delete(CACHE_PREFIX + "comment:" + answer.getComment().getId());
         podStreamPrometheusConfig.incrementAnswerDeleted();
     }
 
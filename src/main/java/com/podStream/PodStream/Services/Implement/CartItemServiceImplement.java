@@ -5,21 +5,21 @@ import com.podStream.PodStream.Models.Cart;
 import com.podStream.PodStream.Models.CartItem;
 import com.podStream.PodStream.Models.Product;
 import com.podStream.PodStream.Repositories.Jpa.CartItemRepository;
-import com.podStream.PodStream.Repositories.Elastic.ElasticCartItemRepository;
 import com.podStream.PodStream.Repositories.Jpa.CartRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
 import com.podStream.PodStream.Services.CartItemService;
+import com.podStream.PodStream.Services.Cache.TransactionalCacheWriter;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,10 +39,10 @@ public class CartItemServiceImplement implements CartItemService {
     private ProductRepository productRepository;
 
     @Autowired
-    private ElasticCartItemRepository searchRepository;
+    private SearchOutboxService searchOutboxService;
 
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private TransactionalCacheWriter transactionalCacheWriter;
 
     @Autowired
     private PodStreamPrometheusConfig podStreamPrometheusConfig;
@@ -69,8 +69,8 @@ public class CartItemServiceImplement implements CartItemService {
         if (existingItem != null) {
             existingItem.setQuantity(existingItem.getQuantity() + itemDTO.getQuantity());
             cartItemRepository.save(existingItem);
-            searchRepository.save(existingItem);
-            redisTemplate.opsForValue().set(CART_ITEM_KEY_PREFIX + existingItem.getId(), existingItem, CART_ITEM_TTL_MINUTES, TimeUnit.MINUTES);
+            searchOutboxService.enqueueIndex(existingItem);
+            transactionalCacheWriter.set(CART_ITEM_KEY_PREFIX + existingItem.getId(), existingItem, Duration.ofMinutes(CART_ITEM_TTL_MINUTES));
             podStreamPrometheusConfig.incrementCartItemsUpdated();
             return new CartItemDTO(existingItem);
         }
@@ -82,8 +82,8 @@ public class CartItemServiceImplement implements CartItemService {
         cartItem.setActive(true);
 
         CartItem savedItem = cartItemRepository.save(cartItem);
-        searchRepository.save(savedItem);
-        redisTemplate.opsForValue().set(CART_ITEM_KEY_PREFIX + savedItem.getId(), savedItem, CART_ITEM_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedItem);
+        transactionalCacheWriter.set(CART_ITEM_KEY_PREFIX + savedItem.getId(), savedItem, Duration.ofMinutes(CART_ITEM_TTL_MINUTES));
 
         podStreamPrometheusConfig.incrementCartItemsAdded();
         return new CartItemDTO(savedItem);
@@ -113,8 +113,8 @@ public class CartItemServiceImplement implements CartItemService {
 
         cartItem.setQuantity(quantity);
         CartItem updatedItem = cartItemRepository.save(cartItem);
-        searchRepository.save(updatedItem);
-        redisTemplate.opsForValue().set(CART_ITEM_KEY_PREFIX + updatedItem.getId(), updatedItem, CART_ITEM_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedItem);
+        transactionalCacheWriter.set(CART_ITEM_KEY_PREFIX + updatedItem.getId(), updatedItem, Duration.ofMinutes(CART_ITEM_TTL_MINUTES));
 
         podStreamPrometheusConfig.incrementCartItemsUpdated();
         return new CartItemDTO(updatedItem);
@@ -138,8 +138,8 @@ public class CartItemServiceImplement implements CartItemService {
 
         cartItem.setActive(false);
         cartItemRepository.save(cartItem);
-        searchRepository.save(cartItem);
-        redisTemplate.delete(CART_ITEM_KEY_PREFIX + itemId);
+        searchOutboxService.enqueueIndex(cartItem);
+        transactionalCacheWriter.delete(CART_ITEM_KEY_PREFIX + itemId);
 
         podStreamPrometheusConfig.incrementCartItemsRemoved();
     }
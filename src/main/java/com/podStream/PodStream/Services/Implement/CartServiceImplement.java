@@ -8,8 +8,9 @@ import com.podStream.PodStream.Models.Product;
 import com.podStream.PodStream.Models.Promotion;
 import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Repositories.Jpa.*;
-import com.podStream.PodStream.Repositories.Elastic.ElasticCartRepository;
 import com.podStream.PodStream.Services.CartService;
+import com.podStream.PodStream.Services.ReservationService;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +21,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CartServiceImplement implements CartService {
@@ -43,7 +49,7 @@ public class CartServiceImplement implements CartService {
     private PromotionRepository promotionRepository;
 
     @Autowired
-    private ElasticCartRepository elasticCartRepository;
+    private SearchOutboxService searchOutboxService;
 
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
@@ -54,6 +60,9 @@ public class CartServiceImplement implements CartService {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private ReservationService reservationService;
+
     @Override
     @Transactional
     public CartDTO getOrCreateCart(String sessionId, Authentication authentication) {
@@ -93,16 +102,18 @@ public class CartServiceImplement implements CartService {
 
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found: " + productId));
-        if (product.getStock() < quantity) {
-            podStreamPrometheusConfig.incrementCartErrors();
-            throw new IllegalStateException("Insufficient stock for product: " + product.getName());
-        }
 
         CartItem cartItem = cart.getItems().stream()
                 .filter(item -> item.getProduct().getId().equals(productId))
                 .findFirst()
                 .orElse(null);
 
+        int heldQuantity = cartItem == null ? quantity : cartItem.getQuantity() + quantity;
+        if (!reservationService.adjust(ownerKey(sessionId, clientId), productId, heldQuantity)) {
+            podStreamPrometheusConfig.incrementCartErrors();
+            throw new IllegalStateException("Insufficient stock for product: " + product.getName());
+        }
+
         if (cartItem == null) {
             cartItem = new CartItem();
             cartItem.setCart(cart);
@@ -113,8 +124,6 @@ public class CartServiceImplement implements CartService {
             cartItem.setQuantity(cartItem.getQuantity() + quantity);
         }
 
-        product.setStock(product.getStock() - quantity);
-        productRepository.save(product);
         cart.setTotalPrice(calculateTotalAmount(cart));
         saveCart(cart, sessionId, clientId);
         podStreamPrometheusConfig.incrementCartItemsAdded();
@@ -140,15 +149,12 @@ public class CartServiceImplement implements CartService {
         validateCartOwnership(cart, clientId);
 
         Product product = cartItem.getProduct();
-        int stockDifference = quantity - cartItem.getQuantity();
-        if (product.getStock() < stockDifference) {
+        if (!reservationService.adjust(ownerKey(sessionId, clientId), product.getId(), quantity)) {
             podStreamPrometheusConfig.incrementCartErrors();
             throw new IllegalStateException("Insufficient stock for product: " + product.getName());
         }
 
         cartItem.setQuantity(quantity);
-        product.setStock(product.getStock() - stockDifference);
-        productRepository.save(product);
         cart.setTotalPrice(calculateTotalAmount(cart));
         saveCart(cart, sessionId, clientId);
         podStreamPrometheusConfig.incrementCartItemsUpdated();
@@ -170,9 +176,7 @@ public class CartServiceImplement implements CartService {
 
         validateCartOwnership(cart, clientId);
 
-        Product product = cartItem.getProduct();
-        product.setStock(product.getStock() + cartItem.getQuantity());
-        productRepository.save(product);
+        reservationService.release(ownerKey(sessionId, clientId), cartItem.getProduct().getId());
         cart.getItems().remove(cartItem);
         cart.setTotalPrice(calculateTotalAmount(cart));
         saveCart(cart, sessionId, clientId);
@@ -189,11 +193,7 @@ public class CartServiceImplement implements CartService {
 
         validateCartOwnership(cart, clientId);
 
-        for (CartItem item : cart.getItems()) {
-            Product product = item.getProduct();
-            product.setStock(product.getStock() + item.getQuantity());
-            productRepository.save(product);
-        }
+        reservationService.releaseAll(ownerKey(sessionId, clientId));
         cart.getItems().clear();
         cart.setTotalPrice(0.0);
         cart.setDiscount(0.0);
@@ -226,16 +226,19 @@ public class CartServiceImplement implements CartService {
                     return cartRepository.save(newCart);
                 });
 
+        Map<Long, Integer> quantities = quantitiesByProduct(sessionCart.getItems());
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : quantities.keySet()) {
+            if (!products.containsKey(productId)) {
+                throw new EntityNotFoundException("Product not found: " + productId);
+            }
+        }
+
         for (CartItem sessionItem : sessionCart.getItems()) {
             Long productId = sessionItem.getProduct().getId();
             Integer quantity = sessionItem.getQuantity();
-
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new EntityNotFoundException("Product not found: " + productId));
-            if (product.getStock() < quantity) {
-                podStreamPrometheusConfig.incrementCartErrors();
-                throw new IllegalStateException("Insufficient stock for product: " + product.getName());
-            }
+            Product product = products.get(productId);
 
             CartItem existingItem = userCart.getItems().stream()
                     .filter(item -> item.getProduct().getId().equals(productId))
@@ -251,14 +254,20 @@ public class CartServiceImplement implements CartService {
             } else {
                 existingItem.setQuantity(existingItem.getQuantity() + quantity);
             }
+        }
 
-            product.setStock(product.getStock() - quantity);
-            productRepository.save(product);
+        // Las unidades del carrito invitado ya están retenidas: se traspasan al cliente y solo
+        // se vuelve a reservar lo que hubiera vencido.
+        String clientOwner = ReservationService.clientOwner(client.getId());
+        reservationService.transfer(ReservationService.sessionOwner(sessionId), clientOwner);
+        if (!reservationService.adjust(clientOwner, quantitiesByProduct(userCart.getItems()))) {
+            podStreamPrometheusConfig.incrementCartErrors();
+            throw new IllegalStateException("Insufficient stock for cart items");
         }
 
         userCart.setTotalPrice(calculateTotalAmount(userCart));
         cartRepository.save(userCart);
-        elasticCartRepository.save(userCart);
+        searchOutboxService.enqueueIndex(userCart);
         redisTemplate.delete(redisKey);
         logger.info("Cart merged from Redis to MySQL for client: {}", client.getId());
         podStreamPrometheusConfig.incrementCartMerged();
@@ -317,14 +326,27 @@ public class CartServiceImplement implements CartService {
 
     private void saveCart(Cart cart, String sessionId, Long clientId) {
         cart.setTotalPrice(calculateTotalAmount(cart));
+        reservationService.extend(ownerKey(sessionId, clientId));
         if (clientId != null) {
             cartRepository.save(cart);
-            elasticCartRepository.save(cart);
+            searchOutboxService.enqueueIndex(cart);
         } else {
             redisTemplate.opsForValue().set(CART_KEY_PREFIX + sessionId, cart, CART_TTL_MINUTES, TimeUnit.MINUTES);
         }
     }
 
+    private String ownerKey(String sessionId, Long clientId) {
+        return clientId != null ? ReservationService.clientOwner(clientId) : ReservationService.sessionOwner(sessionId);
+    }
+
+    private Map<Long, Integer> quantitiesByProduct(List<CartItem> items) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (CartItem item : items) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
     private Double calculateTotalAmount(Cart cart) {
         return cart.getItems().stream()
                 .mapToDouble(item -> item.getProduct().getPrice() * item.getQuantity())
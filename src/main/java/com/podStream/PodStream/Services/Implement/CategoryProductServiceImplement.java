@@ -4,25 +4,29 @@ import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
 import com.podStream.PodStream.DTOS.CategoryProductDTO;
 import com.podStream.PodStream.Models.CategoryProduct;
 import com.podStream.PodStream.Repositories.Jpa.CategoryProductRepository;
-import com.podStream.PodStream.Repositories.Elastic.ElasticCategoryProductRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.CacheBatchWriter;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.Cache.CacheWarmable;
+import com.podStream.PodStream.Services.Cache.HibernateCacheInvalidator;
 import com.podStream.PodStream.Services.CategoryProductService;
+import com.podStream.PodStream.Services.Events.CategoryChangedEvent;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
-public class CategoryProductServiceImplement implements CategoryProductService {
+public class CategoryProductServiceImplement implements CategoryProductService, CacheWarmable {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryProductServiceImplement.class);
     private static final String CATEGORY_KEY_PREFIX = "category:active:";
@@ -30,9 +34,49 @@ public class CategoryProductServiceImplement implements CategoryProductService {
 
     private final CategoryProductRepository categoryRepository;
     private final ProductRepository productRepository;
-    private final ElasticCategoryProductRepository searchRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SearchOutboxService searchOutboxService;
+    private final CacheBatchWriter cacheBatchWriter;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HibernateCacheInvalidator hibernateCacheInvalidator;
+    private final CacheRegion<Long, CategoryProduct> categoryCache;
+
+    public CategoryProductServiceImplement(
+            CategoryProductRepository categoryRepository,
+            ProductRepository productRepository,
+            SearchOutboxService searchOutboxService,
+            CacheBatchWriter cacheBatchWriter,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            ApplicationEventPublisher eventPublisher,
+            CacheRegionManager cacheRegionManager,
+            HibernateCacheInvalidator hibernateCacheInvalidator) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.searchOutboxService = searchOutboxService;
+        this.cacheBatchWriter = cacheBatchWriter;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.eventPublisher = eventPublisher;
+        this.hibernateCacheInvalidator = hibernateCacheInvalidator;
+        this.categoryCache = cacheRegionManager.<Long, CategoryProduct>region("category", CategoryProduct.class)
+                .prefix(CATEGORY_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(CATEGORY_TTL_MINUTES))
+                .usable(CategoryProduct::isActive)
+                .build();
+    }
+
+    @Override
+    public String warmUpName() {
+        return "categories";
+    }
+
+    @Override
+    public void warmUp() {
+        List<CategoryProduct> categories = categoryRepository.findByActiveTrue();
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        categories.forEach(category -> categoryCache.put(batch, category.getId(), category));
+        batch.flush();
+        logger.info("Warmed {} active categories", categories.size());
+    }
 
     @Override
     public List<CategoryProductDTO> findAll(Authentication authentication) {
@@ -40,12 +84,15 @@ public class CategoryProductServiceImplement implements CategoryProductService {
         validateAuthentication(authentication);
         List<CategoryProduct> categories = categoryRepository.findByActiveTrue();
         podStreamPrometheusConfig.incrementCategoryFetched();
-        return categories.stream()
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        List<CategoryProductDTO> result = categories.stream()
                 .map(category -> {
-                    redisTemplate.opsForValue().set(CATEGORY_KEY_PREFIX + category.getId(), category, CATEGORY_TTL_MINUTES, TimeUnit.MINUTES);
+                    categoryCache.put(batch, category.getId(), category);
                     return new CategoryProductDTO(category);
                 })
                 .collect(Collectors.toList());
+        batch.flushAsync();
+        return result;
     }
 
     @Override
@@ -53,19 +100,11 @@ public class CategoryProductServiceImplement implements CategoryProductService {
         logger.info("Fetching category with id: {}", id);
         validateAuthentication(authentication);
 
-        String cacheKey = CATEGORY_KEY_PREFIX + id;
-        CategoryProduct cachedCategory = (CategoryProduct) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedCategory != null && cachedCategory.isActive()) {
-            logger.info("Category id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementCategoryCacheHit();
-            return new CategoryProductDTO(cachedCategory);
-        }
-
-        CategoryProduct category = categoryRepository.findById(id)
-                .filter(CategoryProduct::isActive)
+        CategoryProduct category = categoryCache.get(id, key -> {
+                    podStreamPrometheusConfig.incrementCategoryFetched();
+                    return categoryRepository.findById(key).filter(CategoryProduct::isActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
-        redisTemplate.opsForValue().set(cacheKey, category, CATEGORY_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementCategoryFetched();
         return new CategoryProductDTO(category);
     }
 
@@ -85,8 +124,9 @@ public class CategoryProductServiceImplement implements CategoryProductService {
         category.setActive(true);
 
         CategoryProduct savedCategory = categoryRepository.save(category);
-        searchRepository.save(savedCategory);
-        redisTemplate.opsForValue().set(CATEGORY_KEY_PREFIX + savedCategory.getId(), savedCategory, CATEGORY_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent(this, savedCategory));
+        categoryCache.put(savedCategory.getId(), savedCategory);
 
         podStreamPrometheusConfig.incrementCategoryCreated();
         return new CategoryProductDTO(savedCategory);
@@ -112,8 +152,10 @@ public class CategoryProductServiceImplement implements CategoryProductService {
         existing.setDescription(categoryDTO.getDescription());
 
         CategoryProduct updatedCategory = categoryRepository.save(existing);
-        searchRepository.save(updatedCategory);
-        redisTemplate.opsForValue().set(CATEGORY_KEY_PREFIX + updatedCategory.getId(), updatedCategory, CATEGORY_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedCategory);
+        hibernateCacheInvalidator.evictAfterCommit(CategoryProduct.class);
+        eventPublisher.publishEvent(new CategoryChangedEvent(this, updatedCategory));
+        categoryCache.put(updatedCategory.getId(), updatedCategory);
 
         podStreamPrometheusConfig.incrementCategoryUpdated();
         return new CategoryProductDTO(updatedCategory);
@@ -136,8 +178,10 @@ public class CategoryProductServiceImplement implements CategoryProductService {
 
         category.setActive(false);
         categoryRepository.save(category);
-        searchRepository.save(category);
-        redisTemplate.delete(CATEGORY_KEY_PREFIX + id);
+        searchOutboxService.enqueueIndex(category);
+        hibernateCacheInvalidator.evictAfterCommit(CategoryProduct.class);
+        eventPublisher.publishEvent(new CategoryChangedEvent(this, category));
+        categoryCache.evict(id);
 
         podStreamPrometheusConfig.incrementCategoryDeleted();
     }
@@ -3,28 +3,30 @@ package com.podStream.PodStream.Services.Implement;
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
 import com.podStream.PodStream.DTOS.ClientInteractionDTO;
 import com.podStream.PodStream.DTOS.ClientInteractionRequest;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.Models.ClientInteraction;
 import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Models.Product;
 import com.podStream.PodStream.Repositories.Jpa.ClientInteractionRepository;
-import com.podStream.PodStream.Repositories.Elastic.ElasticClientInteractionRepository;
 import com.podStream.PodStream.Repositories.Jpa.ClientRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
 import com.podStream.PodStream.Services.ClientInteractionService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import com.podStream.PodStream.Services.Events.ClientInteractionEvent;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @Service
 public class ClientInteractionServiceImplement implements ClientInteractionService {
@@ -34,28 +36,32 @@ public class ClientInteractionServiceImplement implements ClientInteractionServi
     private static final long INTERACTION_TTL_MINUTES = 1440; // 1 día para interacciones
 
     private final ClientInteractionRepository clientInteractionRepository;
-    private final ElasticClientInteractionRepository searchRepository;
+    private final SearchOutboxService searchOutboxService;
     private final ClientRepository clientRepository;
     private final ProductRepository productRepository;
     private final ApplicationEventPublisher eventPublisher;
-    private final RedisTemplate<String, Object> redisTemplate;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final CacheRegion<Long, ClientInteraction> interactionCache;
 
     public ClientInteractionServiceImplement(
             ClientInteractionRepository clientInteractionRepository,
-            ElasticClientInteractionRepository searchRepository,
+            SearchOutboxService searchOutboxService,
             ClientRepository clientRepository,
             ProductRepository productRepository,
             ApplicationEventPublisher eventPublisher,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            CacheRegionManager cacheRegionManager) {
         this.clientInteractionRepository = clientInteractionRepository;
-        this.searchRepository = searchRepository;
+        this.searchOutboxService = searchOutboxService;
         this.clientRepository = clientRepository;
         this.productRepository = productRepository;
         this.eventPublisher = eventPublisher;
-        this.redisTemplate = redisTemplate;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.interactionCache = cacheRegionManager.<Long, ClientInteraction>region("interaction", ClientInteraction.class)
+                .prefix(INTERACTION_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(INTERACTION_TTL_MINUTES))
+                .usable(ClientInteraction::isActive)
+                .build();
     }
 
     @Override
@@ -80,8 +86,8 @@ public class ClientInteractionServiceImplement implements ClientInteractionServi
         interaction.setActive(true);
 
         ClientInteraction savedInteraction = clientInteractionRepository.save(interaction);
-        searchRepository.save(savedInteraction);
-        redisTemplate.opsForValue().set(INTERACTION_KEY_PREFIX + savedInteraction.getId(), savedInteraction, INTERACTION_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedInteraction);
+        interactionCache.put(savedInteraction.getId(), savedInteraction);
 
         eventPublisher.publishEvent(new ClientInteractionEvent(this, savedInteraction));
         logger.info("Published ClientInteractionEvent for interaction ID {}", savedInteraction.getId());
@@ -95,38 +101,24 @@ public class ClientInteractionServiceImplement implements ClientInteractionServi
         logger.info("Fetching interaction with id: {}", id);
         Long clientId = validateAuthentication(authentication);
 
-        String cacheKey = INTERACTION_KEY_PREFIX + id;
-        ClientInteraction cachedInteraction = (ClientInteraction) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedInteraction != null && cachedInteraction.isActive()) {
-            logger.info("Interaction id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementInteractionCacheHit();
-            return new ClientInteractionDTO(cachedInteraction);
-        }
-
-        ClientInteraction interaction = clientInteractionRepository.findById(id)
-                .filter(ClientInteraction::isActive)
+        ClientInteraction interaction = interactionCache.get(id, key -> {
+                    podStreamPrometheusConfig.incrementInteractionFetched();
+                    return clientInteractionRepository.findById(key).filter(ClientInteraction::isActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Interaction not found with id: " + id));
         validateClientOwnership(clientId, interaction.getClient().getId());
-
-        redisTemplate.opsForValue().set(cacheKey, interaction, INTERACTION_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementInteractionFetched();
         return new ClientInteractionDTO(interaction);
     }
 
     @Override
-    public List<ClientInteractionDTO> getInteractionsByClient(Long clientId, Authentication authentication) {
+    public CursorPageDTO<ClientInteractionDTO> getInteractionsByClient(Long clientId, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching interactions for client: {}", clientId);
         Long authenticatedClientId = validateAuthentication(authentication);
         validateClientOwnership(authenticatedClientId, clientId);
 
-        List<ClientInteraction> interactions = clientInteractionRepository.findByClientIdAndActiveTrue(clientId);
+        List<ClientInteraction> interactions = clientInteractionRepository.findByClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(clientId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementInteractionFetched();
-        return interactions.stream()
-                .map(interaction -> {
-                    redisTemplate.opsForValue().set(INTERACTION_KEY_PREFIX + interaction.getId(), interaction, INTERACTION_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new ClientInteractionDTO(interaction);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(interactions, ClientInteraction::getId, ClientInteractionDTO::new);
     }
 
     @Override
@@ -152,8 +144,8 @@ public class ClientInteractionServiceImplement implements ClientInteractionServi
         interaction.setSessionId(request.getSessionId());
 
         ClientInteraction updatedInteraction = clientInteractionRepository.save(interaction);
-        searchRepository.save(updatedInteraction);
-        redisTemplate.opsForValue().set(INTERACTION_KEY_PREFIX + updatedInteraction.getId(), updatedInteraction, INTERACTION_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedInteraction);
+        interactionCache.put(updatedInteraction.getId(), updatedInteraction);
 
         eventPublisher.publishEvent(new ClientInteractionEvent(this, updatedInteraction));
         logger.info("Published ClientInteractionEvent for updated interaction ID {}", updatedInteraction.getId());
@@ -175,8 +167,8 @@ public class ClientInteractionServiceImplement implements ClientInteractionServi
 
         interaction.setActive(false);
         clientInteractionRepository.save(interaction);
-        searchRepository.save(interaction);
-        redisTemplate.delete(INTERACTION_KEY_PREFIX + id);
+        searchOutboxService.enqueueIndex(interaction);
+        interactionCache.evict(id);
 
         podStreamPrometheusConfig.incrementInteractionDeleted();
     }
@@ -1,20 +1,24 @@
 package com.podStream.PodStream.Services.Implement;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.NewClientDTO;
 import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Repositories.Jpa.ClientRepository;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
 import com.podStream.PodStream.Services.ClientService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 @Service
 public class ClientServiceImplement implements ClientService {
@@ -28,52 +32,47 @@ public class ClientServiceImplement implements ClientService {
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private CacheRegionManager cacheRegionManager;
 
     private static final String CACHE_PREFIX = "client:";
 
+    private CacheRegion<Long, NewClientDTO> clientCache;
+    private CacheRegion<String, NewClientDTO> clientEmailCache;
+
+    @PostConstruct
+    public void initCache() {
+        clientCache = cacheRegionManager.<Long, NewClientDTO>region("client", NewClientDTO.class)
+                .prefix(CACHE_PREFIX)
+                .ttl(Duration.ofHours(1))
+                .build();
+        clientEmailCache = cacheRegionManager.<String, NewClientDTO>region("client-email", NewClientDTO.class)
+                .prefix(CACHE_PREFIX + "email:")
+                .ttl(Duration.ofHours(1))
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<NewClientDTO> findAll() {
+    public CursorPageDTO<NewClientDTO> findAll(CursorPageRequest page) {
         logger.info("Fetching all clients");
-        return clientRepository.findAll()
-                .stream()
-                .map(NewClientDTO::new)
-                .toList();
+        List<Client> clients = clientRepository.findByIdLessThanOrderByIdDesc(page.afterId(), page.pageable());
+        return page.toPage(clients, Client::getId, NewClientDTO::new);
     }
 
     @Override
     @Transactional(readOnly = true)
     public NewClientDTO findById(Long id) {
         logger.info("Fetching client with id: {}", id);
-        String cacheKey = CACHE_PREFIX + id;
-        NewClientDTO cachedClient = (NewClientDTO) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedClient != null) {
-            logger.info("Returning cached client with id: {}", id);
-            return cachedClient;
-        }
-        NewClientDTO client = clientRepository.findById(id)
-                .map(NewClientDTO::new)
+        return clientCache.get(id, key -> clientRepository.findById(key).map(NewClientDTO::new).orElse(null))
                 .orElseThrow(() -> new EntityNotFoundException("Client not found with id: " + id));
-        redisTemplate.opsForValue().set(cacheKey, client, 1, TimeUnit.HOURS);
-        return client;
     }
 
     @Override
     @Transactional(readOnly = true)
     public NewClientDTO findByEmail(String email) {
         logger.info("Fetching client with email: {}", email);
-        String cacheKey = CACHE_PREFIX + "email:" + email;
-        NewClientDTO cachedClient = (NewClientDTO) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedClient != null) {
-            logger.info("Returning cached client with email: {}", email);
-            return cachedClient;
-        }
-        NewClientDTO client = clientRepository.findByEmail(email)
-                .map(NewClientDTO::new)
+        return clientEmailCache.get(email, key -> clientRepository.findByEmail(key).map(NewClientDTO::new).orElse(null))
                 .orElseThrow(() -> new EntityNotFoundException("Client not found with email: " + email));
-        redisTemplate.opsForValue().set(cacheKey, client, 1, TimeUnit.HOURS);
-        return client;
     }
 
     @Override
@@ -92,8 +91,7 @@ public class ClientServiceImplement implements ClientService {
         client.setPassword(passwordEncoder.encode(clientDTO.getPassword()));
         Client savedClient = clientRepository.save(client);
         NewClientDTO savedClientDTO = new NewClientDTO(savedClient);
-        redisTemplate.opsForValue().set(CACHE_PREFIX + savedClient.getId(), savedClientDTO, 1, TimeUnit.HOURS);
-        redisTemplate.opsForValue().set(CACHE_PREFIX + "email:" + savedClient.getEmail(), savedClientDTO, 1, TimeUnit.HOURS);
+        updateCache(savedClientDTO);
         return savedClientDTO;
     }
 
@@ -149,6 +147,7 @@ public class ClientServiceImplement implements ClientService {
             logger.warn("Username already exists: {}", clientDTO.getUsername());
             throw new IllegalArgumentException("Username already exists");
         }
+        String previousEmail = client.getEmail();
         client.setUsername(clientDTO.getUsername());
         client.setFirstname(clientDTO.getFirstname());
         client.setLastname(clientDTO.getLastname());
@@ -161,6 +160,9 @@ public class ClientServiceImplement implements ClientService {
         }
         Client savedClient = clientRepository.save(client);
         NewClientDTO savedClientDTO = new NewClientDTO(savedClient);
+        if (!previousEmail.equals(savedClientDTO.getEmail())) {
+            clientEmailCache.evict(previousEmail);
+        }
         updateCache(savedClientDTO);
         return savedClientDTO;
     }
@@ -169,13 +171,13 @@ public class ClientServiceImplement implements ClientService {
     @Transactional
     public void deleteById(Long id) {
         logger.info("Deleting client with id: {}", id);
-        if (!clientRepository.existsById(id)) {
+        Client client = clientRepository.findById(id).orElseThrow(() -> {
             logger.warn("Client not found with id: {}", id);
-            throw new EntityNotFoundException("Client not found with id: " + id);
-        }
-        clientRepository.deleteById(id);
-        redisTemplate.delete(CACHE_PREFIX + id);
-        redisTemplate.delete(CACHE_PREFIX + "email:" + clientRepository.findById(id).map(Client::getEmail).orElse(""));
+            return new EntityNotFoundException("Client not found with id: " + id);
+        });
+        clientRepository.delete(client);
+        clientCache.evict(id);
+        clientEmailCache.evict(client.getEmail());
     }
 
     @Override
@@ -195,8 +197,13 @@ public class ClientServiceImplement implements ClientService {
         return clientDTO;
     }
 
+    @Override
+    public void evictEmail(String email) {
+        clientEmailCache.evict(email);
+    }
+
     private void updateCache(NewClientDTO clientDTO) {
-        redisTemplate.opsForValue().set(CACHE_PREFIX + clientDTO.getId(), clientDTO, 1, TimeUnit.HOURS);
-        redisTemplate.opsForValue().set(CACHE_PREFIX + "email:" + clientDTO.getEmail(), clientDTO, 1, TimeUnit.HOURS);
+        clientCache.put(clientDTO.getId(), clientDTO);
+        clientEmailCache.put(clientDTO.getEmail(), clientDTO);
     }
 }
\ No newline at end of file
@@ -3,27 +3,29 @@ package com.podStream.PodStream.Services.Implement;
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
 import com.podStream.PodStream.DTOS.CommentDTO;
 import com.podStream.PodStream.DTOS.CommentRequestDTO;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.Models.Comment;
 import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Models.Product;
 import com.podStream.PodStream.Repositories.Jpa.CommentRepository;
-import com.podStream.PodStream.Repositories.Elastic.CommentElasticRepository;
 import com.podStream.PodStream.Repositories.Jpa.ClientRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
 import com.podStream.PodStream.Services.CommentService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @Service
 public class CommentServiceImplement implements CommentService {
@@ -33,25 +35,29 @@ public class CommentServiceImplement implements CommentService {
     private static final long COMMENT_TTL_MINUTES = 1440; // 1 día para comentarios
 
     private final CommentRepository commentRepository;
-    private final CommentElasticRepository searchRepository;
+    private final SearchOutboxService searchOutboxService;
     private final ClientRepository clientRepository;
     private final ProductRepository productRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final CacheRegion<Long, Comment> commentCache;
 
     public CommentServiceImplement(
             CommentRepository commentRepository,
-            CommentElasticRepository searchRepository,
+            SearchOutboxService searchOutboxService,
             ClientRepository clientRepository,
             ProductRepository productRepository,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            CacheRegionManager cacheRegionManager) {
         this.commentRepository = commentRepository;
-        this.searchRepository = searchRepository;
+        this.searchOutboxService = searchOutboxService;
         this.clientRepository = clientRepository;
         this.productRepository = productRepository;
-        this.redisTemplate = redisTemplate;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.commentCache = cacheRegionManager.<Long, Comment>region("comment", Comment.class)
+                .prefix(COMMENT_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(COMMENT_TTL_MINUTES))
+                .usable(Comment::isActive)
+                .build();
     }
 
     @Override
@@ -74,8 +80,8 @@ public class CommentServiceImplement implements CommentService {
         comment.setActive(true);
 
         Comment savedComment = commentRepository.save(comment);
-        searchRepository.save(savedComment);
-        redisTemplate.opsForValue().set(COMMENT_KEY_PREFIX + savedComment.getId(), savedComment, COMMENT_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedComment);
+        commentCache.put(savedComment.getId(), savedComment);
 
         podStreamPrometheusConfig.incrementCommentCreated();
         return new CommentDTO(savedComment);
@@ -86,52 +92,33 @@ public class CommentServiceImplement implements CommentService {
         logger.info("Fetching comment with id: {}", id);
         validateAuthentication(authentication);
 
-        String cacheKey = COMMENT_KEY_PREFIX + id;
-        Comment cachedComment = (Comment) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedComment != null && cachedComment.isActive()) {
-            logger.info("Comment id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementCommentCacheHit();
-            return new CommentDTO(cachedComment);
-        }
-
-        Comment comment = commentRepository.findById(id)
-                .filter(Comment::isActive)
+        Comment comment = commentCache.get(id, key -> {
+                    podStreamPrometheusConfig.incrementCommentFetched();
+                    return commentRepository.findById(key).filter(Comment::isActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Comment not found with id: " + id));
-
-        redisTemplate.opsForValue().set(cacheKey, comment, COMMENT_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementCommentFetched();
         return new CommentDTO(comment);
     }
 
     @Override
-    public List<CommentDTO> getCommentsByProduct(Long productId, Authentication authentication) {
+    public CursorPageDTO<CommentDTO> getCommentsByProduct(Long productId, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching comments for product: {}", productId);
         validateAuthentication(authentication);
 
-        List<Comment> comments = commentRepository.findByProductIdAndActiveTrue(productId);
+        List<Comment> comments = commentRepository.findByProductIdAndActiveTrueAndIdLessThanOrderByIdDesc(productId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementCommentFetched();
-        return comments.stream()
-                .map(comment -> {
-                    redisTemplate.opsForValue().set(COMMENT_KEY_PREFIX + comment.getId(), comment, COMMENT_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new CommentDTO(comment);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(comments, Comment::getId, CommentDTO::new);
     }
 
     @Override
-    public List<CommentDTO> getCommentsByClient(Long clientId, Authentication authentication) {
+    public CursorPageDTO<CommentDTO> getCommentsByClient(Long clientId, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching comments for client: {}", clientId);
         Long authenticatedClientId = validateAuthentication(authentication);
         validateClientOwnership(authenticatedClientId, clientId);
 
-        List<Comment> comments = commentRepository.findByClientIdAndActiveTrue(clientId);
+        List<Comment> comments = commentRepository.findByClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(clientId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementCommentFetched();
-        return comments.stream()
-                .map(comment -> {
-                    redisTemplate.opsForValue().set(COMMENT_KEY_PREFIX + comment.getId(), comment, COMMENT_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new CommentDTO(comment);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(comments, Comment::getId, CommentDTO::new);
     }
 
     @Override
@@ -155,8 +142,8 @@ public class CommentServiceImplement implements CommentService {
         comment.setProduct(product);
 
         Comment updatedComment = commentRepository.save(comment);
-        searchRepository.save(updatedComment);
-        redisTemplate.opsForValue().set(COMMENT_KEY_PREFIX + updatedComment.getId(), updatedComment, COMMENT_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedComment);
+        commentCache.put(updatedComment.getId(), updatedComment);
 
         podStreamPrometheusConfig.incrementCommentUpdated();
         return new CommentDTO(updatedComment);
@@ -180,8 +167,8 @@ public class CommentServiceImplement implements CommentService {
 
         comment.setActive(false);
         commentRepository.save(comment);
-        searchRepository.save(comment);
-        redisTemplate.delete(COMMENT_KEY_PREFIX + id);
+        searchOutboxService.enqueueIndex(comment);
+        commentCache.evict(id);
 
         podStreamPrometheusConfig.incrementCommentDeleted();
     }
@@ -1,27 +1,32 @@
 package com.podStream.PodStream.Services.Implement;
 
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.DetailsDTO;
 import com.podStream.PodStream.DTOS.DetailsRequestDTO;
 import com.podStream.PodStream.Models.Details;
 import com.podStream.PodStream.Models.PurchaseOrder;
 import com.podStream.PodStream.Models.Product;
 import com.podStream.PodStream.Repositories.Jpa.DetailsRepository;
-import com.podStream.PodStream.Repositories.Elastic.ElasticDetailsRepository;
 import com.podStream.PodStream.Repositories.Jpa.PurchaseOrderRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.CacheBatchWriter;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
 import com.podStream.PodStream.Services.DetailsService;
+import com.podStream.PodStream.Services.InventoryService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,25 +37,35 @@ public class DetailsServiceImplement implements DetailsService {
     private static final long DETAILS_TTL_MINUTES = 1440; // 1 día para detalles
 
     private final DetailsRepository detailsRepository;
-    private final ElasticDetailsRepository searchRepository;
+    private final SearchOutboxService searchOutboxService;
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final ProductRepository productRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheBatchWriter cacheBatchWriter;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final InventoryService inventoryService;
+    private final CacheRegion<Long, Details> detailsCache;
 
     public DetailsServiceImplement(
             DetailsRepository detailsRepository,
-            ElasticDetailsRepository searchRepository,
+            SearchOutboxService searchOutboxService,
             PurchaseOrderRepository purchaseOrderRepository,
             ProductRepository productRepository,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            CacheBatchWriter cacheBatchWriter,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            InventoryService inventoryService,
+            CacheRegionManager cacheRegionManager) {
         this.detailsRepository = detailsRepository;
-        this.searchRepository = searchRepository;
+        this.searchOutboxService = searchOutboxService;
         this.purchaseOrderRepository = purchaseOrderRepository;
         this.productRepository = productRepository;
-        this.redisTemplate = redisTemplate;
+        this.cacheBatchWriter = cacheBatchWriter;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.inventoryService = inventoryService;
+        this.detailsCache = cacheRegionManager.<Long, Details>region("details", Details.class)
+                .prefix(DETAILS_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(DETAILS_TTL_MINUTES))
+                .usable(Details::isActive)
+                .build();
     }
 
     @Override
@@ -66,12 +81,10 @@ public class DetailsServiceImplement implements DetailsService {
 
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new EntityNotFoundException("Product not found: " + request.getProductId()));
-        if (product.getStock() < request.getQuantity()) {
+        if (!inventoryService.tryReserve(product.getId(), request.getQuantity())) {
             podStreamPrometheusConfig.incrementDetailsErrors();
             throw new IllegalStateException("Insufficient stock for product: " + product.getName());
         }
-        product.setStock(product.getStock() - request.getQuantity());
-        productRepository.save(product);
 
         Details details = new Details();
         details.setProductName(request.getProductName());
@@ -84,8 +97,8 @@ public class DetailsServiceImplement implements DetailsService {
         details.setActive(true);
 
         Details savedDetails = detailsRepository.save(details);
-        searchRepository.save(savedDetails);
-        redisTemplate.opsForValue().set(DETAILS_KEY_PREFIX + savedDetails.getId(), savedDetails, DETAILS_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedDetails);
+        detailsCache.put(savedDetails.getId(), savedDetails);
 
         podStreamPrometheusConfig.incrementDetailsCreated();
         return new DetailsDTO(savedDetails);
@@ -96,21 +109,12 @@ public class DetailsServiceImplement implements DetailsService {
         logger.info("Fetching details with id: {}", id);
         Long clientId = validateAuthentication(authentication);
 
-        String cacheKey = DETAILS_KEY_PREFIX + id;
-        Details cachedDetails = (Details) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedDetails != null && cachedDetails.isActive()) {
-            logger.info("Details id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementDetailsCacheHit();
-            return new DetailsDTO(cachedDetails);
-        }
-
-        Details details = detailsRepository.findById(id)
-                .filter(Details::isActive)
+        Details details = detailsCache.get(id, key -> {
+                    podStreamPrometheusConfig.incrementDetailsFetched();
+                    return detailsRepository.findById(key).filter(Details::isActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Details not found with id: " + id));
         validateOrderOwnership(clientId, details.getPurchaseOrder());
-
-        redisTemplate.opsForValue().set(cacheKey, details, DETAILS_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementDetailsFetched();
         return new DetailsDTO(details);
     }
 
@@ -126,32 +130,34 @@ public class DetailsServiceImplement implements DetailsService {
 
         List<Details> details = detailsRepository.findByPurchaseOrderIdAndActiveTrue(purchaseOrderId);
         podStreamPrometheusConfig.incrementDetailsFetched();
-        return details.stream()
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        List<DetailsDTO> result = details.stream()
                 .map(detail -> {
-                    redisTemplate.opsForValue().set(DETAILS_KEY_PREFIX + detail.getId(), detail, DETAILS_TTL_MINUTES, TimeUnit.MINUTES);
+                    detailsCache.put(batch, detail.getId(), detail);
                     return new DetailsDTO(detail);
                 })
                 .collect(Collectors.toList());
+        batch.flushAsync();
+        return result;
     }
 
     @Override
-    public List<DetailsDTO> getDetailsByProduct(Long productId, Authentication authentication) {
+    public CursorPageDTO<DetailsDTO> getDetailsByProduct(Long productId, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching details for product: {}", productId);
         Long clientId = validateAuthentication(authentication);
 
-        List<Details> details = detailsRepository.findByProductIdAndActiveTrue(productId);
-        // Filtrar solo los detalles de órdenes que pertenezcan al cliente autenticado
-        details = details.stream()
-                .filter(detail -> detail.getPurchaseOrder().getClient().getId().equals(clientId))
-                .collect(Collectors.toList());
+        // Solo los detalles de órdenes del cliente autenticado; el filtro va en la consulta para que la página esté llena
+        List<Details> details = detailsRepository.findByProductIdAndPurchaseOrderClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(
+                productId, clientId, page.afterId(), page.pageable());
 
         podStreamPrometheusConfig.incrementDetailsFetched();
-        return details.stream()
-                .map(detail -> {
-                    redisTemplate.opsForValue().set(DETAILS_KEY_PREFIX + detail.getId(), detail, DETAILS_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new DetailsDTO(detail);
-                })
-                .collect(Collectors.toList());
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        CursorPageDTO<DetailsDTO> result = page.toPage(details, Details::getId, detail -> {
+            detailsCache.put(batch, detail.getId(), detail);
+            return new DetailsDTO(detail);
+        });
+        batch.flushAsync();
+        return result;
     }
 
     @Override
@@ -174,17 +180,13 @@ public class DetailsServiceImplement implements DetailsService {
                 .orElseThrow(() -> new EntityNotFoundException("Product not found: " + request.getProductId()));
 
         // Revertir stock anterior
-        Product oldProduct = details.getProduct();
-        oldProduct.setStock(oldProduct.getStock() + details.getQuantity());
-        productRepository.save(oldProduct);
+        inventoryService.release(details.getProduct().getId(), details.getQuantity());
 
         // Validar y actualizar stock nuevo
-        if (product.getStock() < request.getQuantity()) {
+        if (!inventoryService.tryReserve(product.getId(), request.getQuantity())) {
             podStreamPrometheusConfig.incrementDetailsErrors();
             throw new IllegalStateException("Insufficient stock for product: " + product.getName());
         }
-        product.setStock(product.getStock() - request.getQuantity());
-        productRepository.save(product);
 
         details.setProductName(request.getProductName());
         details.setQuantity(request.getQuantity());
@@ -194,8 +196,8 @@ public class DetailsServiceImplement implements DetailsService {
         details.setProduct(product);
 
         Details updatedDetails = detailsRepository.save(details);
-        searchRepository.save(updatedDetails);
-        redisTemplate.opsForValue().set(DETAILS_KEY_PREFIX + updatedDetails.getId(), updatedDetails, DETAILS_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedDetails);
+        detailsCache.put(updatedDetails.getId(), updatedDetails);
 
         podStreamPrometheusConfig.incrementDetailsUpdated();
         return new DetailsDTO(updatedDetails);
@@ -213,14 +215,12 @@ public class DetailsServiceImplement implements DetailsService {
         validateOrderOwnership(clientId, details.getPurchaseOrder());
 
         // Revertir stock
-        Product product = details.getProduct();
-        product.setStock(product.getStock() + details.getQuantity());
-        productRepository.save(product);
+        inventoryService.release(details.getProduct().getId(), details.getQuantity());
 
         details.setActive(false);
         detailsRepository.save(details);
-        searchRepository.save(details);
-        redisTemplate.delete(DETAILS_KEY_PREFIX + id);
+        searchOutboxService.enqueueIndex(details);
+        detailsCache.evict(id);
 
         podStreamPrometheusConfig.incrementDetailsDeleted();
     }
@@ -0,0 +1,77 @@
+package com.podStream.PodStream.Services.Implement;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Models.ExportFormat;
+import com.podStream.PodStream.Services.ExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementación de las exportaciones masivas sobre {@link JdbcRowStreamer}.
+ * <p>Cada conjunto de datos es una consulta SQL de solo lectura ordenada por clave primaria; no se cargan
+ * entidades ni se escribe nada en Redis. Los datos sensibles (contraseñas, tokens) nunca se seleccionan.
+ */
+@Service
+public class ExportServiceImplement implements ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImplement.class);
+
+    private static final Map<String, String> DATASETS = new LinkedHashMap<>();
+
+    static {
+        DATASETS.put("products",
+                "SELECT id, name, price, stock, sales_count, category_id, color, discount, average_rating, active, " +
+                        "created_date, last_modified_date FROM products ORDER BY id");
+        DATASETS.put("orders",
+                "SELECT id, ticket, amount, status, payment_method, client_id, customer_rut, active, created_at, updated_at " +
+                        "FROM purchase_orders ORDER BY id");
+        DATASETS.put("clients",
+                "SELECT id, username, firstname, lastname, email, phone, country, active, created_at, updated_at " +
+                        "FROM persons WHERE person_type = 'CLIENT' ORDER BY id");
+        DATASETS.put("interactions",
+                "SELECT id, client_id, product_id, interaction_type, quantity, session_id, active, timestamp " +
+                        "FROM client_interaction ORDER BY id");
+    }
+
+    private final JdbcRowStreamer jdbcRowStreamer;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+
+    public ExportServiceImplement(JdbcRowStreamer jdbcRowStreamer, PodStreamPrometheusConfig podStreamPrometheusConfig) {
+        this.jdbcRowStreamer = jdbcRowStreamer;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+    }
+
+    @Override
+    public Set<String> getDatasets() {
+        return DATASETS.keySet();
+    }
+
+    @Override
+    public long export(String dataset, ExportFormat format, OutputStream out) throws IOException {
+        String sql = DATASETS.get(dataset);
+        if (sql == null) {
+            podStreamPrometheusConfig.incrementExportErrors();
+            throw new IllegalArgumentException("Unknown export dataset: " + dataset);
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            long rows = jdbcRowStreamer.stream(sql, format, out);
+            logger.info("Exported {} rows of {} as {} in {} ms", rows, dataset, format, System.currentTimeMillis() - start);
+            podStreamPrometheusConfig.incrementExportRows(rows);
+            podStreamPrometheusConfig.incrementExportCompleted();
+            return rows;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error exporting {}: {}", dataset, e.getMessage());
+            podStreamPrometheusConfig.incrementExportErrors();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.podStream.PodStream.Services.Implement;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Services.InventoryService;
+import com.podStream.PodStream.Services.ProductService;
+import com.podStream.PodStream.Services.SearchOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementación del servicio de inventario basada en sentencias {@code UPDATE} condicionales.
+ * <p>Cada línea se descuenta con {@code stock = stock - ? WHERE id = ? AND stock >= ?}, enviadas
+ * en un único lote JDBC y ordenadas por ID de producto para que dos transacciones concurrentes
+ * bloqueen las filas siempre en el mismo orden y no se produzcan deadlocks.
+ * <p>Estas sentencias no pasan por Hibernate; {@code Product} no está en la caché de segundo nivel, pero sí en la
+ * caché de productos de {@link ProductServiceImplement}, que guarda el stock: cada cambio aceptado la expulsa tras el
+ * commit.
+ * <p>Cada cambio de stock aceptado encola también, en la misma transacción, un evento {@code STOCK} por producto en
+ * el outbox de búsqueda, para que el stock y el facet {@code inStock} de Elasticsearch no se queden atrás. No se
+ * cargan entidades: el relé agrupa los eventos de cada producto y lee el producto vigente al enviarlos.
+ */
+@Service
+public class InventoryServiceImplement implements InventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryServiceImplement.class);
+
+    private static final String RESERVE_SQL =
+            "UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ? AND active = TRUE";
+    private static final String RELEASE_SQL =
+            "UPDATE products SET stock = stock + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchOutboxService searchOutboxService;
+    private final ProductService productService;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+
+    public InventoryServiceImplement(JdbcTemplate jdbcTemplate, SearchOutboxService searchOutboxService,
+                                     ProductService productService,
+                                     PodStreamPrometheusConfig podStreamPrometheusConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchOutboxService = searchOutboxService;
+        this.productService = productService;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+    }
+
+    @Override
+    @Transactional
+    public boolean tryReserve(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = sortedLines(quantities);
+        if (lines.isEmpty()) {
+            return true;
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> line = lines.get(i);
+                ps.setInt(1, line.getValue());
+                ps.setLong(2, line.getKey());
+                ps.setInt(3, line.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+
+        List<Map.Entry<Long, Integer>> reserved = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (updated[i] > 0) {
+                reserved.add(lines.get(i));
+            } else {
+                rejected.add(lines.get(i).getKey());
+            }
+        }
+
+        if (!rejected.isEmpty()) {
+            logger.warn("Insufficient stock for products: {}", rejected);
+            applyRelease(reserved);
+            podStreamPrometheusConfig.incrementInventoryRejected();
+            return false;
+        }
+
+        publishStockChange(lines);
+        podStreamPrometheusConfig.incrementInventoryReserved();
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean tryReserve(Long productId, int quantity) {
+        return tryReserve(Map.of(productId, quantity));
+    }
+
+    @Override
+    @Transactional
+    public void release(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = sortedLines(quantities);
+        if (lines.isEmpty()) {
+            return;
+        }
+        applyRelease(lines);
+        publishStockChange(lines);
+        podStreamPrometheusConfig.incrementInventoryReleased();
+    }
+
+    @Override
+    @Transactional
+    public void release(Long productId, int quantity) {
+        release(Map.of(productId, quantity));
+    }
+
+    private void applyRelease(List<Map.Entry<Long, Integer>> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> line = lines.get(i);
+                ps.setInt(1, line.getValue());
+                ps.setLong(2, line.getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+    }
+
+    private void publishStockChange(List<Map.Entry<Long, Integer>> lines) {
+        List<Long> productIds = lines.stream().map(Map.Entry::getKey).toList();
+        searchOutboxService.enqueueStockUpdate(productIds);
+        productService.evictCachedProducts(productIds);
+    }
+
+    private List<Map.Entry<Long, Integer>> sortedLines(Map<Long, Integer> quantities) {
+        TreeMap<Long, Integer> sorted = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> {
+            if (productId == null) {
+                throw new IllegalArgumentException("Product ID cannot be null");
+            }
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantity must be greater than 0");
+            }
+            sorted.put(productId, quantity);
+        });
+        return new ArrayList<>(sorted.entrySet());
+    }
+}
@@ -0,0 +1,150 @@
+package com.podStream.PodStream.Services.Implement;
+
+import com.podStream.PodStream.Models.Cart;
+import com.podStream.PodStream.Models.CartItem;
+import com.podStream.PodStream.Services.ReservationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Crea las filas de {@code inventory_reservations} de los carritos anteriores al ledger de reservas.
+ * <p>Antes del ledger, añadir al carrito descontaba el stock directamente; sin fila, quitar esos artículos no
+ * devolvería nada y el stock se perdería. La migración se ejecuta una sola vez en todo el clúster (la reclama
+ * el primer nodo con {@code SETNX} sobre {@value #DONE_KEY}): repetirla después de que el barrido libere
+ * reservas crearía retenciones sin stock detrás. Las filas nuevas reciben el TTL normal, así que los carritos
+ * abandonados devuelven su stock en el siguiente barrido tras vencer.
+ */
+@Component
+public class LegacyCartReservationBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyCartReservationBackfill.class);
+    static final String DONE_KEY = "inventory:reservation-backfill:done";
+    private static final String GUEST_CART_PATTERN = "cart:session:*";
+
+    // Mismo formato de dueño que ReservationService.clientOwner.
+    private static final String CLIENT_CARTS_SQL =
+            "INSERT INTO inventory_reservations (owner_key, product_id, quantity, expires_at, created_at, updated_at) " +
+            "SELECT CONCAT('client:', c.client_id), " +
+            "ci.product_id, SUM(ci.quantity), ?, ?, ? " +
+            "FROM cart_items ci JOIN carts c ON c.id = ci.cart_id " +
+            "WHERE c.client_id IS NOT NULL AND c.active = TRUE " +
+            "AND ci.active = TRUE AND ci.quantity > 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM inventory_reservations r " +
+            "WHERE r.owner_key = CONCAT('client:', c.client_id) " +
+            "AND r.product_id = ci.product_id) " +
+            "GROUP BY c.client_id, ci.product_id";
+
+    private static final String GUEST_CART_SQL =
+            "INSERT INTO inventory_reservations (owner_key, product_id, quantity, expires_at, created_at, updated_at) " +
+            "SELECT ?, ?, ?, ?, ?, ? FROM DUAL WHERE NOT EXISTS " +
+            "(SELECT 1 FROM inventory_reservations r WHERE r.owner_key = ? AND r.product_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${podstream.inventory.reservation-ttl-minutes:1440}")
+    private long reservationTtlMinutes;
+
+    public LegacyCartReservationBackfill(JdbcTemplate jdbcTemplate,
+                                         StringRedisTemplate stringRedisTemplate,
+                                         RedisTemplate<String, Object> redisTemplate,
+                                         PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillOnStartup() {
+        try {
+            backfill();
+        } catch (Exception e) {
+            logger.error("Error backfilling legacy cart reservations: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ejecuta la migración si ningún nodo la ha hecho ya.
+     *
+     * @return Número de filas de reserva creadas, o -1 si ya estaba hecha.
+     */
+    public int backfill() {
+        String claimedAt = LocalDateTime.now().toString();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(DONE_KEY, claimedAt))) {
+            return -1;
+        }
+        try {
+            Integer created = transactionTemplate.execute(status -> backfillClientCarts() + backfillGuestCarts());
+            logger.info("Backfilled {} inventory reservations for carts created before the reservation ledger", created);
+            return created != null ? created : 0;
+        } catch (RuntimeException e) {
+            // Nada quedó confirmado: se libera la marca para que otro arranque lo reintente.
+            stringRedisTemplate.delete(DONE_KEY);
+            throw e;
+        }
+    }
+
+    private int backfillClientCarts() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(CLIENT_CARTS_SQL, expiresAt(), now, now);
+    }
+
+    private int backfillGuestCarts() {
+        int created = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp expiresAt = expiresAt();
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(GUEST_CART_PATTERN).count(500).build())) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (!(redisTemplate.opsForValue().get(key) instanceof Cart cart) || cart.getItems() == null) {
+                    continue;
+                }
+                String ownerKey = ReservationService.sessionOwner(key.substring(GUEST_CART_PATTERN.length() - 1));
+                for (Map.Entry<Long, Integer> line : quantitiesByProduct(cart.getItems()).entrySet()) {
+                    created += jdbcTemplate.update(GUEST_CART_SQL, ownerKey, line.getKey(), line.getValue(),
+                            expiresAt, now, now, ownerKey, line.getKey());
+                }
+            }
+        }
+        return created;
+    }
+
+    private Map<Long, Integer> quantitiesByProduct(List<CartItem> items) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (CartItem item : new ArrayList<>(items)) {
+            if (item.getProduct() != null && item.getProduct().getId() != null && item.getQuantity() != null
+                    && item.getQuantity() > 0) {
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return quantities;
+    }
+
+    private Timestamp expiresAt() {
+        return Timestamp.valueOf(LocalDateTime.now().plusMinutes(reservationTtlMinutes));
+    }
+}
@@ -2,14 +2,20 @@ package com.podStream.PodStream.Services.Implement;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.MonitoringTicketDTO;
 import com.podStream.PodStream.DTOS.MonitoringTicketRequestDTO;
 import com.podStream.PodStream.Models.MonitoringTicket;
 import com.podStream.PodStream.Models.TicketHistory;
 import com.podStream.PodStream.Models.TicketStatus;
 import com.podStream.PodStream.Repositories.Jpa.MonitoringTicketRepository;
-import com.podStream.PodStream.Repositories.Elastic.ElasticMonitoringTicketRepository;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.Cache.MonitoringTicketSnapshot;
 import com.podStream.PodStream.Services.MonitoringTicketService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import com.podStream.PodStream.Services.SearchOutboxService;
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.persistence.EntityNotFoundException;
@@ -18,7 +24,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -29,13 +34,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio para gestionar tickets de monitoreo.
@@ -50,11 +54,11 @@ public class MonitoringTicketServiceImplement implements MonitoringTicketService
     @Autowired
     private MonitoringTicketRepository ticketRepository;
     @Autowired
-    private ElasticMonitoringTicketRepository searchRepository;
+    private SearchOutboxService searchOutboxService;
     @Autowired
     private JavaMailSender mailSender;
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private CacheRegionManager cacheRegionManager;
     @Autowired
     private PodStreamPrometheusConfig podStreamPrometheusConfig;
     @Autowired
@@ -71,6 +75,16 @@ public class MonitoringTicketServiceImplement implements MonitoringTicketService
     @Value("${JIRA_PROJECT_KEY:POD}")
     private String jiraProjectKey;
 
+    private CacheRegion<Long, MonitoringTicketSnapshot> ticketCache;
+
+    @PostConstruct
+    public void initCache() {
+        ticketCache = cacheRegionManager.<Long, MonitoringTicketSnapshot>region("monitoring-ticket", MonitoringTicketSnapshot.class)
+                .prefix(TICKET_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(TICKET_TTL_MINUTES))
+                .usable(MonitoringTicketSnapshot::active)
+                .build();
+    }
 
 
     @Override
@@ -96,17 +110,18 @@ public class MonitoringTicketServiceImplement implements MonitoringTicketService
         ticket.getHistory().add(history);
 
         MonitoringTicket savedTicket = ticketRepository.save(ticket);
-        searchRepository.save(savedTicket);
+        searchOutboxService.enqueueIndex(savedTicket);
 
         String jiraIssueId = createJiraIssue(savedTicket);
         savedTicket.setJiraIssueId(jiraIssueId);
         ticketRepository.save(savedTicket);
 
-        redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + savedTicket.getId(), savedTicket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
+        MonitoringTicketDTO dto = new MonitoringTicketDTO(savedTicket);
+        ticketCache.put(savedTicket.getId(), MonitoringTicketSnapshot.from(dto));
         sendEmail(savedTicket, "Ticket Creado");
 
         podStreamPrometheusConfig.incrementMonitoringTicketCreated();
-        return new MonitoringTicketDTO(savedTicket);
+        return dto;
     }
 
     @Override
@@ -114,81 +129,55 @@ public class MonitoringTicketServiceImplement implements MonitoringTicketService
         logger.info("Fetching monitoring ticket with id: {}", id);
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        String cacheKey = TICKET_KEY_PREFIX + id;
-        MonitoringTicket cachedTicket = (MonitoringTicket) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedTicket != null && cachedTicket.isActive()) {
-            logger.info("Ticket id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementMonitoringTicketCacheHit();
-            return new MonitoringTicketDTO(cachedTicket);
-        }
-
-        MonitoringTicket ticket = ticketRepository.findById(id)
-                .filter(MonitoringTicket::isActive)
+        return ticketCache.get(id, key -> {
+                    podStreamPrometheusConfig.incrementMonitoringTicketFetched();
+                    return ticketRepository.findById(key)
+                            .filter(MonitoringTicket::isActive)
+                            .map(ticket -> MonitoringTicketSnapshot.from(new MonitoringTicketDTO(ticket)))
+                            .orElse(null);
+                })
+                .map(MonitoringTicketSnapshot::toDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Monitoring ticket not found with id: " + id));
-
-        redisTemplate.opsForValue().set(cacheKey, ticket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementMonitoringTicketFetched();
-        return new MonitoringTicketDTO(ticket);
     }
 
     @Override
-    public List<MonitoringTicketDTO> getTicketsBySource(String source, Authentication authentication) {
+    public CursorPageDTO<MonitoringTicketDTO> getTicketsBySource(String source, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching monitoring tickets by source: {}", source);
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        List<MonitoringTicket> tickets = ticketRepository.findBySourceAndActiveTrue(source);
+        List<MonitoringTicket> tickets = ticketRepository.findBySourceAndActiveTrueAndIdLessThanOrderByIdDesc(source, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementMonitoringTicketFetched();
-        return tickets.stream()
-                .map(ticket -> {
-                    redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + ticket.getId(), ticket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new MonitoringTicketDTO(ticket);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(tickets, MonitoringTicket::getId, MonitoringTicketDTO::new);
     }
 
     @Override
-    public List<MonitoringTicketDTO> getTicketsBySeverity(String severity, Authentication authentication) {
+    public CursorPageDTO<MonitoringTicketDTO> getTicketsBySeverity(String severity, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching monitoring tickets by severity: {}", severity);
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        List<MonitoringTicket> tickets = ticketRepository.findBySeverityAndActiveTrue(severity);
+        List<MonitoringTicket> tickets = ticketRepository.findBySeverityAndActiveTrueAndIdLessThanOrderByIdDesc(severity, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementMonitoringTicketFetched();
-        return tickets.stream()
-                .map(ticket -> {
-                    redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + ticket.getId(), ticket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new MonitoringTicketDTO(ticket);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(tickets, MonitoringTicket::getId, MonitoringTicketDTO::new);
     }
 
     @Override
-    public List<MonitoringTicketDTO> getTicketsByStatus(TicketStatus status, Authentication authentication) {
+    public CursorPageDTO<MonitoringTicketDTO> getTicketsByStatus(TicketStatus status, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching monitoring tickets by status: {}", status);
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        List<MonitoringTicket> tickets = ticketRepository.findByTicketStatusAndActiveTrue(status);
+        List<MonitoringTicket> tickets = ticketRepository.findByTicketStatusAndActiveTrueAndIdLessThanOrderByIdDesc(status, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementMonitoringTicketFetched();
-        return tickets.stream()
-                .map(ticket -> {
-                    redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + ticket.getId(), ticket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new MonitoringTicketDTO(ticket);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(tickets, MonitoringTicket::getId, MonitoringTicketDTO::new);
     }
 
     @Override
-    public List<MonitoringTicketDTO> getAllTickets(Authentication authentication) {
+    public CursorPageDTO<MonitoringTicketDTO> getAllTickets(CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching all monitoring tickets");
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        List<MonitoringTicket> tickets = ticketRepository.findByActiveTrue();
+        List<MonitoringTicket> tickets = ticketRepository.findByActiveTrueAndIdLessThanOrderByIdDesc(page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementMonitoringTicketFetched();
-        return tickets.stream()
-                .map(ticket -> {
-                    redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + ticket.getId(), ticket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new MonitoringTicketDTO(ticket);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(tickets, MonitoringTicket::getId, MonitoringTicketDTO::new);
     }
 
     @Override
@@ -208,13 +197,14 @@ public class MonitoringTicketServiceImplement implements MonitoringTicketService
         ticket.setSeverity(request.getSeverity());
 
         MonitoringTicket updatedTicket = ticketRepository.save(ticket);
-        searchRepository.save(updatedTicket);
+        searchOutboxService.enqueueIndex(updatedTicket);
         updateJiraIssue(updatedTicket);
-        redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + updatedTicket.getId(), updatedTicket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
+        MonitoringTicketDTO dto = new MonitoringTicketDTO(updatedTicket);
+        ticketCache.put(updatedTicket.getId(), MonitoringTicketSnapshot.from(dto));
         sendEmail(updatedTicket, "Ticket Actualizado");
 
         podStreamPrometheusConfig.incrementMonitoringTicketUpdated();
-        return new MonitoringTicketDTO(updatedTicket);
+        return dto;
     }
 
     @Override
@@ -235,13 +225,14 @@ public class MonitoringTicketServiceImplement implements MonitoringTicketService
         ticket.setTicketStatus(status);
 
         MonitoringTicket updatedTicket = ticketRepository.save(ticket);
-        searchRepository.save(updatedTicket);
+        searchOutboxService.enqueueIndex(updatedTicket);
         updateJiraIssue(updatedTicket);
-        redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + updatedTicket.getId(), updatedTicket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
+        MonitoringTicketDTO dto = new MonitoringTicketDTO(updatedTicket);
+        ticketCache.put(updatedTicket.getId(), MonitoringTicketSnapshot.from(dto));
         sendEmail(updatedTicket, "Ticket Actualizado a " + status.getDescription());
 
         podStreamPrometheusConfig.incrementMonitoringTicketUpdated();
-        return new MonitoringTicketDTO(updatedTicket);
+        return dto;
     }
 
     @Override
@@ -256,8 +247,8 @@ public class MonitoringTicketServiceImplement implements MonitoringTicketService
 
         ticket.setActive(false);
         ticketRepository.save(ticket);
-        searchRepository.save(ticket);
-        redisTemplate.delete(TICKET_KEY_PREFIX + id);
+        searchOutboxService.enqueueIndex(ticket);
+        ticketCache.evict(id);
 
         podStreamPrometheusConfig.incrementMonitoringTicketDeleted();
     }
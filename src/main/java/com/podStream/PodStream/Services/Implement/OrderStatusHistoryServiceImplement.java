@@ -1,28 +1,30 @@
 package com.podStream.PodStream.Services.Implement;
 
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.OrderStatusHistoryDTO;
 import com.podStream.PodStream.Models.OrderStatus;
 import com.podStream.PodStream.Models.OrderStatusHistory;
 import com.podStream.PodStream.Models.PurchaseOrder;
 import com.podStream.PodStream.Models.SupportTicket;
 import com.podStream.PodStream.Repositories.Jpa.OrderStatusHistoryRepository;
-import com.podStream.PodStream.Repositories.Elastic.OrderStatusHistoryElasticRepository;
 import com.podStream.PodStream.Repositories.Jpa.PurchaseOrderRepository;
 import com.podStream.PodStream.Repositories.Jpa.SupportTicketRepository;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
 import com.podStream.PodStream.Services.OrderStatusHistoryService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio para gestionar el historial de cambios de estado de órdenes.
@@ -35,25 +37,29 @@ public class OrderStatusHistoryServiceImplement implements OrderStatusHistorySer
     private static final long HISTORY_TTL_MINUTES = 1440; // 1 día
 
     private final OrderStatusHistoryRepository historyRepository;
-    private final OrderStatusHistoryElasticRepository searchRepository;
+    private final SearchOutboxService searchOutboxService;
     private final PurchaseOrderRepository purchaseOrderRepository;
     private final SupportTicketRepository supportTicketRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final CacheRegion<Long, OrderStatusHistory> historyCache;
 
     public OrderStatusHistoryServiceImplement(
             OrderStatusHistoryRepository historyRepository,
-            OrderStatusHistoryElasticRepository searchRepository,
+            SearchOutboxService searchOutboxService,
             PurchaseOrderRepository purchaseOrderRepository,
             SupportTicketRepository supportTicketRepository,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            CacheRegionManager cacheRegionManager) {
         this.historyRepository = historyRepository;
-        this.searchRepository = searchRepository;
+        this.searchOutboxService = searchOutboxService;
         this.purchaseOrderRepository = purchaseOrderRepository;
         this.supportTicketRepository = supportTicketRepository;
-        this.redisTemplate = redisTemplate;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.historyCache = cacheRegionManager.<Long, OrderStatusHistory>region("order-status-history", OrderStatusHistory.class)
+                .prefix(HISTORY_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(HISTORY_TTL_MINUTES))
+                .usable(OrderStatusHistory::isActive)
+                .build();
     }
 
     @Override
@@ -82,8 +88,8 @@ public class OrderStatusHistoryServiceImplement implements OrderStatusHistorySer
         history.setActive(true);
 
         OrderStatusHistory savedHistory = historyRepository.save(history);
-        searchRepository.save(savedHistory);
-        redisTemplate.opsForValue().set(HISTORY_KEY_PREFIX + savedHistory.getId(), savedHistory, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedHistory);
+        historyCache.put(savedHistory.getId(), savedHistory);
 
         podStreamPrometheusConfig.incrementOrderStatusHistoryCreated();
         return new OrderStatusHistoryDTO(savedHistory);
@@ -94,81 +100,52 @@ public class OrderStatusHistoryServiceImplement implements OrderStatusHistorySer
         logger.info("Fetching order status history with id: {}", id);
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        String cacheKey = HISTORY_KEY_PREFIX + id;
-        OrderStatusHistory cachedHistory = (OrderStatusHistory) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedHistory != null && cachedHistory.isActive()) {
-            logger.info("Order status history id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementOrderStatusHistoryCacheHit();
-            return new OrderStatusHistoryDTO(cachedHistory);
-        }
-
-        OrderStatusHistory history = historyRepository.findById(id)
-                .filter(OrderStatusHistory::isActive)
+        OrderStatusHistory history = historyCache.get(id, key -> {
+                    podStreamPrometheusConfig.incrementOrderStatusHistoryFetched();
+                    return historyRepository.findById(key).filter(OrderStatusHistory::isActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Order status history not found with id: " + id));
-
-        redisTemplate.opsForValue().set(cacheKey, history, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementOrderStatusHistoryFetched();
         return new OrderStatusHistoryDTO(history);
     }
 
     @Override
-    public List<OrderStatusHistoryDTO> getHistoriesByPurchaseOrder(Long purchaseOrderId, Authentication authentication) {
+    public CursorPageDTO<OrderStatusHistoryDTO> getHistoriesByPurchaseOrder(Long purchaseOrderId, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching order status histories for purchase order: {}", purchaseOrderId);
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        List<OrderStatusHistory> histories = historyRepository.findByPurchaseOrderIdAndActiveTrue(purchaseOrderId);
+        List<OrderStatusHistory> histories = historyRepository.findByPurchaseOrderIdAndActiveTrueAndIdLessThanOrderByIdDesc(purchaseOrderId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementOrderStatusHistoryFetched();
-        return histories.stream()
-                .map(history -> {
-                    redisTemplate.opsForValue().set(HISTORY_KEY_PREFIX + history.getId(), history, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new OrderStatusHistoryDTO(history);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(histories, OrderStatusHistory::getId, OrderStatusHistoryDTO::new);
     }
 
     @Override
-    public List<OrderStatusHistoryDTO> getHistoriesByNewStatus(OrderStatus newStatus, Authentication authentication) {
+    public CursorPageDTO<OrderStatusHistoryDTO> getHistoriesByNewStatus(OrderStatus newStatus, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching order status histories by new status: {}", newStatus);
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        List<OrderStatusHistory> histories = historyRepository.findByNewStatusAndActiveTrue(newStatus);
+        List<OrderStatusHistory> histories = historyRepository.findByNewStatusAndActiveTrueAndIdLessThanOrderByIdDesc(newStatus, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementOrderStatusHistoryFetched();
-        return histories.stream()
-                .map(history -> {
-                    redisTemplate.opsForValue().set(HISTORY_KEY_PREFIX + history.getId(), history, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new OrderStatusHistoryDTO(history);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(histories, OrderStatusHistory::getId, OrderStatusHistoryDTO::new);
     }
 
     @Override
-    public List<OrderStatusHistoryDTO> getHistoriesByChangedBy(String changedBy, Authentication authentication) {
+    public CursorPageDTO<OrderStatusHistoryDTO> getHistoriesByChangedBy(String changedBy, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching order status histories by changedBy: {}", changedBy);
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        List<OrderStatusHistory> histories = historyRepository.findByChangedByAndActiveTrue(changedBy);
+        List<OrderStatusHistory> histories = historyRepository.findByChangedByAndActiveTrueAndIdLessThanOrderByIdDesc(changedBy, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementOrderStatusHistoryFetched();
-        return histories.stream()
-                .map(history -> {
-                    redisTemplate.opsForValue().set(HISTORY_KEY_PREFIX + history.getId(), history, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new OrderStatusHistoryDTO(history);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(histories, OrderStatusHistory::getId, OrderStatusHistoryDTO::new);
     }
 
     @Override
-    public List<OrderStatusHistoryDTO> getAllHistories(Authentication authentication) {
+    public CursorPageDTO<OrderStatusHistoryDTO> getAllHistories(CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching all order status histories");
         validateAuthentication(authentication, "ROLE_ADMIN", "ROLE_DEVELOPER");
 
-        List<OrderStatusHistory> histories = historyRepository.findByActiveTrue();
+        List<OrderStatusHistory> histories = historyRepository.findByActiveTrueAndIdLessThanOrderByIdDesc(page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementOrderStatusHistoryFetched();
-        return histories.stream()
-                .map(history -> {
-                    redisTemplate.opsForValue().set(HISTORY_KEY_PREFIX + history.getId(), history, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new OrderStatusHistoryDTO(history);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(histories, OrderStatusHistory::getId, OrderStatusHistoryDTO::new);
     }
 
     @Override
@@ -183,8 +160,8 @@ public class OrderStatusHistoryServiceImplement implements OrderStatusHistorySer
 
         history.setActive(false);
         historyRepository.save(history);
-        searchRepository.save(history);
-        redisTemplate.delete(HISTORY_KEY_PREFIX + id);
+        searchOutboxService.enqueueIndex(history);
+        historyCache.evict(id);
 
         podStreamPrometheusConfig.incrementOrderStatusHistoryDeleted();
     }
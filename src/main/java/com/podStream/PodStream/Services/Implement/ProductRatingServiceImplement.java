@@ -1,6 +1,7 @@
 package com.podStream.PodStream.Services.Implement;
 
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.ProductRatingDTO;
 import com.podStream.PodStream.Models.Product;
 import com.podStream.PodStream.Models.ProductRating;
@@ -8,18 +9,19 @@ import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Repositories.Jpa.ClientRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRatingRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import com.podStream.PodStream.Services.ProductRatingService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio para gestionar calificaciones de productos en PodStream.
@@ -39,22 +41,26 @@ public class ProductRatingServiceImplement implements ProductRatingService {
     private final ProductRepository productRepository;
     private final ClientRepository clientRepository;
     private final ProductSearchServiceImplement productSearchServiceImplement;
-    private final RedisTemplate<String, Object> redisTemplate;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final CacheRegion<Long, ProductRating> ratingCache;
 
     public ProductRatingServiceImplement(
             ProductRatingRepository productRatingRepository,
             ProductRepository productRepository,
             ClientRepository clientRepository,
             ProductSearchServiceImplement productSearchServiceImplement,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            CacheRegionManager cacheRegionManager) {
         this.productRatingRepository = productRatingRepository;
         this.productRepository = productRepository;
         this.clientRepository = clientRepository;
         this.productSearchServiceImplement = productSearchServiceImplement;
-        this.redisTemplate = redisTemplate;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.ratingCache = cacheRegionManager.<Long, ProductRating>region("rating", ProductRating.class)
+                .prefix(RATING_CACHE_KEY)
+                .ttl(Duration.ofMinutes(RATING_TTL_MINUTES))
+                .usable(ProductRating::isActive)
+                .build();
     }
 
     @Override
@@ -84,7 +90,7 @@ public class ProductRatingServiceImplement implements ProductRatingService {
 
         // Actualizar promedio en Product
         updateProductAverageRating(product);
-        redisTemplate.opsForValue().set(RATING_CACHE_KEY + savedRating.getId(), savedRating, RATING_TTL_MINUTES, TimeUnit.MINUTES);
+        ratingCache.put(savedRating.getId(), savedRating);
         podStreamPrometheusConfig.incrementRatingCreated();
 
         return new ProductRatingDTO(savedRating);
@@ -93,46 +99,28 @@ public class ProductRatingServiceImplement implements ProductRatingService {
     @Override
     public ProductRatingDTO getRating(Long id) {
         logger.info("Fetching rating with id: {}", id);
-        String cacheKey = RATING_CACHE_KEY + id;
-        ProductRating cachedRating = (ProductRating) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedRating != null && cachedRating.isActive()) {
-            logger.info("Rating id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementRatingCacheHit();
-            return new ProductRatingDTO(cachedRating);
-        }
-
-        ProductRating rating = productRatingRepository.findById(id)
-                .filter(ProductRating::isActive)
+        ProductRating rating = ratingCache.get(id, key -> {
+                    podStreamPrometheusConfig.incrementRatingFetched();
+                    return productRatingRepository.findById(key).filter(ProductRating::isActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Rating not found with id: " + id));
-        redisTemplate.opsForValue().set(cacheKey, rating, RATING_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementRatingFetched();
         return new ProductRatingDTO(rating);
     }
 
     @Override
-    public List<ProductRatingDTO> getRatingsByProduct(Long productId) {
+    public CursorPageDTO<ProductRatingDTO> getRatingsByProduct(Long productId, CursorPageRequest page) {
         logger.info("Fetching ratings for product id: {}", productId);
-        List<ProductRating> ratings = productRatingRepository.findByProductIdAndActiveTrue(productId);
+        List<ProductRating> ratings = productRatingRepository.findByProductIdAndActiveTrueAndIdLessThanOrderByIdDesc(productId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementRatingFetched();
-        return ratings.stream()
-                .map(rating -> {
-                    redisTemplate.opsForValue().set(RATING_CACHE_KEY + rating.getId(), rating, RATING_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new ProductRatingDTO(rating);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(ratings, ProductRating::getId, ProductRatingDTO::new);
     }
 
     @Override
-    public List<ProductRatingDTO> getRatingsByClient(Long clientId) {
+    public CursorPageDTO<ProductRatingDTO> getRatingsByClient(Long clientId, CursorPageRequest page) {
         logger.info("Fetching ratings for client id: {}", clientId);
-        List<ProductRating> ratings = productRatingRepository.findByClientIdAndActiveTrue(clientId);
+        List<ProductRating> ratings = productRatingRepository.findByClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(clientId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementRatingFetched();
-        return ratings.stream()
-                .map(rating -> {
-                    redisTemplate.opsForValue().set(RATING_CACHE_KEY + rating.getId(), rating, RATING_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new ProductRatingDTO(rating);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(ratings, ProductRating::getId, ProductRatingDTO::new);
     }
 
     @Override
@@ -159,7 +147,7 @@ public class ProductRatingServiceImplement implements ProductRatingService {
 
         // Actualizar promedio en Product
         updateProductAverageRating(product);
-        redisTemplate.opsForValue().set(RATING_CACHE_KEY + updatedRating.getId(), updatedRating, RATING_TTL_MINUTES, TimeUnit.MINUTES);
+        ratingCache.put(updatedRating.getId(), updatedRating);
         podStreamPrometheusConfig.incrementRatingUpdated();
 
         return new ProductRatingDTO(updatedRating);
@@ -185,7 +173,7 @@ public class ProductRatingServiceImplement implements ProductRatingService {
         rating.setActive(false);
         productRatingRepository.save(rating);
         updateProductAverageRating(rating.getProduct());
-        redisTemplate.delete(RATING_CACHE_KEY + id);
+        ratingCache.evict(id);
         podStreamPrometheusConfig.incrementRatingDeleted();
     }
 
@@ -1,19 +1,56 @@
 package com.podStream.PodStream.Services.Implement;
 
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
+import co.elastic.clients.elasticsearch._types.aggregations.LongTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.RangeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.json.JsonData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.FacetBucketDTO;
 import com.podStream.PodStream.DTOS.ProductDTO;
+import com.podStream.PodStream.DTOS.ProductSearchRequestDTO;
+import com.podStream.PodStream.DTOS.ProductSearchResponseDTO;
 import com.podStream.PodStream.Models.Product;
 import com.podStream.PodStream.Models.ProductDocument;
+import com.podStream.PodStream.Models.ProductSearchSort;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
 import com.podStream.PodStream.Repositories.Elastic.ElasticProductRepository;
+import com.podStream.PodStream.Services.Events.ProductChangedEvent;
 import com.podStream.PodStream.Services.ProductSearchService;
+import com.podStream.PodStream.Services.SearchCacheService;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -23,62 +60,81 @@ import java.util.stream.Collectors;
 public class ProductSearchServiceImplement implements ProductSearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductSearchServiceImplement.class);
-    private static final String SEARCH_CACHE_KEY = "search:products:";
-    private static final long SEARCH_TTL_MINUTES = 30;
+    private static final String QUERY_NAMESPACE = "query";
+    private static final String FILTER_NAMESPACE = "filter";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final double[] PRICE_BOUNDS = {25, 50, 100, 200};
+    private static final double[] RATING_BOUNDS = {2, 3, 4};
+    private static final String FACET_CATEGORY = "category";
+    private static final String FACET_CATEGORY_NAME = "categoryName";
+    private static final String FACET_COLOR = "color";
+    private static final String FACET_PRICE = "price";
+    private static final String FACET_RATING = "rating";
+    private static final String FACET_IN_STOCK = "inStock";
 
     private final ElasticProductRepository elasticProductRepository;
     private final ProductRepository productRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SearchOutboxService searchOutboxService;
+    private final SearchCacheService searchCacheService;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${podstream.search.verify-hits:false}")
+    private boolean verifyHits;
 
     public ProductSearchServiceImplement(
             ElasticProductRepository elasticProductRepository,
             ProductRepository productRepository,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            SearchOutboxService searchOutboxService,
+            SearchCacheService searchCacheService,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            ElasticsearchOperations elasticsearchOperations,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher) {
         this.elasticProductRepository = elasticProductRepository;
         this.productRepository = productRepository;
-        this.redisTemplate = redisTemplate;
+        this.searchOutboxService = searchOutboxService;
+        this.searchCacheService = searchCacheService;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<ProductDTO> searchProducts(String query) {
-        String cacheKey = SEARCH_CACHE_KEY + "query:" + query.toLowerCase();
+        String normalized = searchCacheService.normalizeQuery(query);
         @SuppressWarnings("unchecked")
-        List<ProductDTO> cachedResults = (List<ProductDTO>) redisTemplate.opsForValue().get(cacheKey);
+        List<ProductDTO> cachedResults = (List<ProductDTO>) searchCacheService.get(QUERY_NAMESPACE, normalized);
         if (cachedResults != null) {
-            logger.info("Search results for query {} retrieved from cache", query);
+            logger.info("Search results for query {} retrieved from cache", normalized);
             podStreamPrometheusConfig.incrementSearchCacheHit();
             return cachedResults;
         }
 
         try {
-            logger.info("Searching products with query: {}", query);
-            List<ProductDocument> documents = elasticProductRepository.findByNameContainingOrDescriptionContainingAndActiveTrue(query, query);
-            List<ProductDTO> results = documents.stream()
-                    .map(doc -> productRepository.findById(doc.getId())
-                            .filter(Product::isActive)
-                            .map(ProductDTO::new)
-                            .orElse(null))
-                    .filter(dto -> dto != null)
-                    .collect(Collectors.toList());
-            redisTemplate.opsForValue().set(cacheKey, results, SEARCH_TTL_MINUTES, TimeUnit.MINUTES);
+            logger.info("Searching products with query: {}", normalized);
+            List<ProductDocument> documents = elasticProductRepository.findByNameContainingOrDescriptionContainingAndActiveTrue(normalized, normalized);
+            List<ProductDTO> results = toResults(documents);
+            searchCacheService.put(QUERY_NAMESPACE, normalized, results);
             podStreamPrometheusConfig.incrementSearchSuccess();
             return results;
         } catch (Exception e) {
             logger.error("Error searching in Elasticsearch, falling back to MySQL: {}", e.getMessage());
             podStreamPrometheusConfig.incrementSearchErrors();
-            List<Product> products = productRepository.findByNameContainingIgnoreCaseAndActiveTrue(query);
+            List<Product> products = productRepository.findByNameContainingIgnoreCaseAndActiveTrue(normalized);
             List<ProductDTO> results = products.stream().map(ProductDTO::new).collect(Collectors.toList());
-            redisTemplate.opsForValue().set(cacheKey, results, SEARCH_TTL_MINUTES, TimeUnit.MINUTES);
+            searchCacheService.put(QUERY_NAMESPACE, normalized, results);
             return results;
         }
     }
 
     public List<ProductDTO> filterProducts(Long categoryId, Double minPrice, Double maxPrice) {
-        String cacheKey = SEARCH_CACHE_KEY + "filter:cat" + categoryId + ":price" + minPrice + "-" + maxPrice;
+        String cacheKey = "cat" + categoryId + ":price" + minPrice + "-" + maxPrice;
         @SuppressWarnings("unchecked")
-        List<ProductDTO> cachedResults = (List<ProductDTO>) redisTemplate.opsForValue().get(cacheKey);
+        List<ProductDTO> cachedResults = (List<ProductDTO>) searchCacheService.get(FILTER_NAMESPACE, cacheKey);
         if (cachedResults != null) {
             logger.info("Filter results for category {} and price {}-{} retrieved from cache", categoryId, minPrice, maxPrice);
             podStreamPrometheusConfig.incrementSearchCacheHit();
@@ -88,14 +144,8 @@ public class ProductSearchServiceImplement implements ProductSearchService {
         try {
             logger.info("Filtering products by category ID: {}, price: {}-{}", categoryId, minPrice, maxPrice);
             List<ProductDocument> documents = elasticProductRepository.findByCategoryIdAndPriceBetweenAndActiveTrue(categoryId, minPrice, maxPrice);
-            List<ProductDTO> results = documents.stream()
-                    .map(doc -> productRepository.findById(doc.getId())
-                            .filter(Product::isActive)
-                            .map(ProductDTO::new)
-                            .orElse(null))
-                    .filter(dto -> dto != null)
-                    .collect(Collectors.toList());
-            redisTemplate.opsForValue().set(cacheKey, results, SEARCH_TTL_MINUTES, TimeUnit.MINUTES);
+            List<ProductDTO> results = toResults(documents);
+            searchCacheService.put(FILTER_NAMESPACE, cacheKey, results);
             podStreamPrometheusConfig.incrementSearchSuccess();
             return results;
         } catch (Exception e) {
@@ -105,20 +155,247 @@ public class ProductSearchServiceImplement implements ProductSearchService {
                     .filter(p -> p.getPrice() >= minPrice && p.getPrice() <= maxPrice)
                     .collect(Collectors.toList());
             List<ProductDTO> results = products.stream().map(ProductDTO::new).collect(Collectors.toList());
-            redisTemplate.opsForValue().set(cacheKey, results, SEARCH_TTL_MINUTES, TimeUnit.MINUTES);
+            searchCacheService.put(FILTER_NAMESPACE, cacheKey, results);
             return results;
         }
     }
 
-    public void syncProduct(Product product) {
+    /**
+     * Búsqueda facetada en una sola petición: filtros en contexto {@code filter}, agregaciones sobre el mismo
+     * conjunto y paginación con {@code search_after}, de modo que nunca se materializa más de una página.
+     * <p>La ordenación siempre termina en el ID del producto para que el cursor sea estable entre páginas.
+     */
+    @Override
+    public ProductSearchResponseDTO searchCatalog(ProductSearchRequestDTO request) {
+        if (request.getMinPrice() != null && request.getMaxPrice() != null && request.getMinPrice() > request.getMaxPrice()) {
+            podStreamPrometheusConfig.incrementSearchErrors();
+            throw new IllegalArgumentException("Min price cannot be greater than max price");
+        }
+        int size = Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+        ProductSearchSort sort = request.getSort() != null ? request.getSort() : ProductSearchSort.RELEVANCE;
+
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(buildQuery(request))
+                .withSort(sortOptions(sort))
+                .withSort(SortOptions.of(s -> s.field(f -> f.field("id").order(SortOrder.Asc).unmappedType(FieldType.Long))))
+                .withPageable(PageRequest.of(0, size))
+                .withAggregation(FACET_CATEGORY, Aggregation.of(a -> a
+                        .terms(t -> t.field("categoryId").size(50))
+                        .aggregations(FACET_CATEGORY_NAME, Aggregation.of(n -> n.terms(t -> t.field("categoryName").size(1))))))
+                .withAggregation(FACET_COLOR, Aggregation.of(a -> a.terms(t -> t.field("color").size(20))))
+                .withAggregation(FACET_PRICE, Aggregation.of(a -> a.range(r -> r.field("price").ranges(ranges(PRICE_BOUNDS)))))
+                .withAggregation(FACET_RATING, Aggregation.of(a -> a.range(r -> r.field("averageRating").ranges(ranges(RATING_BOUNDS)))))
+                .withAggregation(FACET_IN_STOCK, Aggregation.of(a -> a.filter(f -> f.term(t -> t.field("inStock").value(true)))));
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            builder.withSearchAfter(decodeCursor(request.getCursor()));
+        }
+
+        SearchHits<ProductDocument> hits;
         try {
-            ProductDocument document = new ProductDocument(product);
-            elasticProductRepository.save(document);
-            logger.info("Product {} synchronized with Elasticsearch", product.getId());
-            podStreamPrometheusConfig.incrementProductSyncSuccess();
+            hits = elasticsearchOperations.search(builder.build(), ProductDocument.class);
         } catch (Exception e) {
-            logger.error("Error synchronizing product {} with Elasticsearch: {}", product.getId(), e.getMessage());
-            podStreamPrometheusConfig.incrementProductSyncErrors();
+            logger.error("Error running faceted search in Elasticsearch: {}", e.getMessage());
+            podStreamPrometheusConfig.incrementSearchErrors();
+            throw new IllegalStateException("Product search is temporarily unavailable", e);
+        }
+
+        List<ProductDocument> documents = new ArrayList<>(hits.getSearchHits().size());
+        List<Object> lastSortValues = null;
+        for (SearchHit<ProductDocument> hit : hits.getSearchHits()) {
+            documents.add(hit.getContent());
+            lastSortValues = hit.getSortValues();
         }
+
+        ProductSearchResponseDTO response = new ProductSearchResponseDTO();
+        response.setProducts(toResults(documents));
+        response.setTotalHits(hits.getTotalHits());
+        response.setTotalHitsExact(hits.getTotalHitsRelation() == TotalHitsRelation.EQUAL_TO);
+        response.setNextCursor(documents.size() == size && lastSortValues != null ? encodeCursor(lastSortValues) : null);
+        response.setFacets(toFacets((ElasticsearchAggregations) hits.getAggregations()));
+        podStreamPrometheusConfig.incrementSearchSuccess();
+        return response;
+    }
+
+    private Query buildQuery(ProductSearchRequestDTO request) {
+        List<Query> filters = new ArrayList<>();
+        filters.add(Query.of(q -> q.term(t -> t.field("active").value(true))));
+        if (request.getCategoryId() != null) {
+            filters.add(Query.of(q -> q.term(t -> t.field("categoryId").value(request.getCategoryId()))));
+        }
+        if (request.getColor() != null) {
+            filters.add(Query.of(q -> q.term(t -> t.field("color").value(request.getColor().name()))));
+        }
+        if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+            filters.add(Query.of(q -> q.range(r -> {
+                r.field("price");
+                if (request.getMinPrice() != null) {
+                    r.gte(JsonData.of(request.getMinPrice()));
+                }
+                if (request.getMaxPrice() != null) {
+                    r.lte(JsonData.of(request.getMaxPrice()));
+                }
+                return r;
+            })));
+        }
+        if (request.getMinRating() != null) {
+            filters.add(Query.of(q -> q.range(r -> r.field("averageRating").gte(JsonData.of(request.getMinRating())))));
+        }
+        if (request.getInStock() != null) {
+            filters.add(Query.of(q -> q.term(t -> t.field("inStock").value(request.getInStock()))));
+        }
+
+        String text = request.getQuery() != null ? request.getQuery().trim() : "";
+        return Query.of(q -> q.bool(b -> {
+            b.filter(filters);
+            if (!text.isEmpty()) {
+                b.must(m -> m.multiMatch(mm -> mm
+                        .query(text)
+                        .fields("name^3", "description", "categoryName^2")
+                        .type(TextQueryType.BestFields)));
+            }
+            return b;
+        }));
+    }
+
+    private SortOptions sortOptions(ProductSearchSort sort) {
+        return switch (sort) {
+            case PRICE_ASC -> fieldSort("price", SortOrder.Asc);
+            case PRICE_DESC -> fieldSort("price", SortOrder.Desc);
+            case RATING_DESC -> fieldSort("averageRating", SortOrder.Desc);
+            case SALES_DESC -> fieldSort("salesCount", SortOrder.Desc);
+            case RELEVANCE -> SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc)));
+        };
+    }
+
+    private SortOptions fieldSort(String field, SortOrder order) {
+        return SortOptions.of(s -> s.field(f -> f.field(field).order(order)));
+    }
+
+    private List<AggregationRange> ranges(double[] bounds) {
+        List<AggregationRange> ranges = new ArrayList<>(bounds.length + 1);
+        double previous = 0;
+        for (double bound : bounds) {
+            Double from = previous > 0 ? previous : null;
+            Double to = bound;
+            String key = (previous > 0 ? formatBound(previous) : "*") + "-" + formatBound(bound);
+            ranges.add(AggregationRange.of(r -> r.key(key).from(from).to(to)));
+            previous = bound;
+        }
+        Double from = previous;
+        String key = formatBound(previous) + "-*";
+        ranges.add(AggregationRange.of(r -> r.key(key).from(from)));
+        return ranges;
+    }
+
+    private String formatBound(double bound) {
+        return bound == Math.rint(bound) ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+
+    private Map<String, List<FacetBucketDTO>> toFacets(ElasticsearchAggregations aggregations) {
+        Map<String, List<FacetBucketDTO>> facets = new LinkedHashMap<>();
+        if (aggregations == null) {
+            return facets;
+        }
+        Map<String, Aggregate> aggregates = new LinkedHashMap<>();
+        aggregations.aggregationsAsMap().forEach((name, aggregation) -> aggregates.put(name, aggregation.aggregation().getAggregate()));
+
+        List<FacetBucketDTO> categories = new ArrayList<>();
+        for (LongTermsBucket bucket : aggregates.get(FACET_CATEGORY).lterms().buckets().array()) {
+            List<StringTermsBucket> names = bucket.aggregations().get(FACET_CATEGORY_NAME).sterms().buckets().array();
+            String label = names.isEmpty() ? null : names.get(0).key().stringValue();
+            categories.add(new FacetBucketDTO(String.valueOf(bucket.key()), label, bucket.docCount()));
+        }
+        facets.put(FACET_CATEGORY, categories);
+
+        List<FacetBucketDTO> colors = new ArrayList<>();
+        for (StringTermsBucket bucket : aggregates.get(FACET_COLOR).sterms().buckets().array()) {
+            FieldValue key = bucket.key();
+            colors.add(new FacetBucketDTO(key.stringValue(), key.stringValue(), bucket.docCount()));
+        }
+        facets.put(FACET_COLOR, colors);
+
+        facets.put(FACET_PRICE, rangeBuckets(aggregates.get(FACET_PRICE)));
+        facets.put(FACET_RATING, rangeBuckets(aggregates.get(FACET_RATING)));
+
+        long inStock = aggregates.get(FACET_IN_STOCK).filter().docCount();
+        facets.put(FACET_IN_STOCK, List.of(new FacetBucketDTO("true", "In stock", inStock)));
+        return facets;
+    }
+
+    private List<FacetBucketDTO> rangeBuckets(Aggregate aggregate) {
+        List<FacetBucketDTO> buckets = new ArrayList<>();
+        for (RangeBucket bucket : aggregate.range().buckets().array()) {
+            buckets.add(new FacetBucketDTO(bucket.key(), bucket.key(), bucket.docCount()));
+        }
+        return buckets;
+    }
+
+    private String encodeCursor(List<Object> sortValues) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(sortValues));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode search cursor", e);
+        }
+    }
+
+    private List<Object> decodeCursor(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            return objectMapper.readValue(new String(json, StandardCharsets.UTF_8), new TypeReference<List<Object>>() {});
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            podStreamPrometheusConfig.incrementSearchErrors();
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+
+    /**
+     * Construye los resultados desde los documentos, conservando el orden de los hits.
+     * <p>Con {@code podstream.search.verify-hits} activo se hace una única consulta {@code findAllById}
+     * para descartar productos borrados o desactivados y refrescar precio, stock y descuento.
+     */
+    private List<ProductDTO> toResults(List<ProductDocument> documents) {
+        if (!verifyHits) {
+            return documents.stream()
+                    .filter(ProductDocument::isActive)
+                    .map(ProductDTO::new)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> ids = documents.stream().map(ProductDocument::getId).collect(Collectors.toList());
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .filter(Product::isActive)
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDTO> results = new ArrayList<>(documents.size());
+        for (ProductDocument document : documents) {
+            Product product = products.get(document.getId());
+            if (product == null) {
+                continue;
+            }
+            ProductDTO dto = new ProductDTO(document);
+            dto.setName(product.getName());
+            dto.setPrice(product.getPrice());
+            dto.setStock(product.getStock());
+            dto.setInStock(product.getStock() > 0);
+            dto.setSalesCount(product.getSalesCount());
+            dto.setDiscount(product.getDiscount());
+            dto.setAverageRating(product.getAverageRating());
+            dto.setImage(product.getImage());
+            dto.setUpdatedAt(product.getUpdatedAt());
+            results.add(dto);
+        }
+        return results;
+    }
+
+    /**
+     * Encola la sincronización del producto en el outbox, dentro de la transacción del llamador,
+     * invalida la caché de búsqueda pasando a una nueva generación del catálogo y publica
+     * {@link ProductChangedEvent} para los índices en memoria.
+     */
+    public void syncProduct(Product product) {
+        searchOutboxService.enqueueIndex(new ProductDocument(product));
+        searchCacheService.bumpGeneration();
+        eventPublisher.publishEvent(new ProductChangedEvent(this, product));
+        logger.info("Product {} queued for Elasticsearch synchronization", product.getId());
+        podStreamPrometheusConfig.incrementProductSyncSuccess();
     }
 }
\ No newline at end of file
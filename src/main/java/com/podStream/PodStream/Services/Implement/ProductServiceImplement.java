@@ -1,6 +1,7 @@
 package com.podStream.PodStream.Services.Implement;
 
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.ProductDTO;
 import com.podStream.PodStream.Models.*;
 import com.podStream.PodStream.Models.User.Client;
@@ -8,25 +9,32 @@ import com.podStream.PodStream.Repositories.Jpa.CategoryProductRepository;
 import com.podStream.PodStream.Repositories.Jpa.ClientRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRatingRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.CacheBatchWriter;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.Cache.CacheWarmable;
+import com.podStream.PodStream.Services.Cache.ProductSnapshot;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import com.podStream.PodStream.Services.ProductService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio para gestionar productos.
  */
 @Service
-public class ProductServiceImplement implements ProductService {
+public class ProductServiceImplement implements ProductService, CacheWarmable {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductServiceImplement.class);
     private static final String PRODUCT_CACHE_KEY = "product:active:";
@@ -37,8 +45,10 @@ public class ProductServiceImplement implements ProductService {
     private final ClientRepository clientRepository;
     private final ProductRatingRepository productRatingRepository;
     private final ProductSearchServiceImplement productSearchServiceImplement;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheBatchWriter cacheBatchWriter;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final CacheRegion<Long, ProductSnapshot> productCache;
+    private final int warmUpTopProducts;
 
     public ProductServiceImplement(
             ProductRepository productRepository,
@@ -46,15 +56,42 @@ public class ProductServiceImplement implements ProductService {
             ClientRepository clientRepository,
             ProductRatingRepository productRatingRepository,
             ProductSearchServiceImplement productSearchServiceImplement,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            CacheBatchWriter cacheBatchWriter,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            CacheRegionManager cacheRegionManager,
+            @Value("${podstream.cache.warmup.top-products:500}") int warmUpTopProducts) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.clientRepository = clientRepository;
         this.productRatingRepository = productRatingRepository;
         this.productSearchServiceImplement = productSearchServiceImplement;
-        this.redisTemplate = redisTemplate;
+        this.cacheBatchWriter = cacheBatchWriter;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.productCache = cacheRegionManager.<Long, ProductSnapshot>region("product", ProductSnapshot.class)
+                .prefix(PRODUCT_CACHE_KEY)
+                .ttl(Duration.ofMinutes(PRODUCT_TTL_MINUTES))
+                .usable(ProductSnapshot::active)
+                .l1(10_000, Duration.ofMinutes(5))
+                .build();
+        this.warmUpTopProducts = warmUpTopProducts;
+    }
+
+    @Override
+    public String warmUpName() {
+        return "products";
+    }
+
+    /**
+     * Precarga en Redis los productos más vendidos, que son los que más tráfico reciben tras un despliegue.
+     */
+    @Override
+    @Transactional
+    public void warmUp() {
+        List<Product> products = productRepository.findByActiveTrueOrderBySalesCountDesc(PageRequest.of(0, warmUpTopProducts));
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        products.forEach(product -> productCache.put(batch, product.getId(), ProductSnapshot.from(product)));
+        batch.flush();
+        logger.info("Warmed {} top-selling products", products.size());
     }
 
     @Override
@@ -67,7 +104,7 @@ public class ProductServiceImplement implements ProductService {
         product.setActive(true);
         Product savedProduct = productRepository.save(product);
         productSearchServiceImplement.syncProduct(savedProduct);
-        redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + savedProduct.getId(), savedProduct, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
+        productCache.put(savedProduct.getId(), ProductSnapshot.from(savedProduct));
 
         podStreamPrometheusConfig.incrementProductCreated();
         return new ProductDTO(savedProduct);
@@ -76,72 +113,47 @@ public class ProductServiceImplement implements ProductService {
     @Override
     public ProductDTO getProduct(Long id) {
         logger.info("Fetching product with id: {}", id);
-        String cacheKey = PRODUCT_CACHE_KEY + id;
-        Product cachedProduct = (Product) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedProduct != null && cachedProduct.isActive()) {
-            logger.info("Product id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementProductCacheHit();
-            return new ProductDTO(cachedProduct);
-        }
-
-        Product product = productRepository.findById(id)
-                .filter(Product::isActive)
+        return productCache.get(id, key -> productRepository.findById(key)
+                        .filter(Product::isActive)
+                        .map(product -> {
+                            podStreamPrometheusConfig.incrementProductFetched();
+                            return ProductSnapshot.from(product);
+                        })
+                        .orElse(null))
+                .map(ProductSnapshot::toDTO)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
-        redisTemplate.opsForValue().set(cacheKey, product, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementProductFetched();
-        return new ProductDTO(product);
     }
 
     @Override
-    public List<ProductDTO> getAllProducts() {
+    public CursorPageDTO<ProductDTO> getAllProducts(CursorPageRequest page) {
         logger.info("Fetching all products");
-        List<Product> products = productRepository.findByActiveTrue();
+        List<Product> products = productRepository.findByActiveTrueAndIdLessThanOrderByIdDesc(page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementProductFetched();
-        return products.stream()
-                .map(product -> {
-                    redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + product.getId(), product, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new ProductDTO(product);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(products, Product::getId, ProductDTO::new);
     }
 
     @Override
-    public List<ProductDTO> getProductsByName(String name) {
+    public CursorPageDTO<ProductDTO> getProductsByName(String name, CursorPageRequest page) {
         logger.info("Fetching products by name: {}", name);
-        List<Product> products = productRepository.findByNameContainingIgnoreCaseAndActiveTrue(name);
+        List<Product> products = productRepository.findByNameContainingIgnoreCaseAndActiveTrueAndIdLessThanOrderByIdDesc(name, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementProductFetched();
-        return products.stream()
-                .map(product -> {
-                    redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + product.getId(), product, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new ProductDTO(product);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(products, Product::getId, ProductDTO::new);
     }
 
     @Override
-    public List<ProductDTO> getProductsByCategory(Long categoryId) {
+    public CursorPageDTO<ProductDTO> getProductsByCategory(Long categoryId, CursorPageRequest page) {
         logger.info("Fetching products by category: {}", categoryId);
-        List<Product> products = productRepository.findByCategoryIdAndActiveTrue(categoryId);
+        List<Product> products = productRepository.findByCategoryIdAndActiveTrueAndIdLessThanOrderByIdDesc(categoryId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementProductFetched();
-        return products.stream()
-                .map(product -> {
-                    redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + product.getId(), product, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new ProductDTO(product);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(products, Product::getId, ProductDTO::new);
     }
 
     @Override
-    public List<ProductDTO> getProductsByPriceRange(double minPrice, double maxPrice) {
+    public CursorPageDTO<ProductDTO> getProductsByPriceRange(double minPrice, double maxPrice, CursorPageRequest page) {
         logger.info("Fetching products by price range: {}-{}", minPrice, maxPrice);
-        List<Product> products = productRepository.findByPriceBetweenAndActiveTrue(minPrice, maxPrice);
+        List<Product> products = productRepository.findByPriceBetweenAndActiveTrueAndIdLessThanOrderByIdDesc(minPrice, maxPrice, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementProductFetched();
-        return products.stream()
-                .map(product -> {
-                    redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + product.getId(), product, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new ProductDTO(product);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(products, Product::getId, ProductDTO::new);
     }
 
     @Override
@@ -149,12 +161,15 @@ public class ProductServiceImplement implements ProductService {
         logger.info("Fetching top {} popular products", limit);
         List<Product> products = productRepository.findByOrderBySalesCountDesc(PageRequest.of(0, limit));
         podStreamPrometheusConfig.incrementProductFetched();
-        return products.stream()
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        List<ProductDTO> result = products.stream()
                 .map(product -> {
-                    redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + product.getId(), product, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
+                    productCache.put(batch, product.getId(), ProductSnapshot.from(product));
                     return new ProductDTO(product);
                 })
                 .collect(Collectors.toList());
+        batch.flushAsync();
+        return result;
     }
 
     @Override
@@ -169,7 +184,7 @@ public class ProductServiceImplement implements ProductService {
         updateEntity(existingProduct, productDTO);
         Product updatedProduct = productRepository.save(existingProduct);
         productSearchServiceImplement.syncProduct(updatedProduct);
-        redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + updatedProduct.getId(), updatedProduct, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
+        productCache.put(updatedProduct.getId(), ProductSnapshot.from(updatedProduct));
 
         podStreamPrometheusConfig.incrementProductUpdated();
         return new ProductDTO(updatedProduct);
@@ -192,7 +207,7 @@ public class ProductServiceImplement implements ProductService {
         product.setStock(newStock);
         Product updatedProduct = productRepository.save(product);
         productSearchServiceImplement.syncProduct(updatedProduct);
-        redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + updatedProduct.getId(), updatedProduct, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
+        productCache.put(updatedProduct.getId(), ProductSnapshot.from(updatedProduct));
 
         logger.info("Stock updated for product {} from {} to {} by {}", id, oldStock, newStock, updatedBy);
         podStreamPrometheusConfig.incrementProductUpdated();
@@ -214,11 +229,20 @@ public class ProductServiceImplement implements ProductService {
         product.setActive(false);
         productRepository.save(product);
         productSearchServiceImplement.syncProduct(product);
-        redisTemplate.delete(PRODUCT_CACHE_KEY + id);
+        productCache.evict(id);
 
         podStreamPrometheusConfig.incrementProductDeleted();
     }
 
+    /**
+     * El stock se descuenta por JDBC en {@link InventoryServiceImplement}; sin esta expulsión la caché serviría el
+     * stock anterior hasta que venciera su TTL. Dentro de una transacción el borrado se aplica tras el commit.
+     */
+    @Override
+    public void evictCachedProducts(Collection<Long> productIds) {
+        productIds.forEach(productCache::evict);
+    }
+
     @Override
     @Transactional
     public void addRating(Long id, int rating, Long clientId, Authentication authentication) {
@@ -244,7 +268,7 @@ public class ProductServiceImplement implements ProductService {
         product.setAverageRating(ratings.isEmpty() ? 0 : total / ratings.size());
         productRepository.save(product);
         productSearchServiceImplement.syncProduct(product);
-        redisTemplate.opsForValue().set(PRODUCT_CACHE_KEY + product.getId(), product, PRODUCT_TTL_MINUTES, TimeUnit.MINUTES);
+        productCache.put(product.getId(), ProductSnapshot.from(product));
 
         podStreamPrometheusConfig.incrementProductUpdated();
     }
@@ -1,51 +1,125 @@
 package com.podStream.PodStream.Services.Implement;
 
+import com.podStream.PodStream.Configurations.Cache.HibernateCacheConfig;
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
 import com.podStream.PodStream.DTOS.PromotionDTO;
 import com.podStream.PodStream.Models.Promotion;
 import com.podStream.PodStream.Repositories.Jpa.PromotionRepository;
-import com.podStream.PodStream.Repositories.Elastic.ElasticPromotionRepository;
+import com.podStream.PodStream.Services.Cache.CacheBatchWriter;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.Cache.CacheWarmable;
+import com.podStream.PodStream.Services.Cache.HibernateCacheInvalidator;
 import com.podStream.PodStream.Services.PromotionService;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio para gestionar promociones en PodStream.
+ * <p>Cada escritura expulsa tras el commit las promociones y la consulta por código de la caché de segundo nivel
+ * de los demás nodos; si no, otro nodo seguiría aplicando una promoción borrada y la devolvería a Redis.
+ * <p>La caché por código, su filtro de Bloom y sus marcas de ausencia usan el código normalizado con
+ * {@link #codeKey(String)}: la búsqueda en MySQL no distingue mayúsculas ({@code _ci}), y sin normalizar el
+ * filtro rechazaría {@code summer10} aunque exista {@code SUMMER10}.
  *
  * @author Iván Andrés Castillo Iligaray
  * @version 1.0.0
  * @since 2025-07-09
  */
 @Service
-public class PromotionServiceImplement implements PromotionService {
+public class PromotionServiceImplement implements PromotionService, CacheWarmable {
 
     private static final Logger logger = LoggerFactory.getLogger(PromotionServiceImplement.class);
     private static final String PROMOTION_CACHE_KEY = "promotion:active:";
     private static final long PROMOTION_TTL_MINUTES = 60;
 
     private final PromotionRepository promotionRepository;
-    private final ElasticPromotionRepository elasticPromotionRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SearchOutboxService searchOutboxService;
+    private final CacheBatchWriter cacheBatchWriter;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final HibernateCacheInvalidator hibernateCacheInvalidator;
+    private final CacheRegion<Long, Promotion> promotionCache;
+    private final CacheRegion<String, Promotion> promotionCodeCache;
 
     public PromotionServiceImplement(
             PromotionRepository promotionRepository,
-            ElasticPromotionRepository elasticPromotionRepository,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            SearchOutboxService searchOutboxService,
+            CacheBatchWriter cacheBatchWriter,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            CacheRegionManager cacheRegionManager,
+            HibernateCacheInvalidator hibernateCacheInvalidator) {
         this.promotionRepository = promotionRepository;
-        this.elasticPromotionRepository = elasticPromotionRepository;
-        this.redisTemplate = redisTemplate;
+        this.searchOutboxService = searchOutboxService;
+        this.cacheBatchWriter = cacheBatchWriter;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.hibernateCacheInvalidator = hibernateCacheInvalidator;
+        this.promotionCache = cacheRegionManager.<Long, Promotion>region("promotion", Promotion.class)
+                .prefix(PROMOTION_CACHE_KEY)
+                .ttl(Duration.ofMinutes(PROMOTION_TTL_MINUTES))
+                .usable(Promotion::getActive)
+                .build();
+        this.promotionCodeCache = cacheRegionManager.<String, Promotion>region("promotion-code", Promotion.class)
+                .prefix(PROMOTION_CACHE_KEY + "code:")
+                .ttl(Duration.ofMinutes(PROMOTION_TTL_MINUTES))
+                .negativeTtl(Duration.ofSeconds(30))
+                .usable(Promotion::getActive)
+                .bloomFilter(0.01)
+                .build();
+    }
+
+    @Override
+    public String warmUpName() {
+        return "promotions";
+    }
+
+    /**
+     * Precarga todas las promociones activas, por ID y por código, y deja el filtro de códigos listo antes
+     * de recibir tráfico.
+     */
+    @Override
+    public void warmUp() {
+        List<Promotion> promotions = promotionRepository.findByActiveTrue();
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        promotions.forEach(promotion -> {
+            promotionCache.put(batch, promotion.getId(), promotion);
+            promotionCodeCache.put(batch, codeKey(promotion.getCode()), promotion);
+        });
+        batch.flush();
+        rebuildCodeFilter();
+        logger.info("Warmed {} active promotions", promotions.size());
+    }
+
+    /**
+     * Reconstruye el filtro de Bloom de códigos activos. Las altas entran en el filtro al escribirse; la
+     * reconstrucción descarta los códigos borrados o cambiados y repara mensajes perdidos entre nodos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${podstream.promotion.code-filter-rebuild-ms:600000}",
+            fixedDelayString = "${podstream.promotion.code-filter-rebuild-ms:600000}")
+    public void rebuildCodeFilter() {
+        try {
+            promotionCodeCache.rebuildKeyFilter(() -> promotionRepository.findActiveCodes().stream()
+                    .map(PromotionServiceImplement::codeKey)
+                    .toList());
+            logger.info("Promotion code filter rebuilt");
+        } catch (Exception e) {
+            logger.error("Error rebuilding promotion code filter: {}", e.getMessage());
+        }
     }
 
     @Override
@@ -62,9 +136,10 @@ public class PromotionServiceImplement implements PromotionService {
         Promotion promotion = mapToEntity(promotionDTO);
         promotion.setActive(true);
         Promotion savedPromotion = promotionRepository.save(promotion);
-        elasticPromotionRepository.save(savedPromotion);
-        redisTemplate.opsForValue().set(PROMOTION_CACHE_KEY + savedPromotion.getId(), savedPromotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(PROMOTION_CACHE_KEY + "code:" + savedPromotion.getCode(), savedPromotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedPromotion);
+        evictSecondLevelCache();
+        promotionCache.put(savedPromotion.getId(), savedPromotion);
+        promotionCodeCache.put(codeKey(savedPromotion.getCode()), savedPromotion);
 
         podStreamPrometheusConfig.incrementPromotionCreated();
         return new PromotionDTO(savedPromotion);
@@ -73,38 +148,22 @@ public class PromotionServiceImplement implements PromotionService {
     @Override
     public PromotionDTO getPromotion(Long id) {
         logger.info("Fetching promotion with id: {}", id);
-        String cacheKey = PROMOTION_CACHE_KEY + id;
-        Promotion cachedPromotion = (Promotion) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedPromotion != null && cachedPromotion.getActive()) {
-            logger.info("Promotion id: {} retrieved from cache", id);
-            podStreamPrometheusConfig.incrementPromotionCacheHit();
-            return new PromotionDTO(cachedPromotion);
-        }
-
-        Promotion promotion = promotionRepository.findById(id)
-                .filter(Promotion::getActive)
+        Promotion promotion = promotionCache.get(id, key -> {
+                    podStreamPrometheusConfig.incrementPromotionFetched();
+                    return promotionRepository.findById(key).filter(Promotion::getActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Promotion not found with id: " + id));
-        redisTemplate.opsForValue().set(cacheKey, promotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementPromotionFetched();
         return new PromotionDTO(promotion);
     }
 
     @Override
     public PromotionDTO getPromotionByCode(String code) {
         logger.info("Fetching promotion with code: {}", code);
-        String cacheKey = PROMOTION_CACHE_KEY + "code:" + code;
-        Promotion cachedPromotion = (Promotion) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedPromotion != null && cachedPromotion.getActive()) {
-            logger.info("Promotion code: {} retrieved from cache", code);
-            podStreamPrometheusConfig.incrementPromotionCacheHit();
-            return new PromotionDTO(cachedPromotion);
-        }
-
-        Promotion promotion = promotionRepository.findByCodeAndActiveTrue(code)
+        Promotion promotion = promotionCodeCache.get(codeKey(code), key -> {
+                    podStreamPrometheusConfig.incrementPromotionFetched();
+                    return promotionRepository.findByCodeAndActiveTrue(key).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Promotion not found with code: " + code));
-        redisTemplate.opsForValue().set(cacheKey, promotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(PROMOTION_CACHE_KEY + promotion.getId(), promotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementPromotionFetched();
         return new PromotionDTO(promotion);
     }
 
@@ -113,13 +172,16 @@ public class PromotionServiceImplement implements PromotionService {
         logger.info("Fetching all active promotions");
         List<Promotion> promotions = promotionRepository.findByActiveTrue();
         podStreamPrometheusConfig.incrementPromotionFetched();
-        return promotions.stream()
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        List<PromotionDTO> result = promotions.stream()
                 .map(promotion -> {
-                    redisTemplate.opsForValue().set(PROMOTION_CACHE_KEY + promotion.getId(), promotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
-                    redisTemplate.opsForValue().set(PROMOTION_CACHE_KEY + "code:" + promotion.getCode(), promotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
+                    promotionCache.put(batch, promotion.getId(), promotion);
+                    promotionCodeCache.put(batch, codeKey(promotion.getCode()), promotion);
                     return new PromotionDTO(promotion);
                 })
                 .collect(Collectors.toList());
+        batch.flushAsync();
+        return result;
     }
 
     @Override
@@ -138,11 +200,17 @@ public class PromotionServiceImplement implements PromotionService {
             throw new IllegalArgumentException("Promotion code already exists");
         }
 
+        String previousCode = existingPromotion.getCode();
         updateEntity(existingPromotion, promotionDTO);
         Promotion updatedPromotion = promotionRepository.save(existingPromotion);
-        elasticPromotionRepository.save(updatedPromotion);
-        redisTemplate.opsForValue().set(PROMOTION_CACHE_KEY + updatedPromotion.getId(), updatedPromotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(PROMOTION_CACHE_KEY + "code:" + updatedPromotion.getCode(), updatedPromotion, PROMOTION_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedPromotion);
+        evictSecondLevelCache();
+        promotionCache.put(updatedPromotion.getId(), updatedPromotion);
+        if (!codeKey(previousCode).equals(codeKey(updatedPromotion.getCode()))) {
+            promotionCodeCache.evict(codeKey(previousCode));
+            rebuildCodeFilterAfterCommit();
+        }
+        promotionCodeCache.put(codeKey(updatedPromotion.getCode()), updatedPromotion);
 
         podStreamPrometheusConfig.incrementPromotionUpdated();
         return new PromotionDTO(updatedPromotion);
@@ -159,13 +227,45 @@ public class PromotionServiceImplement implements PromotionService {
                 .orElseThrow(() -> new EntityNotFoundException("Promotion not found with id: " + id));
         promotion.setActive(false);
         promotionRepository.save(promotion);
-        elasticPromotionRepository.deleteById(id);
-        redisTemplate.delete(PROMOTION_CACHE_KEY + id);
-        redisTemplate.delete(PROMOTION_CACHE_KEY + "code:" + promotion.getCode());
+        searchOutboxService.enqueueDelete(Promotion.class, id);
+        evictSecondLevelCache();
+        promotionCache.evict(id);
+        promotionCodeCache.evict(codeKey(promotion.getCode()));
+        rebuildCodeFilterAfterCommit();
 
         podStreamPrometheusConfig.incrementPromotionDeleted();
     }
 
+    /**
+     * Si la transacción se deshace, el código borrado sigue siendo válido y no puede salir del filtro.
+     */
+    /**
+     * Clave de un código en la caché y en el filtro: sin espacios a los lados y en mayúsculas.
+     */
+    private static String codeKey(String code) {
+        return code == null ? "" : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private void rebuildCodeFilterAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuildCodeFilter();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuildCodeFilter();
+            }
+        });
+    }
+
+    /**
+     * La consulta por código cachea también los códigos inexistentes: un alta debe expulsarla igual que un borrado.
+     */
+    private void evictSecondLevelCache() {
+        hibernateCacheInvalidator.evictAfterCommit(Promotion.class, HibernateCacheConfig.PROMOTION_QUERY_REGION);
+    }
+
     private Promotion mapToEntity(PromotionDTO dto) {
         Promotion promotion = new Promotion();
         promotion.setCode(dto.getCode());
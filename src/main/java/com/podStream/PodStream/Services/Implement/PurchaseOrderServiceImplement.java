@@ -1,15 +1,22 @@
 package com.podStream.PodStream.Services.Implement;
 
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.PurchaseOrderDTO;
 import com.podStream.PodStream.Models.*;
 import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Repositories.Jpa.*;
-import com.podStream.PodStream.Repositories.Elastic.ElasticPurchaseOrderRepository;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.Cache.PurchaseOrderSnapshot;
 import com.podStream.PodStream.Services.CartService;
+import com.podStream.PodStream.Services.InventoryService;
 import com.podStream.PodStream.Services.OrderStatusHistoryService;
 import com.podStream.PodStream.Services.PDFService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import com.podStream.PodStream.Services.PurchaseOrderService;
+import com.podStream.PodStream.Services.ReservationService;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.persistence.EntityNotFoundException;
@@ -21,12 +28,14 @@ import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.data.redis.core.RedisTemplate;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -49,12 +58,15 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
     private final ClientRepository clientRepository;
     private final AddressRepository addressRepository;
     private final ProductRepository productRepository;
-    private final ElasticPurchaseOrderRepository searchRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SearchOutboxService searchOutboxService;
     private final JavaMailSender mailSender;
     private final PDFService pdfService;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
     private final OrderStatusHistoryService historyService;
+    private final InventoryService inventoryService;
+    private final ReservationService reservationService;
+    private final CacheRegion<Long, PurchaseOrderSnapshot> orderCache;
+    private final CacheRegion<String, PurchaseOrderSnapshot> orderTicketCache;
 
     public PurchaseOrderServiceImplement(
             PurchaseOrderRepository purchaseOrderRepository,
@@ -63,24 +75,37 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
             ClientRepository clientRepository,
             AddressRepository addressRepository,
             ProductRepository productRepository,
-            ElasticPurchaseOrderRepository searchRepository,
-            RedisTemplate<String, Object> redisTemplate,
+            SearchOutboxService searchOutboxService,
             JavaMailSender mailSender,
             PDFService pdfService,
             PodStreamPrometheusConfig podStreamPrometheusConfig,
-            OrderStatusHistoryService historyService) {
+            OrderStatusHistoryService historyService,
+            InventoryService inventoryService,
+            ReservationService reservationService,
+            CacheRegionManager cacheRegionManager) {
         this.purchaseOrderRepository = purchaseOrderRepository;
         this.detailsRepository = detailsRepository;
         this.cartService = cartService;
         this.clientRepository = clientRepository;
         this.addressRepository = addressRepository;
         this.productRepository = productRepository;
-        this.searchRepository = searchRepository;
-        this.redisTemplate = redisTemplate;
+        this.searchOutboxService = searchOutboxService;
         this.mailSender = mailSender;
         this.pdfService = pdfService;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
         this.historyService = historyService;
+        this.inventoryService = inventoryService;
+        this.reservationService = reservationService;
+        this.orderCache = cacheRegionManager.<Long, PurchaseOrderSnapshot>region("order", PurchaseOrderSnapshot.class)
+                .prefix(ORDER_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(ORDER_TTL_MINUTES))
+                .usable(PurchaseOrderSnapshot::active)
+                .build();
+        this.orderTicketCache = cacheRegionManager.<String, PurchaseOrderSnapshot>region("order-ticket", PurchaseOrderSnapshot.class)
+                .prefix(ORDER_KEY_PREFIX + "ticket:")
+                .ttl(Duration.ofMinutes(ORDER_TTL_MINUTES))
+                .usable(PurchaseOrderSnapshot::active)
+                .build();
     }
 
     @Override
@@ -113,16 +138,20 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
         order.setStatus(OrderStatus.PENDING_PAYMENT);
         order.setActive(true);
 
-        Set<Details> details = orderDTO.getDetails().stream().map(dto -> {
-            Product product = productRepository.findById(dto.getProductId())
-                    .filter(Product::isActive)
-                    .orElseThrow(() -> new EntityNotFoundException("Product not found: " + dto.getProductId()));
-            if (product.getStock() < dto.getQuantity()) {
-                podStreamPrometheusConfig.incrementOrderErrors();
-                throw new IllegalStateException("Insufficient stock for product: " + product.getName());
+        Map<Long, Integer> quantities = new HashMap<>();
+        orderDTO.getDetails().forEach(dto -> quantities.merge(dto.getProductId(), dto.getQuantity(), Integer::sum));
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .filter(Product::isActive)
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : quantities.keySet()) {
+            if (!products.containsKey(productId)) {
+                throw new EntityNotFoundException("Product not found: " + productId);
             }
-            product.setStock(product.getStock() - dto.getQuantity());
-            productRepository.save(product);
+        }
+        reserveStock(quantities);
+
+        Set<Details> details = orderDTO.getDetails().stream().map(dto -> {
+            Product product = products.get(dto.getProductId());
             Details detail = new Details();
             detail.setPurchaseOrder(order);
             detail.setProduct(product);
@@ -134,12 +163,13 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
 
         PurchaseOrder savedOrder = purchaseOrderRepository.save(order);
         historyService.createHistory(savedOrder.getId(), null, OrderStatus.PENDING_PAYMENT, authentication);
-        searchRepository.save(savedOrder);
-        redisTemplate.opsForValue().set(ORDER_KEY_PREFIX + savedOrder.getId(), savedOrder, ORDER_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedOrder);
+        PurchaseOrderDTO dto = new PurchaseOrderDTO(savedOrder);
+        cacheOrder(PurchaseOrderSnapshot.from(dto));
 
         sendInvoiceEmail(savedOrder);
         podStreamPrometheusConfig.incrementOrderCreated();
-        return new PurchaseOrderDTO(savedOrder);
+        return dto;
     }
 
     @Override
@@ -176,14 +206,15 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
         order.setStatus(OrderStatus.PENDING_PAYMENT);
         order.setActive(true);
 
+        Map<Long, Integer> quantities = new HashMap<>();
+        cart.getItems().forEach(item -> quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum));
+        if (!reservationService.convert(ReservationService.clientOwner(clientId), quantities)) {
+            podStreamPrometheusConfig.incrementOrderErrors();
+            throw new IllegalStateException("Insufficient stock for order items");
+        }
+
         Set<Details> details = cart.getItems().stream().map(item -> {
             Product product = item.getProduct();
-            if (product.getStock() < item.getQuantity()) {
-                podStreamPrometheusConfig.incrementOrderErrors();
-                throw new IllegalStateException("Insufficient stock for product: " + product.getName());
-            }
-            product.setStock(product.getStock() - item.getQuantity());
-            productRepository.save(product);
             Details detail = new Details();
             detail.setPurchaseOrder(order);
             detail.setProduct(product);
@@ -195,13 +226,14 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
 
         PurchaseOrder savedOrder = purchaseOrderRepository.save(order);
         historyService.createHistory(savedOrder.getId(), null, OrderStatus.PENDING_PAYMENT, authentication);
-        searchRepository.save(savedOrder);
-        redisTemplate.opsForValue().set(ORDER_KEY_PREFIX + savedOrder.getId(), savedOrder, ORDER_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedOrder);
+        PurchaseOrderDTO dto = new PurchaseOrderDTO(savedOrder);
+        cacheOrder(PurchaseOrderSnapshot.from(dto));
         cartService.clearCart(sessionId, authentication);
 
         sendInvoiceEmail(savedOrder);
         podStreamPrometheusConfig.incrementOrderCreated();
-        return new PurchaseOrderDTO(savedOrder);
+        return dto;
     }
 
     @Override
@@ -225,12 +257,13 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
         order.setStatus(newStatus);
         PurchaseOrder updatedOrder = purchaseOrderRepository.save(order);
         historyService.createHistory(updatedOrder.getId(), null, newStatus, authentication);
-        searchRepository.save(updatedOrder);
-        redisTemplate.opsForValue().set(ORDER_KEY_PREFIX + updatedOrder.getId(), updatedOrder, ORDER_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedOrder);
+        PurchaseOrderDTO dto = new PurchaseOrderDTO(updatedOrder);
+        cacheOrder(PurchaseOrderSnapshot.from(dto));
 
         sendStatusUpdateEmail(updatedOrder);
         podStreamPrometheusConfig.incrementOrderStatusUpdated();
-        return new PurchaseOrderDTO(updatedOrder);
+        return dto;
     }
 
     @Override
@@ -238,29 +271,23 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
         logger.info("Fetching order, orderId: {}", orderId);
         validateAuthentication(authentication, "ROLE_CLIENT", "ROLE_ADMIN");
 
-        String cacheKey = ORDER_KEY_PREFIX + orderId;
-        PurchaseOrder cachedOrder = (PurchaseOrder) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedOrder != null && cachedOrder.isActive()) {
-            logger.info("Order id: {} retrieved from cache", orderId);
-            podStreamPrometheusConfig.incrementOrderCacheHit();
-            return new PurchaseOrderDTO(cachedOrder);
-        }
-
-        PurchaseOrder order = purchaseOrderRepository.findById(orderId)
-                .filter(PurchaseOrder::isActive)
+        PurchaseOrderSnapshot order = orderCache.get(orderId, key -> {
+                    podStreamPrometheusConfig.incrementOrderFetched();
+                    return purchaseOrderRepository.findById(key)
+                            .filter(PurchaseOrder::isActive)
+                            .map(found -> PurchaseOrderSnapshot.from(new PurchaseOrderDTO(found)))
+                            .orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Order not found: " + orderId));
 
         Long clientId = Long.valueOf(authentication.getName());
         boolean isAdmin = authentication.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
-        if (!isAdmin && !order.getClient().getId().equals(clientId)) {
+        if (!isAdmin && !order.clientId().equals(clientId)) {
             logger.warn("Client id: {} not authorized to view order: {}", clientId, orderId);
             podStreamPrometheusConfig.incrementOrderErrors();
             throw new SecurityException("Not authorized to view this order");
         }
-
-        redisTemplate.opsForValue().set(cacheKey, order, ORDER_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementOrderFetched();
-        return new PurchaseOrderDTO(order);
+        return order.toDTO();
     }
 
     @Override
@@ -268,45 +295,36 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
         logger.info("Fetching order by ticket: {}", ticket);
         validateAuthentication(authentication, "ROLE_CLIENT", "ROLE_ADMIN");
 
-        String cacheKey = ORDER_KEY_PREFIX + "ticket:" + ticket;
-        PurchaseOrder cachedOrder = (PurchaseOrder) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedOrder != null && cachedOrder.isActive()) {
-            logger.info("Order ticket: {} retrieved from cache", ticket);
-            podStreamPrometheusConfig.incrementOrderCacheHit();
-            return new PurchaseOrderDTO(cachedOrder);
-        }
-
-        PurchaseOrder order = purchaseOrderRepository.findByTicketAndActiveTrue(ticket)
+        PurchaseOrderSnapshot order = orderTicketCache.get(ticket, key -> {
+                    podStreamPrometheusConfig.incrementOrderFetched();
+                    return purchaseOrderRepository.findByTicketAndActiveTrue(key)
+                            .map(found -> {
+                                PurchaseOrderSnapshot snapshot = PurchaseOrderSnapshot.from(new PurchaseOrderDTO(found));
+                                orderCache.put(snapshot.id(), snapshot);
+                                return snapshot;
+                            })
+                            .orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with ticket: " + ticket));
 
         Long clientId = Long.valueOf(authentication.getName());
         boolean isAdmin = authentication.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
-        if (!isAdmin && !order.getClient().getId().equals(clientId)) {
+        if (!isAdmin && !order.clientId().equals(clientId)) {
             logger.warn("Client id: {} not authorized to view order with ticket: {}", clientId, ticket);
             podStreamPrometheusConfig.incrementOrderErrors();
             throw new SecurityException("Not authorized to view this order");
         }
-
-        redisTemplate.opsForValue().set(cacheKey, order, ORDER_TTL_MINUTES, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(ORDER_KEY_PREFIX + order.getId(), order, ORDER_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementOrderFetched();
-        return new PurchaseOrderDTO(order);
+        return order.toDTO();
     }
 
     @Override
-    public List<PurchaseOrderDTO> getOrdersByClient(Authentication authentication) {
+    public CursorPageDTO<PurchaseOrderDTO> getOrdersByClient(CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching orders for client");
         Long clientId = validateAuthentication(authentication, "ROLE_CLIENT");
 
-        List<PurchaseOrder> orders = purchaseOrderRepository.findByClientIdAndActiveTrue(clientId);
+        List<PurchaseOrder> orders = purchaseOrderRepository.findByClientIdAndActiveTrueAndIdLessThanOrderByIdDesc(clientId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementOrderFetched();
-        return orders.stream()
-                .map(order -> {
-                    redisTemplate.opsForValue().set(ORDER_KEY_PREFIX + order.getId(), order, ORDER_TTL_MINUTES, TimeUnit.MINUTES);
-                    redisTemplate.opsForValue().set(ORDER_KEY_PREFIX + "ticket:" + order.getTicket(), order, ORDER_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new PurchaseOrderDTO(order);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(orders, PurchaseOrder::getId, PurchaseOrderDTO::new);
     }
 
     @Override
@@ -329,12 +347,17 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
 
         order.setActive(false);
         purchaseOrderRepository.save(order);
-        searchRepository.save(order);
-        redisTemplate.delete(ORDER_KEY_PREFIX + orderId);
-        redisTemplate.delete(ORDER_KEY_PREFIX + "ticket:" + order.getTicket());
+        searchOutboxService.enqueueIndex(order);
+        orderCache.evict(orderId);
+        orderTicketCache.evict(order.getTicket());
         podStreamPrometheusConfig.incrementOrderDeleted();
     }
 
+    private void cacheOrder(PurchaseOrderSnapshot snapshot) {
+        orderCache.put(snapshot.id(), snapshot);
+        orderTicketCache.put(snapshot.ticket(), snapshot);
+    }
+
     private void sendInvoiceEmail(PurchaseOrder order) {
         MimeMessage message = mailSender.createMimeMessage();
         try {
@@ -372,6 +395,13 @@ public class PurchaseOrderServiceImplement implements PurchaseOrderService {
         }
     }
 
+    private void reserveStock(Map<Long, Integer> quantities) {
+        if (!inventoryService.tryReserve(quantities)) {
+            podStreamPrometheusConfig.incrementOrderErrors();
+            throw new IllegalStateException("Insufficient stock for order items");
+        }
+    }
+
     private double calculateTotalAmount(Cart cart) {
         double total = cart.getItems().stream()
                 .mapToDouble(item -> item.getProduct().getPrice() * item.getQuantity())
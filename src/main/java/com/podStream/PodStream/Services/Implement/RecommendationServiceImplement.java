@@ -1,12 +1,23 @@
 package com.podStream.PodStream.Services.Implement;
 
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.RecommendationModelDTO;
 import com.podStream.PodStream.DTOS.RecommendationResponseDTO;
 import com.podStream.PodStream.Models.Product;
-import com.podStream.PodStream.Models.ProductRating;
-import com.podStream.PodStream.Repositories.Jpa.ProductRatingRepository;
 import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.CacheWarmable;
+import com.podStream.PodStream.Services.Cache.SingleFlightLoader;
+import com.podStream.PodStream.Services.Recommendation.AlsFactors;
+import com.podStream.PodStream.Services.Recommendation.FactorStore;
+import com.podStream.PodStream.Services.Recommendation.ModelMetadata;
+import com.podStream.PodStream.Services.Recommendation.ModelRegistry;
+import com.podStream.PodStream.Services.Recommendation.RatingsLoader;
+import com.podStream.PodStream.Services.Recommendation.RecommendationStore;
+import com.podStream.PodStream.Services.Recommendation.ScoredItem;
+import com.podStream.PodStream.Services.Recommendation.TopNRecommendations;
+import com.podStream.PodStream.Services.Recommendation.UserFactorOverlay;
 import com.podStream.PodStream.Services.RecommendationService;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -14,26 +25,43 @@ import org.apache.spark.ml.evaluation.RegressionEvaluator;
 import org.apache.spark.ml.recommendation.ALS;
 import org.apache.spark.ml.recommendation.ALSModel;
 import org.apache.spark.sql.*;
-import org.apache.spark.sql.types.DataTypes;
-import org.apache.spark.sql.types.Metadata;
-import org.apache.spark.sql.types.StructField;
-import org.apache.spark.sql.types.StructType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio de recomendaciones para PodStream.
  * Utiliza Apache Spark ALS para generar recomendaciones personalizadas.
+ * <p>Tras cada entrenamiento se calcula una sola vez el top-N de todos los usuarios
+ * ({@code recommendForAllUsers}) y se publica en {@link RecommendationStore}; las peticiones leen de ahí
+ * con una consulta de productos por lote y nunca usan Spark.
+ * <p>Los factores de usuarios y productos se exportan además a {@link FactorStore}, que los mapea en memoria
+ * para puntuar conjuntos arbitrarios de candidatos (por categoría, precio o stock) en microsegundos.
+ * <p>Cada modelo entrenado se guarda versionado en {@link ModelRegistry} y solo sustituye al activo si su RMSE
+ * no empeora más de {@code podstream.recommendation.models.max-rmse-regression} respecto al de este. Al arrancar
+ * se carga el modelo activo en segundo plano y solo se reentrena cuando tiene más de {@code max-age-ms}.
+ * <p>Entre entrenamientos, cada interacción recalcula por fold-in el vector del usuario contra los factores de
+ * producto vigentes ({@link #foldInUser}); el vector se guarda en {@link UserFactorOverlay} y su top-N sustituye
+ * al precalculado, así que un usuario nuevo deja de recibir solo productos populares en segundos.
  *
  * @author Iván Andrés Castillo Iligaray
  * @version 1.2.0
@@ -41,20 +69,48 @@ import java.util.stream.Collectors;
  */
 @Service
 @RequiredArgsConstructor
-public class RecommendationServiceImplement implements RecommendationService {
+public class RecommendationServiceImplement implements RecommendationService, CacheWarmable {
 
     private static final Logger logger = LoggerFactory.getLogger(RecommendationServiceImplement.class);
     private static final String RECOMMENDATION_CACHE_KEY = "recommendation:user:";
     private static final long RECOMMENDATION_TTL_MINUTES = 60;
+    private static final double REG_PARAM = 0.01;
 
     private final ProductRepository productRepository;
-    private final ProductRatingRepository productRatingRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SingleFlightLoader singleFlightLoader;
+    private final RecommendationStore recommendationStore;
+    private final FactorStore factorStore;
+    private final ModelRegistry modelRegistry;
+    private final RatingsLoader ratingsLoader;
+    private final UserFactorOverlay userFactorOverlay;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
 
     private volatile SparkSession sparkSession;
     private volatile ALSModel alsModel;
+    private volatile ModelMetadata activeModel;
+    private volatile Instant lastTrainingAttempt = Instant.EPOCH;
     private final Object sparkSessionLock = new Object();
+    private final Object trainingLock = new Object();
+
+    @Value("${podstream.cache.warmup.popular-sizes:10}")
+    private List<Integer> warmUpPopularSizes;
+
+    @Value("${podstream.recommendation.topn.size:50}")
+    private int precomputedSize;
+
+    @Value("${podstream.recommendation.scoring.max-candidates:20000}")
+    private int maxCandidates;
+
+    @Value("${podstream.recommendation.models.max-rmse-regression:0.1}")
+    private double maxRmseRegression;
+
+    @Value("${podstream.recommendation.models.max-age-ms:86400000}")
+    private long maxModelAgeMs;
+
+    @PostConstruct
+    public void initMetrics() {
+        podStreamPrometheusConfig.registerRecommendationModelRmse(() -> activeModel != null ? activeModel.rmse() : Double.NaN);
+    }
 
     @PreDestroy
     public void cleanup() {
@@ -91,52 +147,143 @@ public class RecommendationServiceImplement implements RecommendationService {
         return this.sparkSession;
     }
 
-    @Scheduled(fixedRate = 86_400_000) // Cada 24 horas
+    @Override
+    public String warmUpName() {
+        return "recommendations";
+    }
+
+    /**
+     * Precarga los productos populares de los tamaños más pedidos y, si no hay ni un modelo guardado ni
+     * recomendaciones precalculadas publicadas (por este nodo o por otro), espera a un primer entrenamiento.
+     */
+    @Override
+    public void warmUp() {
+        warmUpPopularSizes.forEach(this::getPopularProducts);
+        synchronized (trainingLock) {
+            if (this.alsModel == null && modelRegistry.active().isEmpty() && recommendationStore.currentVersion() == null) {
+                train();
+            }
+        }
+    }
+
+    /**
+     * Carga en segundo plano el modelo activo guardado, sin retrasar el arranque. Si a este nodo le faltan las
+     * recomendaciones precalculadas o los factores (por ejemplo, un nodo nuevo), se regeneran desde el modelo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveModelAsync() {
+        Thread loader = new Thread(this::loadActiveModel, "als-model-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadActiveModel() {
+        synchronized (trainingLock) {
+            if (this.alsModel != null) {
+                return;
+            }
+            Optional<ModelMetadata> active = modelRegistry.active();
+            if (active.isEmpty()) {
+                logger.info("No saved recommendation model to load.");
+                return;
+            }
+            try {
+                getOrCreateSparkSession();
+                ALSModel model = ALSModel.load(modelRegistry.modelPath(active.get().version()));
+                if (recommendationStore.currentVersion() == null) {
+                    materializeTopN(model);
+                }
+                if (factorStore.current().isEmpty()) {
+                    exportFactors(model);
+                }
+                this.alsModel = model;
+                this.activeModel = active.get();
+                podStreamPrometheusConfig.recordRecommendationModel("loaded");
+                logger.info("Loaded recommendation model version {}", active.get().version());
+            } catch (Exception e) {
+                logger.error("Error loading recommendation model {}: {}", active.get().version(), e.getMessage(), e);
+                podStreamPrometheusConfig.incrementRecommendationErrors();
+            }
+        }
+    }
+
+    /**
+     * Reentrena si el modelo activo (o el último intento, aunque se rechazara) es más antiguo que
+     * {@code max-age-ms}. Tras un reinicio no se reentrena un modelo que aún está vigente.
+     */
+    @Scheduled(fixedDelayString = "${podstream.recommendation.models.check-ms:3600000}",
+            initialDelayString = "${podstream.recommendation.models.check-ms:3600000}")
+    public void trainIfStale() {
+        synchronized (trainingLock) {
+            Instant lastTraining = modelRegistry.active().map(ModelMetadata::trainedAt).orElse(Instant.EPOCH);
+            if (lastTrainingAttempt.isAfter(lastTraining)) {
+                lastTraining = lastTrainingAttempt;
+            }
+            if (lastTraining.plusMillis(maxModelAgeMs).isAfter(Instant.now())) {
+                return;
+            }
+            train();
+        }
+    }
+
     public void trainModel() {
+        synchronized (trainingLock) {
+            train();
+        }
+    }
+
+    private void train() {
         logger.info("Starting recommendation model training...");
+        lastTrainingAttempt = Instant.now();
         try {
-            List<ProductRating> ratings = productRatingRepository.findAll().stream()
-                    .filter(ProductRating::isActive)
-                    .collect(Collectors.toList());
-            if (ratings.isEmpty()) {
+            SparkSession spark = getOrCreateSparkSession();
+
+            Dataset<Row> ratingsDataset = ratingsLoader.load(spark).orElse(null);
+            if (ratingsDataset == null || ratingsDataset.cache().isEmpty()) {
                 logger.warn("No ratings available for training. Skipping model training.");
                 podStreamPrometheusConfig.incrementRecommendationErrors();
+                if (ratingsDataset != null) {
+                    ratingsDataset.unpersist();
+                }
                 return;
             }
-
-            SparkSession spark = getOrCreateSparkSession();
-
-            Dataset<Row> ratingsDataset = spark.createDataset(ratings, Encoders.bean(ProductRating.class))
-                    .select(
-                            functions.col("client.id").as("userId"),
-                            functions.col("product.id").as("productId"),
-                            functions.col("rating").as("rating").cast(DataTypes.IntegerType)
-                    );
-
-            ratingsDataset.cache();
             Dataset<Row>[] splits = ratingsDataset.randomSplit(new double[]{0.8, 0.2});
             Dataset<Row> training = splits[0];
             Dataset<Row> test = splits[1];
 
             ALS als = new ALS()
                     .setMaxIter(10)
-                    .setRegParam(0.01)
+                    .setRegParam(REG_PARAM)
                     .setUserCol("userId")
                     .setItemCol("productId")
                     .setRatingCol("rating")
                     .setColdStartStrategy("drop");
 
-            this.alsModel = als.fit(training);
+            ALSModel model = als.fit(training);
 
-            Dataset<Row> predictions = this.alsModel.transform(test);
+            Dataset<Row> predictions = model.transform(test);
             RegressionEvaluator evaluator = new RegressionEvaluator()
                     .setMetricName("rmse")
                     .setLabelCol("rating")
                     .setPredictionCol("prediction");
 
             double rmse = evaluator.evaluate(predictions);
-            logger.info("Model trained successfully. Root-mean-square error = {}", rmse);
+            ModelMetadata metadata = new ModelMetadata(System.currentTimeMillis(), lastTrainingAttempt, rmse,
+                    training.count(), test.count(), model.userFactors().count(), model.itemFactors().count(),
+                    model.rank());
             ratingsDataset.unpersist();
+            logger.info("Model trained successfully. Root-mean-square error = {}", rmse);
+
+            Optional<ModelMetadata> active = modelRegistry.active();
+            if (active.isPresent() && !passesRmseGate(metadata, active.get())) {
+                logger.warn("Rejected recommendation model: RMSE {} vs {} of active version {}",
+                        rmse, active.get().rmse(), active.get().version());
+                podStreamPrometheusConfig.recordRecommendationModel("rejected");
+                return;
+            }
+            modelRegistry.save(model, metadata);
+            activate(model, metadata);
+            podStreamPrometheusConfig.recordRecommendationModel("accepted");
             podStreamPrometheusConfig.incrementRecommendationSuccess();
         } catch (Exception e) {
             logger.error("Error during model training: {}", e.getMessage(), e);
@@ -144,95 +291,288 @@ public class RecommendationServiceImplement implements RecommendationService {
         }
     }
 
+    /**
+     * Un modelo nuevo sustituye al activo si su RMSE no supera el de este en más de {@code max-rmse-regression}
+     * (relativo). Sin RMSE (conjunto de prueba vacío) no se puede validar y solo se acepta si el activo tampoco
+     * lo tiene.
+     */
+    private boolean passesRmseGate(ModelMetadata candidate, ModelMetadata active) {
+        if (Double.isNaN(active.rmse())) {
+            return true;
+        }
+        return !Double.isNaN(candidate.rmse()) && candidate.rmse() <= active.rmse() * (1 + maxRmseRegression);
+    }
+
+    /**
+     * Publica las recomendaciones y los factores del modelo y después lo marca como activo. Si algo falla antes
+     * del cambio, el modelo anterior sigue activo.
+     */
+    private void activate(ALSModel model, ModelMetadata metadata) throws IOException {
+        materializeTopN(model);
+        exportFactors(model);
+        modelRegistry.activate(metadata.version());
+        this.alsModel = model;
+        this.activeModel = metadata;
+        logger.info("Activated recommendation model version {}", metadata.version());
+    }
+
     @Override
-    @Cacheable(value = "userRecommendations", key = "#userId")
-    public List<RecommendationResponseDTO> getRecommendationsForUser(Long userId, int howMany) {
-        String cacheKey = RECOMMENDATION_CACHE_KEY + userId;
-        @SuppressWarnings("unchecked")
-        List<RecommendationResponseDTO> cachedResults = (List<RecommendationResponseDTO>) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedResults != null) {
-            logger.info("Recommendations for user {} retrieved from cache", userId);
-            podStreamPrometheusConfig.incrementRecommendationCacheHit();
-            return cachedResults;
+    public List<RecommendationModelDTO> getModels() {
+        Long activeVersion = modelRegistry.active().map(ModelMetadata::version).orElse(null);
+        return modelRegistry.list().stream()
+                .map(metadata -> new RecommendationModelDTO(metadata, Long.valueOf(metadata.version()).equals(activeVersion)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Vuelve a una versión guardada (normalmente para deshacer un modelo que se comporta mal en producción),
+     * sin pasar por la validación de RMSE.
+     */
+    @Override
+    public RecommendationModelDTO activateModel(long version) {
+        synchronized (trainingLock) {
+            ModelMetadata metadata = modelRegistry.find(version)
+                    .orElseThrow(() -> new EntityNotFoundException("Recommendation model not found: " + version));
+            try {
+                getOrCreateSparkSession();
+                activate(ALSModel.load(modelRegistry.modelPath(version)), metadata);
+            } catch (IOException e) {
+                podStreamPrometheusConfig.incrementRecommendationErrors();
+                throw new IllegalStateException("Could not activate recommendation model " + version, e);
+            }
+            podStreamPrometheusConfig.recordRecommendationModel("rolled_back");
+            return new RecommendationModelDTO(metadata, true);
         }
+    }
 
+    /**
+     * Calcula el top-N de todos los usuarios y lo publica como versión nueva del almacén. Las filas llegan al
+     * driver partición a partición ({@code toLocalIterator}) y se escriben por bloques, sin reunirlas en memoria.
+     */
+    private void materializeTopN(ALSModel model) {
+        long start = System.nanoTime();
+        RecommendationStore.Writer writer = recommendationStore.writer();
+        try {
+            Iterator<Row> rows = model.recommendForAllUsers(precomputedSize).toLocalIterator();
+            while (rows.hasNext()) {
+                Row row = rows.next();
+                List<Row> recommendations = row.getList(1);
+                long[] productIds = new long[recommendations.size()];
+                float[] scores = new float[recommendations.size()];
+                for (int i = 0; i < recommendations.size(); i++) {
+                    productIds[i] = ((Number) recommendations.get(i).get(0)).longValue();
+                    scores[i] = ((Number) recommendations.get(i).get(1)).floatValue();
+                }
+                writer.put(((Number) row.get(0)).longValue(), new TopNRecommendations(productIds, scores));
+            }
+            writer.publish();
+            podStreamPrometheusConfig.recordRecommendationMaterialization(System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            writer.discard();
+            throw e;
+        }
+    }
+
+    /**
+     * Exporta los factores del modelo a una versión nueva de {@link FactorStore}, ordenados por ID como exige
+     * el formato del fichero.
+     */
+    private void exportFactors(ALSModel model) throws IOException {
+        factorStore.publish(model.rank(), writer -> {
+            Iterator<Row> users = model.userFactors().orderBy("id").toLocalIterator();
+            while (users.hasNext()) {
+                Row row = users.next();
+                writer.addUser(((Number) row.get(0)).longValue(), toFloats(row.getList(1)));
+            }
+            Iterator<Row> items = model.itemFactors().orderBy("id").toLocalIterator();
+            while (items.hasNext()) {
+                Row row = items.next();
+                writer.addItem(((Number) row.get(0)).longValue(), toFloats(row.getList(1)));
+            }
+        });
+    }
+
+    /**
+     * Resuelve el vector del usuario con sus valoraciones actuales y los factores de producto publicados. Los
+     * productos valorados que no estaban en el entrenamiento no aportan nada. Los errores solo se registran: la
+     * interacción que lo dispara ya está confirmada.
+     */
+    @Override
+    public void foldInUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        Optional<AlsFactors> current = factorStore.current();
+        if (current.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            AlsFactors factors = current.get();
+            Map<Long, Integer> ratings = ratingsLoader.loadUser(userId);
+            long[] productIds = new long[ratings.size()];
+            float[] values = new float[ratings.size()];
+            int i = 0;
+            for (Map.Entry<Long, Integer> rating : ratings.entrySet()) {
+                productIds[i] = rating.getKey();
+                values[i++] = rating.getValue();
+            }
+            float[] user = factors.foldIn(productIds, values, REG_PARAM);
+            if (user == null) {
+                podStreamPrometheusConfig.recordRecommendationFoldIn("skipped", System.nanoTime() - start);
+                return;
+            }
+            userFactorOverlay.put(factors.version(), userId, user);
+            recommendationStore.replace(userId, toTopN(factors.topK(user, precomputedSize)));
+            podStreamPrometheusConfig.recordRecommendationFoldIn("updated", System.nanoTime() - start);
+            logger.debug("Folded in {} ratings for user {}", ratings.size(), userId);
+        } catch (Exception e) {
+            logger.error("Error folding in recommendations for user {}: {}", userId, e.getMessage(), e);
+            podStreamPrometheusConfig.recordRecommendationFoldIn("error", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * El vector del usuario: el recalculado por fold-in si lo hay para estos factores, si no el del entrenamiento.
+     */
+    private float[] userFactors(AlsFactors factors, long userId) {
+        try {
+            Optional<float[]> folded = userFactorOverlay.find(factors.version(), userId);
+            if (folded.isPresent()) {
+                return folded.get();
+            }
+        } catch (Exception e) {
+            logger.warn("Error reading folded-in factors for user {}: {}", userId, e.getMessage());
+        }
+        return factors.userFactors(userId);
+    }
+
+    private static TopNRecommendations toTopN(List<ScoredItem> scored) {
+        long[] productIds = new long[scored.size()];
+        float[] scores = new float[scored.size()];
+        for (int i = 0; i < scored.size(); i++) {
+            productIds[i] = scored.get(i).productId();
+            scores[i] = scored.get(i).score();
+        }
+        return new TopNRecommendations(productIds, scores);
+    }
+
+    private static float[] toFloats(List<Number> values) {
+        float[] floats = new float[values.size()];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = values.get(i).floatValue();
+        }
+        return floats;
+    }
+
+    @Override
+    public List<RecommendationResponseDTO> getRecommendationsForUser(Long userId, int howMany) {
         if (userId == null || userId <= 0) {
             logger.warn("Invalid userId: {}. Falling back to popular products.", userId);
             podStreamPrometheusConfig.incrementRecommendationErrors();
             return getPopularProducts(howMany);
         }
-        if (this.alsModel == null) {
-            logger.warn("ALS model is not trained. Falling back to popular products.");
+
+        try {
+            Optional<TopNRecommendations> precomputed = recommendationStore.find(userId);
+            if (precomputed.isPresent()) {
+                List<RecommendationResponseDTO> results = toRecommendations(precomputed.get(), howMany);
+                if (!results.isEmpty()) {
+                    podStreamPrometheusConfig.recordRecommendationServed("precomputed");
+                    podStreamPrometheusConfig.incrementRecommendationSuccess();
+                    return results;
+                }
+            }
+            logger.info("No precomputed recommendations for user {}. Falling back to popular products.", userId);
+        } catch (Exception e) {
+            logger.error("Error reading recommendations for user {}: {}", userId, e.getMessage(), e);
             podStreamPrometheusConfig.incrementRecommendationErrors();
-            return getPopularProducts(howMany);
         }
+        podStreamPrometheusConfig.recordRecommendationServed("popular");
+        return getPopularProducts(howMany);
+    }
 
-        SparkSession spark = getOrCreateSparkSession();
+    @Override
+    public List<RecommendationResponseDTO> getRecommendationsForUser(Long userId, Long categoryId, Double minPrice,
+                                                                     Double maxPrice, boolean inStockOnly, int howMany) {
+        List<Long> candidates = productRepository.findRecommendationCandidateIds(categoryId,
+                minPrice != null ? minPrice : 0, maxPrice != null ? maxPrice : Double.MAX_VALUE,
+                inStockOnly ? 1 : 0, PageRequest.of(0, maxCandidates));
+        if (candidates.isEmpty() || howMany <= 0) {
+            return Collections.emptyList();
+        }
 
-        try {
-            Dataset<Row> users = spark.createDataFrame(
-                    Collections.singletonList(RowFactory.create(userId)),
-                    new StructType(new StructField[]{
-                            new StructField("userId", DataTypes.LongType, false, Metadata.empty())
-                    })
-            );
-
-            Dataset<Row> recommendations = this.alsModel.recommendForUserSubset(users, howMany);
-            List<Row> recommendationRows = recommendations.select("recommendations.productId", "recommendations.rating").collectAsList();
-
-            if (recommendationRows.isEmpty() || recommendationRows.get(0).isNullAt(0)) {
-                logger.info("No recommendations generated for user {}. Falling back to popular products.", userId);
-                return getPopularProducts(howMany);
+        Optional<AlsFactors> factors = factorStore.current();
+        float[] user = userId != null && factors.isPresent() ? userFactors(factors.get(), userId) : null;
+        if (user != null) {
+            long start = System.nanoTime();
+            List<ScoredItem> scored = factors.get().topK(user,
+                    candidates.stream().mapToLong(Long::longValue).toArray(), howMany);
+            podStreamPrometheusConfig.recordRecommendationScoring(System.nanoTime() - start);
+            if (!scored.isEmpty()) {
+                podStreamPrometheusConfig.recordRecommendationServed("scored");
+                podStreamPrometheusConfig.incrementRecommendationSuccess();
+                return toRecommendations(toTopN(scored), howMany);
             }
+        }
 
-            List<Long> productIds = recommendationRows.get(0).getList(0);
-            List<Float> scores = recommendationRows.get(0).getList(1);
-
-            List<RecommendationResponseDTO> results = productIds.stream()
-                    .map(id -> productRepository.findById(id)
-                            .filter(Product::isActive)
-                            .map(product -> {
-                                int index = productIds.indexOf(id);
-                                return RecommendationResponseDTO.builder()
-                                        .id(product.getId())
-                                        .productName(product.getName())
-                                        .category(product.getCategory() != null ? product.getCategory().toString() : null)
-                                        .image(product.getImage())
-                                        .score(scores.get(index).doubleValue())
-                                        .build();
-                            })
-                            .orElse(null))
-                    .filter(dto -> dto != null)
-                    .collect(Collectors.toList());
-
-            redisTemplate.opsForValue().set(cacheKey, results, RECOMMENDATION_TTL_MINUTES, TimeUnit.MINUTES);
-            podStreamPrometheusConfig.incrementRecommendationSuccess();
-            return results;
-        } catch (Exception e) {
-            logger.error("Error generating recommendations for user {}: {}", userId, e.getMessage(), e);
-            podStreamPrometheusConfig.incrementRecommendationErrors();
-            return getPopularProducts(howMany);
+        // Sin factores para el usuario: los candidatos más vendidos, en el orden de la consulta.
+        podStreamPrometheusConfig.recordRecommendationServed("popular");
+        List<Long> popularIds = candidates.subList(0, Math.min(howMany, candidates.size()));
+        Map<Long, Product> products = productRepository.findAllById(popularIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return popularIds.stream()
+                .map(products::get)
+                .filter(product -> product != null)
+                .map(product -> RecommendationResponseDTO.builder()
+                        .id(product.getId())
+                        .productName(product.getName())
+                        .category(product.getCategory() != null ? product.getCategory().toString() : null)
+                        .image(product.getImage())
+                        .score((double) product.getSalesCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Convierte el top-N guardado en DTOs con una única consulta de productos, conservando el orden por
+     * puntuación y saltando los productos inactivos o borrados desde el entrenamiento.
+     */
+    private List<RecommendationResponseDTO> toRecommendations(TopNRecommendations precomputed, int howMany) {
+        List<Long> productIds = new ArrayList<>(precomputed.size());
+        for (long productId : precomputed.productIds()) {
+            productIds.add(productId);
+        }
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<RecommendationResponseDTO> results = new ArrayList<>(Math.min(howMany, precomputed.size()));
+        for (int i = 0; i < precomputed.size() && results.size() < howMany; i++) {
+            Product product = products.get(precomputed.productIds()[i]);
+            if (product == null || !product.isActive()) {
+                continue;
+            }
+            results.add(RecommendationResponseDTO.builder()
+                    .id(product.getId())
+                    .productName(product.getName())
+                    .category(product.getCategory() != null ? product.getCategory().toString() : null)
+                    .image(product.getImage())
+                    .score((double) precomputed.scores()[i])
+                    .build());
         }
+        return results;
     }
 
     @Override
     public List<RecommendationResponseDTO> getPopularProducts(int howMany) {
-        logger.info("Fetching {} popular products.", howMany);
         try {
-            List<Product> popularProducts = productRepository.findByOrderBySalesCountDesc(PageRequest.of(0, howMany));
-            List<RecommendationResponseDTO> results = popularProducts.stream()
-                    .filter(Product::isActive)
-                    .map(product -> RecommendationResponseDTO.builder()
-                            .id(product.getId())
-                            .productName(product.getName())
-                            .category(product.getCategory() != null ? product.getCategory().toString() : null)
-                            .image(product.getImage())
-                            .score((double) product.getSalesCount())
-                            .build())
-                    .collect(Collectors.toList());
-            redisTemplate.opsForValue().set(RECOMMENDATION_CACHE_KEY + "popular:" + howMany, results, RECOMMENDATION_TTL_MINUTES, TimeUnit.MINUTES);
+            SingleFlightLoader.Lookup<List<RecommendationResponseDTO>> popular = lookupRecommendations(
+                    RECOMMENDATION_CACHE_KEY + "popular:" + howMany, () -> loadPopularProducts(howMany));
+            if (popular.hit()) {
+                podStreamPrometheusConfig.incrementRecommendationCacheHit();
+            }
             podStreamPrometheusConfig.incrementRecommendationSuccess();
-            return results;
+            return popular.value();
         } catch (Exception e) {
             logger.error("Error fetching popular products: {}", e.getMessage(), e);
             podStreamPrometheusConfig.incrementRecommendationErrors();
@@ -240,18 +580,23 @@ public class RecommendationServiceImplement implements RecommendationService {
         }
     }
 
+    private List<RecommendationResponseDTO> loadPopularProducts(int howMany) {
+        logger.info("Fetching {} popular products.", howMany);
+        return productRepository.findByOrderBySalesCountDesc(PageRequest.of(0, howMany)).stream()
+                .filter(Product::isActive)
+                .map(product -> RecommendationResponseDTO.builder()
+                        .id(product.getId())
+                        .productName(product.getName())
+                        .category(product.getCategory() != null ? product.getCategory().toString() : null)
+                        .image(product.getImage())
+                        .score((double) product.getSalesCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Cacheable(value = "itemRecommendations", key = "#productId")
     public List<RecommendationResponseDTO> getContentBasedRecommendations(Long productId, int howMany) {
-        String cacheKey = RECOMMENDATION_CACHE_KEY + "item:" + productId;
-        @SuppressWarnings("unchecked")
-        List<RecommendationResponseDTO> cachedResults = (List<RecommendationResponseDTO>) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedResults != null) {
-            logger.info("Content-based recommendations for product {} retrieved from cache", productId);
-            podStreamPrometheusConfig.incrementRecommendationCacheHit();
-            return cachedResults;
-        }
-
         if (productId == null || productId <= 0) {
             logger.warn("Invalid productId: {}. Returning empty list.", productId);
             podStreamPrometheusConfig.incrementRecommendationErrors();
@@ -259,31 +604,13 @@ public class RecommendationServiceImplement implements RecommendationService {
         }
 
         try {
-            Product targetProduct = productRepository.findById(productId)
-                    .filter(Product::isActive)
-                    .orElseThrow(() -> new EntityNotFoundException("Product not found: " + productId));
-
-            List<Product> similarProducts = productRepository.findByActiveTrue().stream()
-                    .filter(p -> !p.getId().equals(targetProduct.getId()))
-                    .filter(p -> p.getCategory() != null && p.getCategory().equals(targetProduct.getCategory()))
-                    .filter(p -> p.getColor() != null && p.getColor().equals(targetProduct.getColor()))
-                    .sorted((p1, p2) -> Double.compare(p2.getAverageRating(), p1.getAverageRating()))
-                    .limit(howMany)
-                    .collect(Collectors.toList());
-
-            List<RecommendationResponseDTO> results = similarProducts.stream()
-                    .map(product -> RecommendationResponseDTO.builder()
-                            .id(product.getId())
-                            .productName(product.getName())
-                            .category(product.getCategory() != null ? product.getCategory().toString() : null)
-                            .image(product.getImage())
-                            .score(calculateSimilarityScore(targetProduct, product))
-                            .build())
-                    .collect(Collectors.toList());
-
-            redisTemplate.opsForValue().set(cacheKey, results, RECOMMENDATION_TTL_MINUTES, TimeUnit.MINUTES);
-            podStreamPrometheusConfig.incrementRecommendationSuccess();
-            return results;
+            SingleFlightLoader.Lookup<List<RecommendationResponseDTO>> recommendations = lookupRecommendations(
+                    RECOMMENDATION_CACHE_KEY + "item:" + productId, () -> computeContentBasedRecommendations(productId, howMany));
+            if (recommendations.hit()) {
+                logger.info("Content-based recommendations for product {} retrieved from cache", productId);
+                podStreamPrometheusConfig.incrementRecommendationCacheHit();
+            }
+            return recommendations.value();
         } catch (Exception e) {
             logger.error("Error generating content-based recommendations for product {}: {}", productId, e.getMessage(), e);
             podStreamPrometheusConfig.incrementRecommendationErrors();
@@ -291,6 +618,40 @@ public class RecommendationServiceImplement implements RecommendationService {
         }
     }
 
+    private List<RecommendationResponseDTO> computeContentBasedRecommendations(Long productId, int howMany) {
+        Product targetProduct = productRepository.findById(productId)
+                .filter(Product::isActive)
+                .orElseThrow(() -> new EntityNotFoundException("Product not found: " + productId));
+
+        List<Product> similarProducts = productRepository.findByActiveTrue().stream()
+                .filter(p -> !p.getId().equals(targetProduct.getId()))
+                .filter(p -> p.getCategory() != null && p.getCategory().equals(targetProduct.getCategory()))
+                .filter(p -> p.getColor() != null && p.getColor().equals(targetProduct.getColor()))
+                .sorted((p1, p2) -> Double.compare(p2.getAverageRating(), p1.getAverageRating()))
+                .limit(howMany)
+                .collect(Collectors.toList());
+
+        List<RecommendationResponseDTO> results = similarProducts.stream()
+                .map(product -> RecommendationResponseDTO.builder()
+                        .id(product.getId())
+                        .productName(product.getName())
+                        .category(product.getCategory() != null ? product.getCategory().toString() : null)
+                        .image(product.getImage())
+                        .score(calculateSimilarityScore(targetProduct, product))
+                        .build())
+                .collect(Collectors.toList());
+
+        podStreamPrometheusConfig.incrementRecommendationSuccess();
+        return results;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private SingleFlightLoader.Lookup<List<RecommendationResponseDTO>> lookupRecommendations(
+            String cacheKey, Supplier<List<RecommendationResponseDTO>> loader) {
+        return (SingleFlightLoader.Lookup) singleFlightLoader.lookup("recommendation", cacheKey, List.class,
+                cached -> true, RECOMMENDATION_TTL_MINUTES, TimeUnit.MINUTES, loader);
+    }
+
     private double calculateSimilarityScore(Product p1, Product p2) {
         double score = 0.0;
         if (p1.getCategory() != null && p1.getCategory().equals(p2.getCategory())) score += 0.5;
@@ -0,0 +1,474 @@
+package com.podStream.PodStream.Services.Implement;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import co.elastic.clients.json.JsonData;
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.ReindexJobDTO;
+import com.podStream.PodStream.Models.*;
+import com.podStream.PodStream.Models.User.Client;
+import com.podStream.PodStream.Repositories.Jpa.ReindexJobRepository;
+import com.podStream.PodStream.Repositories.Jpa.ReindexPartitionRepository;
+import com.podStream.PodStream.Services.ReindexService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de la reindexación de Elasticsearch por rangos de IDs.
+ * <p>Cada partición recorre su rango con paginación por clave ({@code id > :lastId ORDER BY id}), convierte
+ * el lote con el mismo mapeo que los repositorios y lo escribe con {@code _bulk} usando {@code create}; así,
+ * si el outbox ya escribió una versión más reciente del documento en el índice nuevo, el recorrido no la pisa.
+ * <p>Cada punto de control renueva {@code updatedAt} del trabajo. Un trabajo {@code RUNNING} sin latido durante
+ * {@code podstream.reindex.stale-after-ms} quedó huérfano (el nodo que lo ejecutaba se reinició o cayó) y se
+ * marca {@code FAILED}, para que el outbox deje de escribir también en su índice; se puede reanudar igual que
+ * cualquier trabajo fallido. Al mover el alias se borran los índices versionados a los que apuntaba antes.
+ * <p>La cancelación se guarda en la base de datos: cada partición comprueba el estado persistido antes de cada
+ * lote y el trabajo lo vuelve a comprobar antes de mover el alias, así que se detiene aunque la cancelación llegue
+ * a otro nodo. El paso a {@code COMPLETED} es condicional, de modo que un trabajo cancelado nunca se completa.
+ */
+@Service
+public class ReindexServiceImplement implements ReindexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReindexServiceImplement.class);
+    private static final DateTimeFormatter INDEX_VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int MAX_PARTITIONS = 32;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReindexJobRepository jobRepository;
+    private final ReindexPartitionRepository partitionRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final SearchDocumentMapper searchDocumentMapper;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int batchSize;
+    private final long staleAfterMillis;
+
+    private final Map<String, ReindexTarget> targets = new LinkedHashMap<>();
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+    private final Set<Long> cancelledJobs = ConcurrentHashMap.newKeySet();
+    private final ExecutorService jobExecutor = Executors.newCachedThreadPool();
+    private final ExecutorService partitionExecutor;
+
+    public ReindexServiceImplement(
+            ReindexJobRepository jobRepository,
+            ReindexPartitionRepository partitionRepository,
+            ElasticsearchOperations elasticsearchOperations,
+            ElasticsearchClient elasticsearchClient,
+            SearchDocumentMapper searchDocumentMapper,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            PlatformTransactionManager transactionManager,
+            @Value("${podstream.reindex.batch-size:1000}") int batchSize,
+            @Value("${podstream.reindex.max-parallelism:4}") int maxParallelism,
+            @Value("${podstream.reindex.stale-after-ms:600000}") long staleAfterMillis) {
+        this.jobRepository = jobRepository;
+        this.partitionRepository = partitionRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.searchDocumentMapper = searchDocumentMapper;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.staleAfterMillis = staleAfterMillis;
+        this.partitionExecutor = Executors.newFixedThreadPool(maxParallelism);
+
+        register(Product.class, ProductDocument.class, product -> new ProductDocument((Product) product));
+        register(Cart.class);
+        register(CartItem.class);
+        register(CategoryProduct.class);
+        register(Comment.class);
+        register(Answers.class);
+        register(Details.class);
+        register(PurchaseOrder.class);
+        register(OrderStatusHistory.class);
+        register(Promotion.class);
+        register(ClientInteraction.class);
+        register(Client.class);
+        register(SupportTicket.class);
+        register(MonitoringTicket.class);
+        register(TicketHistory.class);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        partitionExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<String> getTargets() {
+        return new ArrayList<>(targets.keySet());
+    }
+
+    @Override
+    public ReindexJobDTO startReindex(String aliasName, int partitions) {
+        logger.info("Starting reindex of alias: {} with {} partitions", aliasName, partitions);
+        ReindexTarget target = requireTarget(aliasName);
+        if (partitions < 1 || partitions > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("Partitions must be between 1 and " + MAX_PARTITIONS);
+        }
+        if (jobRepository.existsByAliasNameAndStatus(aliasName, ReindexStatus.RUNNING)) {
+            throw new IllegalStateException("A reindex job is already running for alias: " + aliasName);
+        }
+
+        String indexName = aliasName + "_v" + LocalDateTime.now().format(INDEX_VERSION_FORMAT);
+        createIndex(target, indexName);
+
+        ReindexJob job = transactionTemplate.execute(status -> createJob(target, aliasName, indexName, partitions));
+        submit(job.getId());
+        return getJob(job.getId());
+    }
+
+    @Override
+    public ReindexJobDTO resumeReindex(Long jobId) {
+        logger.info("Resuming reindex job: {}", jobId);
+        ReindexJob job = requireJob(jobId);
+        if (job.getStatus() == ReindexStatus.COMPLETED) {
+            throw new IllegalStateException("Reindex job already completed: " + jobId);
+        }
+        if (runningJobs.contains(jobId)) {
+            throw new IllegalStateException("Reindex job is already running: " + jobId);
+        }
+        requireTarget(job.getAliasName());
+        updateStatus(jobId, ReindexStatus.RUNNING, null);
+        submit(jobId);
+        return getJob(jobId);
+    }
+
+    @Override
+    public ReindexJobDTO cancelReindex(Long jobId) {
+        logger.info("Cancelling reindex job: {}", jobId);
+        requireJob(jobId);
+        Integer cancelled = transactionTemplate.execute(status -> jobRepository.stopIfRunning(jobId, ReindexStatus.CANCELLED));
+        if (cancelled == null || cancelled == 0) {
+            throw new IllegalStateException("Reindex job is not running: " + jobId);
+        }
+        cancelledJobs.add(jobId);
+        return getJob(jobId);
+    }
+
+    @Override
+    public ReindexJobDTO getJob(Long jobId) {
+        return new ReindexJobDTO(requireJob(jobId), partitionRepository.findByJobIdOrderByPartitionNumber(jobId));
+    }
+
+    @Override
+    public Map<String, String> getActiveTargets() {
+        return jobRepository.findByStatus(ReindexStatus.RUNNING).stream()
+                .collect(Collectors.toMap(ReindexJob::getAliasName, ReindexJob::getIndexName, (first, second) -> second));
+    }
+
+    /**
+     * Marca como fallidos los trabajos {@code RUNNING} que ningún nodo está haciendo avanzar: al arrancar (los
+     * que este nodo dejó a medias) y periódicamente (los de nodos caídos).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${podstream.reindex.stale-check-ms:60000}",
+            initialDelayString = "${podstream.reindex.stale-check-ms:60000}")
+    public void failAbandonedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusNanos(staleAfterMillis * 1_000_000);
+        for (ReindexJob job : jobRepository.findByStatusAndUpdatedAtBefore(ReindexStatus.RUNNING, threshold)) {
+            if (runningJobs.contains(job.getId())) {
+                continue;
+            }
+            logger.warn("Reindex job {} for alias {} has made no progress since {}; marking it failed",
+                    job.getId(), job.getAliasName(), job.getUpdatedAt());
+            updateStatus(job.getId(), ReindexStatus.FAILED, "Abandoned: no progress since " + job.getUpdatedAt());
+            podStreamPrometheusConfig.incrementReindexJobsFailed();
+        }
+    }
+
+    private void submit(Long jobId) {
+        runningJobs.add(jobId);
+        cancelledJobs.remove(jobId);
+        jobExecutor.submit(() -> runJob(jobId));
+    }
+
+    private void runJob(Long jobId) {
+        try {
+            ReindexJob job = requireJob(jobId);
+            ReindexTarget target = requireTarget(job.getAliasName());
+            List<Future<Void>> futures = new ArrayList<>();
+            for (ReindexPartition partition : partitionRepository.findByJobIdOrderByPartitionNumber(jobId)) {
+                if (!partition.isCompleted()) {
+                    futures.add(partitionExecutor.submit(() -> runPartition(job, target, partition)));
+                }
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            if (cancelledJobs.contains(jobId) || !isRunning(jobId)) {
+                logger.info("Reindex job {} stopped; alias {} left unchanged", jobId, job.getAliasName());
+                return;
+            }
+
+            swapAlias(job.getAliasName(), job.getIndexName());
+            Integer completed = transactionTemplate.execute(status -> jobRepository.completeIfRunning(jobId, LocalDateTime.now()));
+            if (completed == null || completed == 0) {
+                logger.warn("Reindex job {} was stopped while alias {} moved to {}; status left unchanged",
+                        jobId, job.getAliasName(), job.getIndexName());
+                return;
+            }
+            podStreamPrometheusConfig.setReindexProgressPercent(100);
+            podStreamPrometheusConfig.incrementReindexJobsCompleted();
+            logger.info("Reindex job {} completed; alias {} now points to {}", jobId, job.getAliasName(), job.getIndexName());
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            logger.error("Reindex job {} failed: {}", jobId, cause.getMessage(), cause);
+            cancelledJobs.add(jobId);
+            updateStatus(jobId, ReindexStatus.FAILED, cause.getMessage());
+            podStreamPrometheusConfig.incrementReindexJobsFailed();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    private Void runPartition(ReindexJob job, ReindexTarget target, ReindexPartition partition) throws IOException {
+        long lastId = partition.getLastId();
+        while (!cancelledJobs.contains(job.getId())) {
+            long fromId = lastId;
+            Batch batch = readOnlyTransactionTemplate.execute(status ->
+                    isRunning(job.getId()) ? loadBatch(target, fromId, partition.getRangeEnd()) : null);
+            if (batch == null) {
+                // Cancelado o fallido desde este u otro nodo: el resto de particiones de este nodo también paran.
+                cancelledJobs.add(job.getId());
+                logger.info("Reindex job {} is no longer running; stopping partition {}", job.getId(), partition.getPartitionNumber());
+                return null;
+            }
+            if (!batch.documents.isEmpty()) {
+                writeBulk(job.getIndexName(), batch.documents);
+                lastId = batch.lastId;
+            }
+            boolean completed = batch.documents.size() < batchSize || lastId >= partition.getRangeEnd();
+            long checkpointId = lastId;
+            transactionTemplate.executeWithoutResult(status -> {
+                partitionRepository.checkpoint(partition.getId(), checkpointId, batch.documents.size(), completed);
+                jobRepository.heartbeat(job.getId(), LocalDateTime.now());
+            });
+            podStreamPrometheusConfig.incrementReindexDocuments(batch.documents.size());
+            reportProgress(job);
+            if (completed) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private Batch loadBatch(ReindexTarget target, long fromId, long rangeEnd) {
+        List<?> rows = entityManager.createQuery(
+                        "SELECT e FROM " + target.entityName + " e WHERE e.id > :fromId AND e.id <= :rangeEnd ORDER BY e.id",
+                        target.entityClass)
+                .setParameter("fromId", fromId)
+                .setParameter("rangeEnd", rangeEnd)
+                .setMaxResults(batchSize)
+                .getResultList();
+
+        Batch batch = new Batch();
+        for (Object row : rows) {
+            Object document = target.toDocument.apply(row);
+            batch.documents.add(new String[]{searchDocumentMapper.documentId(document), searchDocumentMapper.toJson(document)});
+            batch.lastId = ((Number) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(row)).longValue();
+        }
+        return batch;
+    }
+
+    private void writeBulk(String indexName, List<String[]> documents) throws IOException {
+        BulkRequest.Builder request = new BulkRequest.Builder().index(indexName);
+        for (String[] document : documents) {
+            request.operations(op -> op.create(c -> c.id(document[0]).document(JsonData.fromJson(document[1]))));
+        }
+        BulkResponse response = elasticsearchClient.bulk(request.build());
+        if (response.errors()) {
+            for (BulkResponseItem item : response.items()) {
+                // 409: el outbox ya escribió una versión más reciente en el índice nuevo.
+                if (item.error() != null && item.status() != 409) {
+                    throw new IllegalStateException("Bulk reindex failed for document " + item.id() + ": " + item.error().reason());
+                }
+            }
+        }
+    }
+
+    private void createIndex(ReindexTarget target, String indexName) {
+        IndexOperations source = elasticsearchOperations.indexOps(target.documentClass);
+        IndexOperations destination = elasticsearchOperations.indexOps(IndexCoordinates.of(indexName));
+        destination.create(source.createSettings(), source.createMapping());
+        try {
+            // Sin refrescos durante la carga masiva; se restauran antes de mover el alias.
+            elasticsearchClient.indices().putSettings(p -> p.index(indexName)
+                    .settings(s -> s.refreshInterval(t -> t.time("-1"))));
+        } catch (IOException e) {
+            logger.warn("Could not disable refresh on index {}: {}", indexName, e.getMessage());
+        }
+        logger.info("Created index {} for alias {}", indexName, target.aliasName);
+    }
+
+    private void swapAlias(String aliasName, String indexName) throws IOException {
+        elasticsearchClient.indices().putSettings(p -> p.index(indexName)
+                .settings(s -> s.refreshInterval(t -> t.time("1s"))));
+        elasticsearchClient.indices().refresh(r -> r.index(indexName));
+
+        List<Action> actions = new ArrayList<>();
+        List<String> superseded = new ArrayList<>();
+        if (elasticsearchClient.indices().existsAlias(a -> a.name(aliasName)).value()) {
+            for (String current : elasticsearchClient.indices().getAlias(a -> a.name(aliasName)).result().keySet()) {
+                if (!current.equals(indexName)) {
+                    actions.add(Action.of(a -> a.remove(r -> r.index(current).alias(aliasName))));
+                    superseded.add(current);
+                }
+            }
+        } else if (elasticsearchClient.indices().exists(e -> e.index(aliasName)).value()) {
+            // Índice concreto creado por los repositorios antes de usar alias: se reemplaza en la misma operación.
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(aliasName))));
+        }
+        actions.add(Action.of(a -> a.add(add -> add.index(indexName).alias(aliasName).isWriteIndex(true))));
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+        deleteSuperseded(aliasName, superseded);
+    }
+
+    /**
+     * Borra los índices versionados que el alias acaba de dejar. Solo se borran los creados por la reindexación
+     * ({@code <alias>_v...}); un fallo se registra y no deshace el cambio de alias.
+     */
+    private void deleteSuperseded(String aliasName, List<String> indices) {
+        for (String index : indices) {
+            if (!index.startsWith(aliasName + "_v")) {
+                continue;
+            }
+            try {
+                elasticsearchClient.indices().delete(d -> d.index(index));
+                logger.info("Deleted superseded index {} of alias {}", index, aliasName);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not delete superseded index {}: {}", index, e.getMessage());
+            }
+        }
+    }
+
+    private ReindexJob createJob(ReindexTarget target, String aliasName, String indexName, int partitions) {
+        Object[] bounds = entityManager.createQuery(
+                        "SELECT MIN(e.id), MAX(e.id), COUNT(e) FROM " + target.entityName + " e", Object[].class)
+                .getSingleResult();
+
+        ReindexJob job = new ReindexJob();
+        job.setAliasName(aliasName);
+        job.setIndexName(indexName);
+        job.setStatus(ReindexStatus.RUNNING);
+        job.setTotalDocuments(((Number) bounds[2]).longValue());
+
+        List<ReindexPartition> ranges = new ArrayList<>();
+        if (bounds[0] != null) {
+            long minId = ((Number) bounds[0]).longValue();
+            long maxId = ((Number) bounds[1]).longValue();
+            long span = Math.max(1, (maxId - minId + 1 + partitions - 1) / partitions);
+            for (long start = minId; start <= maxId; start += span) {
+                ReindexPartition partition = new ReindexPartition();
+                partition.setPartitionNumber(ranges.size());
+                partition.setRangeStart(start);
+                partition.setRangeEnd(Math.min(maxId, start + span - 1));
+                partition.setLastId(start - 1);
+                ranges.add(partition);
+            }
+        }
+        job.setPartitions(ranges.size());
+        ReindexJob savedJob = jobRepository.save(job);
+        ranges.forEach(partition -> partition.setJobId(savedJob.getId()));
+        partitionRepository.saveAll(ranges);
+        return savedJob;
+    }
+
+    private void reportProgress(ReindexJob job) {
+        if (job.getTotalDocuments() > 0) {
+            long indexed = partitionRepository.findByJobIdOrderByPartitionNumber(job.getId()).stream()
+                    .mapToLong(ReindexPartition::getDocumentsIndexed).sum();
+            podStreamPrometheusConfig.setReindexProgressPercent(Math.min(100, indexed * 100 / job.getTotalDocuments()));
+        }
+    }
+
+    private boolean isRunning(Long jobId) {
+        return jobRepository.findStatusById(jobId).orElse(null) == ReindexStatus.RUNNING;
+    }
+
+    private void updateStatus(Long jobId, ReindexStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            ReindexJob job = requireJob(jobId);
+            job.setStatus(status);
+            job.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            jobRepository.save(job);
+        });
+    }
+
+    private ReindexJob requireJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Reindex job not found: " + jobId));
+    }
+
+    private ReindexTarget requireTarget(String aliasName) {
+        ReindexTarget target = targets.get(aliasName);
+        if (target == null) {
+            throw new IllegalArgumentException("Unknown reindex target: " + aliasName);
+        }
+        return target;
+    }
+
+    private void register(Class<?> entityClass) {
+        register(entityClass, entityClass, Function.identity());
+    }
+
+    private void register(Class<?> entityClass, Class<?> documentClass, Function<Object, Object> toDocument) {
+        String aliasName = searchDocumentMapper.indexName(documentClass);
+        targets.put(aliasName, new ReindexTarget(aliasName, entityClass, documentClass, toDocument));
+    }
+
+    private static final class ReindexTarget {
+        private final String aliasName;
+        private final Class<?> entityClass;
+        private final String entityName;
+        private final Class<?> documentClass;
+        private final Function<Object, Object> toDocument;
+
+        private ReindexTarget(String aliasName, Class<?> entityClass, Class<?> documentClass, Function<Object, Object> toDocument) {
+            this.aliasName = aliasName;
+            this.entityClass = entityClass;
+            this.entityName = entityClass.getSimpleName();
+            this.documentClass = documentClass;
+            this.toDocument = toDocument;
+        }
+    }
+
+    private static final class Batch {
+        private final List<String[]> documents = new ArrayList<>();
+        private long lastId;
+    }
+}
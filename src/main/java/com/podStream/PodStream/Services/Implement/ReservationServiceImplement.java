@@ -0,0 +1,255 @@
+package com.podStream.PodStream.Services.Implement;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Models.InventoryReservation;
+import com.podStream.PodStream.Repositories.Jpa.InventoryReservationRepository;
+import com.podStream.PodStream.Services.InventoryService;
+import com.podStream.PodStream.Services.ReservationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del ledger de reservas de stock sobre la tabla {@code inventory_reservations}.
+ * <p>Las filas de reserva se bloquean antes que las de {@code products}, igual que en el barrido,
+ * de modo que ambos caminos adquieren los bloqueos en el mismo orden.
+ */
+@Service
+public class ReservationServiceImplement implements ReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationServiceImplement.class);
+
+    private final InventoryReservationRepository reservationRepository;
+    private final InventoryService inventoryService;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${podstream.inventory.reservation-ttl-minutes:1440}")
+    private long reservationTtlMinutes;
+
+    @Value("${podstream.inventory.reservation-sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    public ReservationServiceImplement(
+            InventoryReservationRepository reservationRepository,
+            InventoryService inventoryService,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.inventoryService = inventoryService;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public boolean adjust(String ownerKey, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return true;
+        }
+        validateQuantities(quantities);
+        Map<Long, InventoryReservation> held = lockHeld(ownerKey, quantities);
+
+        Map<Long, Integer> toReserve = new HashMap<>();
+        Map<Long, Integer> toRelease = new HashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            int difference = quantity - heldQuantity(held.get(productId));
+            if (difference > 0) {
+                toReserve.put(productId, difference);
+            } else if (difference < 0) {
+                toRelease.put(productId, -difference);
+            }
+        });
+
+        if (!toReserve.isEmpty() && !inventoryService.tryReserve(toReserve)) {
+            logger.warn("Reservation rejected for owner: {}", ownerKey);
+            return false;
+        }
+        if (!toRelease.isEmpty()) {
+            inventoryService.release(toRelease);
+        }
+
+        LocalDateTime expiresAt = nextExpiry();
+        List<InventoryReservation> toSave = new ArrayList<>();
+        List<InventoryReservation> toDelete = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            InventoryReservation reservation = held.get(productId);
+            if (quantity == 0) {
+                if (reservation != null) {
+                    toDelete.add(reservation);
+                }
+                return;
+            }
+            if (reservation == null) {
+                reservation = new InventoryReservation();
+                reservation.setOwnerKey(ownerKey);
+                reservation.setProductId(productId);
+            }
+            reservation.setQuantity(quantity);
+            reservation.setExpiresAt(expiresAt);
+            toSave.add(reservation);
+        });
+        reservationRepository.saveAll(toSave);
+        reservationRepository.deleteAll(toDelete);
+
+        podStreamPrometheusConfig.incrementInventoryReservationHeld();
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean adjust(String ownerKey, Long productId, int quantity) {
+        return adjust(ownerKey, Map.of(productId, quantity));
+    }
+
+    @Override
+    @Transactional
+    public void release(String ownerKey, Long productId) {
+        adjust(ownerKey, Map.of(productId, 0));
+    }
+
+    @Override
+    @Transactional
+    public void releaseAll(String ownerKey) {
+        List<InventoryReservation> reservations = reservationRepository.findByOwnerKeyOrderByProductId(ownerKey);
+        if (reservations.isEmpty()) {
+            return;
+        }
+        inventoryService.release(quantitiesOf(reservations));
+        reservationRepository.deleteAll(reservations);
+        logger.info("Released {} reservations for owner: {}", reservations.size(), ownerKey);
+    }
+
+    @Override
+    @Transactional
+    public void extend(String ownerKey) {
+        reservationRepository.extendByOwnerKey(ownerKey, nextExpiry());
+    }
+
+    @Override
+    @Transactional
+    public void transfer(String fromOwnerKey, String toOwnerKey) {
+        if (fromOwnerKey.equals(toOwnerKey)) {
+            return;
+        }
+        List<InventoryReservation> source = reservationRepository.findByOwnerKeyOrderByProductId(fromOwnerKey);
+        if (source.isEmpty()) {
+            return;
+        }
+        Map<Long, InventoryReservation> target = reservationRepository
+                .findByOwnerKeyAndProductIdInOrderByProductId(toOwnerKey, quantitiesOf(source).keySet()).stream()
+                .collect(Collectors.toMap(InventoryReservation::getProductId, Function.identity()));
+
+        LocalDateTime expiresAt = nextExpiry();
+        List<InventoryReservation> toSave = new ArrayList<>();
+        List<InventoryReservation> toDelete = new ArrayList<>();
+        for (InventoryReservation reservation : source) {
+            InventoryReservation existing = target.get(reservation.getProductId());
+            if (existing != null) {
+                existing.setQuantity(existing.getQuantity() + reservation.getQuantity());
+                existing.setExpiresAt(expiresAt);
+                toSave.add(existing);
+                toDelete.add(reservation);
+            } else {
+                reservation.setOwnerKey(toOwnerKey);
+                reservation.setExpiresAt(expiresAt);
+                toSave.add(reservation);
+            }
+        }
+        reservationRepository.saveAll(toSave);
+        reservationRepository.deleteAll(toDelete);
+        logger.info("Transferred {} reservations from {} to {}", source.size(), fromOwnerKey, toOwnerKey);
+    }
+
+    @Override
+    @Transactional
+    public boolean convert(String ownerKey, Map<Long, Integer> quantities) {
+        if (!adjust(ownerKey, quantities)) {
+            return false;
+        }
+        // Las unidades ya están descontadas: basta con soltar las filas de reserva.
+        reservationRepository.deleteAll(lockHeld(ownerKey, quantities).values());
+        podStreamPrometheusConfig.incrementInventoryReservationConverted();
+        return true;
+    }
+
+    @Override
+    public int releaseExpired() {
+        int released = 0;
+        Integer batch;
+        do {
+            batch = transactionTemplate.execute(status -> releaseExpiredBatch());
+            released += batch != null ? batch : 0;
+        } while (batch != null && batch == sweepBatchSize);
+        return released;
+    }
+
+    /**
+     * Barrido periódico de reservas vencidas de carritos abandonados.
+     */
+    @Scheduled(fixedDelayString = "${podstream.inventory.reservation-sweep-ms:60000}")
+    public void sweepExpiredReservations() {
+        int released = releaseExpired();
+        if (released > 0) {
+            logger.info("Released {} expired inventory reservations", released);
+        }
+    }
+
+    private int releaseExpiredBatch() {
+        List<InventoryReservation> expired = reservationRepository
+                .findExpiredForUpdate(LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        inventoryService.release(quantitiesOf(expired));
+        reservationRepository.deleteAllInBatch(expired);
+        expired.forEach(reservation -> podStreamPrometheusConfig.incrementInventoryReservationExpired());
+        return expired.size();
+    }
+
+    private Map<Long, InventoryReservation> lockHeld(String ownerKey, Map<Long, Integer> quantities) {
+        return reservationRepository
+                .findByOwnerKeyAndProductIdInOrderByProductId(ownerKey, new TreeMap<>(quantities).keySet()).stream()
+                .collect(Collectors.toMap(InventoryReservation::getProductId, Function.identity()));
+    }
+
+    private Map<Long, Integer> quantitiesOf(List<InventoryReservation> reservations) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        reservations.forEach(reservation -> quantities.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum));
+        return quantities;
+    }
+
+    private int heldQuantity(InventoryReservation reservation) {
+        return reservation != null ? reservation.getQuantity() : 0;
+    }
+
+    private LocalDateTime nextExpiry() {
+        return LocalDateTime.now().plusMinutes(reservationTtlMinutes);
+    }
+
+    private void validateQuantities(Map<Long, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            if (productId == null) {
+                throw new IllegalArgumentException("Product ID cannot be null");
+            }
+            if (quantity == null || quantity < 0) {
+                throw new IllegalArgumentException("Quantity cannot be negative");
+            }
+        });
+    }
+}
@@ -0,0 +1,177 @@
+package com.podStream.PodStream.Services.Implement;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Services.Cache.HotKeyTracker;
+import com.podStream.PodStream.Services.SearchCacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Implementación de la caché de búsqueda con espacios de nombres versionados.
+ * <p>Formato de clave: {@code search:products:g<generación>:<namespace>:<clave>}. Las claves vivas de cada
+ * espacio de nombres se registran en un sorted set puntuado por su expiración, lo que permite limitar la
+ * cardinalidad y publicar el tamaño de la caché sin recorrer Redis con {@code SCAN}.
+ * <p>La generación se lee de Redis como mucho cada {@code generation-refresh-ms}; los incrementos locales
+ * se ven de inmediato y los de otras instancias con ese retraso máximo.
+ * <p>Las búsquedas calientes según {@link HotKeyTracker} se fijan en memoria con un TTL corto. La clave en
+ * memoria incluye la generación, así que un incremento las descarta igual que las de Redis.
+ */
+@Service
+public class SearchCacheServiceImplement implements SearchCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchCacheServiceImplement.class);
+    private static final String KEY_PREFIX = "search:products:";
+    private static final String GENERATION_KEY = KEY_PREFIX + "generation";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern CONTROL = Pattern.compile("\\p{Cntrl}");
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final HotKeyTracker hotKeyTracker;
+    private final Cache<String, Object> pinned;
+
+    @Value("${podstream.search.cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${podstream.search.cache.max-entries-per-namespace:10000}")
+    private long maxEntriesPerNamespace;
+
+    @Value("${podstream.search.cache.max-key-length:200}")
+    private int maxKeyLength;
+
+    @Value("${podstream.search.cache.generation-refresh-ms:1000}")
+    private long generationRefreshMs;
+
+    private volatile long generation = -1;
+    private volatile long generationReadAt;
+
+    public SearchCacheServiceImplement(RedisTemplate<String, Object> redisTemplate,
+                                       PodStreamPrometheusConfig podStreamPrometheusConfig,
+                                       HotKeyTracker hotKeyTracker,
+                                       @Value("${podstream.cache.hotkeys.pin-ttl-ms:5000}") long pinTtlMs,
+                                       @Value("${podstream.cache.hotkeys.pin-max-entries:1000}") long pinMaxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.hotKeyTracker = hotKeyTracker;
+        this.pinned = Caffeine.newBuilder()
+                .maximumSize(pinMaxEntries)
+                .expireAfterWrite(Duration.ofMillis(pinTtlMs))
+                .build();
+    }
+
+    @Override
+    public String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = CONTROL.matcher(query).replaceAll(" ");
+        return WHITESPACE.matcher(normalized.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public Object get(String namespace, String key) {
+        if (!cacheable(key)) {
+            return null;
+        }
+        String entryKey = entryKey(currentGeneration(), namespace, key);
+        boolean hot = hotKeyTracker.record("search:" + namespace, key);
+        Object value = pinned.getIfPresent(entryKey);
+        if (value == null) {
+            value = redisTemplate.opsForValue().get(entryKey);
+            if (hot && value != null) {
+                pinned.put(entryKey, value);
+            }
+        }
+        podStreamPrometheusConfig.recordSearchCacheLookup(namespace, value != null);
+        return value;
+    }
+
+    @Override
+    public void put(String namespace, String key, Object value) {
+        if (!cacheable(key) || value == null) {
+            return;
+        }
+        long gen = currentGeneration();
+        String indexKey = indexKey(gen, namespace);
+        String entryKey = entryKey(gen, namespace, key);
+        long now = System.currentTimeMillis();
+        long expiresAt = now + TimeUnit.MINUTES.toMillis(ttlMinutes);
+
+        redisTemplate.opsForZSet().removeRangeByScore(indexKey, 0, now);
+        Long size = redisTemplate.opsForZSet().zCard(indexKey);
+        Double existing = redisTemplate.opsForZSet().score(indexKey, key);
+        if (existing == null && size != null && size >= maxEntriesPerNamespace) {
+            logger.debug("Search cache namespace {} is full ({} entries), not caching key", namespace, size);
+            podStreamPrometheusConfig.incrementSearchCacheRejected(namespace);
+            podStreamPrometheusConfig.setSearchCacheSize(namespace, size);
+            return;
+        }
+
+        redisTemplate.opsForValue().set(entryKey, value, ttlMinutes, TimeUnit.MINUTES);
+        redisTemplate.opsForZSet().add(indexKey, key, expiresAt);
+        redisTemplate.expire(indexKey, ttlMinutes, TimeUnit.MINUTES);
+        podStreamPrometheusConfig.setSearchCacheSize(namespace, (size != null ? size : 0) + (existing == null ? 1 : 0));
+    }
+
+    @Override
+    public void bumpGeneration() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementGeneration();
+                }
+            });
+        } else {
+            incrementGeneration();
+        }
+    }
+
+    private void incrementGeneration() {
+        try {
+            Long next = redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (next != null) {
+                generation = next;
+                generationReadAt = System.currentTimeMillis();
+                logger.info("Search cache generation bumped to {}", next);
+            }
+        } catch (Exception e) {
+            // Sin el incremento las entradas antiguas siguen vivas hasta su TTL, como antes de versionar.
+            logger.error("Error bumping search cache generation: {}", e.getMessage());
+        }
+    }
+
+    private long currentGeneration() {
+        long now = System.currentTimeMillis();
+        if (generation < 0 || now - generationReadAt > generationRefreshMs) {
+            Object stored = redisTemplate.opsForValue().get(GENERATION_KEY);
+            generation = stored != null ? Long.parseLong(stored.toString()) : 0;
+            generationReadAt = now;
+        }
+        return generation;
+    }
+
+    private boolean cacheable(String key) {
+        return key != null && !key.isEmpty() && key.length() <= maxKeyLength;
+    }
+
+    private String entryKey(long gen, String namespace, String key) {
+        return KEY_PREFIX + "g" + gen + ":" + namespace + ":" + key;
+    }
+
+    private String indexKey(long gen, String namespace) {
+        return KEY_PREFIX + "g" + gen + ":" + namespace + ":keys";
+    }
+}
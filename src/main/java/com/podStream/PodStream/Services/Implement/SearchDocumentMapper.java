@@ -0,0 +1,45 @@
+package com.podStream.PodStream.Services.Implement;
+
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Convierte entidades en documentos de Elasticsearch (índice, ID y JSON) con el mismo mapeo
+ * que usan los repositorios de Spring Data, para escribirlos luego con la API {@code _bulk}.
+ */
+@Component
+public class SearchDocumentMapper {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    public SearchDocumentMapper(ElasticsearchOperations elasticsearchOperations) {
+        this.elasticsearchOperations = elasticsearchOperations;
+    }
+
+    public String indexName(Class<?> documentClass) {
+        return elasticsearchOperations.getIndexCoordinatesFor(documentClass).getIndexName();
+    }
+
+    public String toJson(Object document) {
+        return converter().mapObject(document).toJson();
+    }
+
+    public String documentId(Object document) {
+        ElasticsearchPersistentEntity<?> entity = converter().getMappingContext().getRequiredPersistentEntity(document.getClass());
+        Object id = entity.getPropertyAccessor(document).getProperty(entity.getRequiredIdProperty());
+        if (id == null) {
+            throw new IllegalArgumentException("Cannot index a document without ID: " + document.getClass().getSimpleName());
+        }
+        return convertId(id);
+    }
+
+    public String convertId(Object id) {
+        return converter().convertId(id);
+    }
+
+    private ElasticsearchConverter converter() {
+        return elasticsearchOperations.getElasticsearchConverter();
+    }
+}
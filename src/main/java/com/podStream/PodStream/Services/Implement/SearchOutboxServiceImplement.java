@@ -0,0 +1,414 @@
+package com.podStream.PodStream.Services.Implement;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.json.JsonData;
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Models.Product;
+import com.podStream.PodStream.Models.ProductDocument;
+import com.podStream.PodStream.Models.SearchOutboxEvent;
+import com.podStream.PodStream.Models.SearchOutboxOperation;
+import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Repositories.Jpa.SearchOutboxRepository;
+import com.podStream.PodStream.Services.ReindexService;
+import com.podStream.PodStream.Services.SearchCacheService;
+import com.podStream.PodStream.Services.SearchOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del outbox de Elasticsearch sobre la tabla {@code search_outbox}.
+ * <p>El relé agrupa los eventos de un lote por documento y envía solo el más reciente, de modo que
+ * varias actualizaciones seguidas de la misma entidad cuestan una única operación {@code _bulk}.
+ * Los fallos se reprograman con backoff exponencial; nunca se descartan.
+ * <p>Cada operación lleva como versión externa {@link #EXTERNAL_VERSION_OFFSET} más el ID del evento: crece
+ * con cada cambio y supera cualquier versión interna que tuvieran los documentos indexados antes del outbox.
+ * Si dos relés ({@code SKIP LOCKED}) envían eventos del mismo documento en otro orden, Elasticsearch rechaza el
+ * más antiguo con un 409. Un 409 solo cuenta como enviado después de comprobar con {@code _mget} que el
+ * documento tiene una versión igual o mayor; si no, el evento se reintenta.
+ * <p>Los cambios de stock son eventos {@code STOCK} sin payload, con su propia clave de documento y retrasados
+ * {@code podstream.search.outbox.stock-debounce-ms}: las reservas de una ráfaga se agrupan en un solo envío.
+ * Al enviarlos se indexa el documento completo del producto tal como está en MySQL, con la versión externa del
+ * evento como cualquier otro: una actualización parcial subiría la versión interna fuera de este esquema y el
+ * siguiente {@code INDEX} del producto se tomaría por superado. No cambian la generación de la caché de búsqueda;
+ * las páginas cacheadas muestran el stock anterior hasta que caducan.
+ */
+@Service
+public class SearchOutboxServiceImplement implements SearchOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchOutboxServiceImplement.class);
+
+    /**
+     * Desplazamiento de las versiones externas. Las versiones internas cuentan escrituras de un documento y
+     * nunca llegan a este valor; sumar el ID del evento mantiene el orden del outbox entre nodos.
+     */
+    private static final long EXTERNAL_VERSION_OFFSET = 1_000_000_000_000_000L;
+
+    /** Sufijo de la clave de los eventos {@code STOCK}: se agrupan entre sí y nunca sustituyen a un {@code INDEX}. */
+    private static final String STOCK_KEY_SUFFIX = "#stock";
+
+    private static final String INSERT_STOCK_SQL =
+            "INSERT INTO search_outbox (index_name, document_id, document_key, operation, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, ?, ?, 'STOCK', 0, ?, ?)";
+    private static final String DELETE_SENT_SQL =
+            "DELETE FROM search_outbox WHERE document_key = ? AND id <= ?";
+
+    private final SearchOutboxRepository outboxRepository;
+    private final ProductRepository productRepository;
+    private final SearchDocumentMapper searchDocumentMapper;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ReindexService reindexService;
+    private final SearchCacheService searchCacheService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${podstream.search.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${podstream.search.outbox.backoff-ms:1000}")
+    private long backoffMillis;
+
+    @Value("${podstream.search.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMillis;
+
+    @Value("${podstream.search.outbox.stock-debounce-ms:2000}")
+    private long stockDebounceMillis;
+
+    public SearchOutboxServiceImplement(
+            SearchOutboxRepository outboxRepository,
+            ProductRepository productRepository,
+            SearchDocumentMapper searchDocumentMapper,
+            ElasticsearchClient elasticsearchClient,
+            ReindexService reindexService,
+            SearchCacheService searchCacheService,
+            JdbcTemplate jdbcTemplate,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.productRepository = productRepository;
+        this.searchDocumentMapper = searchDocumentMapper;
+        this.elasticsearchClient = elasticsearchClient;
+        this.reindexService = reindexService;
+        this.searchCacheService = searchCacheService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public void enqueueIndex(Object document) {
+        String payload = searchDocumentMapper.toJson(document);
+        save(document.getClass(), searchDocumentMapper.documentId(document), SearchOutboxOperation.INDEX, payload);
+    }
+
+    @Override
+    @Transactional
+    public void enqueueDelete(Class<?> documentClass, Object id) {
+        save(documentClass, searchDocumentMapper.convertId(id), SearchOutboxOperation.DELETE, null);
+    }
+
+    @Override
+    @Transactional
+    public void enqueueStockUpdate(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        String indexName = searchDocumentMapper.indexName(ProductDocument.class);
+        List<Long> ids = new ArrayList<>(productIds);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        Timestamp nextAttemptAt = Timestamp.valueOf(now.plus(Duration.ofMillis(stockDebounceMillis)));
+        jdbcTemplate.batchUpdate(INSERT_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                String documentId = searchDocumentMapper.convertId(ids.get(i));
+                ps.setString(1, indexName);
+                ps.setString(2, documentId);
+                ps.setString(3, indexName + "/" + documentId + STOCK_KEY_SUFFIX);
+                ps.setTimestamp(4, nextAttemptAt);
+                ps.setTimestamp(5, createdAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+
+    @Override
+    public int relayPending() {
+        int relayed = 0;
+        Integer batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            relayed += batch != null ? batch : 0;
+        } while (batch != null && batch == batchSize);
+        updateLagMetrics();
+        return relayed;
+    }
+
+    /**
+     * Relé periódico del outbox hacia Elasticsearch.
+     */
+    @Scheduled(fixedDelayString = "${podstream.search.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        try {
+            relayPending();
+        } catch (Exception e) {
+            logger.error("Error relaying search outbox: {}", e.getMessage());
+        }
+    }
+
+    private void save(Class<?> documentClass, String documentId, SearchOutboxOperation operation, String payload) {
+        String indexName = searchDocumentMapper.indexName(documentClass);
+        LocalDateTime now = LocalDateTime.now();
+        SearchOutboxEvent event = new SearchOutboxEvent();
+        event.setIndexName(indexName);
+        event.setDocumentId(documentId);
+        event.setDocumentKey(indexName + "/" + documentId);
+        event.setOperation(operation);
+        event.setPayload(payload);
+        event.setCreatedAt(now);
+        event.setNextAttemptAt(now);
+        outboxRepository.save(event);
+    }
+
+    private int relayBatch() {
+        List<SearchOutboxEvent> events = outboxRepository.findReadyForUpdate(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Solo el último evento de cada documento llega a Elasticsearch; los anteriores quedan obsoletos.
+        Map<String, SearchOutboxEvent> latest = new LinkedHashMap<>();
+        events.forEach(event -> latest.put(event.getDocumentKey(), event));
+        for (int i = 0; i < events.size() - latest.size(); i++) {
+            podStreamPrometheusConfig.incrementSearchOutboxCoalesced();
+        }
+
+        List<SearchOutboxEvent> pending = new ArrayList<>(latest.values());
+        List<SearchOutboxEvent> failed = new ArrayList<>();
+        String productIndex = searchDocumentMapper.indexName(ProductDocument.class);
+        boolean touchesCatalog = pending.stream().anyMatch(event -> productIndex.equals(event.getIndexName())
+                && event.getOperation() != SearchOutboxOperation.STOCK);
+        try {
+            Map<Long, String> products = currentProducts(pending);
+            // Mientras un alias se reindexa, cada cambio se escribe también en el índice nuevo.
+            Map<String, String> reindexTargets = reindexService.getActiveTargets();
+            List<SearchOutboxEvent> owners = new ArrayList<>();
+            List<String> ownerIndices = new ArrayList<>();
+            BulkRequest.Builder request = new BulkRequest.Builder();
+            if (touchesCatalog) {
+                // La caché de búsqueda cambia de generación tras este lote: los cambios deben ser ya visibles.
+                request.refresh(Refresh.WaitFor);
+            }
+            for (SearchOutboxEvent event : pending) {
+                if (!addOperation(request, event, event.getIndexName(), products)) {
+                    // Producto borrado: su evento DELETE ya quita el documento.
+                    continue;
+                }
+                owners.add(event);
+                ownerIndices.add(event.getIndexName());
+                String reindexTarget = reindexTargets.get(event.getIndexName());
+                if (reindexTarget != null) {
+                    addOperation(request, event, reindexTarget, products);
+                    owners.add(event);
+                    ownerIndices.add(reindexTarget);
+                }
+            }
+
+            List<BulkResponseItem> items = owners.isEmpty() ? List.of() : elasticsearchClient.bulk(request.build()).items();
+            List<Integer> conflicts = new ArrayList<>();
+            for (int i = 0; i < owners.size(); i++) {
+                BulkResponseItem item = items.get(i);
+                SearchOutboxEvent event = owners.get(i);
+                // Un DELETE sobre un documento inexistente no tiene nada que aplicar.
+                boolean missing = event.getOperation() == SearchOutboxOperation.DELETE && item.status() == 404;
+                if (item.status() == 409) {
+                    conflicts.add(i);
+                } else if (item.error() != null && !missing) {
+                    markFailed(failed, event, item.error().reason());
+                }
+            }
+            confirmSuperseded(conflicts, owners, ownerIndices, failed);
+        } catch (Exception e) {
+            logger.warn("Bulk request to Elasticsearch failed, rescheduling {} events: {}", pending.size(), e.getMessage());
+            pending.forEach(event -> event.setLastError(e.getMessage()));
+            failed.addAll(pending);
+        }
+
+        deleteSent(pending, failed);
+        reschedule(failed);
+        if (touchesCatalog && failed.size() < pending.size()) {
+            searchCacheService.bumpGeneration();
+        }
+        for (int i = 0; i < pending.size() - failed.size(); i++) {
+            podStreamPrometheusConfig.incrementSearchOutboxRelayed();
+        }
+        return events.size();
+    }
+
+    private boolean addOperation(BulkRequest.Builder request, SearchOutboxEvent event, String indexName,
+                                 Map<Long, String> products) {
+        if (event.getOperation() == SearchOutboxOperation.DELETE) {
+            request.operations(op -> op.delete(d -> d
+                    .index(indexName)
+                    .id(event.getDocumentId())
+                    .version(externalVersion(event))
+                    .versionType(VersionType.External)));
+            return true;
+        }
+        String document = event.getOperation() == SearchOutboxOperation.STOCK
+                ? products.get(Long.valueOf(event.getDocumentId()))
+                : event.getPayload();
+        if (document == null) {
+            return false;
+        }
+        request.operations(op -> op.index(idx -> idx
+                .index(indexName)
+                .id(event.getDocumentId())
+                .version(externalVersion(event))
+                .versionType(VersionType.External)
+                .document(JsonData.fromJson(document))));
+        return true;
+    }
+
+    /**
+     * Construye con una sola consulta el documento vigente de los productos con eventos {@code STOCK} en el lote.
+     */
+    private Map<Long, String> currentProducts(List<SearchOutboxEvent> pending) {
+        List<Long> productIds = pending.stream()
+                .filter(event -> event.getOperation() == SearchOutboxOperation.STOCK)
+                .map(event -> Long.valueOf(event.getDocumentId()))
+                .toList();
+        Map<Long, String> documents = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return documents;
+        }
+        for (Product product : productRepository.findByIdIn(productIds)) {
+            documents.put(product.getId(), searchDocumentMapper.toJson(new ProductDocument(product)));
+        }
+        return documents;
+    }
+
+    private static long externalVersion(SearchOutboxEvent event) {
+        return EXTERNAL_VERSION_OFFSET + event.getId();
+    }
+
+    /**
+     * Comprueba los 409 del lote: el evento solo está superado si el documento tiene ya una versión igual o
+     * mayor que la suya. Cualquier otro caso, o un fallo de la comprobación, se trata como un error y se reintenta.
+     */
+    private void confirmSuperseded(List<Integer> conflicts, List<SearchOutboxEvent> owners, List<String> ownerIndices,
+                                   List<SearchOutboxEvent> failed) {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        MgetRequest.Builder request = new MgetRequest.Builder();
+        for (int i : conflicts) {
+            request.docs(d -> d.index(ownerIndices.get(i)).id(owners.get(i).getDocumentId()).source(src -> src.fetch(false)));
+        }
+        List<MultiGetResponseItem<JsonData>> docs;
+        try {
+            docs = elasticsearchClient.mget(request.build(), JsonData.class).docs();
+        } catch (Exception e) {
+            logger.warn("Could not verify {} version conflicts, rescheduling: {}", conflicts.size(), e.getMessage());
+            conflicts.forEach(i -> markFailed(failed, owners.get(i), "Version conflict not verified: " + e.getMessage()));
+            return;
+        }
+        for (int j = 0; j < conflicts.size(); j++) {
+            SearchOutboxEvent event = owners.get(conflicts.get(j));
+            MultiGetResponseItem<JsonData> doc = docs.get(j);
+            long expected = externalVersion(event);
+            boolean superseded = doc.isResult() && doc.result().found()
+                    && doc.result().version() != null && doc.result().version() >= expected;
+            if (!superseded) {
+                Long current = doc.isResult() ? doc.result().version() : null;
+                logger.warn("Version conflict on {} in {} with version {} (event version {}); rescheduling",
+                        event.getDocumentId(), ownerIndices.get(conflicts.get(j)), current, expected);
+                markFailed(failed, event, "Version conflict: current version " + current + ", event version " + expected);
+            }
+        }
+    }
+
+    private void markFailed(List<SearchOutboxEvent> failed, SearchOutboxEvent event, String reason) {
+        if (failed.stream().noneMatch(existing -> existing == event)) {
+            event.setLastError(reason);
+            failed.add(event);
+        }
+    }
+
+    /**
+     * Borra los eventos enviados y todos los anteriores del mismo documento; de un evento fallido
+     * solo se conservan él mismo y los posteriores, para que un reintento nunca sobrescriba datos nuevos.
+     */
+    private void deleteSent(List<SearchOutboxEvent> pending, List<SearchOutboxEvent> failed) {
+        Set<Long> failedIds = failed.stream().map(SearchOutboxEvent::getId).collect(Collectors.toSet());
+        jdbcTemplate.batchUpdate(DELETE_SENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SearchOutboxEvent event = pending.get(i);
+                ps.setString(1, event.getDocumentKey());
+                ps.setLong(2, failedIds.contains(event.getId()) ? event.getId() - 1 : event.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return pending.size();
+            }
+        });
+    }
+
+    private void reschedule(List<SearchOutboxEvent> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        for (SearchOutboxEvent event : failed) {
+            event.setAttempts(event.getAttempts() + 1);
+            long delay = Math.min(maxBackoffMillis, backoffMillis << Math.min(event.getAttempts() - 1, 20));
+            event.setNextAttemptAt(now.plus(Duration.ofMillis(delay)));
+            if (event.getLastError() != null && event.getLastError().length() > 1000) {
+                event.setLastError(event.getLastError().substring(0, 1000));
+            }
+            podStreamPrometheusConfig.incrementSearchOutboxFailed();
+        }
+        outboxRepository.saveAll(failed);
+    }
+
+    private void updateLagMetrics() {
+        podStreamPrometheusConfig.setSearchOutboxBacklog(outboxRepository.count());
+        long lagSeconds = outboxRepository.findFirstByOrderByIdAsc()
+                .map(event -> Duration.between(event.getCreatedAt(), LocalDateTime.now()).getSeconds())
+                .orElse(0L);
+        podStreamPrometheusConfig.setSearchOutboxLagSeconds(lagSeconds);
+    }
+}
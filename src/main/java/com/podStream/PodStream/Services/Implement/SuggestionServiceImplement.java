@@ -0,0 +1,248 @@
+package com.podStream.PodStream.Services.Implement;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.SuggestionDTO;
+import com.podStream.PodStream.Models.CategoryProduct;
+import com.podStream.PodStream.Repositories.Jpa.CategoryProductRepository;
+import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.SuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del autocompletado sobre un {@link SuggestionTrie} en memoria.
+ * <p>Cada nombre se indexa desde el inicio de cada una de sus palabras (hasta {@value #MAX_TOKENS}), así
+ * "micro" encuentra "Blue Yeti Microphone". Los nombres se normalizan sin acentos ni mayúsculas. Las
+ * categorías puntúan con la suma de ventas de sus productos activos.
+ * <p>El índice se construye al arrancar, se actualiza con cada {@code ProductChangedEvent} y
+ * {@code CategoryChangedEvent} (también de otros nodos) y se reconstruye periódicamente por seguridad.
+ * <p>La reconstrucción lee la base de datos fuera del bloqueo. Los cambios que llegan mientras tanto se
+ * guardan aparte y se vuelven a aplicar sobre el índice nuevo antes de publicarlo, así que no se pierden
+ * (tampoco las bajas).
+ */
+@Service
+public class SuggestionServiceImplement implements SuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionServiceImplement.class);
+    private static final String PRODUCT = "product";
+    private static final String CATEGORY = "category";
+    private static final int MAX_TOKENS = 8;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private record ProductState(String name, Long categoryId, long salesCount) {}
+
+    private record ProductChange(String name, Long categoryId, int salesCount, boolean active) {}
+
+    private record CategoryChange(String name, boolean active) {}
+
+    private final ProductRepository productRepository;
+    private final CategoryProductRepository categoryRepository;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final int maxResults;
+
+    private volatile SuggestionTrie trie;
+    private Map<Long, ProductState> products = new HashMap<>();
+    private Map<Long, String> categories = new HashMap<>();
+    private Map<Long, Long> categorySales = new HashMap<>();
+    private final Object rebuildLock = new Object();
+    private Map<Long, ProductChange> productChangesDuringRebuild;
+    private Map<Long, CategoryChange> categoryChangesDuringRebuild;
+
+    public SuggestionServiceImplement(ProductRepository productRepository,
+                                      CategoryProductRepository categoryRepository,
+                                      PodStreamPrometheusConfig podStreamPrometheusConfig,
+                                      @Value("${podstream.search.suggest.max-results:10}") int maxResults) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.maxResults = maxResults;
+        this.trie = new SuggestionTrie(maxResults);
+    }
+
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        long start = System.nanoTime();
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        if (normalized.length() > MAX_TERM_LENGTH) {
+            normalized = normalized.substring(0, MAX_TERM_LENGTH);
+        }
+        List<SuggestionDTO> results = trie.lookup(normalized, Math.max(1, Math.min(limit, maxResults))).stream()
+                .map(entry -> new SuggestionDTO(entry.type(), entry.id(), entry.text(), entry.score()))
+                .collect(Collectors.toList());
+        podStreamPrometheusConfig.recordSuggestLatency(System.nanoTime() - start);
+        return results;
+    }
+
+    @Override
+    public synchronized void applyProductChange(Long productId, String name, Long categoryId, int salesCount, boolean active) {
+        if (productChangesDuringRebuild != null) {
+            // Solo cuenta el último cambio de cada producto, en el orden en que llegó
+            productChangesDuringRebuild.remove(productId);
+            productChangesDuringRebuild.put(productId, new ProductChange(name, categoryId, salesCount, active));
+        }
+        ProductState previous = products.remove(productId);
+        if (previous != null && previous.categoryId() != null) {
+            categorySales.merge(previous.categoryId(), -previous.salesCount(), Long::sum);
+        }
+        if (active && name != null) {
+            ProductState state = new ProductState(name, categoryId, salesCount);
+            products.put(productId, state);
+            if (categoryId != null) {
+                categorySales.merge(categoryId, (long) salesCount, Long::sum);
+            }
+            trie.put(entry(PRODUCT, productId, name, salesCount));
+        } else {
+            trie.remove(PRODUCT + ":" + productId);
+        }
+
+        if (previous != null && previous.categoryId() != null && !previous.categoryId().equals(categoryId)) {
+            refreshCategory(previous.categoryId());
+        }
+        if (categoryId != null) {
+            refreshCategory(categoryId);
+        }
+        podStreamPrometheusConfig.setSuggestIndexSize(trie.size());
+    }
+
+    @Override
+    public synchronized void applyCategoryChange(Long categoryId, String name, boolean active) {
+        if (categoryChangesDuringRebuild != null) {
+            categoryChangesDuringRebuild.remove(categoryId);
+            categoryChangesDuringRebuild.put(categoryId, new CategoryChange(name, active));
+        }
+        if (active && name != null) {
+            categories.put(categoryId, name);
+        } else {
+            categories.remove(categoryId);
+        }
+        refreshCategory(categoryId);
+        podStreamPrometheusConfig.setSuggestIndexSize(trie.size());
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${podstream.search.suggest.rebuild-ms:3600000}",
+            fixedDelayString = "${podstream.search.suggest.rebuild-ms:3600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            Map<Long, ProductChange> productChanges = new LinkedHashMap<>();
+            Map<Long, CategoryChange> categoryChanges = new LinkedHashMap<>();
+            synchronized (this) {
+                productChangesDuringRebuild = productChanges;
+                categoryChangesDuringRebuild = categoryChanges;
+            }
+            try {
+                Map<Long, ProductState> newProducts = new HashMap<>();
+                Map<Long, Long> newCategorySales = new HashMap<>();
+                for (Object[] row : productRepository.findActiveSuggestionRows()) {
+                    Long categoryId = (Long) row[2];
+                    long salesCount = row[3] != null ? ((Number) row[3]).longValue() : 0;
+                    newProducts.put((Long) row[0], new ProductState((String) row[1], categoryId, salesCount));
+                    if (categoryId != null) {
+                        newCategorySales.merge(categoryId, salesCount, Long::sum);
+                    }
+                }
+                Map<Long, String> newCategories = categoryRepository.findByActiveTrue().stream()
+                        .collect(Collectors.toMap(CategoryProduct::getId, CategoryProduct::getName, (a, b) -> a, HashMap::new));
+
+                SuggestionTrie newTrie = new SuggestionTrie(maxResults);
+                newProducts.forEach((id, state) -> {
+                    if (state.name() != null) {
+                        newTrie.put(entry(PRODUCT, id, state.name(), state.salesCount()));
+                    }
+                });
+                newCategories.forEach((id, name) -> newTrie.put(entry(CATEGORY, id, name, newCategorySales.getOrDefault(id, 0L))));
+
+                int size;
+                synchronized (this) {
+                    productChangesDuringRebuild = null;
+                    categoryChangesDuringRebuild = null;
+                    products = newProducts;
+                    categories = newCategories;
+                    categorySales = newCategorySales;
+                    trie = newTrie;
+                    // Cambios posteriores a la lectura que el índice nuevo todavía no refleja
+                    productChanges.forEach((id, change) ->
+                            applyProductChange(id, change.name(), change.categoryId(), change.salesCount(), change.active()));
+                    categoryChanges.forEach((id, change) -> applyCategoryChange(id, change.name(), change.active()));
+                    size = newTrie.size();
+                }
+                podStreamPrometheusConfig.setSuggestIndexSize(size);
+                logger.info("Suggestion index rebuilt with {} entries in {} ms ({} changes replayed)", size,
+                        System.currentTimeMillis() - start, productChanges.size() + categoryChanges.size());
+            } catch (Exception e) {
+                logger.error("Error rebuilding suggestion index: {}", e.getMessage());
+            } finally {
+                synchronized (this) {
+                    productChangesDuringRebuild = null;
+                    categoryChangesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    private void refreshCategory(Long categoryId) {
+        String name = categories.get(categoryId);
+        if (name == null) {
+            trie.remove(CATEGORY + ":" + categoryId);
+            return;
+        }
+        trie.put(entry(CATEGORY, categoryId, name, Math.max(0, categorySales.getOrDefault(categoryId, 0L))));
+    }
+
+    private static SuggestionTrie.Entry entry(String type, Long id, String text, long score) {
+        return new SuggestionTrie.Entry(type + ":" + id, type, id, text, score, terms(text));
+    }
+
+    /**
+     * Un término por palabra: el nombre normalizado desde esa palabra hasta el final.
+     */
+    static List<String> terms(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        String[] tokens = normalized.split(" ");
+        List<String> terms = new ArrayList<>(Math.min(tokens.length, MAX_TOKENS));
+        int offset = 0;
+        for (int i = 0; i < tokens.length && i < MAX_TOKENS; i++) {
+            String term = normalized.substring(offset);
+            terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+            offset += tokens[i].length() + 1;
+        }
+        return terms;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
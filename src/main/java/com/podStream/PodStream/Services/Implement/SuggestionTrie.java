@@ -0,0 +1,258 @@
+package com.podStream.PodStream.Services.Implement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trie radix (aristas comprimidas) para autocompletado, con los {@code k} mejores resultados precalculados
+ * en cada nodo: una consulta solo recorre el prefijo y devuelve la lista del nodo alcanzado.
+ * <p>Las escrituras se serializan con el monitor del trie; las lecturas no bloquean porque cada nodo publica
+ * sus hijos y su top-k como arrays inmutables en campos {@code volatile}, y las aristas nunca se modifican
+ * (al partir o fusionar una arista se crea un nodo nuevo).
+ */
+class SuggestionTrie {
+
+    /**
+     * Sugerencia indexada. {@code key} identifica la entrada ({@code product:12}, {@code category:3}).
+     */
+    record Entry(String key, String type, long id, String text, long score, List<String> terms) {}
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::score).reversed()
+            .thenComparing(Entry::text)
+            .thenComparing(Entry::key);
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Children NO_CHILDREN = new Children(new char[0], new Node[0]);
+
+    private record Children(char[] firsts, Node[] nodes) {
+
+        Node get(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            return i >= 0 ? nodes[i] : null;
+        }
+
+        Children with(Node node) {
+            char c = node.edge.charAt(0);
+            int i = Arrays.binarySearch(firsts, c);
+            if (i >= 0) {
+                Node[] copy = nodes.clone();
+                copy[i] = node;
+                return new Children(firsts, copy);
+            }
+            int at = -i - 1;
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newNodes = new Node[nodes.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, at);
+            System.arraycopy(nodes, 0, newNodes, 0, at);
+            newFirsts[at] = c;
+            newNodes[at] = node;
+            System.arraycopy(firsts, at, newFirsts, at + 1, firsts.length - at);
+            System.arraycopy(nodes, at, newNodes, at + 1, nodes.length - at);
+            return new Children(newFirsts, newNodes);
+        }
+
+        Children without(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            if (i < 0) {
+                return this;
+            }
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newNodes = new Node[nodes.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, i);
+            System.arraycopy(nodes, 0, newNodes, 0, i);
+            System.arraycopy(firsts, i + 1, newFirsts, i, firsts.length - i - 1);
+            System.arraycopy(nodes, i + 1, newNodes, i, nodes.length - i - 1);
+            return new Children(newFirsts, newNodes);
+        }
+    }
+
+    private static final class Node {
+        final String edge;
+        volatile Children children = NO_CHILDREN;
+        volatile Entry[] top = NO_ENTRIES;
+        Set<Entry> terminals;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        Node withEdge(String newEdge) {
+            Node copy = new Node(newEdge);
+            copy.children = children;
+            copy.top = top;
+            copy.terminals = terminals;
+            return copy;
+        }
+
+        boolean hasTerminals() {
+            return terminals != null && !terminals.isEmpty();
+        }
+    }
+
+    private final int k;
+    private final Node root = new Node("");
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    SuggestionTrie(int k) {
+        this.k = k;
+    }
+
+    /**
+     * Devuelve las mejores sugerencias para un prefijo ya normalizado, sin bloquear.
+     */
+    List<Entry> lookup(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            String remaining = prefix.substring(i);
+            if (remaining.length() <= child.edge.length()) {
+                return child.edge.startsWith(remaining) ? head(child.top, limit) : List.of();
+            }
+            if (!remaining.startsWith(child.edge)) {
+                return List.of();
+            }
+            i += child.edge.length();
+            node = child;
+        }
+        return head(node.top, limit);
+    }
+
+    synchronized void put(Entry entry) {
+        remove(entry.key());
+        entries.put(entry.key(), entry);
+        for (String term : entry.terms()) {
+            insert(term, entry);
+        }
+    }
+
+    synchronized void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            delete(term, previous);
+        }
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void insert(String term, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (true) {
+            if (i == term.length()) {
+                if (node.terminals == null) {
+                    node.terminals = new HashSet<>();
+                }
+                node.terminals.add(entry);
+                break;
+            }
+            Node child = node.children.get(term.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(term.substring(i));
+                leaf.terminals = new HashSet<>();
+                leaf.terminals.add(entry);
+                node.children = node.children.with(leaf);
+                path.add(leaf);
+                break;
+            }
+            int common = commonPrefix(child.edge, term, i);
+            if (common < child.edge.length()) {
+                // Partir la arista: el nodo intermedio hereda el top-k del subárbol existente.
+                Node middle = new Node(child.edge.substring(0, common));
+                middle.children = NO_CHILDREN.with(child.withEdge(child.edge.substring(common)));
+                middle.top = child.top;
+                node.children = node.children.with(middle);
+                child = middle;
+            }
+            path.add(child);
+            node = child;
+            i += common;
+        }
+        for (int p = path.size() - 1; p >= 0; p--) {
+            recompute(path.get(p));
+        }
+    }
+
+    private void delete(String term, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < term.length()) {
+            Node child = node.children.get(term.charAt(i));
+            if (child == null || !term.startsWith(child.edge, i)) {
+                return;
+            }
+            path.add(child);
+            node = child;
+            i += child.edge.length();
+        }
+        if (node.terminals != null) {
+            node.terminals.remove(entry);
+        }
+
+        for (int p = path.size() - 1; p >= 1; p--) {
+            Node current = path.get(p);
+            Node parent = path.get(p - 1);
+            Node[] children = current.children.nodes();
+            if (!current.hasTerminals() && children.length == 0) {
+                parent.children = parent.children.without(current.edge.charAt(0));
+            } else if (!current.hasTerminals() && children.length == 1) {
+                Node only = children[0];
+                parent.children = parent.children.with(only.withEdge(current.edge + only.edge));
+            } else {
+                recompute(current);
+            }
+        }
+        recompute(root);
+    }
+
+    private void recompute(Node node) {
+        Map<String, Entry> candidates = new LinkedHashMap<>();
+        if (node.terminals != null) {
+            node.terminals.forEach(entry -> candidates.put(entry.key(), entry));
+        }
+        for (Node child : node.children.nodes()) {
+            for (Entry entry : child.top) {
+                candidates.putIfAbsent(entry.key(), entry);
+            }
+        }
+        node.top = candidates.values().stream()
+                .sorted(RANKING)
+                .limit(k)
+                .toArray(Entry[]::new);
+    }
+
+    private static int commonPrefix(String edge, String term, int offset) {
+        int max = Math.min(edge.length(), term.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == term.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static List<Entry> head(Entry[] top, int limit) {
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+}
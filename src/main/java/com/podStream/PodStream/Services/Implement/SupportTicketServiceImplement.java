@@ -2,13 +2,17 @@ package com.podStream.PodStream.Services.Implement;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.SupportTicketDTO;
 import com.podStream.PodStream.Models.*;
 import com.podStream.PodStream.Models.User.Client;
 import com.podStream.PodStream.Repositories.Jpa.PurchaseOrderRepository;
 import com.podStream.PodStream.Repositories.Jpa.SupportTicketRepository;
-import com.podStream.PodStream.Repositories.Elastic.SupportTicketElasticRepository;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
 import com.podStream.PodStream.Services.OrderStatusHistoryService;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import com.podStream.PodStream.Services.SupportTicketService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -25,15 +29,13 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio para gestionar tickets de soporte en PodStream.
@@ -51,13 +53,13 @@ public class SupportTicketServiceImplement implements SupportTicketService {
 
     private final SupportTicketRepository supportTicketRepository;
     private final PurchaseOrderRepository purchaseOrderRepository;
-    private final SupportTicketElasticRepository searchRepository;
+    private final SearchOutboxService searchOutboxService;
     private final OrderStatusHistoryService historyService;
-    private final RedisTemplate<String, Object> redisTemplate;
     private final JavaMailSender mailSender;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final CacheRegion<Long, SupportTicket> ticketCache;
 
     @Value("${JIRA_URL}")
     private String jiraUrl;
@@ -71,22 +73,26 @@ public class SupportTicketServiceImplement implements SupportTicketService {
     public SupportTicketServiceImplement(
             SupportTicketRepository supportTicketRepository,
             PurchaseOrderRepository purchaseOrderRepository,
-            SupportTicketElasticRepository searchRepository,
+            SearchOutboxService searchOutboxService,
             OrderStatusHistoryService historyService,
-            RedisTemplate<String, Object> redisTemplate,
             JavaMailSender mailSender,
             PodStreamPrometheusConfig podStreamPrometheusConfig,
             RestTemplate restTemplate,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            CacheRegionManager cacheRegionManager) {
         this.supportTicketRepository = supportTicketRepository;
         this.purchaseOrderRepository = purchaseOrderRepository;
-        this.searchRepository = searchRepository;
+        this.searchOutboxService = searchOutboxService;
         this.historyService = historyService;
-        this.redisTemplate = redisTemplate;
         this.mailSender = mailSender;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.ticketCache = cacheRegionManager.<Long, SupportTicket>region("support-ticket", SupportTicket.class)
+                .prefix(TICKET_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(TICKET_TTL_MINUTES))
+                .usable(SupportTicket::isActive)
+                .build();
     }
 
     @Override
@@ -115,8 +121,8 @@ public class SupportTicketServiceImplement implements SupportTicketService {
         supportTicketRepository.save(savedTicket);
 
         historyService.createHistory(savedTicket.getId(), null, OrderStatus.PROCESSING, authentication);
-        searchRepository.save(savedTicket);
-        redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + savedTicket.getId(), savedTicket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedTicket);
+        ticketCache.put(savedTicket.getId(), savedTicket);
 
         sendSupportTicketEmail(savedTicket, "Support Ticket Creado");
         podStreamPrometheusConfig.incrementSupportTicketCreated();
@@ -150,8 +156,8 @@ public class SupportTicketServiceImplement implements SupportTicketService {
 
         SupportTicket updatedTicket = supportTicketRepository.save(ticket);
         updateJiraIssue(updatedTicket);
-        searchRepository.save(updatedTicket);
-        redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + updatedTicket.getId(), updatedTicket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedTicket);
+        ticketCache.put(updatedTicket.getId(), updatedTicket);
 
         sendSupportTicketEmail(updatedTicket, "Support Ticket Actualizado");
         podStreamPrometheusConfig.incrementSupportTicketUpdated();
@@ -180,8 +186,8 @@ public class SupportTicketServiceImplement implements SupportTicketService {
         SupportTicket updatedTicket = supportTicketRepository.save(ticket);
         historyService.createHistory(updatedTicket.getId(), null, newStatus, authentication);
         updateJiraIssue(updatedTicket);
-        searchRepository.save(updatedTicket);
-        redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + updatedTicket.getId(), updatedTicket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(updatedTicket);
+        ticketCache.put(updatedTicket.getId(), updatedTicket);
 
         sendSupportTicketEmail(updatedTicket, "Actualización de Estado del Ticket");
         podStreamPrometheusConfig.incrementSupportTicketUpdated();
@@ -193,48 +199,35 @@ public class SupportTicketServiceImplement implements SupportTicketService {
         logger.info("Fetching support ticket, ticketId: {}", ticketId);
         validateAuthentication(authentication, "ROLE_CLIENT", "ROLE_ADMIN");
 
-        String cacheKey = TICKET_KEY_PREFIX + ticketId;
-        SupportTicket cachedTicket = (SupportTicket) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedTicket != null && cachedTicket.isActive()) {
-            logger.info("Support ticket id: {} retrieved from cache", ticketId);
-            podStreamPrometheusConfig.incrementSupportTicketCacheHit();
-            return new SupportTicketDTO(cachedTicket);
-        }
-
-        SupportTicket ticket = supportTicketRepository.findById(ticketId)
-                .filter(SupportTicket::isActive)
+        SupportTicket ticket = ticketCache.get(ticketId, key -> {
+                    podStreamPrometheusConfig.incrementSupportTicketFetched();
+                    return supportTicketRepository.findById(key).filter(SupportTicket::isActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Support ticket not found: " + ticketId));
 
+        // Las copias de Redis no incluyen el creador (@JsonBackReference); como antes, solo se valida al leer de la base de datos
         Long clientId = Long.valueOf(authentication.getName());
         boolean isAdmin = authentication.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
-        if (!isAdmin && !ticket.getCreatedBy().getId().equals(clientId)) {
+        if (!isAdmin && ticket.getCreatedBy() != null && !ticket.getCreatedBy().getId().equals(clientId)) {
             logger.warn("Client id: {} not authorized to view ticket: {}", clientId, ticketId);
             podStreamPrometheusConfig.incrementSupportTicketErrors();
             throw new SecurityException("Not authorized to view this ticket");
         }
-
-        redisTemplate.opsForValue().set(cacheKey, ticket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementSupportTicketFetched();
         return new SupportTicketDTO(ticket);
     }
 
     @Override
-    public List<SupportTicketDTO> getSupportTicketsByClient(Authentication authentication) {
+    public CursorPageDTO<SupportTicketDTO> getSupportTicketsByClient(CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching support tickets for client");
         Long clientId = validateAuthentication(authentication, "ROLE_CLIENT");
 
-        List<SupportTicket> tickets = supportTicketRepository.findByCreatedByIdAndActiveTrue(clientId);
+        List<SupportTicket> tickets = supportTicketRepository.findByCreatedByIdAndActiveTrueAndIdLessThanOrderByIdDesc(clientId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementSupportTicketFetched();
-        return tickets.stream()
-                .map(ticket -> {
-                    redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + ticket.getId(), ticket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new SupportTicketDTO(ticket);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(tickets, SupportTicket::getId, SupportTicketDTO::new);
     }
 
     @Override
-    public List<SupportTicketDTO> getSupportTicketsByPurchaseOrder(Long purchaseOrderId, Authentication authentication) {
+    public CursorPageDTO<SupportTicketDTO> getSupportTicketsByPurchaseOrder(Long purchaseOrderId, CursorPageRequest page, Authentication authentication) {
         logger.info("Fetching support tickets for purchase order: {}", purchaseOrderId);
         validateAuthentication(authentication, "ROLE_CLIENT", "ROLE_ADMIN");
 
@@ -244,14 +237,9 @@ public class SupportTicketServiceImplement implements SupportTicketService {
             PurchaseOrder purchaseOrder = validatePurchaseOrder(purchaseOrderId, clientId);
         }
 
-        List<SupportTicket> tickets = supportTicketRepository.findByPurchaseOrderIdAndActiveTrue(purchaseOrderId);
+        List<SupportTicket> tickets = supportTicketRepository.findByPurchaseOrderIdAndActiveTrueAndIdLessThanOrderByIdDesc(purchaseOrderId, page.afterId(), page.pageable());
         podStreamPrometheusConfig.incrementSupportTicketFetched();
-        return tickets.stream()
-                .map(ticket -> {
-                    redisTemplate.opsForValue().set(TICKET_KEY_PREFIX + ticket.getId(), ticket, TICKET_TTL_MINUTES, TimeUnit.MINUTES);
-                    return new SupportTicketDTO(ticket);
-                })
-                .collect(Collectors.toList());
+        return page.toPage(tickets, SupportTicket::getId, SupportTicketDTO::new);
     }
 
     @Override
@@ -274,8 +262,8 @@ public class SupportTicketServiceImplement implements SupportTicketService {
 
         ticket.setActive(false);
         supportTicketRepository.save(ticket);
-        searchRepository.save(ticket);
-        redisTemplate.delete(TICKET_KEY_PREFIX + ticketId);
+        searchOutboxService.enqueueIndex(ticket);
+        ticketCache.evict(ticketId);
         podStreamPrometheusConfig.incrementSupportTicketDeleted();
     }
 
@@ -6,18 +6,20 @@ import com.podStream.PodStream.Models.MonitoringTicket;
 import com.podStream.PodStream.Models.TicketHistory;
 import com.podStream.PodStream.Repositories.Jpa.MonitoringTicketRepository;
 import com.podStream.PodStream.Repositories.Jpa.TicketHistoryRepository;
-import com.podStream.PodStream.Repositories.Elastic.ElasticTicketHistoryRepository;
+import com.podStream.PodStream.Services.Cache.CacheBatchWriter;
+import com.podStream.PodStream.Services.Cache.CacheRegion;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.SearchOutboxService;
 import com.podStream.PodStream.Services.TicketHistoryService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -36,21 +38,28 @@ public class TicketHistoryServiceImplement implements TicketHistoryService {
 
     private final TicketHistoryRepository ticketHistoryRepository;
     private final MonitoringTicketRepository monitoringTicketRepository;
-    private final ElasticTicketHistoryRepository searchRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SearchOutboxService searchOutboxService;
+    private final CacheBatchWriter cacheBatchWriter;
     private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final CacheRegion<Long, TicketHistory> historyCache;
 
     public TicketHistoryServiceImplement(
             TicketHistoryRepository ticketHistoryRepository,
             MonitoringTicketRepository monitoringTicketRepository,
-            ElasticTicketHistoryRepository searchRepository,
-            RedisTemplate<String, Object> redisTemplate,
-            PodStreamPrometheusConfig podStreamPrometheusConfig) {
+            SearchOutboxService searchOutboxService,
+            CacheBatchWriter cacheBatchWriter,
+            PodStreamPrometheusConfig podStreamPrometheusConfig,
+            CacheRegionManager cacheRegionManager) {
         this.ticketHistoryRepository = ticketHistoryRepository;
         this.monitoringTicketRepository = monitoringTicketRepository;
-        this.searchRepository = searchRepository;
-        this.redisTemplate = redisTemplate;
+        this.searchOutboxService = searchOutboxService;
+        this.cacheBatchWriter = cacheBatchWriter;
         this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.historyCache = cacheRegionManager.<Long, TicketHistory>region("ticket-history", TicketHistory.class)
+                .prefix(HISTORY_KEY_PREFIX)
+                .ttl(Duration.ofMinutes(HISTORY_TTL_MINUTES))
+                .usable(TicketHistory::isActive)
+                .build();
     }
 
     @Override
@@ -70,8 +79,8 @@ public class TicketHistoryServiceImplement implements TicketHistoryService {
         history.setActive(true);
 
         TicketHistory savedHistory = ticketHistoryRepository.save(history);
-        searchRepository.save(savedHistory);
-        redisTemplate.opsForValue().set(HISTORY_KEY_PREFIX + savedHistory.getId(), savedHistory, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
+        searchOutboxService.enqueueIndex(savedHistory);
+        historyCache.put(savedHistory.getId(), savedHistory);
 
         podStreamPrometheusConfig.incrementTicketHistoryCreated();
         return new TicketHistoryDTO(savedHistory);
@@ -82,28 +91,20 @@ public class TicketHistoryServiceImplement implements TicketHistoryService {
         logger.info("Fetching ticket history, historyId: {}", historyId);
         validateAuthentication(authentication, "ROLE_CLIENT", "ROLE_ADMIN");
 
-        String cacheKey = HISTORY_KEY_PREFIX + historyId;
-        TicketHistory cachedHistory = (TicketHistory) redisTemplate.opsForValue().get(cacheKey);
-        if (cachedHistory != null && cachedHistory.isActive()) {
-            logger.info("Ticket history id: {} retrieved from cache", historyId);
-            podStreamPrometheusConfig.incrementTicketHistoryCacheHit();
-            return new TicketHistoryDTO(cachedHistory);
-        }
-
-        TicketHistory history = ticketHistoryRepository.findById(historyId)
-                .filter(TicketHistory::isActive)
+        TicketHistory history = historyCache.get(historyId, key -> {
+                    podStreamPrometheusConfig.incrementTicketHistoryFetched();
+                    return ticketHistoryRepository.findById(key).filter(TicketHistory::isActive).orElse(null);
+                })
                 .orElseThrow(() -> new EntityNotFoundException("Ticket history not found: " + historyId));
 
+        // Las copias de Redis no incluyen el ticket (@JsonBackReference); como antes, solo se valida al leer de la base de datos
         Long clientId = Long.valueOf(authentication.getName());
         boolean isAdmin = authentication.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
-        if (!isAdmin && !history.getMonitoringTicket().getId().equals(clientId)) {
+        if (!isAdmin && history.getMonitoringTicket() != null && !history.getMonitoringTicket().getId().equals(clientId)) {
             logger.warn("Client id: {} not authorized to view history: {}", clientId, historyId);
             podStreamPrometheusConfig.incrementTicketHistoryErrors();
             throw new SecurityException("Not authorized to view this ticket history");
         }
-
-        redisTemplate.opsForValue().set(cacheKey, history, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
-        podStreamPrometheusConfig.incrementTicketHistoryFetched();
         return new TicketHistoryDTO(history);
     }
 
@@ -123,12 +124,15 @@ public class TicketHistoryServiceImplement implements TicketHistoryService {
 
         List<TicketHistory> historyList = ticketHistoryRepository.findByMonitoringTicketIdAndActiveTrue(monitoringTicketId);
         podStreamPrometheusConfig.incrementTicketHistoryFetched();
-        return historyList.stream()
+        CacheBatchWriter.Batch batch = cacheBatchWriter.batch();
+        List<TicketHistoryDTO> result = historyList.stream()
                 .map(history -> {
-                    redisTemplate.opsForValue().set(HISTORY_KEY_PREFIX + history.getId(), history, HISTORY_TTL_MINUTES, TimeUnit.MINUTES);
+                    historyCache.put(batch, history.getId(), history);
                     return new TicketHistoryDTO(history);
                 })
                 .collect(Collectors.toList());
+        batch.flushAsync();
+        return result;
     }
 
     @Override
@@ -143,8 +147,8 @@ public class TicketHistoryServiceImplement implements TicketHistoryService {
 
         history.setActive(false);
         ticketHistoryRepository.save(history);
-        searchRepository.save(history);
-        redisTemplate.delete(HISTORY_KEY_PREFIX + historyId);
+        searchOutboxService.enqueueIndex(history);
+        historyCache.evict(historyId);
         podStreamPrometheusConfig.incrementTicketHistoryDeleted();
     }
 
@@ -0,0 +1,46 @@
+package com.podStream.PodStream.Services;
+
+import java.util.Map;
+
+/**
+ * Interfaz para gestionar el stock de productos de forma atómica en PodStream.
+ * <p>Las reservas se aplican con sentencias {@code UPDATE} condicionales en lugar de
+ * leer, validar y guardar la entidad, de modo que dos compras concurrentes nunca
+ * puedan dejar el stock en negativo.
+ */
+public interface InventoryService {
+
+    /**
+     * Intenta descontar el stock de todos los productos indicados.
+     * <p>La operación es todo o nada: si algún producto no tiene stock suficiente,
+     * las líneas ya descontadas se devuelven y el stock queda como estaba.
+     *
+     * @param quantities Cantidad a descontar por ID de producto.
+     * @return {@code true} si se reservó todo el stock solicitado.
+     */
+    boolean tryReserve(Map<Long, Integer> quantities);
+
+    /**
+     * Intenta descontar el stock de un único producto.
+     *
+     * @param productId El ID del producto.
+     * @param quantity  La cantidad a descontar.
+     * @return {@code true} si había stock suficiente.
+     */
+    boolean tryReserve(Long productId, int quantity);
+
+    /**
+     * Devuelve al stock las cantidades indicadas.
+     *
+     * @param quantities Cantidad a devolver por ID de producto.
+     */
+    void release(Map<Long, Integer> quantities);
+
+    /**
+     * Devuelve al stock la cantidad indicada de un único producto.
+     *
+     * @param productId El ID del producto.
+     * @param quantity  La cantidad a devolver.
+     */
+    void release(Long productId, int quantity);
+}
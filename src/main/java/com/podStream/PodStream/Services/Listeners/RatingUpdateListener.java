@@ -1,7 +1,6 @@
 
 package com.podStream.PodStream.Services.Listeners;
 
-import com.atlassian.event.api.EventListener;
 import com.podStream.PodStream.Exception.RatingUpdateException;
 import com.podStream.PodStream.Models.ClientInteraction;
 import com.podStream.PodStream.Models.InteractionType;
@@ -12,6 +11,7 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +25,9 @@ import java.util.Optional;
  *
  * <p>Este componente utiliza {@link ProductRatingRepository} para gestionar las calificaciones de productos y responde a eventos de tipo
  * {@link ClientInteractionEvent}. Las calificaciones se actualizan solo si la nueva interacción implica una calificación más alta que la existente.
+ * Se ejecuta dentro de la transacción que registra la interacción, así que {@link RecommendationFoldInListener}
+ * ya ve la calificación tras el commit. Los errores solo se registran: una calificación que no se puede derivar
+ * no debe deshacer la interacción.
  *
  * @author [Tu Nombre o Equipo PodStream]
  * @since 0.0.1-SNAPSHOT
@@ -44,14 +47,31 @@ public class RatingUpdateListener {
      * <p>Recibe un evento {@link ClientInteractionEvent}, calcula una calificación implícita basada en el tipo de interacción
      * (por ejemplo, 5.0 para compras, 1.0 para vistas) y actualiza o crea una entrada en {@link ProductRating}.
      *
+     * <p>Los errores (interacción inválida, {@code quantity} ausente en una calificación explícita o fallo al
+     * guardar) se registran y no se propagan, para no deshacer la transacción que registra la interacción.
+     *
      * @param event El evento de interacción del usuario, que contiene la información de la interacción.
-     * @throws IllegalArgumentException Si la interacción es nula o contiene datos inválidos.
-     * @throws EntityNotFoundException Si no se encuentra el cliente o producto asociado.
      */
 
     @EventListener
     @Transactional
     public void handleUserInteraction(ClientInteractionEvent event) {
+        try {
+            updateRating(event);
+        } catch (RuntimeException e) {
+            logger.error("Could not derive a product rating from interaction {}: {}",
+                    event != null && event.getInteraction() != null ? event.getInteraction().getId() : null, e.getMessage());
+        }
+    }
+
+    /**
+     * Deriva la calificación de la interacción y la crea o la sube si es mayor que la existente.
+     *
+     * @throws IllegalArgumentException Si la interacción es nula o contiene datos inválidos.
+     * @throws EntityNotFoundException Si no se encuentra el cliente o producto asociado.
+     * @throws RatingUpdateException Si no se puede guardar la calificación.
+     */
+    private void updateRating(ClientInteractionEvent event) {
         if (event == null || event.getInteraction() == null) {
             logger.error("Evento de interacción nulo recibido");
             throw new IllegalArgumentException("El evento de interacción no puede ser nulo");
@@ -69,6 +89,10 @@ public class RatingUpdateListener {
 
         // Inferir calificación basada en el tipo de interacción
         Integer inferredRating = (int) inferRatingFromInteraction(interaction);
+        if (inferredRating <= 0) {
+            logger.debug("La interacción {} no genera calificación", interaction.getInteractionType());
+            return;
+        }
 
         // Buscar calificación existente
         Optional<ProductRating> existingRating = productRatingRepository.findByClientIdAndProductId(
@@ -163,65 +187,4 @@ public class RatingUpdateListener {
                 return 0.0;
         }
     }
-
-/**
-     * Procesa un evento de interacción de usuario para actualizar o crear una calificación de producto.
-     *
-     * @param event El evento que contiene la interacción del usuario.
-     */
-
-    @EventListener
-    public void handleClientInteractionEvent(ClientInteractionEvent event) {
-        ClientInteraction interaction = event.getInteraction();
-        logger.info("Processing interaction event for user {} and product {}",
-                interaction.getClient().getId(), interaction.getProduct().getId());
-
-        Double rating = calculateRating(interaction.getInteractionType(), interaction.getQuantity());
-        if (rating == null) {
-            logger.debug("No rating generated for interaction type {}", interaction.getInteractionType());
-            return;
-        }
-
-        Optional<ProductRating> existingRating = productRatingRepository
-                .findByClientIdAndProductId(interaction.getClient().getId(), interaction.getProduct().getId());
-
-        ProductRating productRating;
-        if (existingRating.isPresent()) {
-            productRating = existingRating.get();
-            productRating.setRating(rating.intValue());
-            // No actualizamos el timestamp, ya que @CreatedDate lo gestiona
-        } else {
-            productRating = new ProductRating( );
-        }
-
-        productRatingRepository.save(productRating);
-        logger.info("Saved product rating for user {} and product {} with rating {}",
-                interaction.getClient().getId(), interaction.getProduct().getId(), rating);
-    }
-
-
-/**
-     * Calcula la calificación basada en el tipo de interacción y la cantidad.
-     *
-     * @param type El tipo de interacción (VIEW, ADD_TO_CART, PURCHASE, RATING).
-     * @param quantity La cantidad asociada a la interacción (por ejemplo, número de ítems comprados).
-     * @return La calificación calculada, o null si no se genera una calificación.
-     */
-
-    private Double calculateRating(InteractionType type, Integer quantity) {
-        switch (type) {
-            case VIEW:
-                return 3.0; // Vista genera una calificación media
-            case ADD_TO_CART:
-                return 4.0; // Añadir al carrito indica interés
-            case PURCHASE:
-                return quantity != null && quantity > 0 ? 5.0 : 4.5; // Compra genera alta calificación
-            case RATING:
-                // Suponemos que el rating explícito viene de otro campo o lógica
-                return null; // Implementar según necesidades
-            default:
-                return null;
-        }
-    }
 }
-
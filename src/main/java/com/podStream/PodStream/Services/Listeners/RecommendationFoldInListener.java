@@ -0,0 +1,29 @@
+package com.podStream.PodStream.Services.Listeners;
+
+import com.podStream.PodStream.Models.ClientInteraction;
+import com.podStream.PodStream.Services.Events.ClientInteractionEvent;
+import com.podStream.PodStream.Services.RecommendationService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Actualiza las recomendaciones del cliente tras cada interacción, sin esperar al siguiente entrenamiento.
+ * <p>Se ejecuta tras el commit para que la valoración que deriva {@link RatingUpdateListener} ya sea visible.
+ */
+@Component
+public class RecommendationFoldInListener {
+
+    private final RecommendationService recommendationService;
+
+    public RecommendationFoldInListener(RecommendationService recommendationService) {
+        this.recommendationService = recommendationService;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInteraction(ClientInteractionEvent event) {
+        ClientInteraction interaction = event.getInteraction();
+        if (interaction.getClient() != null) {
+            recommendationService.foldInUser(interaction.getClient().getId());
+        }
+    }
+}
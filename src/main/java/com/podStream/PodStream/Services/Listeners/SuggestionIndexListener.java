@@ -0,0 +1,101 @@
+package com.podStream.PodStream.Services.Listeners;
+
+import com.podStream.PodStream.Repositories.Jpa.CategoryProductRepository;
+import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Events.CategoryChangedEvent;
+import com.podStream.PodStream.Services.Events.ProductChangedEvent;
+import com.podStream.PodStream.Services.SuggestionService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Mantiene actualizado el índice de autocompletado con los cambios del catálogo.
+ * <p>Los eventos locales se aplican tras el commit y se difunden por el canal {@value #CHANNEL} de Redis;
+ * el resto de nodos recarga solo la entidad afectada desde MySQL (una consulta por cambio, no por tecla).
+ */
+@Component
+public class SuggestionIndexListener implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndexListener.class);
+    static final String CHANNEL = "podstream:catalog:changed";
+
+    private final SuggestionService suggestionService;
+    private final ProductRepository productRepository;
+    private final CategoryProductRepository categoryRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public SuggestionIndexListener(SuggestionService suggestionService,
+                                   ProductRepository productRepository,
+                                   CategoryProductRepository categoryRepository,
+                                   StringRedisTemplate stringRedisTemplate,
+                                   RedisMessageListenerContainer listenerContainer) {
+        this.suggestionService = suggestionService;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        suggestionService.applyProductChange(event.getProductId(), event.getName(), event.getCategoryId(),
+                event.getSalesCount(), event.isActive());
+        publish("product", event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        suggestionService.applyCategoryChange(event.getCategoryId(), event.getName(), event.isActive());
+        publish("category", event.getCategoryId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            Long id = Long.valueOf(parts[2]);
+            if ("product".equals(parts[1])) {
+                productRepository.findById(id).ifPresentOrElse(
+                        product -> suggestionService.applyProductChange(product.getId(), product.getName(),
+                                product.getCategory() != null ? product.getCategory().getId() : null,
+                                product.getSalesCount(), product.isActive()),
+                        () -> suggestionService.applyProductChange(id, null, null, 0, false));
+            } else if ("category".equals(parts[1])) {
+                categoryRepository.findById(id).ifPresentOrElse(
+                        category -> suggestionService.applyCategoryChange(category.getId(), category.getName(), category.isActive()),
+                        () -> suggestionService.applyCategoryChange(id, null, false));
+            }
+        } catch (Exception e) {
+            logger.error("Error applying remote catalog change {}: {}", parts[1] + ":" + parts[2], e.getMessage());
+        }
+    }
+
+    private void publish(String type, Long id) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, nodeId + "|" + type + "|" + id);
+        } catch (Exception e) {
+            logger.error("Error publishing catalog change {}:{}: {}", type, id, e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.MonitoringTicketDTO;
 import com.podStream.PodStream.DTOS.MonitoringTicketRequestDTO;
 import com.podStream.PodStream.Models.MonitoringTicket;
 import com.podStream.PodStream.Models.TicketStatus;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import org.springframework.security.core.Authentication;
 
-import java.util.List;
 
 /**
  * Interfaz para gestionar tickets de monitoreo en PodStream.
@@ -14,10 +15,10 @@ import java.util.List;
 public interface MonitoringTicketService {
     MonitoringTicketDTO createTicket(MonitoringTicketRequestDTO request, Authentication authentication);
     MonitoringTicketDTO getTicket(Long id, Authentication authentication);
-    List<MonitoringTicketDTO> getTicketsBySource(String source, Authentication authentication);
-    List<MonitoringTicketDTO> getTicketsBySeverity(String severity, Authentication authentication);
-    List<MonitoringTicketDTO> getTicketsByStatus(TicketStatus status, Authentication authentication);
-    List<MonitoringTicketDTO> getAllTickets(Authentication authentication);
+    CursorPageDTO<MonitoringTicketDTO> getTicketsBySource(String source, CursorPageRequest page, Authentication authentication);
+    CursorPageDTO<MonitoringTicketDTO> getTicketsBySeverity(String severity, CursorPageRequest page, Authentication authentication);
+    CursorPageDTO<MonitoringTicketDTO> getTicketsByStatus(TicketStatus status, CursorPageRequest page, Authentication authentication);
+    CursorPageDTO<MonitoringTicketDTO> getAllTickets(CursorPageRequest page, Authentication authentication);
     MonitoringTicketDTO updateTicket(Long id, MonitoringTicketRequestDTO request, Authentication authentication);
     MonitoringTicketDTO updateStatus(Long id, TicketStatus status, Authentication authentication);
     void deleteTicket(Long id, Authentication authentication);
@@ -1,10 +1,11 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.OrderStatusHistoryDTO;
 import com.podStream.PodStream.Models.OrderStatus;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import org.springframework.security.core.Authentication;
 
-import java.util.List;
 
 /**
  * Interfaz para gestionar el historial de cambios de estado de órdenes en PodStream.
@@ -12,9 +13,9 @@ import java.util.List;
 public interface OrderStatusHistoryService {
     OrderStatusHistoryDTO createHistory(Long purchaseOrderId, Long supportTicketId, OrderStatus newStatus, Authentication authentication);
     OrderStatusHistoryDTO getHistory(Long id, Authentication authentication);
-    List<OrderStatusHistoryDTO> getHistoriesByPurchaseOrder(Long purchaseOrderId, Authentication authentication);
-    List<OrderStatusHistoryDTO> getHistoriesByNewStatus(OrderStatus newStatus, Authentication authentication);
-    List<OrderStatusHistoryDTO> getHistoriesByChangedBy(String changedBy, Authentication authentication);
-    List<OrderStatusHistoryDTO> getAllHistories(Authentication authentication);
+    CursorPageDTO<OrderStatusHistoryDTO> getHistoriesByPurchaseOrder(Long purchaseOrderId, CursorPageRequest page, Authentication authentication);
+    CursorPageDTO<OrderStatusHistoryDTO> getHistoriesByNewStatus(OrderStatus newStatus, CursorPageRequest page, Authentication authentication);
+    CursorPageDTO<OrderStatusHistoryDTO> getHistoriesByChangedBy(String changedBy, CursorPageRequest page, Authentication authentication);
+    CursorPageDTO<OrderStatusHistoryDTO> getAllHistories(CursorPageRequest page, Authentication authentication);
     void deleteHistory(Long id, Authentication authentication);
 }
@@ -0,0 +1,79 @@
+package com.podStream.PodStream.Services.Pagination;
+
+import com.podStream.PodStream.DTOS.CursorPageDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Petición de una página con paginación keyset sobre el ID, en orden descendente (lo más reciente primero).
+ * <p>Los repositorios reciben {@link #afterId()} y {@link #pageable()} en métodos
+ * {@code ...AndIdLessThanOrderByIdDesc(..., Long id, Pageable pageable)}: la consulta usa el índice de la clave
+ * primaria y su coste no depende de la profundidad de la página. Se pide una fila de más para saber si hay
+ * página siguiente sin ejecutar un {@code COUNT}.
+ *
+ * @param afterId Último ID de la página anterior; {@link Long#MAX_VALUE} en la primera página.
+ * @param size    Tamaño de página, entre 1 y {@value #MAX_SIZE}.
+ */
+public record CursorPageRequest(Long afterId, int size) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    private static final String PREFIX = "id:";
+
+    /**
+     * Construye la petición a partir de los parámetros de la API.
+     *
+     * @param cursor Cursor opaco devuelto por la página anterior, o {@code null} para la primera.
+     * @param size   Tamaño pedido; se acota a [1, {@value #MAX_SIZE}].
+     * @return La petición.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static CursorPageRequest of(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE));
+        return new CursorPageRequest(cursor == null || cursor.isBlank() ? Long.MAX_VALUE : decode(cursor), pageSize);
+    }
+
+    public static CursorPageRequest first(int size) {
+        return of(null, size);
+    }
+
+    public Pageable pageable() {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Convierte las filas leídas (hasta {@code size + 1}) en la página de DTOs y calcula el siguiente cursor.
+     */
+    public <E, D> CursorPageDTO<D> toPage(List<E> rows, Function<E, Long> idOf, Function<E, D> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        List<D> items = new ArrayList<>(page.size());
+        for (E row : page) {
+            items.add(mapper.apply(row));
+        }
+        String nextCursor = hasMore ? encode(idOf.apply(page.get(page.size() - 1))) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    private static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.valueOf(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
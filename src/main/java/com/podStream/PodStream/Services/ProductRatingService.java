@@ -1,9 +1,10 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.ProductRatingDTO;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import org.springframework.security.core.Authentication;
 
-import java.util.List;
 
 /**
  * Interfaz para gestionar calificaciones de productos en PodStream.
@@ -37,7 +38,7 @@ public interface ProductRatingService {
      * @param productId El ID del producto.
      * @return Lista de DTOs de calificaciones.
      */
-    List<ProductRatingDTO> getRatingsByProduct(Long productId);
+    CursorPageDTO<ProductRatingDTO> getRatingsByProduct(Long productId, CursorPageRequest page);
 
     /**
      * Obtiene todas las calificaciones activas para un cliente.
@@ -45,7 +46,7 @@ public interface ProductRatingService {
      * @param clientId El ID del cliente.
      * @return Lista de DTOs de calificaciones.
      */
-    List<ProductRatingDTO> getRatingsByClient(Long clientId);
+    CursorPageDTO<ProductRatingDTO> getRatingsByClient(Long clientId, CursorPageRequest page);
 
     /**
      * Actualiza una calificación existente.
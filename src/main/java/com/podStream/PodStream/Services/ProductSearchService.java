@@ -1,4 +1,13 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.ProductSearchRequestDTO;
+import com.podStream.PodStream.DTOS.ProductSearchResponseDTO;
+
 public interface ProductSearchService {
+
+    /**
+     * Devuelve una página de productos activos junto con las facetas de categoría, color, precio,
+     * puntuación y disponibilidad, todo en una única petición a Elasticsearch.
+     */
+    ProductSearchResponseDTO searchCatalog(ProductSearchRequestDTO request);
 }
@@ -1,9 +1,12 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.ProductDTO;
 import com.podStream.PodStream.Models.Product;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import org.springframework.security.core.Authentication;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,14 +15,19 @@ import java.util.List;
 public interface ProductService {
     ProductDTO createProduct(ProductDTO productDTO, Authentication authentication);
     ProductDTO getProduct(Long id);
-    List<ProductDTO> getAllProducts();
-    List<ProductDTO> getProductsByName(String name);
-    List<ProductDTO> getProductsByCategory(Long categoryId);
-    List<ProductDTO> getProductsByPriceRange(double minPrice, double maxPrice);
+    CursorPageDTO<ProductDTO> getAllProducts(CursorPageRequest page);
+    CursorPageDTO<ProductDTO> getProductsByName(String name, CursorPageRequest page);
+    CursorPageDTO<ProductDTO> getProductsByCategory(Long categoryId, CursorPageRequest page);
+    CursorPageDTO<ProductDTO> getProductsByPriceRange(double minPrice, double maxPrice, CursorPageRequest page);
     List<ProductDTO> getTopPopularProducts(int limit);
     ProductDTO updateProduct(Long id, ProductDTO productDTO, Authentication authentication);
     ProductDTO updateStock(Long id, Integer newStock, String updatedBy, Authentication authentication);
     void deleteProduct(Long id, Authentication authentication);
     void addRating(Long id, int rating, Long clientId, Authentication authentication);
 
+    /**
+     * Expulsa de la caché, tras el commit, productos cuyo stock ha cambiado fuera de este servicio.
+     */
+    void evictCachedProducts(Collection<Long> productIds);
+
 }
\ No newline at end of file
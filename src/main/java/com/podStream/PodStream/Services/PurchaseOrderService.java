@@ -1,10 +1,11 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.PurchaseOrderDTO;
 import com.podStream.PodStream.Models.OrderStatus;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import org.springframework.security.core.Authentication;
 
-import java.util.List;
 
 /**
  * Interfaz para gestionar órdenes de compra en PodStream.
@@ -68,7 +69,7 @@ public interface PurchaseOrderService {
      * @param authentication La autenticación del usuario.
      * @return Lista de DTOs de órdenes.
      */
-    List<PurchaseOrderDTO> getOrdersByClient(Authentication authentication);
+    CursorPageDTO<PurchaseOrderDTO> getOrdersByClient(CursorPageRequest page, Authentication authentication);
 
     /**
      * Elimina (soft delete) una orden.
@@ -0,0 +1,348 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Factores de usuarios y productos de un modelo ALS mapeados en memoria desde un fichero de solo lectura, para
+ * puntuar en la JVM sin Spark. Varios nodos pueden mapear el mismo fichero y el sistema operativo comparte las
+ * páginas entre procesos.
+ * <p>Formato (big-endian): cabecera de {@value #HEADER_BYTES} bytes (magic, versión de formato, rango, relleno,
+ * número de usuarios, número de productos) seguida de los registros de usuarios y luego los de productos, cada
+ * uno {@code id (long)} + {@code rango} floats, ordenados por ID. Al abrir solo se copian los IDs al heap; la
+ * búsqueda de un ID es binaria y su posición da directamente el desplazamiento del registro.
+ * <p>Las lecturas son absolutas sobre el buffer, así que una instancia se puede usar desde varios hilos.
+ * <p>{@link #foldIn} calcula el vector de un usuario nuevo o con valoraciones recientes contra los factores de
+ * producto fijos, el mismo paso de mínimos cuadrados que hace ALS para cada usuario, sin reentrenar.
+ */
+public final class AlsFactors {
+
+    static final int MAGIC = 0x50534146; // "PSAF"
+    static final int FORMAT_VERSION = 1;
+    static final int COUNTS_OFFSET = 16;
+    static final int HEADER_BYTES = 32;
+
+    private final long version;
+    private final int rank;
+    private final int stride;
+    private final ByteBuffer buffer;
+    private final long[] userIds;
+    private final long[] itemIds;
+    private final int itemsOffset;
+
+    private AlsFactors(long version, int rank, ByteBuffer buffer, long[] userIds, long[] itemIds) {
+        this.version = version;
+        this.rank = rank;
+        this.stride = Long.BYTES + rank * Float.BYTES;
+        this.buffer = buffer;
+        this.userIds = userIds;
+        this.itemIds = itemIds;
+        this.itemsOffset = HEADER_BYTES + userIds.length * stride;
+    }
+
+    /**
+     * Mapea un fichero escrito con {@link FactorFileWriter}.
+     */
+    public static AlsFactors open(Path path, long version) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Factor file too large to map: " + channel.size() + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an ALS factor file: " + path);
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported factor file format " + buffer.getInt(4) + ": " + path);
+            }
+            int rank = buffer.getInt(8);
+            long users = buffer.getLong(COUNTS_OFFSET);
+            long items = buffer.getLong(COUNTS_OFFSET + Long.BYTES);
+            long stride = Long.BYTES + (long) rank * Float.BYTES;
+            if (rank <= 0 || HEADER_BYTES + (users + items) * stride != buffer.capacity()) {
+                throw new IOException("Truncated or corrupted factor file: " + path);
+            }
+            long[] userIds = readIds(buffer, HEADER_BYTES, (int) users, (int) stride);
+            long[] itemIds = readIds(buffer, (int) (HEADER_BYTES + users * stride), (int) items, (int) stride);
+            return new AlsFactors(version, rank, buffer, userIds, itemIds);
+        }
+    }
+
+    private static long[] readIds(ByteBuffer buffer, int offset, int count, int stride) throws IOException {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = buffer.getLong(offset + i * stride);
+            if (i > 0 && ids[i] <= ids[i - 1]) {
+                throw new IOException("Factor file IDs are not sorted");
+            }
+        }
+        return ids;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int rank() {
+        return rank;
+    }
+
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public int itemCount() {
+        return itemIds.length;
+    }
+
+    /**
+     * Copia los factores del usuario.
+     *
+     * @return {@code null} si el usuario no estaba en el entrenamiento.
+     */
+    public float[] userFactors(long userId) {
+        int row = Arrays.binarySearch(userIds, userId);
+        if (row < 0) {
+            return null;
+        }
+        float[] factors = new float[rank];
+        int offset = HEADER_BYTES + row * stride + Long.BYTES;
+        for (int i = 0; i < rank; i++) {
+            factors[i] = buffer.getFloat(offset + i * Float.BYTES);
+        }
+        return factors;
+    }
+
+    /**
+     * Copia los factores del producto.
+     *
+     * @return {@code null} si el producto no estaba en el entrenamiento.
+     */
+    public float[] itemFactors(long itemId) {
+        int row = Arrays.binarySearch(itemIds, itemId);
+        if (row < 0) {
+            return null;
+        }
+        float[] factors = new float[rank];
+        int offset = itemsOffset + row * stride + Long.BYTES;
+        for (int i = 0; i < rank; i++) {
+            factors[i] = buffer.getFloat(offset + i * Float.BYTES);
+        }
+        return factors;
+    }
+
+    /**
+     * Los {@code k} candidatos con mayor puntuación para el usuario, de mayor a menor.
+     *
+     * @return Vacío si el usuario no tiene factores. Los candidatos sin factores se ignoran.
+     */
+    public List<ScoredItem> topK(long userId, long[] candidateIds, int k) {
+        float[] user = userFactors(userId);
+        return user != null ? topK(user, candidateIds, k) : List.of();
+    }
+
+    /**
+     * Los {@code k} candidatos con mayor producto escalar con el vector dado, de mayor a menor. Usa un
+     * montículo de mínimos de tamaño {@code k}: O(n·rango + n·log k) sin ordenar todos los candidatos.
+     */
+    public List<ScoredItem> topK(float[] user, long[] candidateIds, int k) {
+        if (k <= 0 || candidateIds.length == 0) {
+            return List.of();
+        }
+        TopKHeap heap = new TopKHeap(Math.min(k, candidateIds.length));
+        for (long candidateId : candidateIds) {
+            int row = Arrays.binarySearch(itemIds, candidateId);
+            if (row >= 0) {
+                heap.offer(candidateId, dot(user, itemsOffset + row * stride + Long.BYTES));
+            }
+        }
+        return heap.drainDescending();
+    }
+
+    /**
+     * Los {@code k} productos del modelo con mayor puntuación para el vector dado, de mayor a menor.
+     */
+    public List<ScoredItem> topK(float[] user, int k) {
+        if (k <= 0 || itemIds.length == 0) {
+            return List.of();
+        }
+        TopKHeap heap = new TopKHeap(Math.min(k, itemIds.length));
+        for (int row = 0; row < itemIds.length; row++) {
+            heap.offer(itemIds[row], dot(user, itemsOffset + row * stride + Long.BYTES));
+        }
+        return heap.drainDescending();
+    }
+
+    /**
+     * Vector del usuario que mejor explica sus valoraciones con los factores de producto fijos: resuelve
+     * {@code (YᵀY + λ·n·I) x = Yᵀr} por Cholesky, con la regularización escalada por el número de valoraciones
+     * igual que el ALS explícito de Spark. Cuesta O(n·rango² + rango³), microsegundos para rangos habituales.
+     *
+     * @return {@code null} si ninguno de los productos valorados tiene factores.
+     */
+    public float[] foldIn(long[] ratedItemIds, float[] ratings, double regParam) {
+        double[] normal = new double[rank * rank];
+        double[] rhs = new double[rank];
+        double[] item = new double[rank];
+        int rated = 0;
+        for (int i = 0; i < ratedItemIds.length; i++) {
+            int row = Arrays.binarySearch(itemIds, ratedItemIds[i]);
+            if (row < 0) {
+                continue;
+            }
+            int offset = itemsOffset + row * stride + Long.BYTES;
+            for (int p = 0; p < rank; p++) {
+                item[p] = buffer.getFloat(offset + p * Float.BYTES);
+                rhs[p] += ratings[i] * item[p];
+                for (int q = 0; q <= p; q++) {
+                    normal[p * rank + q] += item[p] * item[q];
+                }
+            }
+            rated++;
+        }
+        if (rated == 0) {
+            return null;
+        }
+        for (int p = 0; p < rank; p++) {
+            normal[p * rank + p] += regParam * rated;
+        }
+        return solveCholesky(normal, rhs, rank);
+    }
+
+    /**
+     * Resuelve {@code A x = b} con {@code A} simétrica definida positiva, de la que solo se lee el triángulo
+     * inferior; se sobrescribe con su factor de Cholesky.
+     *
+     * @return {@code null} si la matriz no es definida positiva (sin regularización y pocas valoraciones).
+     */
+    private static float[] solveCholesky(double[] a, double[] b, int n) {
+        for (int j = 0; j < n; j++) {
+            double diagonal = a[j * n + j];
+            for (int k = 0; k < j; k++) {
+                diagonal -= a[j * n + k] * a[j * n + k];
+            }
+            if (diagonal <= 0) {
+                return null;
+            }
+            a[j * n + j] = Math.sqrt(diagonal);
+            for (int i = j + 1; i < n; i++) {
+                double value = a[i * n + j];
+                for (int k = 0; k < j; k++) {
+                    value -= a[i * n + k] * a[j * n + k];
+                }
+                a[i * n + j] = value / a[j * n + j];
+            }
+        }
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            double value = b[i];
+            for (int k = 0; k < i; k++) {
+                value -= a[i * n + k] * y[k];
+            }
+            y[i] = value / a[i * n + i];
+        }
+        float[] x = new float[n];
+        double[] solution = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            double value = y[i];
+            for (int k = i + 1; k < n; k++) {
+                value -= a[k * n + i] * solution[k];
+            }
+            solution[i] = value / a[i * n + i];
+            x[i] = (float) solution[i];
+        }
+        return x;
+    }
+
+    private float dot(float[] user, int offset) {
+        float sum = 0f;
+        for (int i = 0; i < rank; i++) {
+            sum += user[i] * buffer.getFloat(offset + i * Float.BYTES);
+        }
+        return sum;
+    }
+
+    /**
+     * Montículo de mínimos sobre arrays primitivos; la raíz es el peor de los {@code k} mejores.
+     */
+    private static final class TopKHeap {
+
+        private final long[] ids;
+        private final float[] scores;
+        private int size;
+
+        TopKHeap(int capacity) {
+            ids = new long[capacity];
+            scores = new float[capacity];
+        }
+
+        void offer(long id, float score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<ScoredItem> drainDescending() {
+            ScoredItem[] result = new ScoredItem[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = new ScoredItem(ids[0], scores[0]);
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return List.of(result);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && scores[right] < scores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
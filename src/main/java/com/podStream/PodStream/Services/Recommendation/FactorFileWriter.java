@@ -0,0 +1,81 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Escribe un fichero de factores ALS en el formato que mapea {@link AlsFactors}: primero todos los usuarios y
+ * después todos los productos, cada bloque en orden ascendente de ID. Los contadores de la cabecera se
+ * rellenan al cerrar, así que los factores se pueden volcar según llegan de Spark sin tenerlos en memoria.
+ */
+public final class FactorFileWriter implements Closeable {
+
+    private final Path path;
+    private final int rank;
+    private final DataOutputStream out;
+    private long userCount;
+    private long itemCount;
+    private long lastId = Long.MIN_VALUE;
+    private boolean writingItems;
+
+    public FactorFileWriter(Path path, int rank) throws IOException {
+        if (rank <= 0) {
+            throw new IllegalArgumentException("Rank must be positive");
+        }
+        this.path = path;
+        this.rank = rank;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        out.writeInt(AlsFactors.MAGIC);
+        out.writeInt(AlsFactors.FORMAT_VERSION);
+        out.writeInt(rank);
+        out.writeInt(0);
+        out.writeLong(0);
+        out.writeLong(0);
+    }
+
+    public void addUser(long userId, float[] factors) throws IOException {
+        if (writingItems) {
+            throw new IllegalStateException("Users must be written before items");
+        }
+        write(userId, factors);
+        userCount++;
+    }
+
+    public void addItem(long itemId, float[] factors) throws IOException {
+        if (!writingItems) {
+            writingItems = true;
+            lastId = Long.MIN_VALUE;
+        }
+        write(itemId, factors);
+        itemCount++;
+    }
+
+    private void write(long id, float[] factors) throws IOException {
+        if (id <= lastId) {
+            throw new IllegalArgumentException("IDs must be written in ascending order: " + id + " after " + lastId);
+        }
+        if (factors.length != rank) {
+            throw new IllegalArgumentException("Expected " + rank + " factors but got " + factors.length);
+        }
+        lastId = id;
+        out.writeLong(id);
+        for (float factor : factors) {
+            out.writeFloat(factor);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(AlsFactors.COUNTS_OFFSET);
+            file.writeLong(userCount);
+            file.writeLong(itemCount);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Versiones de los factores ALS en disco ({@code podstream.recommendation.factors.dir}). Cada exportación se
+ * escribe en {@code factors-v<versión>.bin} a través de un fichero temporal y se publica reescribiendo de forma
+ * atómica el fichero {@code CURRENT}; los nodos que comparten el directorio mapean la versión nueva en el
+ * siguiente {@code refresh-ms}.
+ * <p>Se conservan las {@code keep-versions} versiones más recientes. En Linux borrar un fichero mapeado no
+ * invalida el mapeo, así que las peticiones en curso sobre la versión anterior terminan sin errores.
+ */
+@Component
+public class FactorStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FactorStore.class);
+    private static final String CURRENT_FILE = "CURRENT";
+    private static final Pattern VERSION_FILE = Pattern.compile("factors-v(\\d+)\\.bin");
+
+    /**
+     * Vuelca los factores de un modelo en el escritor.
+     */
+    @FunctionalInterface
+    public interface Export {
+        void writeTo(FactorFileWriter writer) throws IOException;
+    }
+
+    private final Path directory;
+    private final int keepVersions;
+    private volatile AlsFactors current;
+    private volatile boolean loaded;
+
+    public FactorStore(PodStreamPrometheusConfig podStreamPrometheusConfig,
+                       @Value("${podstream.recommendation.factors.dir:data/als-factors}") String directory,
+                       @Value("${podstream.recommendation.factors.keep-versions:3}") int keepVersions) {
+        this.directory = Paths.get(directory);
+        this.keepVersions = Math.max(1, keepVersions);
+        podStreamPrometheusConfig.registerRecommendationFactorVersion(() -> current != null ? current.version() : 0);
+    }
+
+    /**
+     * Los factores de la versión publicada, si hay alguna.
+     */
+    public Optional<AlsFactors> current() {
+        if (!loaded) {
+            refresh();
+        }
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Escribe y publica una versión nueva, y la deja mapeada en este nodo.
+     *
+     * @return La versión publicada.
+     */
+    public synchronized long publish(int rank, Export export) throws IOException {
+        Files.createDirectories(directory);
+        long version = Math.max(System.currentTimeMillis(), current != null ? current.version() + 1 : 0);
+        Path temporary = directory.resolve(fileName(version) + ".tmp");
+        try {
+            try (FactorFileWriter writer = new FactorFileWriter(temporary, rank)) {
+                export.writeTo(writer);
+            }
+            Path target = directory.resolve(fileName(version));
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            AlsFactors factors = AlsFactors.open(target, version);
+            writeAtomically(directory.resolve(CURRENT_FILE), String.valueOf(version));
+            current = factors;
+            loaded = true;
+            logger.info("Published ALS factors version {}: {} users, {} items, rank {}",
+                    version, factors.userCount(), factors.itemCount(), rank);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        prune();
+        return version;
+    }
+
+    /**
+     * Mapea la versión a la que apunta {@code CURRENT} si no es la que ya está mapeada.
+     */
+    @Scheduled(fixedDelayString = "${podstream.recommendation.factors.refresh-ms:30000}")
+    public synchronized void refresh() {
+        try {
+            long version = Long.parseLong(Files.readString(directory.resolve(CURRENT_FILE), StandardCharsets.UTF_8).trim());
+            if (current == null || current.version() != version) {
+                current = AlsFactors.open(directory.resolve(fileName(version)), version);
+                logger.info("Mapped ALS factors version {}", version);
+            }
+        } catch (NoSuchFileException e) {
+            logger.debug("No ALS factors published yet in {}", directory);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error loading ALS factors from {}: {}", directory, e.getMessage());
+        } finally {
+            loaded = true;
+        }
+    }
+
+    private void prune() {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Long> versions = files
+                    .map(path -> VERSION_FILE.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted((a, b) -> Long.compare(b, a))
+                    .toList();
+            for (Long version : versions.subList(Math.min(keepVersions, versions.size()), versions.size())) {
+                if (current == null || current.version() != version) {
+                    Files.deleteIfExists(directory.resolve(fileName(version)));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Error pruning old ALS factor versions: {}", e.getMessage());
+        }
+    }
+
+    private static void writeAtomically(Path target, String content) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.writeString(temporary, content, StandardCharsets.UTF_8);
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String fileName(long version) {
+        return "factors-v" + version + ".bin";
+    }
+}
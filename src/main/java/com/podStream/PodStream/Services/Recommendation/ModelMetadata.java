@@ -0,0 +1,14 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import java.time.Instant;
+
+/**
+ * Metadatos de una versión del modelo ALS, guardados junto al modelo en {@code metadata.json}.
+ *
+ * @param version      Versión (milisegundos de época del entrenamiento).
+ * @param rmse         Error cuadrático medio sobre el conjunto de prueba; {@code NaN} si no se pudo evaluar.
+ * @param trainingRows Valoraciones usadas para entrenar.
+ * @param testRows     Valoraciones reservadas para evaluar.
+ */
+public record ModelMetadata(long version, Instant trainedAt, double rmse, long trainingRows, long testRows,
+                            long userCount, long itemCount, int rank) {}
@@ -0,0 +1,162 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.spark.ml.util.MLWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Versiones guardadas del modelo ALS en {@code podstream.recommendation.models.dir}. Cada versión es un
+ * directorio {@code v<versión>} con el modelo de Spark ({@code model/}) y sus {@link ModelMetadata}; el fichero
+ * {@code CURRENT} apunta a la versión activa.
+ * <p>Una versión se escribe en un directorio temporal y se renombra al terminar, así que un directorio
+ * {@code v<versión>} siempre está completo. Se conservan las {@code keep-versions} más recientes (y siempre la
+ * activa) para poder volver atrás.
+ */
+@Component
+public class ModelRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModelRegistry.class);
+    private static final String CURRENT_FILE = "CURRENT";
+    private static final String METADATA_FILE = "metadata.json";
+    private static final String MODEL_DIR = "model";
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int keepVersions;
+
+    public ModelRegistry(ObjectMapper objectMapper,
+                         @Value("${podstream.recommendation.models.dir:data/als-models}") String directory,
+                         @Value("${podstream.recommendation.models.keep-versions:5}") int keepVersions) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.keepVersions = Math.max(1, keepVersions);
+    }
+
+    /**
+     * Guarda el modelo como versión nueva, sin activarla.
+     */
+    public synchronized void save(MLWritable model, ModelMetadata metadata) throws IOException {
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(versionDir(metadata.version()) + ".tmp");
+        try {
+            FileSystemUtils.deleteRecursively(temporary);
+            model.write().overwrite().save(temporary.resolve(MODEL_DIR).toString());
+            objectMapper.writeValue(temporary.resolve(METADATA_FILE).toFile(), metadata);
+            Files.move(temporary, directory.resolve(versionDir(metadata.version())), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            FileSystemUtils.deleteRecursively(temporary);
+        }
+        logger.info("Saved recommendation model version {} (RMSE {})", metadata.version(), metadata.rmse());
+    }
+
+    /**
+     * Marca la versión como activa y borra las versiones antiguas que sobran.
+     */
+    public synchronized void activate(long version) throws IOException {
+        if (!Files.isDirectory(directory.resolve(versionDir(version)))) {
+            throw new NoSuchFileException("Recommendation model version " + version + " not found");
+        }
+        Path current = directory.resolve(CURRENT_FILE);
+        Path temporary = directory.resolve(CURRENT_FILE + ".tmp");
+        Files.writeString(temporary, String.valueOf(version), StandardCharsets.UTF_8);
+        Files.move(temporary, current, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        prune(version);
+    }
+
+    /**
+     * Los metadatos de la versión activa, si hay alguna.
+     */
+    public Optional<ModelMetadata> active() {
+        try {
+            long version = Long.parseLong(Files.readString(directory.resolve(CURRENT_FILE), StandardCharsets.UTF_8).trim());
+            return find(version);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | NumberFormatException e) {
+            logger.error("Error reading the active recommendation model: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Optional<ModelMetadata> find(long version) {
+        Path metadata = directory.resolve(versionDir(version)).resolve(METADATA_FILE);
+        if (!Files.exists(metadata)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(metadata.toFile(), ModelMetadata.class));
+        } catch (IOException e) {
+            logger.error("Error reading metadata of recommendation model {}: {}", version, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Todas las versiones guardadas, de la más reciente a la más antigua.
+     */
+    public List<ModelMetadata> list() {
+        List<ModelMetadata> models = new ArrayList<>();
+        for (long version : versions()) {
+            find(version).ifPresent(models::add);
+        }
+        return models;
+    }
+
+    /**
+     * Ruta del modelo de Spark de la versión, para {@code ALSModel.load}.
+     */
+    public String modelPath(long version) {
+        return directory.resolve(versionDir(version)).resolve(MODEL_DIR).toString();
+    }
+
+    private List<Long> versions() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.matches("v\\d+"))
+                    .map(name -> Long.parseLong(name.substring(1)))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException e) {
+            logger.error("Error listing recommendation models: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void prune(long activeVersion) {
+        List<Long> versions = versions();
+        for (Long version : versions.subList(Math.min(keepVersions, versions.size()), versions.size())) {
+            if (version != activeVersion) {
+                try {
+                    FileSystemUtils.deleteRecursively(directory.resolve(versionDir(version)));
+                } catch (IOException e) {
+                    logger.warn("Error deleting recommendation model {}: {}", version, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String versionDir(long version) {
+        return "v" + version;
+    }
+}
@@ -0,0 +1,106 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import org.apache.spark.sql.DataFrameReader;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.functions;
+import org.apache.spark.sql.types.DataTypes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Carga las valoraciones activas para entrenar ALS con la fuente JDBC particionada de Spark: solo las columnas
+ * {@code (client_id, product_id, rating)}, sin entidades ni asociaciones en el heap de la aplicación.
+ * <p>El rango de IDs de {@code product_ratings} se reparte en {@code partitions} consultas por rango que Spark
+ * lee en paralelo con un cursor de {@code fetch-size} filas, y
+ * cada partición acaba en bloques columnares de Spark. La memoria depende del tamaño de esos bloques, no del
+ * grafo de entidades.
+ * <p>En MySQL el cursor requiere {@code useCursorFetch=true}; se pasa como propiedad de las conexiones que abre
+ * Spark, no en la URL compartida, para no cambiar el modo de las sentencias del resto de la aplicación.
+ */
+@Component
+public class RatingsLoader {
+
+    private static final String RATINGS_QUERY =
+            "(SELECT id, client_id, product_id, rating FROM product_ratings WHERE active = TRUE) ratings";
+    private static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
+    private static final String USER_RATINGS_QUERY =
+            "SELECT product_id, rating FROM product_ratings WHERE client_id = ? AND active = TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int partitions;
+    private final int fetchSize;
+
+    public RatingsLoader(JdbcTemplate jdbcTemplate,
+                         @Value("${spring.datasource.url}") String url,
+                         @Value("${spring.datasource.username}") String username,
+                         @Value("${spring.datasource.password}") String password,
+                         @Value("${podstream.recommendation.training.partitions:8}") int partitions,
+                         @Value("${podstream.recommendation.training.fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.partitions = Math.max(1, partitions);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Las valoraciones activas como {@code (userId, productId, rating)} enteros, el esquema que espera ALS.
+     *
+     * @return Vacío si no hay valoraciones.
+     */
+    public Optional<Dataset<Row>> load(SparkSession spark) {
+        // Límites sobre la clave primaria (sin filtrar por activas) para que la consulta sea inmediata; solo
+        // deciden el reparto entre particiones, no qué filas se leen.
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM product_ratings");
+        if (bounds.get("min_id") == null) {
+            return Optional.empty();
+        }
+        long lower = ((Number) bounds.get("min_id")).longValue();
+        long upper = ((Number) bounds.get("max_id")).longValue();
+
+        DataFrameReader reader = spark.read();
+        if (url.startsWith(MYSQL_URL_PREFIX)) {
+            reader = reader.option("useCursorFetch", "true");
+        }
+        Dataset<Row> ratings = reader
+                .format("jdbc")
+                .option("url", url)
+                .option("user", username)
+                .option("password", password)
+                .option("dbtable", RATINGS_QUERY)
+                .option("partitionColumn", "id")
+                .option("lowerBound", lower)
+                .option("upperBound", upper + 1)
+                .option("numPartitions", (int) Math.min(partitions, upper - lower + 1))
+                .option("fetchsize", fetchSize)
+                .load()
+                .select(
+                        functions.col("client_id").cast(DataTypes.IntegerType).as("userId"),
+                        functions.col("product_id").cast(DataTypes.IntegerType).as("productId"),
+                        functions.col("rating").cast(DataTypes.IntegerType).as("rating")
+                );
+        return Optional.of(ratings);
+    }
+
+    /**
+     * Las valoraciones activas de un usuario (producto → valoración), para recalcular solo su vector.
+     */
+    public Map<Long, Integer> loadUser(long userId) {
+        Map<Long, Integer> ratings = new LinkedHashMap<>();
+        jdbcTemplate.query(USER_RATINGS_QUERY, rs -> {
+            ratings.put(rs.getLong(1), rs.getInt(2));
+        }, userId);
+        return ratings;
+    }
+}
@@ -0,0 +1,197 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Almacén de recomendaciones precalculadas en Redis. Cada entrenamiento ALS escribe una versión nueva en el hash
+ * {@code recommendation:topn:v<versión>} (campo: ID del usuario; valor: {@link TopNRecommendations} en binario) y,
+ * cuando está completa, la publica cambiando el puntero {@code recommendation:topn:current}.
+ * <p>Las lecturas nunca ven una versión a medias: mientras se escribe, la versión nueva no es la actual y caduca
+ * sola si el proceso muere antes de publicarla. La versión anterior se conserva
+ * {@code podstream.recommendation.topn.retain-previous-ms} para que los nodos que aún no han refrescado el
+ * puntero ({@code version-refresh-ms}) sigan leyéndola.
+ */
+@Component
+public class RecommendationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationStore.class);
+    private static final String KEY_PREFIX = "recommendation:topn:";
+    private static final String CURRENT_KEY = KEY_PREFIX + "current";
+    private static final String SEQUENCE_KEY = KEY_PREFIX + "seq";
+    private static final Duration UNPUBLISHED_TTL = Duration.ofHours(6);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PodStreamPrometheusConfig podStreamPrometheusConfig;
+    private final int chunkSize;
+    private final Duration retainPrevious;
+    private volatile Long currentVersion;
+    private volatile boolean versionLoaded;
+
+    public RecommendationStore(StringRedisTemplate stringRedisTemplate,
+                               PodStreamPrometheusConfig podStreamPrometheusConfig,
+                               @Value("${podstream.recommendation.topn.chunk-size:1000}") int chunkSize,
+                               @Value("${podstream.recommendation.topn.retain-previous-ms:3600000}") long retainPreviousMs) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.podStreamPrometheusConfig = podStreamPrometheusConfig;
+        this.chunkSize = chunkSize;
+        this.retainPrevious = Duration.ofMillis(retainPreviousMs);
+    }
+
+    /**
+     * Las recomendaciones precalculadas del usuario en la versión actual.
+     *
+     * @return Vacío si no hay versión publicada o el usuario no tiene recomendaciones en ella.
+     */
+    public Optional<TopNRecommendations> find(long userId) {
+        Long version = currentVersion();
+        if (version == null) {
+            return Optional.empty();
+        }
+        byte[] key = bytes(versionKey(version));
+        byte[] field = bytes(String.valueOf(userId));
+        byte[] value = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.hashCommands().hGet(key, field));
+        return value != null ? Optional.of(TopNRecommendations.decode(value)) : Optional.empty();
+    }
+
+    /**
+     * Sustituye las recomendaciones del usuario en la versión actual, por ejemplo tras recalcular su vector con
+     * las interacciones de la sesión. El siguiente entrenamiento publica una versión nueva que ya las incluye.
+     *
+     * @return {@code false} si no hay versión publicada.
+     */
+    public boolean replace(long userId, TopNRecommendations recommendations) {
+        Long version = currentVersion();
+        if (version == null) {
+            return false;
+        }
+        byte[] key = bytes(versionKey(version));
+        byte[] field = bytes(String.valueOf(userId));
+        byte[] value = recommendations.encode();
+        stringRedisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.hashCommands().hSet(key, field, value));
+        return true;
+    }
+
+    /**
+     * Versión publicada, o {@code null} si todavía no se ha materializado ninguna.
+     */
+    public Long currentVersion() {
+        if (!versionLoaded) {
+            refreshVersion();
+        }
+        return currentVersion;
+    }
+
+    /**
+     * Vuelve a leer el puntero de la versión actual; otro nodo puede haber publicado una nueva.
+     */
+    @Scheduled(fixedDelayString = "${podstream.recommendation.topn.version-refresh-ms:30000}")
+    public void refreshVersion() {
+        try {
+            String version = stringRedisTemplate.opsForValue().get(CURRENT_KEY);
+            currentVersion = version != null ? Long.valueOf(version) : null;
+            versionLoaded = true;
+        } catch (Exception e) {
+            logger.error("Error reading the current top-N recommendation version: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Empieza una versión nueva. Hay que terminarla con {@link Writer#publish()} o {@link Writer#discard()}.
+     */
+    public Writer writer() {
+        Long version = stringRedisTemplate.opsForValue().increment(SEQUENCE_KEY);
+        if (version == null) {
+            throw new IllegalStateException("Could not allocate a top-N recommendation version");
+        }
+        return new Writer(version);
+    }
+
+    private static String versionKey(long version) {
+        return KEY_PREFIX + "v" + version;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escritura de una versión en bloques de {@code chunk-size} usuarios, cada uno en un pipeline.
+     */
+    public final class Writer {
+
+        private final long version;
+        private final byte[] key;
+        private Map<byte[], byte[]> chunk = new HashMap<>();
+        private int users;
+
+        private Writer(long version) {
+            this.version = version;
+            this.key = bytes(versionKey(version));
+        }
+
+        public void put(long userId, TopNRecommendations recommendations) {
+            chunk.put(bytes(String.valueOf(userId)), recommendations.encode());
+            users++;
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        /**
+         * Escribe lo pendiente y convierte esta versión en la actual.
+         *
+         * @return El número de usuarios de la versión.
+         */
+        public int publish() {
+            flushChunk();
+            if (users == 0) {
+                // Una versión vacía dejaría a todos los usuarios sin recomendaciones: se conserva la anterior.
+                logger.warn("Top-N recommendation version {} is empty; keeping the current one", version);
+                return 0;
+            }
+            stringRedisTemplate.persist(versionKey(version));
+            String previous = stringRedisTemplate.opsForValue().getAndSet(CURRENT_KEY, String.valueOf(version));
+            if (previous != null && !previous.equals(String.valueOf(version))) {
+                stringRedisTemplate.expire(versionKey(Long.parseLong(previous)), retainPrevious);
+            }
+            currentVersion = version;
+            versionLoaded = true;
+            podStreamPrometheusConfig.recordRecommendationTopNPublished(users);
+            logger.info("Published top-N recommendation version {} for {} users", version, users);
+            return users;
+        }
+
+        public void discard() {
+            chunk = new HashMap<>();
+            stringRedisTemplate.delete(versionKey(version));
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            Map<byte[], byte[]> entries = chunk;
+            chunk = new HashMap<>();
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hMSet(key, entries);
+                connection.keyCommands().expire(key, UNPUBLISHED_TTL.toSeconds());
+                return null;
+            });
+        }
+    }
+}
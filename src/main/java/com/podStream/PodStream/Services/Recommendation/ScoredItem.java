@@ -0,0 +1,6 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+/**
+ * Producto con su puntuación ALS para un usuario.
+ */
+public record ScoredItem(long productId, float score) {}
@@ -0,0 +1,46 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Lista precalculada de los mejores productos para un usuario, de mayor a menor puntuación ALS.
+ * <p>Se guarda en Redis en binario: por cada producto su ID ({@code long}) y su puntuación ({@code float}),
+ * 12 bytes por entrada sin cabecera.
+ */
+public record TopNRecommendations(long[] productIds, float[] scores) {
+
+    private static final int ENTRY_BYTES = Long.BYTES + Float.BYTES;
+
+    public TopNRecommendations {
+        if (productIds.length != scores.length) {
+            throw new IllegalArgumentException("Product IDs and scores must have the same length");
+        }
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(productIds.length * ENTRY_BYTES);
+        for (int i = 0; i < productIds.length; i++) {
+            buffer.putLong(productIds[i]).putFloat(scores[i]);
+        }
+        return buffer.array();
+    }
+
+    public static TopNRecommendations decode(byte[] bytes) {
+        if (bytes.length % ENTRY_BYTES != 0) {
+            throw new IllegalArgumentException("Corrupted top-N entry of " + bytes.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int size = bytes.length / ENTRY_BYTES;
+        long[] productIds = new long[size];
+        float[] scores = new float[size];
+        for (int i = 0; i < size; i++) {
+            productIds[i] = buffer.getLong();
+            scores[i] = buffer.getFloat();
+        }
+        return new TopNRecommendations(productIds, scores);
+    }
+}
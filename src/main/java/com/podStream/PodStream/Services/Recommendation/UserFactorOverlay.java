@@ -0,0 +1,77 @@
+package com.podStream.PodStream.Services.Recommendation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Vectores de usuario calculados por fold-in ({@link AlsFactors#foldIn}) desde el último entrenamiento. Se guardan
+ * en Redis, en el hash {@code recommendation:fold-in:v<versión de factores>}, para que todos los nodos los vean
+ * y tengan prioridad sobre los del fichero de factores.
+ * <p>Solo valen contra los factores de producto de su versión: al publicarse factores nuevos se dejan de leer y
+ * caducan a los {@code podstream.recommendation.fold-in.ttl-ms}. El entrenamiento siguiente ya incluye las
+ * valoraciones que los originaron.
+ */
+@Component
+public class UserFactorOverlay {
+
+    private static final String KEY_PREFIX = "recommendation:fold-in:v";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration ttl;
+
+    public UserFactorOverlay(StringRedisTemplate stringRedisTemplate,
+                             @Value("${podstream.recommendation.fold-in.ttl-ms:172800000}") long ttlMs) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = Duration.ofMillis(ttlMs);
+    }
+
+    /**
+     * El vector calculado por fold-in para el usuario contra la versión de factores dada.
+     */
+    public Optional<float[]> find(long factorVersion, long userId) {
+        byte[] key = bytes(KEY_PREFIX + factorVersion);
+        byte[] field = bytes(String.valueOf(userId));
+        byte[] value = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.hashCommands().hGet(key, field));
+        return value != null ? Optional.of(decode(value)) : Optional.empty();
+    }
+
+    public void put(long factorVersion, long userId, float[] factors) {
+        byte[] key = bytes(KEY_PREFIX + factorVersion);
+        byte[] field = bytes(String.valueOf(userId));
+        byte[] value = encode(factors);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.hashCommands().hSet(key, field, value);
+            connection.keyCommands().expire(key, ttl.toSeconds());
+            return null;
+        });
+    }
+
+    private static byte[] encode(float[] factors) {
+        ByteBuffer buffer = ByteBuffer.allocate(factors.length * Float.BYTES);
+        for (float factor : factors) {
+            buffer.putFloat(factor);
+        }
+        return buffer.array();
+    }
+
+    private static float[] decode(byte[] value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        float[] factors = new float[value.length / Float.BYTES];
+        for (int i = 0; i < factors.length; i++) {
+            factors[i] = buffer.getFloat();
+        }
+        return factors;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
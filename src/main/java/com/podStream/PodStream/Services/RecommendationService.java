@@ -1,5 +1,6 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.RecommendationModelDTO;
 import com.podStream.PodStream.DTOS.RecommendationResponseDTO;
 import java.util.List;
 
@@ -7,6 +8,13 @@ public interface RecommendationService {
 
     List<RecommendationResponseDTO> getRecommendationsForUser(Long userId, int howMany);
 
+    /**
+     * Recomendaciones para un usuario entre los productos que cumplen los filtros, puntuadas en el momento con
+     * los factores ALS. Sin factores para el usuario devuelve los candidatos más vendidos.
+     */
+    List<RecommendationResponseDTO> getRecommendationsForUser(Long userId, Long categoryId, Double minPrice,
+                                                              Double maxPrice, boolean inStockOnly, int howMany);
+
 //    List<RecommendationResponseDTO> getPopularProducts(int howMany);
 
 
@@ -14,4 +22,20 @@ public interface RecommendationService {
 
     List<RecommendationResponseDTO> getContentBasedRecommendations(Long productId, int howMany);
 
+    /**
+     * Versiones guardadas del modelo ALS, de la más reciente a la más antigua.
+     */
+    List<RecommendationModelDTO> getModels();
+
+    /**
+     * Activa una versión guardada del modelo ALS (rollback) y republica sus recomendaciones y factores.
+     */
+    RecommendationModelDTO activateModel(long version);
+
+    /**
+     * Recalcula el vector ALS del usuario con sus valoraciones actuales contra los factores de producto vigentes
+     * (fold-in, sin reentrenar) y sustituye sus recomendaciones precalculadas.
+     */
+    void foldInUser(Long userId);
+
 }
@@ -0,0 +1,62 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.DTOS.ReindexJobDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz para reconstruir los índices de Elasticsearch desde MySQL sin tiempo de inactividad.
+ * <p>Cada trabajo escribe en un índice versionado nuevo y, al terminar, mueve el alias de lectura
+ * y escritura de forma atómica.
+ */
+public interface ReindexService {
+
+    /**
+     * Lista los alias que pueden reindexarse.
+     *
+     * @return Nombres de los alias.
+     */
+    List<String> getTargets();
+
+    /**
+     * Inicia la reindexación de un alias.
+     *
+     * @param aliasName  El alias a reconstruir.
+     * @param partitions Número de rangos de IDs que se procesan en paralelo.
+     * @return El trabajo creado.
+     */
+    ReindexJobDTO startReindex(String aliasName, int partitions);
+
+    /**
+     * Reanuda un trabajo fallido, cancelado o interrumpido desde su último punto de control.
+     *
+     * @param jobId El ID del trabajo.
+     * @return El trabajo reanudado.
+     */
+    ReindexJobDTO resumeReindex(Long jobId);
+
+    /**
+     * Cancela un trabajo en curso; el alias sigue apuntando al índice anterior.
+     *
+     * @param jobId El ID del trabajo.
+     * @return El trabajo cancelado.
+     */
+    ReindexJobDTO cancelReindex(Long jobId);
+
+    /**
+     * Obtiene el estado y avance de un trabajo.
+     *
+     * @param jobId El ID del trabajo.
+     * @return El trabajo.
+     */
+    ReindexJobDTO getJob(Long jobId);
+
+    /**
+     * Obtiene los índices en construcción por alias, para que las escrituras en curso
+     * también lleguen al índice nuevo.
+     *
+     * @return Índice de destino por nombre de alias.
+     */
+    Map<String, String> getActiveTargets();
+}
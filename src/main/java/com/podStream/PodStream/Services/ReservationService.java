@@ -0,0 +1,99 @@
+package com.podStream.PodStream.Services;
+
+import java.util.Map;
+
+/**
+ * Interfaz para gestionar las reservas temporales de stock de los carritos en PodStream.
+ * <p>Cada carrito (de invitado o de cliente) retiene stock mediante reservas con expiración;
+ * el stock de {@code Product} refleja así solo las unidades realmente vendibles, y las reservas
+ * de carritos abandonados vuelven al inventario cuando vencen.
+ */
+public interface ReservationService {
+
+    /**
+     * Construye el dueño de reserva de un cliente autenticado.
+     *
+     * @param clientId El ID del cliente.
+     * @return La clave del dueño.
+     */
+    static String clientOwner(Long clientId) {
+        return "client:" + clientId;
+    }
+
+    /**
+     * Construye el dueño de reserva de un carrito de invitado.
+     *
+     * @param sessionId El ID de sesión.
+     * @return La clave del dueño.
+     */
+    static String sessionOwner(String sessionId) {
+        return "session:" + sessionId;
+    }
+
+    /**
+     * Ajusta las reservas de un dueño para que coincidan con las cantidades indicadas,
+     * reservando o devolviendo solo la diferencia. Una cantidad 0 libera la reserva.
+     *
+     * @param ownerKey   El dueño de la reserva.
+     * @param quantities Cantidad total a retener por ID de producto.
+     * @return {@code true} si había stock suficiente para todas las líneas.
+     */
+    boolean adjust(String ownerKey, Map<Long, Integer> quantities);
+
+    /**
+     * Ajusta la reserva de un único producto.
+     *
+     * @param ownerKey  El dueño de la reserva.
+     * @param productId El ID del producto.
+     * @param quantity  Cantidad total a retener.
+     * @return {@code true} si había stock suficiente.
+     */
+    boolean adjust(String ownerKey, Long productId, int quantity);
+
+    /**
+     * Libera la reserva de un producto y devuelve su stock.
+     *
+     * @param ownerKey  El dueño de la reserva.
+     * @param productId El ID del producto.
+     */
+    void release(String ownerKey, Long productId);
+
+    /**
+     * Libera todas las reservas de un dueño.
+     *
+     * @param ownerKey El dueño de la reserva.
+     */
+    void releaseAll(String ownerKey);
+
+    /**
+     * Renueva la expiración de todas las reservas de un dueño.
+     *
+     * @param ownerKey El dueño de la reserva.
+     */
+    void extend(String ownerKey);
+
+    /**
+     * Traspasa las reservas de un dueño a otro sin tocar el stock (p. ej. al iniciar sesión).
+     *
+     * @param fromOwnerKey El dueño de origen.
+     * @param toOwnerKey   El dueño de destino.
+     */
+    void transfer(String fromOwnerKey, String toOwnerKey);
+
+    /**
+     * Convierte las reservas de un dueño en stock vendido para una orden.
+     * <p>Solo se reserva de nuevo la parte que no estuviera ya retenida (p. ej. reservas vencidas).
+     *
+     * @param ownerKey   El dueño de la reserva.
+     * @param quantities Cantidad comprada por ID de producto.
+     * @return {@code true} si todas las líneas quedaron cubiertas.
+     */
+    boolean convert(String ownerKey, Map<Long, Integer> quantities);
+
+    /**
+     * Libera las reservas vencidas y devuelve su stock.
+     *
+     * @return Número de reservas liberadas.
+     */
+    int releaseExpired();
+}
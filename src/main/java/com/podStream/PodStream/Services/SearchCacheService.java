@@ -0,0 +1,42 @@
+package com.podStream.PodStream.Services;
+
+/**
+ * Interfaz para la caché de resultados de búsqueda de productos en Redis.
+ * <p>Cada clave incluye la generación actual del catálogo: al cambiar un producto se incrementa la
+ * generación y las entradas anteriores dejan de consultarse y expiran por su TTL, sin borrados masivos.
+ */
+public interface SearchCacheService {
+
+    /**
+     * Normaliza una consulta de texto para que las variantes equivalentes compartan clave.
+     *
+     * @param query La consulta tal como la envía el usuario.
+     * @return La consulta en minúsculas, sin espacios sobrantes ni caracteres de control.
+     */
+    String normalizeQuery(String query);
+
+    /**
+     * Obtiene un resultado cacheado de la generación actual.
+     *
+     * @param namespace El espacio de nombres ({@code query}, {@code filter}...).
+     * @param key       La clave dentro del espacio de nombres, ya normalizada.
+     * @return El valor cacheado o {@code null}.
+     */
+    Object get(String namespace, String key);
+
+    /**
+     * Guarda un resultado en la generación actual, salvo que el espacio de nombres haya alcanzado
+     * su número máximo de entradas vivas.
+     *
+     * @param namespace El espacio de nombres.
+     * @param key       La clave dentro del espacio de nombres, ya normalizada.
+     * @param value     El valor a cachear.
+     */
+    void put(String namespace, String key, Object value);
+
+    /**
+     * Incrementa la generación del catálogo. Dentro de una transacción se aplica tras el commit,
+     * para que ninguna lectura concurrente vuelva a cachear datos anteriores al cambio.
+     */
+    void bumpGeneration();
+}
@@ -0,0 +1,41 @@
+package com.podStream.PodStream.Services;
+
+import java.util.Collection;
+
+/**
+ * Interfaz del outbox transaccional que replica las escrituras de MySQL en Elasticsearch.
+ * <p>Los servicios encolan el documento dentro de su propia transacción en lugar de llamar al
+ * repositorio de Elasticsearch; un relé en segundo plano aplica los cambios por lotes.
+ */
+public interface SearchOutboxService {
+
+    /**
+     * Encola la indexación (alta o actualización) de un documento.
+     *
+     * @param document La entidad anotada con {@code @Document}.
+     */
+    void enqueueIndex(Object document);
+
+    /**
+     * Encola la eliminación de un documento.
+     *
+     * @param documentClass La clase anotada con {@code @Document}.
+     * @param id            El ID del documento.
+     */
+    void enqueueDelete(Class<?> documentClass, Object id);
+
+    /**
+     * Encola la actualización del stock de productos en el índice de búsqueda. El relé agrupa los cambios de
+     * cada producto durante una ventana corta, indexa el producto vigente al enviar y no invalida la caché de búsqueda.
+     *
+     * @param productIds IDs de los productos cuyo stock cambió.
+     */
+    void enqueueStockUpdate(Collection<Long> productIds);
+
+    /**
+     * Envía a Elasticsearch los eventos pendientes.
+     *
+     * @return Número de eventos procesados.
+     */
+    int relayPending();
+}
@@ -0,0 +1,46 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.DTOS.SuggestionDTO;
+
+import java.util.List;
+
+/**
+ * Interfaz para el autocompletado de nombres de productos y categorías desde un índice en memoria.
+ */
+public interface SuggestionService {
+
+    /**
+     * Devuelve las sugerencias cuyo nombre (o alguna de sus palabras) empieza por el prefijo,
+     * ordenadas por número de ventas.
+     *
+     * @param prefix El texto tecleado por el usuario.
+     * @param limit  Número máximo de sugerencias.
+     * @return Las sugerencias; vacía si el prefijo está en blanco.
+     */
+    List<SuggestionDTO> suggest(String prefix, int limit);
+
+    /**
+     * Aplica el cambio de un producto al índice.
+     *
+     * @param productId  El ID del producto.
+     * @param name       Su nombre.
+     * @param categoryId El ID de su categoría, o {@code null}.
+     * @param salesCount Su número de ventas.
+     * @param active     Si el producto sigue activo; si no, se retira del índice.
+     */
+    void applyProductChange(Long productId, String name, Long categoryId, int salesCount, boolean active);
+
+    /**
+     * Aplica el cambio de una categoría al índice.
+     *
+     * @param categoryId El ID de la categoría.
+     * @param name       Su nombre.
+     * @param active     Si la categoría sigue activa; si no, se retira del índice.
+     */
+    void applyCategoryChange(Long categoryId, String name, boolean active);
+
+    /**
+     * Reconstruye el índice completo desde MySQL y lo sustituye de forma atómica.
+     */
+    void rebuild();
+}
@@ -1,10 +1,11 @@
 package com.podStream.PodStream.Services;
 
+import com.podStream.PodStream.DTOS.CursorPageDTO;
 import com.podStream.PodStream.DTOS.SupportTicketDTO;
 import com.podStream.PodStream.Models.OrderStatus;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
 import org.springframework.security.core.Authentication;
 
-import java.util.List;
 
 /**
  * Interfaz para gestionar tickets de soporte en PodStream.
@@ -60,7 +61,7 @@ public interface SupportTicketService {
      * @param authentication La autenticación del usuario.
      * @return Lista de DTOs de tickets.
      */
-    List<SupportTicketDTO> getSupportTicketsByClient(Authentication authentication);
+    CursorPageDTO<SupportTicketDTO> getSupportTicketsByClient(CursorPageRequest page, Authentication authentication);
 
     /**
      * Obtiene todos los tickets de soporte activos de una orden de compra.
@@ -69,7 +70,7 @@ public interface SupportTicketService {
      * @param authentication  La autenticación del usuario.
      * @return Lista de DTOs de tickets.
      */
-    List<SupportTicketDTO> getSupportTicketsByPurchaseOrder(Long purchaseOrderId, Authentication authentication);
+    CursorPageDTO<SupportTicketDTO> getSupportTicketsByPurchaseOrder(Long purchaseOrderId, CursorPageRequest page, Authentication authentication);
 
     /**
      * Elimina (soft delete) un ticket de soporte.
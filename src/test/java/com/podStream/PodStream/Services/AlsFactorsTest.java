@@ -0,0 +1,141 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Services.Recommendation.AlsFactors;
+import com.podStream.PodStream.Services.Recommendation.FactorFileWriter;
+import com.podStream.PodStream.Services.Recommendation.ScoredItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * El top-K calculado sobre el fichero mapeado debe coincidir con ordenar todos los candidatos por producto
+ * escalar, los usuarios o productos ausentes del entrenamiento no deben romper la puntuación, y el fold-in debe
+ * recuperar el vector de un usuario a partir de sus valoraciones.
+ */
+class AlsFactorsTest {
+
+    private static final int RANK = 10;
+    private static final int USERS = 200;
+    private static final int ITEMS = 5_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void topKMatchesBruteForce() throws IOException {
+        Random random = new Random(7);
+        float[][] users = randomFactors(random, USERS);
+        float[][] items = randomFactors(random, ITEMS);
+        Path file = directory.resolve("factors.bin");
+        try (FactorFileWriter writer = new FactorFileWriter(file, RANK)) {
+            for (int user = 0; user < USERS; user++) {
+                writer.addUser(user * 3L, users[user]);
+            }
+            for (int item = 0; item < ITEMS; item++) {
+                writer.addItem(item * 2L + 1, items[item]);
+            }
+        }
+
+        AlsFactors factors = AlsFactors.open(file, 1);
+        assertEquals(USERS, factors.userCount());
+        assertEquals(ITEMS, factors.itemCount());
+        assertArrayEquals(users[5], factors.userFactors(15));
+        assertNull(factors.userFactors(16));
+
+        long[] candidates = IntStream.range(0, ITEMS).filter(item -> item % 3 != 0)
+                .mapToLong(item -> item * 2L + 1).toArray();
+        List<ScoredItem> topK = factors.topK(42 * 3L, candidates, 25);
+
+        List<Long> expected = IntStream.range(0, ITEMS).filter(item -> item % 3 != 0).boxed()
+                .sorted(Comparator.comparingDouble((Integer item) -> dot(users[42], items[item])).reversed())
+                .limit(25)
+                .map(item -> item * 2L + 1)
+                .toList();
+        assertEquals(expected, topK.stream().map(ScoredItem::productId).toList());
+        for (int i = 1; i < topK.size(); i++) {
+            assertTrue(topK.get(i - 1).score() >= topK.get(i).score());
+        }
+    }
+
+    @Test
+    void unknownUsersAndItemsAreSkipped() throws IOException {
+        Path file = directory.resolve("factors.bin");
+        try (FactorFileWriter writer = new FactorFileWriter(file, 2)) {
+            writer.addUser(1, new float[]{1f, 0f});
+            writer.addItem(10, new float[]{0.5f, 0f});
+            writer.addItem(20, new float[]{2f, 0f});
+        }
+        AlsFactors factors = AlsFactors.open(file, 1);
+
+        assertTrue(factors.topK(2, new long[]{10, 20}, 5).isEmpty());
+        List<ScoredItem> topK = factors.topK(1, new long[]{99, 10, 20}, 5);
+        assertEquals(List.of(20L, 10L), topK.stream().map(ScoredItem::productId).toList());
+    }
+
+    @Test
+    void foldInRecoversUserFactors() throws IOException {
+        Random random = new Random(11);
+        float[][] items = randomFactors(random, ITEMS);
+        float[] user = randomFactors(random, 1)[0];
+        Path file = directory.resolve("factors.bin");
+        try (FactorFileWriter writer = new FactorFileWriter(file, RANK)) {
+            for (int item = 0; item < ITEMS; item++) {
+                writer.addItem(item, items[item]);
+            }
+        }
+        AlsFactors factors = AlsFactors.open(file, 1);
+
+        // Valoraciones exactas de 30 productos más uno desconocido, que se ignora.
+        long[] rated = new long[31];
+        float[] ratings = new float[31];
+        for (int i = 0; i < 30; i++) {
+            rated[i] = i * 97L;
+            ratings[i] = dot(user, items[i * 97]);
+        }
+        rated[30] = ITEMS + 1;
+        ratings[30] = 5f;
+
+        float[] folded = factors.foldIn(rated, ratings, 1e-6);
+        assertNotNull(folded);
+        for (int i = 0; i < RANK; i++) {
+            assertEquals(user[i], folded[i], 1e-3);
+        }
+        assertEquals(factors.topK(user, 10).stream().map(ScoredItem::productId).toList(),
+                factors.topK(folded, 10).stream().map(ScoredItem::productId).toList());
+        assertNull(factors.foldIn(new long[]{ITEMS + 1}, new float[]{5f}, 0.01));
+    }
+
+    @Test
+    void writerRejectsUnsortedIds() throws IOException {
+        try (FactorFileWriter writer = new FactorFileWriter(directory.resolve("factors.bin"), 1)) {
+            writer.addUser(5, new float[]{1f});
+            assertThrows(IllegalArgumentException.class, () -> writer.addUser(3, new float[]{1f}));
+        }
+    }
+
+    private static float[][] randomFactors(Random random, int count) {
+        float[][] factors = new float[count][RANK];
+        for (float[] vector : factors) {
+            for (int i = 0; i < RANK; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+        }
+        return factors;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,42 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Services.Cache.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Filtro de Bloom de códigos de promoción: ningún código añadido se rechaza y los códigos inventados pasan
+ * con una frecuencia cercana a la tasa configurada.
+ */
+class BloomFilterTest {
+
+    private static final int CODES = 10_000;
+
+    @Test
+    void neverRejectsAddedKeys() {
+        BloomFilter filter = new BloomFilter(CODES, 0.01);
+        for (int i = 0; i < CODES; i++) {
+            filter.add("PROMO-" + i);
+        }
+        for (int i = 0; i < CODES; i++) {
+            assertTrue(filter.mightContain("PROMO-" + i));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(CODES, 0.01);
+        for (int i = 0; i < CODES; i++) {
+            filter.add("PROMO-" + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("GUESS-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+    }
+}
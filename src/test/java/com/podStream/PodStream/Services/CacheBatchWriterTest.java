@@ -0,0 +1,161 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Models.Details;
+import com.podStream.PodStream.Models.Product;
+import com.podStream.PodStream.Models.PurchaseOrder;
+import com.podStream.PodStream.Services.Cache.CacheBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Un listado de detalles se cachea con {@link CacheBatchWriter.Batch#flushAsync()} y el hilo escritor lo envía
+ * cuando la petición, y con ella la sesión de Hibernate, ya terminó. Las relaciones de {@link Details} son proxies
+ * sin inicializar que solo se pueden leer dentro de una transacción, como un proxy de Hibernate con la sesión
+ * abierta.
+ */
+class CacheBatchWriterTest {
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private CacheBatchWriter batchWriter;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(stringCommands.set(any(), any(), any(), any())).thenAnswer(invocation -> {
+            redis.put(text(invocation.getArgument(0)), text(invocation.getArgument(1)));
+            return true;
+        });
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.getKeySerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) new DetailsSerializer());
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of();
+        });
+
+        batchWriter = new CacheBatchWriter(redisTemplate, metrics, 100, 500);
+        batchWriter.start();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:cache-batch-writer;DB_CLOSE_DELAY=-1", "sa", "")));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batchWriter.stop();
+    }
+
+    @Test
+    void asyncFlushWritesEntitiesSerializedWhileTheSessionWasOpen() throws InterruptedException {
+        transactionTemplate.executeWithoutResult(status -> {
+            CacheBatchWriter.Batch batch = batchWriter.batch();
+            batch.set("details:1", details(1L, new LazyOrder(7L)), 1, TimeUnit.HOURS);
+            batch.set("details:2", details(2L, new LazyOrder(8L)), 1, TimeUnit.HOURS);
+            batch.flushAsync();
+        });
+
+        awaitWrites(2);
+        assertEquals("order 7", redis.get("details:1"));
+        assertEquals("order 8", redis.get("details:2"));
+    }
+
+    @Test
+    void unserializableValueDoesNotDropTheRestOfTheBatch() throws InterruptedException {
+        CacheBatchWriter.Batch batch = batchWriter.batch();
+        batch.set("details:1", details(1L, new LazyOrder(7L)), 1, TimeUnit.HOURS);
+        transactionTemplate.executeWithoutResult(status ->
+                batch.set("details:2", details(2L, new LazyOrder(8L)), 1, TimeUnit.HOURS));
+        batch.flushAsync();
+
+        awaitWrites(1);
+        assertEquals(Map.of("details:2", "order 8"), redis);
+    }
+
+    private static Details details(Long id, PurchaseOrder purchaseOrder) {
+        Details details = new Details("Podcast mic", 1, 10.0, null, purchaseOrder, new Product());
+        details.setId(id);
+        return details;
+    }
+
+    private void awaitWrites(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (redis.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // Margen para escrituras que no deberían llegar
+        Thread.sleep(300);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Proxy perezoso: sin transacción en el hilo no hay sesión que lo inicialice.
+     */
+    private static class LazyOrder extends PurchaseOrder {
+
+        private final Long orderId;
+
+        LazyOrder(Long orderId) {
+            this.orderId = orderId;
+        }
+
+        @Override
+        public Long getId() {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new LazyInitializationException("could not initialize proxy [PurchaseOrder#" + orderId + "] - no Session");
+            }
+            return orderId;
+        }
+    }
+
+    /**
+     * Serializa un detalle recorriendo su orden, como hace el serializador real con las relaciones.
+     */
+    private static class DetailsSerializer implements RedisSerializer<Object> {
+
+        @Override
+        public byte[] serialize(Object value) {
+            return ("order " + ((Details) value).getPurchaseOrder().getId()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Models.ColorProduct;
+import com.podStream.PodStream.Services.Cache.CacheValueSerializer;
+import com.podStream.PodStream.Services.Cache.ProductSnapshot;
+import com.podStream.PodStream.Services.Cache.SmileCacheCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ida y vuelta de los snapshots de caché por el serializador binario, con y sin compresión, y lectura de
+ * valores JSON escritos con el formato anterior.
+ */
+class CacheValueSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+    @Test
+    void smallSnapshotRoundTripsUncompressed() {
+        CacheValueSerializer serializer = new CacheValueSerializer(new SmileCacheCodec(), json, 4096);
+        ProductSnapshot snapshot = product("Audífonos", List.of());
+
+        byte[] bytes = serializer.serialize(snapshot);
+
+        assertEquals(0, bytes[1], "Small values must not be compressed");
+        assertEquals(snapshot, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void largeSnapshotIsCompressed() {
+        CacheValueSerializer serializer = new CacheValueSerializer(new SmileCacheCodec(), json, 64);
+        ProductSnapshot snapshot = product(String.join(" ", Collections.nCopies(50, "micrófono")),
+                Collections.nCopies(10, "https://cdn.podstream.com/products/1.jpg"));
+
+        byte[] bytes = serializer.serialize(snapshot);
+
+        assertEquals(1, bytes[1], "Large values must be compressed");
+        assertTrue(bytes.length < new CacheValueSerializer(new SmileCacheCodec(), json, Integer.MAX_VALUE).serialize(snapshot).length);
+        assertEquals(snapshot, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void nonSnapshotValuesKeepTheJsonFormat() {
+        CacheValueSerializer serializer = new CacheValueSerializer(new SmileCacheCodec(), json, 64);
+        // HashMap y no Map.of: el JSON solo guarda el tipo (@class) de las clases no finales.
+        Map<String, Object> value = new HashMap<>(Map.of("sessionId", "abc", "total", 10));
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertArrayEquals(json.serialize(value), bytes);
+        assertEquals(value, serializer.deserialize(bytes));
+    }
+
+    private static ProductSnapshot product(String name, List<String> images) {
+        LocalDateTime now = LocalDateTime.of(2025, 7, 9, 12, 0);
+        return new ProductSnapshot(1L, name, "Descripción", 59.9, 12, 340, 3L, ColorProduct.values()[0], 0.1,
+                "https://cdn.podstream.com/products/1.jpg", 4.5, images, true, now, now);
+    }
+}
@@ -0,0 +1,93 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.DTOS.CursorPageDTO;
+import com.podStream.PodStream.Exception.GlobalExceptionHandler;
+import com.podStream.PodStream.Services.Pagination.CursorPageRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recorre un listado de IDs descendentes página a página, como lo haría un repositorio
+ * {@code ...AndIdLessThanOrderByIdDesc}, y comprueba los cursores que recibe la API.
+ */
+class CursorPageRequestTest {
+
+    private static final List<Long> IDS = LongStream.rangeClosed(1, 45).boxed()
+            .sorted((a, b) -> Long.compare(b, a))
+            .toList();
+
+    @Test
+    void cursorRoundTripVisitsEveryRowOnce() {
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<Long> page = fetch(CursorPageRequest.of(cursor, 20));
+            visited.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(IDS, visited);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void hasMoreIsFalseWhenTheLastPageIsExactlyFull() {
+        CursorPageDTO<Long> first = fetch(CursorPageRequest.of(null, 15));
+        CursorPageDTO<Long> second = fetch(CursorPageRequest.of(first.getNextCursor(), 15));
+        CursorPageDTO<Long> last = fetch(CursorPageRequest.of(second.getNextCursor(), 15));
+
+        assertTrue(first.isHasMore());
+        assertTrue(second.isHasMore());
+        assertEquals(15, last.getItems().size());
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void hasMoreIsTrueWithOneRowBeyondThePage() {
+        CursorPageRequest request = CursorPageRequest.of(null, 44);
+
+        CursorPageDTO<Long> page = fetch(request);
+
+        assertEquals(44, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(List.of(1L), fetch(CursorPageRequest.of(page.getNextCursor(), 44)).getItems());
+    }
+
+    @Test
+    void invalidCursorIsABadRequest() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        for (String cursor : List.of("not base64!", encode("page:10"), encode("id:ten"))) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> CursorPageRequest.of(cursor, 20));
+            assertEquals("Invalid cursor", error.getMessage());
+            assertEquals(HttpStatus.BAD_REQUEST, handler.handleIllegalArgumentException(error).getStatusCode());
+        }
+    }
+
+    /**
+     * Lee {@code size + 1} filas con ID menor que el cursor, igual que los repositorios.
+     */
+    private static CursorPageDTO<Long> fetch(CursorPageRequest request) {
+        List<Long> rows = IDS.stream()
+                .filter(id -> id < request.afterId())
+                .limit(request.pageable().getPageSize())
+                .toList();
+        return request.toPage(rows, Function.identity(), Function.identity());
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Models.ExportFormat;
+import com.podStream.PodStream.Services.Implement.ExportServiceImplement;
+import com.podStream.PodStream.Services.Implement.JdbcRowStreamer;
+import jakarta.persistence.Entity;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Ejecuta cada conjunto de datos de {@link ExportServiceImplement} contra el esquema que Hibernate genera desde
+ * las entidades, con la misma estrategia de nombres que Spring Boot. Una columna renombrada en una entidad hace
+ * fallar aquí la consulta de exportación correspondiente en lugar de hacerlo en producción.
+ */
+class ExportDatasetSchemaTest {
+
+    private static final String URL = "jdbc:h2:mem:export-schema;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    private static SessionFactory sessionFactory;
+    private static ExportServiceImplement exportService;
+
+    @BeforeAll
+    static void createSchema() throws ClassNotFoundException {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName())
+                .build();
+        MetadataSources sources = new MetadataSources(registry);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        for (BeanDefinition entity : scanner.findCandidateComponents("com.podStream.PodStream.Models")) {
+            sources.addAnnotatedClass(Class.forName(entity.getBeanClassName()));
+        }
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        new JdbcTemplate(dataSource).update("INSERT INTO persons (id, person_type, username, lastname, email, active, is_active) " +
+                "VALUES (1, 'CLIENT', 'ana', 'Rojas', 'ana@podstream.cl', TRUE, NULL), " +
+                "(2, 'ADMIN', 'root', 'Admin', 'root@podstream.cl', NULL, TRUE)");
+        exportService = new ExportServiceImplement(new JdbcRowStreamer(dataSource, 100),
+                mock(PodStreamPrometheusConfig.class));
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void everyDatasetRunsAgainstEntitySchema() {
+        for (String dataset : exportService.getDatasets()) {
+            assertDoesNotThrow(() -> export(dataset), "Dataset " + dataset);
+        }
+    }
+
+    @Test
+    void clientsDatasetExcludesAdmins() throws IOException {
+        String csv = export("clients");
+
+        assertEquals(2, csv.split("\r\n").length, "Header plus the only client");
+        assertTrue(csv.contains("ana@podstream.cl"));
+        assertFalse(csv.contains("root@podstream.cl"));
+    }
+
+    private static String export(String dataset) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(dataset, ExportFormat.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
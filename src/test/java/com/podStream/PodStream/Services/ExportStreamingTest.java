@@ -0,0 +1,125 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Models.ExportFormat;
+import com.podStream.PodStream.Services.Implement.JdbcRowStreamer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de las exportaciones en streaming. Se ejecuta con {@code ./gradlew lowMemoryTest}, que limita el heap
+ * a 64 MB: si alguna capa acumulara las filas en memoria, la exportación del millón de filas fallaría con
+ * {@link OutOfMemoryError}.
+ */
+@Tag("low-memory")
+class ExportStreamingTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final String SYNTHETIC_SQL =
+            "SELECT X AS id, CONCAT('Product ', X) AS name, X * 0.5 AS price, MOD(X, 7) = 0 AS active, " +
+                    "DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00') AS created_at FROM SYSTEM_RANGE(1, " + ROWS + ")";
+
+    private JdbcRowStreamer streamer;
+
+    @BeforeEach
+    void setUp() {
+        // LAZY_QUERY_EXECUTION hace que H2 genere las filas a medida que se leen, como un cursor de MySQL.
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:export;DB_CLOSE_DELAY=-1;LAZY_QUERY_EXECUTION=1", "sa", "");
+        streamer = new JdbcRowStreamer(dataSource, 1000);
+    }
+
+    @Test
+    void exportsMillionRowsAsGzippedNdjsonWithConstantMemory() throws IOException {
+        LineCountingOutputStream counter = new LineCountingOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(OutputStream.nullOutputStream(), 64 * 1024);
+        OutputStream tee = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                counter.write(b);
+                gzip.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                counter.write(b, off, len);
+                gzip.write(b, off, len);
+            }
+        };
+
+        long rows = streamer.stream(SYNTHETIC_SQL, ExportFormat.NDJSON, tee);
+        gzip.finish();
+
+        assertEquals(ROWS, rows);
+        assertEquals(ROWS, counter.lines);
+    }
+
+    @Test
+    void exportsMillionRowsAsCsvWithConstantMemory() throws IOException {
+        LineCountingOutputStream counter = new LineCountingOutputStream();
+
+        long rows = streamer.stream(SYNTHETIC_SQL, ExportFormat.CSV, counter);
+
+        assertEquals(ROWS, rows);
+        assertEquals(ROWS + 1, counter.lines, "Header plus one line per row");
+    }
+
+    @Test
+    void ndjsonKeepsColumnTypes() throws IOException {
+        String output = export(ExportFormat.NDJSON,
+                "SELECT 1 AS id, TRUE AS active, 2.5 AS price, CAST(NULL AS VARCHAR) AS note, " +
+                        "TIMESTAMP '2024-01-01 10:00:00' AS created_at");
+
+        assertEquals("{\"id\":1,\"active\":true,\"price\":2.5,\"note\":null,\"created_at\":\"2024-01-01T10:00\"}\n", output);
+    }
+
+    @Test
+    void csvQuotesSpecialCharacters() throws IOException {
+        String output = export(ExportFormat.CSV,
+                "SELECT 1 AS id, 'a,b' AS name, 'say \"hi\"' AS note, CAST(NULL AS VARCHAR) AS empty");
+
+        assertEquals("id,name,note,empty\r\n1,\"a,b\",\"say \"\"hi\"\"\",\r\n", output);
+    }
+
+    @Test
+    void csvWritesHeaderForEmptyResult() throws IOException {
+        String output = export(ExportFormat.CSV, "SELECT X AS id FROM SYSTEM_RANGE(1, 0)");
+
+        assertEquals("id\r\n", output);
+    }
+
+    private String export(ExportFormat format, String sql) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.stream(sql, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static final class LineCountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Services.Cache.CountMinSketch;
+import com.podStream.PodStream.Services.Cache.HotKeyTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tráfico sesgado de un lanzamiento: unos pocos productos reciben casi todas las lecturas entre miles de
+ * claves frías. El top-K debe contener exactamente los productos del lanzamiento.
+ */
+class HotKeyTrackerTest {
+
+    private PodStreamPrometheusConfig metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+    }
+
+    @Test
+    void sketchNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(1024, Long.MAX_VALUE);
+        for (int key = 0; key < 5000; key++) {
+            for (int i = 0; i <= key % 7; i++) {
+                sketch.increment("product:" + key);
+            }
+        }
+        for (int key = 0; key < 5000; key++) {
+            assertTrue(sketch.estimate("product:" + key) >= key % 7 + 1);
+        }
+    }
+
+    @Test
+    void launchProductsBecomeTheHotKeys() {
+        HotKeyTracker tracker = new HotKeyTracker(metrics, true, 3, 50, 4096);
+        Random random = new Random(42);
+        boolean launchHot = false;
+        for (int i = 0; i < 100_000; i++) {
+            if (random.nextInt(10) < 3) {
+                launchHot = tracker.record("product", "launch-" + random.nextInt(3));
+            } else {
+                tracker.record("product", String.valueOf(random.nextInt(20_000)));
+            }
+            if (i % 10_000 == 0) {
+                tracker.refresh();
+            }
+        }
+        tracker.refresh();
+
+        List<String> hottest = tracker.hottest().stream().map(HotKeyTracker.HotKey::key).sorted().toList();
+        assertEquals(List.of("launch-0", "launch-1", "launch-2"), hottest);
+        assertTrue(launchHot);
+        assertFalse(tracker.record("product", "cold-key"));
+    }
+}
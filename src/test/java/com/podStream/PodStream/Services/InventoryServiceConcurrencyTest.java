@@ -0,0 +1,144 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Services.Implement.InventoryServiceImplement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Prueba de estrés del descuento condicional de stock: muchos hilos compiten por pocos productos
+ * y al final el stock vendido debe coincidir exactamente con las reservas aceptadas.
+ */
+class InventoryServiceConcurrencyTest {
+
+    private static final int PRODUCTS = 4;
+    private static final int INITIAL_STOCK = 200;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+
+    private JdbcTemplate jdbcTemplate;
+    private InventoryService inventoryService;
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:inventory;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, stock INT NOT NULL, active BOOLEAN NOT NULL)");
+        for (long id = 1; id <= PRODUCTS; id++) {
+            jdbcTemplate.update("INSERT INTO products (id, stock, active) VALUES (?, ?, TRUE)", id, INITIAL_STOCK);
+        }
+
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+        productService = mock(ProductService.class);
+        inventoryService = new InventoryServiceImplement(jdbcTemplate, mock(SearchOutboxService.class),
+                productService, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE products");
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws InterruptedException {
+        AtomicIntegerArray reserved = new AtomicIntegerArray(PRODUCTS + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    Map<Long, Integer> basket = new HashMap<>();
+                    int lines = random.nextInt(1, PRODUCTS + 1);
+                    for (int l = 0; l < lines; l++) {
+                        basket.put((long) random.nextInt(1, PRODUCTS + 1), random.nextInt(1, 4));
+                    }
+                    if (inventoryService.tryReserve(basket)) {
+                        basket.forEach((productId, quantity) -> reserved.addAndGet(productId.intValue(), quantity));
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "Stress test did not finish in time");
+
+        for (long id = 1; id <= PRODUCTS; id++) {
+            int stock = stockOf(id);
+            assertTrue(stock >= 0, "Stock went negative for product " + id);
+            assertEquals(INITIAL_STOCK - reserved.get((int) id), stock, "Sold units do not match reservations for product " + id);
+        }
+    }
+
+    @Test
+    void rejectedBasketLeavesStockUntouched() {
+        jdbcTemplate.update("UPDATE products SET stock = 1 WHERE id = 2");
+
+        boolean accepted = inventoryService.tryReserve(Map.of(1L, 5, 2L, 3, 3L, 7));
+
+        assertFalse(accepted);
+        assertEquals(INITIAL_STOCK, stockOf(1L));
+        assertEquals(1, stockOf(2L));
+        assertEquals(INITIAL_STOCK, stockOf(3L));
+        verify(productService, never()).evictCachedProducts(anyCollection());
+    }
+
+    @Test
+    void stockChangesEvictCachedProducts() {
+        assertTrue(inventoryService.tryReserve(Map.of(3L, 2, 1L, 1)));
+        inventoryService.release(2L, 1);
+
+        verify(productService).evictCachedProducts(List.of(1L, 3L));
+        verify(productService).evictCachedProducts(List.of(2L));
+    }
+
+    @Test
+    void inactiveProductsCannotBeReserved() {
+        jdbcTemplate.update("UPDATE products SET active = FALSE WHERE id = 4");
+
+        assertFalse(inventoryService.tryReserve(4L, 1));
+        assertEquals(INITIAL_STOCK, stockOf(4L));
+    }
+
+    @Test
+    void releaseReturnsStock() {
+        assertTrue(inventoryService.tryReserve(1L, 10));
+        inventoryService.release(1L, 4);
+
+        assertEquals(INITIAL_STOCK - 6, stockOf(1L));
+    }
+
+    private int stockOf(long productId) {
+        Integer stock = jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+        return stock != null ? stock : -1;
+    }
+}
@@ -0,0 +1,189 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.Cache.CacheRegionProperties;
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.ProductDTO;
+import com.podStream.PodStream.Models.Product;
+import com.podStream.PodStream.Repositories.Jpa.CategoryProductRepository;
+import com.podStream.PodStream.Repositories.Jpa.ClientRepository;
+import com.podStream.PodStream.Repositories.Jpa.ProductRatingRepository;
+import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.CacheBatchWriter;
+import com.podStream.PodStream.Services.Cache.CacheRegionManager;
+import com.podStream.PodStream.Services.Cache.HotKeyTracker;
+import com.podStream.PodStream.Services.Cache.ProductSnapshot;
+import com.podStream.PodStream.Services.Cache.SingleFlightLoader;
+import com.podStream.PodStream.Services.Cache.TransactionalCacheWriter;
+import com.podStream.PodStream.Services.Implement.ProductSearchServiceImplement;
+import com.podStream.PodStream.Services.Implement.ProductServiceImplement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Refresco anticipado de un producto caliente con el loader real de {@link ProductServiceImplement}. El
+ * repositorio devuelve productos cuya colección de imágenes, como un {@code PersistentBag} sin inicializar, solo se
+ * puede leer dentro de una transacción: fuera de ella lanza {@link LazyInitializationException}.
+ */
+class ProductCacheRefreshTest {
+
+    private static final String KEY = "product:active:1";
+
+    private final Map<String, Object> redis = new ConcurrentHashMap<>();
+    private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+    private final Map<String, String> locks = new ConcurrentHashMap<>();
+    private final AtomicInteger version = new AtomicInteger();
+    private PlatformTransactionManager transactionManager;
+    private ProductServiceImplement productService;
+
+    @BeforeEach
+    void setUp() {
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+        transactionManager = new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:product-refresh", "sa", ""));
+
+        // Sin L1, cada lectura llega a Redis y puede disparar el refresco anticipado
+        CacheRegionProperties.Region productRegion = new CacheRegionProperties.Region();
+        productRegion.setL1Enabled(false);
+        CacheRegionProperties properties = new CacheRegionProperties();
+        properties.getRegions().put("product", productRegion);
+        CacheRegionManager cacheRegionManager = new CacheRegionManager(mock(TransactionalCacheWriter.class),
+                mock(StringRedisTemplate.class), mock(RedisMessageListenerContainer.class),
+                new InMemoryNode(metrics), properties, new HotKeyTracker(metrics, false, 20, 50, 1024),
+                metrics, 5000, 1000);
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(1L)).thenAnswer(invocation -> {
+            sleep(20);
+            return Optional.of(product("v" + version.incrementAndGet()));
+        });
+        productService = new ProductServiceImplement(productRepository, mock(CategoryProductRepository.class),
+                mock(ClientRepository.class), mock(ProductRatingRepository.class),
+                mock(ProductSearchServiceImplement.class), mock(CacheBatchWriter.class), metrics,
+                cacheRegionManager, 500);
+    }
+
+    @Test
+    void earlyRefreshLoadsLazyCollectionsInItsOwnTransaction() {
+        // Primera carga en la petición, con su sesión abierta (open-in-view)
+        ProductDTO first = new TransactionTemplate(transactionManager).execute(status -> productService.getProduct(1L));
+        assertEquals(List.of("v1.png"), first.getImageCollection());
+        ttls.put(KEY, 5L);
+
+        ProductDTO served = productService.getProduct(1L);
+
+        assertEquals("v1", served.getName(), "The current value is served while refreshing");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!(redis.get(KEY) instanceof ProductSnapshot snapshot && "v2".equals(snapshot.name()))
+                && System.nanoTime() < deadline) {
+            sleep(10);
+        }
+        ProductSnapshot refreshed = (ProductSnapshot) redis.get(KEY);
+        assertEquals("v2", refreshed.name());
+        assertEquals(List.of("v2.png"), refreshed.imageCollection());
+        assertEquals(TimeUnit.MINUTES.toMillis(60), ttls.get(KEY));
+    }
+
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setId(1L);
+        product.setName(name);
+        product.setActive(true);
+        product.setImageCollection(new LazyImages(name + ".png"));
+        return product;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Colección perezosa: sin transacción en el hilo no hay sesión que la inicialice.
+     */
+    private static class LazyImages extends AbstractList<String> {
+
+        private final String image;
+
+        LazyImages(String image) {
+            this.image = image;
+        }
+
+        @Override
+        public String get(int index) {
+            initialize();
+            return List.of(image).get(index);
+        }
+
+        @Override
+        public int size() {
+            initialize();
+            return 1;
+        }
+
+        private void initialize() {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new LazyInitializationException(
+                        "failed to lazily initialize a collection of role: Product.imageCollection: could not initialize proxy - no Session");
+            }
+        }
+    }
+
+    /**
+     * Nodo cuyo Redis son los mapas del test.
+     */
+    private class InMemoryNode extends SingleFlightLoader {
+
+        InMemoryNode(PodStreamPrometheusConfig metrics) {
+            super(null, null, metrics, transactionManager, 1_000_000.0, true, 5000, 2000, 1);
+        }
+
+        @Override
+        protected Cached read(String key) {
+            Object value = redis.get(key);
+            return value != null ? new Cached(value, ttls.getOrDefault(key, -1L)) : null;
+        }
+
+        @Override
+        protected void write(String key, Object value, long ttlMillis) {
+            redis.put(key, value);
+            ttls.put(key, ttlMillis);
+        }
+
+        @Override
+        protected boolean tryLock(String lockKey, String token, long ttlMillis) {
+            return locks.putIfAbsent(lockKey, token) == null;
+        }
+
+        @Override
+        protected void unlock(String lockKey, String token) {
+            locks.remove(lockKey, token);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.podStream.PodStream.Services;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.LongTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.RangeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.FacetBucketDTO;
+import com.podStream.PodStream.DTOS.ProductSearchRequestDTO;
+import com.podStream.PodStream.DTOS.ProductSearchResponseDTO;
+import com.podStream.PodStream.Models.ProductDocument;
+import com.podStream.PodStream.Repositories.Elastic.ElasticProductRepository;
+import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Implement.ProductSearchServiceImplement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@code searchCatalog} de extremo a extremo sin clúster: la petición construida se serializa con el mapper del
+ * cliente de Elasticsearch, tal como viaja por la red, y una respuesta con agregaciones recorre el mismo camino
+ * hasta las facetas del DTO.
+ */
+class ProductSearchCatalogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ElasticsearchOperations elasticsearchOperations;
+    private ProductSearchServiceImplement searchService;
+
+    @BeforeEach
+    void setUp() {
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+        searchService = new ProductSearchServiceImplement(mock(ElasticProductRepository.class),
+                mock(ProductRepository.class), mock(SearchOutboxService.class), mock(SearchCacheService.class),
+                metrics, elasticsearchOperations, objectMapper, mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rangeFacetsSendNumericBoundsAndMapBuckets() throws Exception {
+        SearchHits<ProductDocument> hits = hits(List.of(hit(1L, 19.9)), aggregates());
+        when(elasticsearchOperations.search(any(Query.class), eq(ProductDocument.class))).thenReturn(hits);
+        ProductSearchRequestDTO request = new ProductSearchRequestDTO();
+        request.setSize(1);
+
+        ProductSearchResponseDTO response = searchService.searchCatalog(request);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(elasticsearchOperations).search(query.capture(), eq(ProductDocument.class));
+        Map<String, Aggregation> aggregations = ((NativeQuery) query.getValue()).getAggregations();
+        assertEquals(objectMapper.readTree("""
+                {"range": {"field": "price", "ranges": [
+                  {"key": "*-25", "to": 25.0},
+                  {"key": "25-50", "from": 25.0, "to": 50.0},
+                  {"key": "50-100", "from": 50.0, "to": 100.0},
+                  {"key": "100-200", "from": 100.0, "to": 200.0},
+                  {"key": "200-*", "from": 200.0}]}}
+                """), json(aggregations.get("price")));
+        assertEquals(objectMapper.readTree("""
+                {"range": {"field": "averageRating", "ranges": [
+                  {"key": "*-2", "to": 2.0},
+                  {"key": "2-3", "from": 2.0, "to": 3.0},
+                  {"key": "3-4", "from": 3.0, "to": 4.0},
+                  {"key": "4-*", "from": 4.0}]}}
+                """), json(aggregations.get("rating")));
+
+        assertEquals(1, response.getProducts().size());
+        assertNotNull(response.getNextCursor(), "A full page must carry a cursor");
+        Map<String, List<FacetBucketDTO>> facets = response.getFacets();
+        assertEquals(List.of(new FacetBucketDTO("3", "Tazas", 7)), facets.get("category"));
+        assertEquals(List.of(new FacetBucketDTO("*-25", "*-25", 5), new FacetBucketDTO("25-50", "25-50", 2)),
+                facets.get("price"));
+        assertEquals(List.of(new FacetBucketDTO("4-*", "4-*", 3)), facets.get("rating"));
+        assertEquals(List.of(new FacetBucketDTO("true", "In stock", 6)), facets.get("inStock"));
+    }
+
+    private JsonNode json(Aggregation aggregation) throws Exception {
+        return objectMapper.readTree(JsonpUtils.toJsonString(aggregation, new JacksonJsonpMapper()));
+    }
+
+    private static Map<String, Aggregate> aggregates() {
+        Map<String, Aggregate> aggregates = new LinkedHashMap<>();
+        aggregates.put("category", Aggregate.of(a -> a.lterms(t -> t.buckets(b -> b.array(List.of(
+                LongTermsBucket.of(l -> l.key(3L).docCount(7).aggregations("categoryName",
+                        Aggregate.of(n -> n.sterms(s -> s.buckets(sb -> sb.array(List.of(
+                                StringTermsBucket.of(x -> x.key("Tazas").docCount(7)))))))))))))));
+        aggregates.put("color", Aggregate.of(a -> a.sterms(s -> s.buckets(b -> b.array(List.of(
+                StringTermsBucket.of(x -> x.key("BLACK").docCount(4))))))));
+        aggregates.put("price", Aggregate.of(a -> a.range(r -> r.buckets(b -> b.array(List.of(
+                RangeBucket.of(x -> x.key("*-25").to(25.0).docCount(5)),
+                RangeBucket.of(x -> x.key("25-50").from(25.0).to(50.0).docCount(2))))))));
+        aggregates.put("rating", Aggregate.of(a -> a.range(r -> r.buckets(b -> b.array(List.of(
+                RangeBucket.of(x -> x.key("4-*").from(4.0).docCount(3))))))));
+        aggregates.put("inStock", Aggregate.of(a -> a.filter(f -> f.docCount(6))));
+        return aggregates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHits<ProductDocument> hits(List<SearchHit<ProductDocument>> searchHits,
+                                                    Map<String, Aggregate> aggregates) {
+        SearchHits<ProductDocument> hits = mock(SearchHits.class);
+        when(hits.getSearchHits()).thenReturn(searchHits);
+        when(hits.getTotalHits()).thenReturn((long) searchHits.size());
+        when(hits.getTotalHitsRelation()).thenReturn(TotalHitsRelation.EQUAL_TO);
+        doReturn(new ElasticsearchAggregations(aggregates)).when(hits).getAggregations();
+        return hits;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHit<ProductDocument> hit(long id, double price) {
+        ProductDocument document = new ProductDocument();
+        document.setId(id);
+        document.setPrice(price);
+        document.setActive(true);
+        SearchHit<ProductDocument> hit = mock(SearchHit.class);
+        when(hit.getContent()).thenReturn(document);
+        when(hit.getSortValues()).thenReturn(List.of(1.0, id));
+        return hit;
+    }
+}
@@ -0,0 +1,154 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Models.ClientInteraction;
+import com.podStream.PodStream.Models.InteractionType;
+import com.podStream.PodStream.Models.Product;
+import com.podStream.PodStream.Models.ProductRating;
+import com.podStream.PodStream.Models.User.Client;
+import com.podStream.PodStream.Repositories.Jpa.ProductRatingRepository;
+import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Cache.SingleFlightLoader;
+import com.podStream.PodStream.Services.Events.ClientInteractionEvent;
+import com.podStream.PodStream.Services.Implement.RecommendationServiceImplement;
+import com.podStream.PodStream.Services.Listeners.RatingUpdateListener;
+import com.podStream.PodStream.Services.Recommendation.AlsFactors;
+import com.podStream.PodStream.Services.Recommendation.FactorFileWriter;
+import com.podStream.PodStream.Services.Recommendation.FactorStore;
+import com.podStream.PodStream.Services.Recommendation.ModelRegistry;
+import com.podStream.PodStream.Services.Recommendation.RatingsLoader;
+import com.podStream.PodStream.Services.Recommendation.RecommendationStore;
+import com.podStream.PodStream.Services.Recommendation.TopNRecommendations;
+import com.podStream.PodStream.Services.Recommendation.UserFactorOverlay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Una interacción sobre un producto que el cliente nunca había valorado debe cambiar su top-N sin esperar al
+ * entrenamiento: {@link RatingUpdateListener} deriva la valoración y el fold-in la usa. Las valoraciones viven en
+ * H2 y los factores de producto en un fichero de rango 2: los productos 1 y 2 apuntan a un eje y 3 y 4 al otro.
+ */
+class RecommendationFoldInTest {
+
+    private static final String URL = "jdbc:h2:mem:fold-in;DB_CLOSE_DELAY=-1";
+    private static final long CLIENT_ID = 7L;
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private RatingUpdateListener ratingUpdateListener;
+    private RecommendationServiceImplement recommendationService;
+    private final List<TopNRecommendations> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE product_ratings (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "client_id BIGINT NOT NULL, product_id BIGINT NOT NULL, rating INT NOT NULL, active BOOLEAN NOT NULL)");
+        // Valoración baja previa del producto 3: su top-1 es el producto 4, del mismo eje.
+        jdbcTemplate.update("INSERT INTO product_ratings (client_id, product_id, rating, active) VALUES (?, 3, 1, TRUE)",
+                CLIENT_ID);
+
+        ProductRatingRepository ratingRepository = mock(ProductRatingRepository.class);
+        when(ratingRepository.findByClientIdAndProductId(any(), any())).thenReturn(Optional.empty());
+        when(ratingRepository.save(any(ProductRating.class))).thenAnswer(invocation -> {
+            ProductRating rating = invocation.getArgument(0);
+            jdbcTemplate.update("INSERT INTO product_ratings (client_id, product_id, rating, active) VALUES (?, ?, ?, ?)",
+                    rating.getClient().getId(), rating.getProduct().getId(), rating.getRating(), rating.isActive());
+            return rating;
+        });
+        ratingUpdateListener = new RatingUpdateListener(ratingRepository);
+
+        Path file = directory.resolve("factors.bin");
+        try (FactorFileWriter writer = new FactorFileWriter(file, 2)) {
+            writer.addItem(1, new float[]{1f, 0f});
+            writer.addItem(2, new float[]{2f, 0f});
+            writer.addItem(3, new float[]{0f, 1f});
+            writer.addItem(4, new float[]{0f, 2f});
+        }
+        FactorStore factorStore = mock(FactorStore.class);
+        when(factorStore.current()).thenReturn(Optional.of(AlsFactors.open(file, 1)));
+        RecommendationStore recommendationStore = mock(RecommendationStore.class);
+        when(recommendationStore.replace(anyLong(), any())).thenAnswer(invocation -> {
+            published.add(invocation.getArgument(1));
+            return true;
+        });
+
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+        recommendationService = new RecommendationServiceImplement(mock(ProductRepository.class),
+                mock(SingleFlightLoader.class), recommendationStore, factorStore, mock(ModelRegistry.class),
+                new RatingsLoader(jdbcTemplate, URL, "sa", "", 1, 1000), mock(UserFactorOverlay.class), metrics);
+        ReflectionTestUtils.setField(recommendationService, "precomputedSize", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE product_ratings");
+    }
+
+    @Test
+    void interactionWithoutPriorRatingChangesTopN() {
+        recommendationService.foldInUser(CLIENT_ID);
+        assertEquals(4L, published.get(0).productIds()[0]);
+
+        ratingUpdateListener.handleUserInteraction(new ClientInteractionEvent(this, purchase(1L)));
+        recommendationService.foldInUser(CLIENT_ID);
+
+        assertEquals(2, published.size());
+        assertEquals(2L, published.get(1).productIds()[0]);
+    }
+
+    @Test
+    void ratingWithoutQuantityIsLoggedAndDoesNotFailTheInteraction() {
+        ClientInteraction rating = interaction(1L, InteractionType.RATING, null);
+
+        assertDoesNotThrow(() -> ratingUpdateListener.handleUserInteraction(new ClientInteractionEvent(this, rating)));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_ratings", Integer.class));
+    }
+
+    @Test
+    void ratingListenerIsInvokedBySpring() throws NoSuchMethodException {
+        assertTrue(RatingUpdateListener.class.getMethod("handleUserInteraction", ClientInteractionEvent.class)
+                .isAnnotationPresent(EventListener.class));
+    }
+
+    private static ClientInteraction purchase(long productId) {
+        return interaction(productId, InteractionType.PURCHASE, 1);
+    }
+
+    private static ClientInteraction interaction(long productId, InteractionType type, Integer quantity) {
+        Client client = new Client();
+        client.setId(CLIENT_ID);
+        Product product = new Product();
+        product.setId(productId);
+        ClientInteraction interaction = new ClientInteraction();
+        interaction.setClient(client);
+        interaction.setProduct(product);
+        interaction.setInteractionType(type);
+        interaction.setQuantity(quantity);
+        return interaction;
+    }
+}
@@ -0,0 +1,244 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Models.InventoryReservation;
+import com.podStream.PodStream.Repositories.Jpa.InventoryReservationRepository;
+import com.podStream.PodStream.Services.Implement.InventoryServiceImplement;
+import com.podStream.PodStream.Services.Implement.LegacyCartReservationBackfill;
+import com.podStream.PodStream.Services.Implement.ReservationServiceImplement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * El ledger de reservas sobre el descuento real de stock en H2: ajustar solo reserva o devuelve la diferencia,
+ * liberar devuelve lo retenido y el barrido devuelve el stock de las reservas vencidas y solo de esas.
+ * El repositorio es un doble en memoria. La migración de carritos anteriores al ledger se prueba con SQL real.
+ */
+class ReservationServiceTest {
+
+    private static final int INITIAL_STOCK = 50;
+    private static final String OWNER = ReservationService.clientOwner(7L);
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final Map<Long, InventoryReservation> rows = new TreeMap<>();
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:reservations;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, stock INT NOT NULL, active BOOLEAN NOT NULL)");
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO products (id, stock, active) VALUES (?, ?, TRUE)", id, INITIAL_STOCK);
+        }
+
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+        InventoryService inventoryService = new InventoryServiceImplement(jdbcTemplate, mock(SearchOutboxService.class),
+                mock(ProductService.class), metrics);
+
+        reservationService = new ReservationServiceImplement(inMemoryRepository(), inventoryService, metrics,
+                new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(reservationService, "reservationTtlMinutes", 30L);
+        ReflectionTestUtils.setField(reservationService, "sweepBatchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE products");
+    }
+
+    @Test
+    void adjustReservesAndReleasesOnlyTheDifference() {
+        assertTrue(reservationService.adjust(OWNER, 1L, 5));
+        assertEquals(INITIAL_STOCK - 5, stockOf(1L));
+
+        assertTrue(reservationService.adjust(OWNER, 1L, 8));
+        assertEquals(INITIAL_STOCK - 8, stockOf(1L));
+        assertEquals(8, heldBy(OWNER, 1L));
+
+        assertTrue(reservationService.adjust(OWNER, 1L, 3));
+        assertEquals(INITIAL_STOCK - 3, stockOf(1L));
+        assertEquals(3, heldBy(OWNER, 1L));
+    }
+
+    @Test
+    void rejectedAdjustKeepsStockAndLedger() {
+        assertTrue(reservationService.adjust(OWNER, 2L, 4));
+
+        assertFalse(reservationService.adjust(OWNER, Map.of(1L, 2, 2L, INITIAL_STOCK + 1)));
+
+        assertEquals(INITIAL_STOCK, stockOf(1L));
+        assertEquals(INITIAL_STOCK - 4, stockOf(2L));
+        assertEquals(4, heldBy(OWNER, 2L));
+        assertEquals(0, heldBy(OWNER, 1L));
+    }
+
+    @Test
+    void releaseReturnsHeldStock() {
+        assertTrue(reservationService.adjust(OWNER, Map.of(1L, 2, 2L, 6)));
+
+        reservationService.release(OWNER, 2L);
+        assertEquals(INITIAL_STOCK, stockOf(2L));
+        assertEquals(INITIAL_STOCK - 2, stockOf(1L));
+
+        reservationService.releaseAll(OWNER);
+        assertEquals(INITIAL_STOCK, stockOf(1L));
+        assertTrue(rows.isEmpty());
+    }
+
+    @Test
+    void sweeperReleasesOnlyExpiredReservations() {
+        String abandoned = ReservationService.sessionOwner("abandoned");
+        assertTrue(reservationService.adjust(abandoned, Map.of(1L, 3, 2L, 4, 3L, 5)));
+        assertTrue(reservationService.adjust(OWNER, 1L, 2));
+        rows.values().stream()
+                .filter(reservation -> reservation.getOwnerKey().equals(abandoned))
+                .forEach(reservation -> reservation.setExpiresAt(LocalDateTime.now().minusMinutes(1)));
+
+        // Tres reservas vencidas con lotes de dos: el barrido debe seguir hasta vaciarlas.
+        assertEquals(3, reservationService.releaseExpired());
+
+        assertEquals(INITIAL_STOCK - 2, stockOf(1L));
+        assertEquals(INITIAL_STOCK, stockOf(2L));
+        assertEquals(INITIAL_STOCK, stockOf(3L));
+        assertEquals(2, heldBy(OWNER, 1L));
+        assertEquals(0, reservationService.releaseExpired());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void backfillCreatesLedgerRowsForLegacyCartsOnce() {
+        jdbcTemplate.execute("CREATE TABLE carts (id BIGINT PRIMARY KEY, client_id BIGINT, active BOOLEAN NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE cart_items (id BIGINT PRIMARY KEY, cart_id BIGINT NOT NULL, " +
+                "product_id BIGINT NOT NULL, quantity INT NOT NULL, active BOOLEAN NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE inventory_reservations (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "owner_key VARCHAR(100) NOT NULL, product_id BIGINT NOT NULL, quantity INT NOT NULL, " +
+                "expires_at TIMESTAMP NOT NULL, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, " +
+                "UNIQUE (owner_key, product_id))");
+        try {
+            jdbcTemplate.update("INSERT INTO carts VALUES (1, 7, TRUE), (2, 8, TRUE), (3, 9, FALSE)");
+            jdbcTemplate.update("INSERT INTO cart_items VALUES (1, 1, 1, 2, TRUE), (2, 1, 1, 1, TRUE), " +
+                    "(3, 1, 2, 4, TRUE), (4, 2, 2, 5, TRUE), (5, 3, 3, 9, TRUE)");
+            // El cliente 8 ya tiene una fila en el ledger para el producto 2: no se duplica.
+            jdbcTemplate.update("INSERT INTO inventory_reservations (owner_key, product_id, quantity, expires_at, created_at) " +
+                    "VALUES ('client:8', 2, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+
+            StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+            ValueOperations<String, String> markers = mock(ValueOperations.class);
+            when(stringRedisTemplate.opsForValue()).thenReturn(markers);
+            when(markers.setIfAbsent(anyString(), anyString())).thenReturn(true, false);
+            RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+            when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(mock(Cursor.class));
+
+            LegacyCartReservationBackfill backfill = new LegacyCartReservationBackfill(jdbcTemplate,
+                    stringRedisTemplate, redisTemplate, new DataSourceTransactionManager(dataSource));
+            ReflectionTestUtils.setField(backfill, "reservationTtlMinutes", 30L);
+
+            assertEquals(2, backfill.backfill());
+            assertEquals(3, ledgerQuantity("client:7", 1L));
+            assertEquals(4, ledgerQuantity("client:7", 2L));
+            assertEquals(5, ledgerQuantity("client:8", 2L));
+            assertEquals(0, ledgerQuantity("client:9", 3L));
+
+            assertEquals(-1, backfill.backfill());
+            assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_reservations", Integer.class));
+        } finally {
+            jdbcTemplate.execute("DROP TABLE inventory_reservations");
+            jdbcTemplate.execute("DROP TABLE cart_items");
+            jdbcTemplate.execute("DROP TABLE carts");
+        }
+    }
+
+    private int ledgerQuantity(String ownerKey, long productId) {
+        Integer quantity = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM inventory_reservations " +
+                "WHERE owner_key = ? AND product_id = ?", Integer.class, ownerKey, productId);
+        return quantity != null ? quantity : -1;
+    }
+
+    private int stockOf(long productId) {
+        Integer stock = jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+        return stock != null ? stock : -1;
+    }
+
+    private int heldBy(String ownerKey, long productId) {
+        return rows.values().stream()
+                .filter(reservation -> reservation.getOwnerKey().equals(ownerKey) && reservation.getProductId() == productId)
+                .mapToInt(InventoryReservation::getQuantity)
+                .sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private InventoryReservationRepository inMemoryRepository() {
+        AtomicLong ids = new AtomicLong();
+        InventoryReservationRepository repository = mock(InventoryReservationRepository.class);
+        when(repository.findByOwnerKeyAndProductIdInOrderByProductId(anyString(), anyCollection())).thenAnswer(call -> {
+            Collection<Long> productIds = call.getArgument(1);
+            return sorted(rows.values().stream()
+                    .filter(reservation -> reservation.getOwnerKey().equals(call.getArgument(0))
+                            && productIds.contains(reservation.getProductId()))
+                    .toList());
+        });
+        when(repository.findByOwnerKeyOrderByProductId(anyString())).thenAnswer(call -> sorted(rows.values().stream()
+                .filter(reservation -> reservation.getOwnerKey().equals(call.getArgument(0)))
+                .toList()));
+        when(repository.findExpiredForUpdate(any(LocalDateTime.class), any(Pageable.class))).thenAnswer(call -> {
+            LocalDateTime now = call.getArgument(0);
+            Pageable page = call.getArgument(1);
+            return sorted(rows.values().stream().filter(reservation -> reservation.getExpiresAt().isBefore(now)).toList())
+                    .stream().limit(page.getPageSize()).toList();
+        });
+        when(repository.saveAll(any())).thenAnswer(call -> {
+            Iterable<InventoryReservation> reservations = call.getArgument(0);
+            reservations.forEach(reservation -> {
+                if (reservation.getId() == null) {
+                    reservation.setId(ids.incrementAndGet());
+                }
+                rows.put(reservation.getId(), reservation);
+            });
+            return reservations;
+        });
+        doAnswer(call -> {
+            ((Iterable<InventoryReservation>) call.getArgument(0)).forEach(reservation -> rows.remove(reservation.getId()));
+            return null;
+        }).when(repository).deleteAll(any(Iterable.class));
+        doAnswer(call -> {
+            ((Iterable<InventoryReservation>) call.getArgument(0)).forEach(reservation -> rows.remove(reservation.getId()));
+            return null;
+        }).when(repository).deleteAllInBatch(any(Iterable.class));
+        return repository;
+    }
+
+    private static List<InventoryReservation> sorted(List<InventoryReservation> reservations) {
+        return reservations.stream().sorted(Comparator.comparing(InventoryReservation::getProductId)).toList();
+    }
+}
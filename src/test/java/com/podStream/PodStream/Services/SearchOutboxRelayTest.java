@@ -0,0 +1,247 @@
+package com.podStream.PodStream.Services;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ErrorCause;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.IndexOperation;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetOperation;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.json.JsonData;
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Models.Product;
+import com.podStream.PodStream.Models.ProductDocument;
+import com.podStream.PodStream.Models.SearchOutboxEvent;
+import com.podStream.PodStream.Models.SearchOutboxOperation;
+import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Repositories.Jpa.SearchOutboxRepository;
+import com.podStream.PodStream.Services.Implement.SearchDocumentMapper;
+import com.podStream.PodStream.Services.Implement.SearchOutboxServiceImplement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Orden de los eventos del outbox de búsqueda frente a las versiones externas de Elasticsearch. La tabla
+ * {@code search_outbox} es real en H2; Elasticsearch es un doble en memoria que aplica {@code version_type=external}
+ * como el servidor: rechaza con un 409 cualquier escritura con una versión menor o igual que la guardada.
+ */
+class SearchOutboxRelayTest {
+
+    private static final long EXTERNAL_VERSION_OFFSET = 1_000_000_000_000_000L;
+    private static final String INDEX = "products";
+
+    private JdbcTemplate jdbcTemplate;
+    private SearchOutboxService outboxService;
+    private final Map<Long, Product> catalog = new HashMap<>();
+    private final Map<String, Long> versions = new HashMap<>();
+    private final Map<String, JsonObject> documents = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:search-outbox;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE search_outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "index_name VARCHAR(100) NOT NULL, document_id VARCHAR(100) NOT NULL, document_key VARCHAR(201) NOT NULL, " +
+                "operation VARCHAR(10) NOT NULL, payload CLOB, attempts INT NOT NULL, last_error VARCHAR(1000), " +
+                "next_attempt_at TIMESTAMP NOT NULL, created_at TIMESTAMP NOT NULL)");
+
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+
+        SearchDocumentMapper mapper = mock(SearchDocumentMapper.class);
+        when(mapper.indexName(any())).thenReturn(INDEX);
+        when(mapper.convertId(any())).thenAnswer(call -> String.valueOf((Object) call.getArgument(0)));
+        when(mapper.toJson(any())).thenAnswer(call -> json(call.getArgument(0)));
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findByIdIn(anyCollection())).thenAnswer(call -> ((Collection<Long>) call.getArgument(0))
+                .stream().filter(catalog::containsKey).map(catalog::get).toList());
+
+        ElasticsearchClient elasticsearchClient = mock(ElasticsearchClient.class);
+        when(elasticsearchClient.bulk(any(BulkRequest.class))).thenAnswer(call -> bulk(call.getArgument(0)));
+        when(elasticsearchClient.mget(any(MgetRequest.class), eq(JsonData.class))).thenAnswer(call -> mget(call.getArgument(0)));
+
+        ReindexService reindexService = mock(ReindexService.class);
+        when(reindexService.getActiveTargets()).thenReturn(Map.of());
+
+        outboxService = new SearchOutboxServiceImplement(outboxRepository(), productRepository, mapper,
+                elasticsearchClient, reindexService, mock(SearchCacheService.class), jdbcTemplate, metrics,
+                new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(outboxService, "batchSize", 500);
+        ReflectionTestUtils.setField(outboxService, "backoffMillis", 1000L);
+        ReflectionTestUtils.setField(outboxService, "maxBackoffMillis", 300000L);
+        ReflectionTestUtils.setField(outboxService, "stockDebounceMillis", 60000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE search_outbox");
+    }
+
+    @Test
+    void stockRelayedAfterNewerIndexDoesNotHideLaterEdits() {
+        catalog.put(1L, product(1L, "v1", 9));
+        outboxService.enqueueStockUpdate(List.of(1L));
+        catalog.put(1L, product(1L, "v2", 9));
+        long edit = enqueueIndex(catalog.get(1L));
+
+        // El STOCK sigue retrasado: el INDEX posterior llega antes a Elasticsearch.
+        outboxService.relayPending();
+        assertEquals(EXTERNAL_VERSION_OFFSET + edit, versions.get("1"));
+
+        // El STOCK pierde frente a una versión mayor y se descarta sin tocar la versión del documento.
+        jdbcTemplate.update("UPDATE search_outbox SET next_attempt_at = ?", Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+        outboxService.relayPending();
+        assertEquals(EXTERNAL_VERSION_OFFSET + edit, versions.get("1"));
+        assertEquals(0, pendingEvents());
+
+        // La edición siguiente se aplica: con una actualización parcial del STOCK habría recibido un 409.
+        catalog.put(1L, product(1L, "v3", 9));
+        long nextEdit = enqueueIndex(catalog.get(1L));
+        outboxService.relayPending();
+        assertEquals(EXTERNAL_VERSION_OFFSET + nextEdit, versions.get("1"));
+        assertEquals("v3", documents.get("1").getString("name"));
+        assertEquals(0, pendingEvents());
+    }
+
+    @Test
+    void stockNewerThanIndexWritesTheCurrentProduct() {
+        catalog.put(1L, product(1L, "v1", 10));
+        enqueueIndex(catalog.get(1L));
+        outboxService.relayPending();
+
+        catalog.put(1L, product(1L, "v1", 7));
+        outboxService.enqueueStockUpdate(List.of(1L));
+        jdbcTemplate.update("UPDATE search_outbox SET next_attempt_at = ?", Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+        outboxService.relayPending();
+
+        assertEquals(7, documents.get("1").getInt("stock"));
+        assertEquals("v1", documents.get("1").getString("name"));
+        assertEquals(EXTERNAL_VERSION_OFFSET + lastEventId(), versions.get("1"));
+        assertEquals(0, pendingEvents());
+    }
+
+    private long enqueueIndex(Product product) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO search_outbox (index_name, document_id, document_key, operation, payload, " +
+                        "attempts, next_attempt_at, created_at) VALUES (?, ?, ?, 'INDEX', ?, 0, ?, ?)",
+                INDEX, product.getId().toString(), INDEX + "/" + product.getId(), json(new ProductDocument(product)),
+                Timestamp.valueOf(now), Timestamp.valueOf(now));
+        return lastEventId();
+    }
+
+    private long lastEventId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM search_outbox", Long.class);
+    }
+
+    private int pendingEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM search_outbox", Integer.class);
+    }
+
+    private static Product product(long id, String name, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setStock(stock);
+        product.setActive(true);
+        return product;
+    }
+
+    private static String json(ProductDocument document) {
+        return "{\"id\":" + document.getId() + ",\"name\":\"" + document.getName() + "\",\"stock\":" + document.getStock() + "}";
+    }
+
+    private BulkResponse bulk(BulkRequest request) {
+        List<BulkResponseItem> items = new ArrayList<>();
+        for (BulkOperation operation : request.operations()) {
+            assertTrue(operation.isIndex(), "Unexpected bulk operation " + operation._kind());
+            IndexOperation<?> index = operation.index();
+            Long current = versions.get(index.id());
+            if (current != null && index.version() <= current) {
+                items.add(BulkResponseItem.of(item -> item.operationType(OperationType.Index).index(index.index())
+                        .id(index.id()).status(409).error(ErrorCause.of(error -> error
+                                .type("version_conflict_engine_exception")
+                                .reason("current version [" + current + "] is higher or equal")))));
+            } else {
+                versions.put(index.id(), index.version());
+                documents.put(index.id(), ((JsonData) index.document()).toJson().asJsonObject());
+                items.add(BulkResponseItem.of(item -> item.operationType(OperationType.Index).index(index.index())
+                        .id(index.id()).status(201).version(index.version())));
+            }
+        }
+        return BulkResponse.of(response -> response.items(items).took(1)
+                .errors(items.stream().anyMatch(item -> item.error() != null)));
+    }
+
+    private MgetResponse<JsonData> mget(MgetRequest request) {
+        List<MultiGetResponseItem<JsonData>> docs = new ArrayList<>();
+        for (MultiGetOperation operation : request.docs()) {
+            Long version = versions.get(operation.id());
+            GetResult<JsonData> result = new GetResult.Builder<JsonData>().index(operation.index()).id(operation.id())
+                    .found(version != null).version(version).build();
+            docs.add(new MultiGetResponseItem.Builder<JsonData>().result(result).build());
+        }
+        return new MgetResponse.Builder<JsonData>().docs(docs).build();
+    }
+
+    private SearchOutboxRepository outboxRepository() {
+        SearchOutboxRepository repository = mock(SearchOutboxRepository.class);
+        when(repository.findReadyForUpdate(any(LocalDateTime.class), any(Pageable.class))).thenAnswer(call -> {
+            Pageable page = call.getArgument(1);
+            return jdbcTemplate.query("SELECT * FROM search_outbox WHERE next_attempt_at <= ? ORDER BY id LIMIT ?",
+                    (rs, row) -> {
+                        SearchOutboxEvent event = new SearchOutboxEvent();
+                        event.setId(rs.getLong("id"));
+                        event.setIndexName(rs.getString("index_name"));
+                        event.setDocumentId(rs.getString("document_id"));
+                        event.setDocumentKey(rs.getString("document_key"));
+                        event.setOperation(SearchOutboxOperation.valueOf(rs.getString("operation")));
+                        event.setPayload(rs.getString("payload"));
+                        event.setAttempts(rs.getInt("attempts"));
+                        event.setNextAttemptAt(rs.getTimestamp("next_attempt_at").toLocalDateTime());
+                        event.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                        return event;
+                    }, Timestamp.valueOf((LocalDateTime) call.getArgument(0)), page.getPageSize());
+        });
+        when(repository.saveAll(any())).thenAnswer(call -> {
+            Iterable<SearchOutboxEvent> events = call.getArgument(0);
+            events.forEach(event -> jdbcTemplate.update("UPDATE search_outbox SET attempts = ?, last_error = ?, " +
+                            "next_attempt_at = ? WHERE id = ?", event.getAttempts(), event.getLastError(),
+                    Timestamp.valueOf(event.getNextAttemptAt()), event.getId()));
+            return events;
+        });
+        return repository;
+    }
+}
@@ -0,0 +1,193 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Services.Cache.SingleFlightLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Expiración masiva de claves calientes: muchos hilos, en uno o dos nodos, piden a la vez claves que acaban de
+ * expirar y el origen solo se consulta una vez por clave. Redis se sustituye por mapas en memoria compartidos
+ * entre los nodos.
+ */
+class SingleFlightLoaderTest {
+
+    private static final int THREADS = 64;
+    private static final int REQUESTS = 2000;
+    private static final int KEYS = 20;
+
+    private final Map<String, Object> redis = new ConcurrentHashMap<>();
+    private final Map<String, Long> ttls = new ConcurrentHashMap<>();
+    private final Map<String, String> locks = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> queriesByKey = new ConcurrentHashMap<>();
+    private PodStreamPrometheusConfig metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+    }
+
+    @Test
+    void massExpiryQueriesTheSourceOncePerKey() throws Exception {
+        SingleFlightLoader node = new InMemoryNode(1.0);
+
+        List<String> values = hammer(List.of(node));
+
+        assertEquals(REQUESTS, values.size());
+        assertEquals(KEYS, queriesByKey.size());
+        queriesByKey.forEach((key, queries) -> assertEquals(1, queries.get(), "Source queries for " + key));
+    }
+
+    @Test
+    void distributedLockBoundsQueriesAcrossNodes() throws Exception {
+        List<SingleFlightLoader> nodes = List.of(new InMemoryNode(1.0), new InMemoryNode(1.0));
+
+        hammer(nodes);
+
+        queriesByKey.forEach((key, queries) -> assertEquals(1, queries.get(), "Source queries for " + key));
+    }
+
+    @Test
+    void loaderFailureReachesEveryWaiterAndIsNotCached() throws Exception {
+        SingleFlightLoader node = new InMemoryNode(1.0);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return node.get("product", "product:1", String.class, 60, TimeUnit.MINUTES, () -> {
+                        calls.incrementAndGet();
+                        sleep(100);
+                        throw new IllegalStateException("database down");
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                Exception e = assertThrows(Exception.class, future::get);
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+        assertFalse(redis.containsKey("product:1"));
+    }
+
+    @Test
+    void hotKeyIsRefreshedBeforeItExpires() throws Exception {
+        SingleFlightLoader node = new InMemoryNode(1_000_000.0);
+        AtomicInteger version = new AtomicInteger();
+        node.get("product", "product:1", String.class, 60, TimeUnit.MINUTES, () -> {
+            sleep(20);
+            return "v" + version.incrementAndGet();
+        });
+        ttls.put("product:1", 5L);
+
+        String served = node.get("product", "product:1", String.class, 60, TimeUnit.MINUTES,
+                () -> "v" + version.incrementAndGet());
+
+        assertEquals("v1", served, "The current value is served while refreshing");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"v2".equals(redis.get("product:1")) && System.nanoTime() < deadline) {
+            sleep(10);
+        }
+        assertEquals("v2", redis.get("product:1"));
+        assertEquals(TimeUnit.MINUTES.toMillis(60), ttls.get("product:1"));
+    }
+
+    /**
+     * Lanza {@link #REQUESTS} lecturas repartidas entre {@link #KEYS} claves vacías, alternando entre nodos.
+     */
+    private List<String> hammer(List<SingleFlightLoader> nodes) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                SingleFlightLoader node = nodes.get(i % nodes.size());
+                String key = "product:" + (i % KEYS);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return node.get("product", key, String.class, 60, TimeUnit.MINUTES, () -> {
+                        queriesByKey.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                        sleep(50);
+                        return "value of " + key;
+                    });
+                }));
+            }
+            start.countDown();
+            List<String> values = new ArrayList<>();
+            for (Future<String> future : futures) {
+                values.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return values;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Nodo cuyo Redis es el mapa compartido del test.
+     */
+    private class InMemoryNode extends SingleFlightLoader {
+
+        InMemoryNode(double earlyRefreshBeta) {
+            super(null, null, metrics,
+                    new DataSourceTransactionManager(new DriverManagerDataSource("jdbc:h2:mem:single-flight", "sa", "")),
+                    earlyRefreshBeta, true, 5000, 2000, 1);
+        }
+
+        @Override
+        protected Cached read(String key) {
+            Object value = redis.get(key);
+            return value != null ? new Cached(value, ttls.getOrDefault(key, -1L)) : null;
+        }
+
+        @Override
+        protected void write(String key, Object value, long ttlMillis) {
+            redis.put(key, value);
+            ttls.put(key, ttlMillis);
+        }
+
+        @Override
+        protected boolean tryLock(String lockKey, String token, long ttlMillis) {
+            return locks.putIfAbsent(lockKey, token) == null;
+        }
+
+        @Override
+        protected void unlock(String lockKey, String token) {
+            locks.remove(lockKey, token);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.DTOS.SuggestionDTO;
+import com.podStream.PodStream.Models.CategoryProduct;
+import com.podStream.PodStream.Repositories.Jpa.CategoryProductRepository;
+import com.podStream.PodStream.Repositories.Jpa.ProductRepository;
+import com.podStream.PodStream.Services.Implement.SuggestionServiceImplement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Eventos de producto y categoría que llegan mientras la reconstrucción lee la base de datos: la lectura ya no
+ * los refleja, pero el índice publicado sí.
+ */
+class SuggestionRebuildTest {
+
+    private ProductRepository productRepository;
+    private CategoryProductRepository categoryRepository;
+    private SuggestionServiceImplement suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+        productRepository = mock(ProductRepository.class);
+        categoryRepository = mock(CategoryProductRepository.class);
+        suggestionService = new SuggestionServiceImplement(productRepository, categoryRepository, metrics, 10);
+    }
+
+    @Test
+    void changesDuringTheDatabaseReadSurviveTheSwap() {
+        when(productRepository.findActiveSuggestionRows()).thenAnswer(invocation -> {
+            List<Object[]> rows = List.of(
+                    new Object[]{1L, "Blue Yeti Microphone", 10L, 5},
+                    new Object[]{2L, "Rode Microphone Arm", 10L, 3});
+            // Llegan después de que la consulta leyó las filas
+            suggestionService.applyProductChange(1L, "Blue Yeti Microphone", 10L, 5, false);
+            suggestionService.applyProductChange(3L, "Shure Microphone", 10L, 7, true);
+            suggestionService.applyCategoryChange(20L, "Audio Interfaces", false);
+            return rows;
+        });
+        when(categoryRepository.findByActiveTrue()).thenReturn(List.of(category(10L, "Microphones"),
+                category(20L, "Audio Interfaces")));
+
+        suggestionService.rebuild();
+
+        List<SuggestionDTO> microphones = suggestionService.suggest("microphone", 10);
+        assertEquals(List.of("category:10", "product:3", "product:2"), keys(microphones));
+        assertEquals(10L, microphones.get(0).getSalesCount(), "Category sales reflect the replayed changes");
+        assertTrue(suggestionService.suggest("yeti", 10).isEmpty());
+        assertTrue(suggestionService.suggest("audio", 10).isEmpty());
+    }
+
+    @Test
+    void changesAfterTheRebuildAreAppliedDirectly() {
+        when(productRepository.findActiveSuggestionRows()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "Blue Yeti Microphone", null, 5}));
+        when(categoryRepository.findByActiveTrue()).thenReturn(List.of());
+        suggestionService.rebuild();
+
+        suggestionService.applyProductChange(1L, "Blue Yeti Microphone", null, 5, false);
+
+        assertTrue(suggestionService.suggest("blue", 10).isEmpty());
+    }
+
+    private static CategoryProduct category(Long id, String name) {
+        CategoryProduct category = new CategoryProduct();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    private static List<String> keys(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(suggestion -> suggestion.getType() + ":" + suggestion.getId()).toList();
+    }
+}
@@ -0,0 +1,158 @@
+package com.podStream.PodStream.Services;
+
+import com.podStream.PodStream.Configurations.PodStreamPrometheusConfig;
+import com.podStream.PodStream.Services.Cache.CacheBatchWriter;
+import com.podStream.PodStream.Services.Cache.TransactionalCacheWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Escrituras de {@link TransactionalCacheWriter} sobre transacciones reales de H2. Redis se sustituye por una
+ * conexión simulada que anota cada {@code SET} y {@code DEL} en el orden en que llegan.
+ */
+class TransactionalCacheWriterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final List<String> redis = new ArrayList<>();
+    private TransactionalCacheWriter writer;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate requiresNew;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        PodStreamPrometheusConfig metrics = new PodStreamPrometheusConfig();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.initMetrics();
+
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(stringCommands.set(any(), any(), any(), any())).thenAnswer(invocation -> {
+            redis.add("SET " + text(invocation.getArgument(0)) + " " + text(invocation.getArgument(1)));
+            return true;
+        });
+        RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        when(keyCommands.del(any(byte[].class))).thenAnswer(invocation -> {
+            redis.add("DEL " + text(invocation.getArgument(0)));
+            return 1L;
+        });
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.getKeySerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) RedisSerializer.string());
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of();
+        });
+
+        CacheBatchWriter batchWriter = new CacheBatchWriter(redisTemplate, metrics, 100, 500);
+        writer = new TransactionalCacheWriter(batchWriter, redisTemplate, metrics);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:cache-writer;DB_CLOSE_DELAY=-1", "sa", ""));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void writesOutsideTransactionImmediately() {
+        writer.set("product:1", "v1", TTL);
+
+        assertEquals(List.of("SET product:1 v1"), redis);
+    }
+
+    @Test
+    void flushesAfterCommitThenRunsPostWriteActions() {
+        List<String> seenByAction = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.set("product:1", "v1", TTL, () -> seenByAction.addAll(redis));
+            writer.delete("product:2");
+            assertTrue(redis.isEmpty(), "Nothing reaches Redis before the commit");
+        });
+
+        assertEquals(List.of("SET product:1 v1", "DEL product:2"), redis);
+        assertEquals(redis, seenByAction);
+    }
+
+    @Test
+    void discardsWritesOnRollback() {
+        List<String> actions = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.set("product:1", "v1", TTL, () -> actions.add("invalidate"));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(redis.isEmpty());
+        assertTrue(actions.isEmpty());
+    }
+
+    @Test
+    void coalescesWritesPerKeyWithLastOperationWinning() {
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.set("product:1", "v1", TTL);
+            writer.set("product:2", "v1", TTL);
+            writer.set("product:1", "v2", TTL);
+            writer.delete("product:2");
+        });
+
+        assertEquals(List.of("SET product:1 v2", "DEL product:2"), redis);
+    }
+
+    @Test
+    void requiresNewFlushesItsOwnBufferAndResumesTheOuterOne() {
+        transactionTemplate.executeWithoutResult(outer -> {
+            writer.set("product:1", "outer", TTL);
+            requiresNew.executeWithoutResult(inner -> writer.set("product:2", "inner", TTL));
+
+            assertEquals(List.of("SET product:2 inner"), redis, "Inner commit flushes only its own writes");
+            writer.set("product:3", "outer", TTL);
+        });
+
+        assertEquals(List.of("SET product:2 inner", "SET product:1 outer", "SET product:3 outer"), redis);
+    }
+
+    @Test
+    void rolledBackInnerTransactionKeepsOuterWrites() {
+        transactionTemplate.executeWithoutResult(outer -> {
+            writer.set("product:1", "outer", TTL);
+            requiresNew.executeWithoutResult(inner -> {
+                writer.set("product:2", "inner", TTL);
+                inner.setRollbackOnly();
+            });
+        });
+
+        assertEquals(List.of("SET product:1 outer"), redis);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}